@@ -0,0 +1,579 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+/**
+ * <p>
+ *   Decompresses a gzip file (possibly made of several members) from a
+ *   {@link GzipIndex.Checkpoint}: the beginning of a member, or the beginning
+ *   of a deflate block with the 32 kB of output that precede it.
+ * </p>
+ * <p>
+ *   {@link java.util.zip.Inflater} can neither start in the middle of a byte
+ *   nor tell where the deflate blocks begin, this stream implements inflate
+ *   (RFC 1951) and the gzip format (RFC 1952) to do both.
+ * </p>
+ * <p>
+ *   The CRC-32 and the size in the trailer of a member are verified when the
+ *   member is read up to its end, as {@link java.util.zip.GZIPInputStream}
+ *   does. A member read from one of its blocks is verified too: the
+ *   checkpoint holds the CRC-32 of the output that precedes the block, it is
+ *   combined with the CRC-32 of the output that follows.
+ * </p>
+ */
+final class GzipCheckpointInputStream extends InputStream {
+
+  static final int WINDOW_SIZE = 32 * 1024;
+  private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+  private static final int MAX_BITS = 15;
+  private static final int TABLE_BITS = 10;
+
+  private static final int[] LENGTH_BASE = {3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59,
+    67, 83, 99, 115, 131, 163, 195, 227, 258};
+  private static final int[] LENGTH_EXTRA = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4,
+    5, 5, 5, 5, 0};
+  private static final int[] DISTANCE_BASE = {1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385,
+    513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577};
+  private static final int[] DISTANCE_EXTRA = {0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10,
+    10, 11, 11, 12, 12, 13, 13};
+  private static final int[] CODE_LENGTH_ORDER = {16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15};
+
+  // Reflected polynomial of the CRC-32, and x^(2^k) modulo the polynomial.
+  private static final int CRC_POLYNOMIAL = 0xEDB88320;
+  private static final int[] CRC_X2N = new int[32];
+
+  private static final Huffman FIXED_LITERALS;
+  private static final Huffman FIXED_DISTANCES;
+
+  static {
+    final int[] lengths = new int[288];
+    for (int symbol = 0; symbol < lengths.length; symbol++)
+      lengths[symbol] = symbol < 144 ? 8 : symbol < 256 ? 9 : symbol < 280 ? 7 : 8;
+    FIXED_LITERALS = new Huffman(lengths, 0, lengths.length);
+    final int[] distanceLengths = new int[30];
+    Arrays.fill(distanceLengths, 5);
+    FIXED_DISTANCES = new Huffman(distanceLengths, 0, distanceLengths.length);
+
+    int x2n = 1 << 30;
+    CRC_X2N[0] = x2n;
+    for (int k = 1; k < CRC_X2N.length; k++)
+      CRC_X2N[k] = x2n = multiplyModulo(x2n, x2n);
+  }
+
+  private enum State {
+    MEMBER_HEADER,
+    BLOCK_HEADER,
+    STORED_BLOCK,
+    HUFFMAN_BLOCK,
+    MEMBER_TRAILER,
+    END
+  }
+
+  private final FileChannel channel;
+  private final ByteBuffer input = ByteBuffer.allocate(64 * 1024).flip();
+  private long inputOffset;
+
+  // Bits not consumed yet, least significant first. Past the end of the
+  // file, zero bits are added: the padding that can't be consumed.
+  private long bitBuffer;
+  private int bitCount;
+  private int paddingBits;
+
+  private final byte[] window = new byte[WINDOW_SIZE];
+  private long position;
+  // Position of the beginning of the current member, the output before it
+  // isn't in the window.
+  private long memberPosition;
+
+  // CRC-32 of the output of the member: crcBase for the output before
+  // crcPosition, crc for the output after it. The bytes of the buffer of the
+  // current read() are added to crc from crcFrom.
+  private final CRC32 crc = new CRC32();
+  private int crcBase;
+  private long crcPosition;
+  private int crcFrom;
+
+  private State state;
+  private boolean isLastBlock;
+  private int storedRemaining;
+  private Huffman literals;
+  private Huffman distances;
+  private int matchRemaining;
+  private int matchDistance;
+
+  private GzipIndex.Builder checkpoints;
+
+  /**
+   * <p>
+   *   Opens a gzip file at a checkpoint.
+   * </p>
+   *
+   * @param file the gzip file.
+   * @param checkpoint where to start decompressing.
+   * @throws IOException if the file can't be opened, or if the window of the checkpoint is corrupted.
+   */
+  GzipCheckpointInputStream(final Path file, final GzipIndex.Checkpoint checkpoint) throws IOException {
+    final byte[] checkpointWindow = checkpoint.window();
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      inputOffset = checkpoint.bitOffset() >>> 3;
+      channel.position(inputOffset);
+      bits((int) (checkpoint.bitOffset() & 7));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+
+    position = checkpoint.position();
+    if (checkpointWindow == null) {
+      state = State.MEMBER_HEADER;
+    } else {
+      for (int i = 0; i < checkpointWindow.length; i++)
+        window[(int) (position - checkpointWindow.length + i) & WINDOW_MASK] = checkpointWindow[i];
+      memberPosition = checkpoint.memberPosition();
+      crcBase = checkpoint.crc();
+      crcPosition = position;
+      state = State.BLOCK_HEADER;
+    }
+  }
+
+  /**
+   * <p>
+   *   Reports the checkpoints found while decompressing, from
+   *   {@link GzipIndex.Builder#nextPosition()} on.
+   * </p>
+   *
+   * @param checkpoints receives the checkpoints, starting with the current one.
+   */
+  void reportCheckpoints(final GzipIndex.Builder checkpoints) {
+    this.checkpoints = checkpoints;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final byte[] b = new byte[1];
+    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    Objects.checkFromIndexSize(off, len, b.length);
+    if (len == 0)
+      return 0;
+
+    int count = 0;
+    crcFrom = off;
+    while (count < len) {
+      if (matchRemaining > 0) {
+        count += copyMatch(b, off + count, len - count);
+        continue;
+      }
+
+      switch (state) {
+        case MEMBER_HEADER -> {
+          if (!readMemberHeader())
+            state = State.END;
+        }
+        case BLOCK_HEADER -> {
+          updateCrc(b, off + count);
+          readBlockHeader();
+        }
+        case STORED_BLOCK -> count += copyStored(b, off + count, len - count);
+        case HUFFMAN_BLOCK -> count += inflate(b, off + count, len - count);
+        case MEMBER_TRAILER -> {
+          updateCrc(b, off + count);
+          readMemberTrailer();
+        }
+        case END -> {
+          return count == 0 ? -1 : count;
+        }
+      }
+    }
+
+    updateCrc(b, off + count);
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private boolean readMemberHeader() throws IOException {
+    // Bytes after the last member that aren't a gzip member are ignored, as GZIPInputStream does.
+    need(16);
+    if (bitCount - paddingBits < 16 || peek(16) != 0x8B1F)
+      return false;
+
+    if (checkpoints != null && position >= checkpoints.nextPosition())
+      checkpoints.add(new GzipIndex.Checkpoint(bitOffset(), position, position, 0, null));
+
+    bits(16);
+    if (bits(8) != 8)
+      throw new ZipException("Unsupported gzip compression method.");
+    final int flags = bits(8);
+    bits(32); // Modification time
+    bits(16); // Extra flags and operating system
+    if ((flags & 4) != 0)
+      skipBytes(bits(16));
+    if ((flags & 8) != 0)
+      skipString();
+    if ((flags & 16) != 0)
+      skipString();
+    if ((flags & 2) != 0)
+      bits(16);
+
+    memberPosition = position;
+    crc.reset();
+    crcBase = 0;
+    crcPosition = position;
+    state = State.BLOCK_HEADER;
+    return true;
+  }
+
+  private void readMemberTrailer() throws IOException {
+    bits(bitCount & 7);
+    final int expectedCrc = bits(32);
+    final int expectedSize = bits(32);
+    if (expectedCrc != memberCrc() || expectedSize != (int) (position - memberPosition))
+      throw new ZipException("Corrupt GZIP trailer");
+    state = State.MEMBER_HEADER;
+  }
+
+  private void readBlockHeader() throws IOException {
+    if (checkpoints != null && position >= checkpoints.nextPosition())
+      checkpoints.add(GzipIndex.Checkpoint.of(bitOffset(), position, memberPosition, memberCrc(), window()));
+
+    isLastBlock = bits(1) == 1;
+    switch (bits(2)) {
+      case 0 -> {
+        bits(bitCount & 7);
+        final int length = bits(16);
+        if (length != (~bits(16) & 0xFFFF))
+          throw new ZipException("Invalid stored block length.");
+        storedRemaining = length;
+        state = State.STORED_BLOCK;
+      }
+      case 1 -> {
+        literals = FIXED_LITERALS;
+        distances = FIXED_DISTANCES;
+        state = State.HUFFMAN_BLOCK;
+      }
+      case 2 -> {
+        readDynamicCodes();
+        state = State.HUFFMAN_BLOCK;
+      }
+      default -> throw new ZipException("Invalid block type.");
+    }
+  }
+
+  private void readDynamicCodes() throws IOException {
+    final int literalCount = bits(5) + 257;
+    final int distanceCount = bits(5) + 1;
+    final int codeLengthCount = bits(4) + 4;
+    if (literalCount > 286 || distanceCount > 30)
+      throw new ZipException("Invalid dynamic block code counts.");
+
+    final int[] codeLengthLengths = new int[19];
+    for (int i = 0; i < codeLengthCount; i++)
+      codeLengthLengths[CODE_LENGTH_ORDER[i]] = bits(3);
+    final Huffman codeLengths = new Huffman(codeLengthLengths, 0, codeLengthLengths.length);
+
+    final int[] lengths = new int[literalCount + distanceCount];
+    int index = 0;
+    while (index < lengths.length) {
+      final int symbol = decode(codeLengths);
+      if (symbol < 16) {
+        lengths[index++] = symbol;
+        continue;
+      }
+
+      final int length;
+      final int repeat;
+      if (symbol == 16) {
+        if (index == 0)
+          throw new ZipException("Invalid repeated code length.");
+        length = lengths[index - 1];
+        repeat = 3 + bits(2);
+      } else {
+        length = 0;
+        repeat = symbol == 17 ? 3 + bits(3) : 11 + bits(7);
+      }
+      if (index + repeat > lengths.length)
+        throw new ZipException("Too many code lengths.");
+      for (int i = 0; i < repeat; i++)
+        lengths[index++] = length;
+    }
+
+    if (lengths[256] == 0)
+      throw new ZipException("Missing end-of-block code.");
+    literals = new Huffman(lengths, 0, literalCount);
+    distances = new Huffman(lengths, literalCount, distanceCount);
+  }
+
+  private int inflate(final byte[] b, final int off, final int len) throws IOException {
+    int count = 0;
+    while (count < len) {
+      final int symbol = decode(literals);
+      if (symbol < 256) {
+        final byte value = (byte) symbol;
+        window[(int) position & WINDOW_MASK] = value;
+        position++;
+        b[off + count++] = value;
+      } else if (symbol == 256) {
+        endBlock();
+        return count;
+      } else {
+        final int lengthCode = symbol - 257;
+        if (lengthCode >= LENGTH_BASE.length)
+          throw new ZipException("Invalid length code.");
+        matchRemaining = LENGTH_BASE[lengthCode] + bits(LENGTH_EXTRA[lengthCode]);
+
+        final int distanceCode = decode(distances);
+        if (distanceCode >= DISTANCE_BASE.length)
+          throw new ZipException("Invalid distance code.");
+        matchDistance = DISTANCE_BASE[distanceCode] + bits(DISTANCE_EXTRA[distanceCode]);
+        if (matchDistance > Math.min(position - memberPosition, WINDOW_SIZE))
+          throw new ZipException("Invalid distance too far back.");
+
+        return count + copyMatch(b, off + count, len - count);
+      }
+    }
+    return count;
+  }
+
+  private int copyMatch(final byte[] b, final int off, final int len) {
+    final int count = Math.min(matchRemaining, len);
+    for (int i = 0; i < count; i++) {
+      final byte value = window[(int) (position - matchDistance) & WINDOW_MASK];
+      window[(int) position & WINDOW_MASK] = value;
+      position++;
+      b[off + i] = value;
+    }
+    matchRemaining -= count;
+    return count;
+  }
+
+  private int copyStored(final byte[] b, final int off, final int len) throws IOException {
+    final int count = Math.min(storedRemaining, len);
+    for (int i = 0; i < count; i++) {
+      final byte value = (byte) bits(8);
+      window[(int) position & WINDOW_MASK] = value;
+      position++;
+      b[off + i] = value;
+    }
+    storedRemaining -= count;
+    if (storedRemaining == 0)
+      endBlock();
+    return count;
+  }
+
+  private void endBlock() {
+    state = isLastBlock ? State.MEMBER_TRAILER : State.BLOCK_HEADER;
+  }
+
+  /**
+   * @return the last 32 kB (at most) of output of the current member.
+   */
+  private byte[] window() {
+    final int length = (int) Math.min(position - memberPosition, WINDOW_SIZE);
+    final byte[] copy = new byte[length];
+    for (int i = 0; i < length; i++)
+      copy[i] = window[(int) (position - length + i) & WINDOW_MASK];
+    return copy;
+  }
+
+  /**
+   * <p>
+   *   Adds the bytes of the buffer of the current read() to the CRC-32, up to {@code end}.
+   * </p>
+   */
+  private void updateCrc(final byte[] b, final int end) {
+    crc.update(b, crcFrom, end - crcFrom);
+    crcFrom = end;
+  }
+
+  /**
+   * @return the CRC-32 of the output of the member so far.
+   */
+  private int memberCrc() {
+    return combineCrc(crcBase, (int) crc.getValue(), position - crcPosition);
+  }
+
+  /**
+   * <p>
+   *   Same as {@code crc32_combine()} of zlib.
+   * </p>
+   *
+   * @return the CRC-32 of the concatenation of two sequences of bytes.
+   */
+  static int combineCrc(final int crc1, final int crc2, long length2) {
+    // crc1 is multiplied by x^(8 * length2) modulo the polynomial.
+    int x8n = 1 << 31;
+    for (int k = 3; length2 != 0; length2 >>>= 1, k++) {
+      if ((length2 & 1) != 0)
+        x8n = multiplyModulo(CRC_X2N[k & 31], x8n);
+    }
+    return multiplyModulo(x8n, crc1) ^ crc2;
+  }
+
+  private static int multiplyModulo(final int a, int b) {
+    int product = 0;
+    for (int m = 1 << 31; m != 0; m >>>= 1) {
+      if ((a & m) != 0)
+        product ^= b;
+      b = (b & 1) != 0 ? (b >>> 1) ^ CRC_POLYNOMIAL : b >>> 1;
+    }
+    return product;
+  }
+
+  private int decode(final Huffman huffman) throws IOException {
+    need(MAX_BITS);
+    final int entry = huffman.table[(int) bitBuffer & ((1 << TABLE_BITS) - 1)];
+    if (entry != 0) {
+      drop(entry & 0xF);
+      return entry >>> 4;
+    }
+
+    // Codes longer than TABLE_BITS, decoded one bit at a time (codes are
+    // canonical: the codes of a length are consecutive integers).
+    int code = 0;
+    int first = 0;
+    int index = 0;
+    for (int length = 1; length <= MAX_BITS; length++) {
+      code |= (int) (bitBuffer >>> (length - 1)) & 1;
+      final int count = huffman.counts[length];
+      if (code - count < first) {
+        drop(length);
+        return huffman.symbols[index + code - first];
+      }
+      index += count;
+      first = (first + count) << 1;
+      code <<= 1;
+    }
+    throw new ZipException("Invalid Huffman code.");
+  }
+
+  private long bitOffset() {
+    return (inputOffset + input.position()) * 8 - (bitCount - paddingBits);
+  }
+
+  private int peek(final int n) throws IOException {
+    need(n);
+    return (int) (bitBuffer & ((1L << n) - 1));
+  }
+
+  private int bits(final int n) throws IOException {
+    if (n == 0)
+      return 0;
+    final int value = peek(n);
+    drop(n);
+    return value;
+  }
+
+  private void drop(final int n) throws EOFException {
+    bitBuffer >>>= n;
+    bitCount -= n;
+    if (bitCount < paddingBits)
+      throw new EOFException("Unexpected end of the gzip file.");
+  }
+
+  private void need(final int n) throws IOException {
+    while (bitCount < n) {
+      if (!input.hasRemaining() && !fillInput()) {
+        paddingBits += 8;
+      } else {
+        bitBuffer |= (long) (input.get() & 0xFF) << bitCount;
+      }
+      bitCount += 8;
+    }
+  }
+
+  private boolean fillInput() throws IOException {
+    if (paddingBits > 0)
+      return false;
+
+    inputOffset += input.position();
+    input.clear();
+    int count;
+    do {
+      count = channel.read(input);
+    } while (count == 0);
+    input.flip();
+    return count > 0;
+  }
+
+  private void skipBytes(final int count) throws IOException {
+    for (int i = 0; i < count; i++)
+      bits(8);
+  }
+
+  private void skipString() throws IOException {
+    while (bits(8) != 0) {
+      // Skips a zero-terminated string.
+    }
+  }
+
+  /**
+   * <p>
+   *   Canonical Huffman code, decoded with a table for the codes of up to
+   *   {@link #TABLE_BITS} bits.
+   * </p>
+   */
+  private static final class Huffman {
+    final int[] counts = new int[MAX_BITS + 1];
+    final int[] symbols;
+    // Indexed by the next TABLE_BITS bits: symbol << 4 | code length, or 0.
+    final int[] table = new int[1 << TABLE_BITS];
+
+    Huffman(final int[] lengths, final int offset, final int count) {
+      for (int i = 0; i < count; i++)
+        counts[lengths[offset + i]]++;
+      counts[0] = 0;
+
+      final int[] offsets = new int[MAX_BITS + 2];
+      for (int length = 1; length <= MAX_BITS; length++)
+        offsets[length + 1] = offsets[length] + counts[length];
+      symbols = new int[offsets[MAX_BITS + 1]];
+
+      final int[] nextCode = new int[MAX_BITS + 1];
+      int code = 0;
+      for (int length = 1; length <= MAX_BITS; length++) {
+        code = (code + counts[length - 1]) << 1;
+        nextCode[length] = code;
+      }
+
+      for (int symbol = 0; symbol < count; symbol++) {
+        final int length = lengths[offset + symbol];
+        if (length == 0)
+          continue;
+        symbols[offsets[length]++] = symbol;
+        if (length <= TABLE_BITS) {
+          final int reversed = Integer.reverse(nextCode[length]) >>> (32 - length);
+          for (int i = reversed; i < table.length; i += 1 << length)
+            table[i] = symbol << 4 | length;
+        }
+        nextCode[length]++;
+      }
+    }
+  }
+
+}
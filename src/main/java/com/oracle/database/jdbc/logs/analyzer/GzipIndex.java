@@ -0,0 +1,395 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * <p>
+ *   Random access to the decompressed content of a gzip file. While the gzip
+ *   file is decompressed once, a checkpoint is saved every {@code span} bytes
+ *   of output: where the deflate block that follows begins in the gzip file,
+ *   and the 32 kB of output that precede it (the dictionary of the block). A
+ *   position is reached by decompressing from the last checkpoint before it,
+ *   so at most {@code span} bytes are decompressed instead of everything
+ *   before the position.
+ * </p>
+ * <p>
+ *   As in zran, the example of zlib, the 32 kB of a checkpoint are kept
+ *   deflated. An index holds {@link #MAX_CHECKPOINTS} checkpoints at most:
+ *   when a gzip file has more, every other checkpoint is dropped and the span
+ *   doubles, the span grows with the size of the decompressed content.
+ * </p>
+ * <p>
+ *   A gzip file is indexed while the log file is analyzed, by {@link #read(Path)}:
+ *   the lines of the errors are read afterward without decompressing it again.
+ *   The indexes of the last gzip files read are kept in memory, up to
+ *   {@link #MAX_CACHED_BYTES} bytes. An index is built again when its gzip
+ *   file is modified.
+ * </p>
+ */
+final class GzipIndex {
+
+  /**
+   * Default distance between two checkpoints in the decompressed content.
+   */
+  static final long DEFAULT_SPAN = 1 << 20;
+
+  /**
+   * Maximal number of checkpoints of an index.
+   */
+  static final int MAX_CHECKPOINTS = 1024;
+
+  /**
+   * Maximal size of the indexes kept in memory, the last index built is kept
+   * even if it is larger.
+   */
+  static final long MAX_CACHED_BYTES = 32L << 20;
+
+  // Size of a checkpoint without its window.
+  private static final int CHECKPOINT_BYTES = 64;
+
+  private static final Checkpoint START = new Checkpoint(0, 0, 0, 0, null);
+
+  private static final Map<Path, GzipIndex> INDEXES = new LinkedHashMap<>(16, 0.75f, true);
+  private static long cachedBytes;
+
+  /**
+   * <p>
+   *   Point where the decompression of a gzip file can start.
+   * </p>
+   *
+   * @param bitOffset offset in bits in the gzip file of a member or of a deflate block.
+   * @param position offset in bytes in the decompressed content.
+   * @param memberPosition offset in bytes in the decompressed content of the
+   *                       beginning of the member.
+   * @param crc CRC-32 of the output of the member that precedes the deflate block.
+   * @param deflatedWindow the output of the member that precedes the deflate
+   *                       block, 32 kB at most, deflated. {@code null} for the
+   *                       beginning of a member.
+   */
+  record Checkpoint(long bitOffset, long position, long memberPosition, int crc, byte[] deflatedWindow) {
+
+    /**
+     * <p>
+     *   Creates the checkpoint of a deflate block, its window is deflated.
+     * </p>
+     *
+     * @param window the output of the member that precedes the deflate block, 32 kB at most.
+     */
+    static Checkpoint of(final long bitOffset, final long position, final long memberPosition, final int crc,
+                         final byte[] window) {
+      final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+      try {
+        deflater.setInput(window);
+        deflater.finish();
+        byte[] deflated = new byte[window.length + 64];
+        int length = 0;
+        while (!deflater.finished()) {
+          if (length == deflated.length)
+            deflated = Arrays.copyOf(deflated, deflated.length * 2);
+          length += deflater.deflate(deflated, length, deflated.length - length);
+        }
+        return new Checkpoint(bitOffset, position, memberPosition, crc, Arrays.copyOf(deflated, length));
+      } finally {
+        deflater.end();
+      }
+    }
+
+    /**
+     * @return the output of the member that precedes the deflate block, or
+     *         {@code null} for the beginning of a member.
+     * @throws ZipException if the deflated window is corrupted.
+     */
+    byte[] window() throws ZipException {
+      if (deflatedWindow == null)
+        return null;
+
+      final byte[] window = new byte[(int) Math.min(position - memberPosition, GzipCheckpointInputStream.WINDOW_SIZE)];
+      final Inflater inflater = new Inflater(true);
+      try {
+        inflater.setInput(deflatedWindow);
+        int length = 0;
+        while (length < window.length) {
+          final int count = inflater.inflate(window, length, window.length - length);
+          if (count == 0 && (inflater.finished() || inflater.needsInput()))
+            throw new ZipException("Truncated checkpoint window.");
+          length += count;
+        }
+        return window;
+      } catch (DataFormatException e) {
+        throw new ZipException(e.getMessage());
+      } finally {
+        inflater.end();
+      }
+    }
+
+    /**
+     * @return the size in memory of the checkpoint, approximately.
+     */
+    long bytes() {
+      return CHECKPOINT_BYTES + (deflatedWindow == null ? 0 : deflatedWindow.length);
+    }
+  }
+
+  /**
+   * <p>
+   *   Collects the checkpoints reported while a gzip file is decompressed.
+   *   When there are more than {@link #MAX_CHECKPOINTS}, every other one is
+   *   dropped and the span doubles.
+   * </p>
+   */
+  static final class Builder {
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private long span;
+
+    /**
+     * @param span minimal distance between two checkpoints in the decompressed content, initially.
+     */
+    Builder(final long span) {
+      this.span = span;
+    }
+
+    /**
+     * @return position in the decompressed content from which the next checkpoint is expected.
+     */
+    long nextPosition() {
+      return checkpoints.isEmpty() ? 0 : checkpoints.get(checkpoints.size() - 1).position() + span;
+    }
+
+    void add(final Checkpoint checkpoint) {
+      checkpoints.add(checkpoint);
+      if (checkpoints.size() <= MAX_CHECKPOINTS)
+        return;
+
+      // The first checkpoint is kept, any checkpoint can be dropped.
+      int kept = 0;
+      for (int i = 0; i < checkpoints.size(); i += 2)
+        checkpoints.set(kept++, checkpoints.get(i));
+      checkpoints.subList(kept, checkpoints.size()).clear();
+      span *= 2;
+    }
+
+    long span() {
+      return span;
+    }
+
+    List<Checkpoint> checkpoints() {
+      return checkpoints.isEmpty() ? List.of(START) : List.copyOf(checkpoints);
+    }
+  }
+
+  private final Path file;
+  private final long fileSize;
+  private final long lastModified;
+  private final List<Checkpoint> checkpoints;
+  private final long bytes;
+
+  private GzipIndex(final Path file, final long fileSize, final long lastModified, final List<Checkpoint> checkpoints) {
+    this.file = file;
+    this.fileSize = fileSize;
+    this.lastModified = lastModified;
+    this.checkpoints = checkpoints;
+    this.bytes = checkpoints.stream().mapToLong(Checkpoint::bytes).sum();
+  }
+
+  /**
+   * <p>
+   *   Returns the index of a gzip file, it is built the first time and
+   *   whenever the gzip file is modified.
+   * </p>
+   *
+   * @param file the gzip file.
+   * @return the index.
+   * @throws IOException if an error occurs while reading the gzip file.
+   */
+  static GzipIndex of(final Path file) throws IOException {
+    final Path key = file.toAbsolutePath().normalize();
+    final GzipIndex cached = cached(key);
+    if (cached != null)
+      return cached;
+
+    // Built without the lock, the indexes of other gzip files remain available meanwhile.
+    final GzipIndex index = build(key, DEFAULT_SPAN);
+    cache(key, index);
+    return index;
+  }
+
+  /**
+   * <p>
+   *   Opens the decompressed content of a gzip file from its beginning. If
+   *   the gzip file isn't indexed yet, it is indexed while it is read: the
+   *   index is kept once the content is read up to its end. Otherwise the
+   *   content is decompressed by {@link java.util.zip.GZIPInputStream}.
+   * </p>
+   *
+   * @param file the gzip file.
+   * @return the decompressed content.
+   * @throws IOException if an error occurs while opening the gzip file.
+   */
+  static InputStream read(final Path file) throws IOException {
+    final Path key = file.toAbsolutePath().normalize();
+    if (cached(key) != null)
+      return LogCompression.GZIP.open(Files.newInputStream(key));
+
+    final long fileSize = Files.size(key);
+    final long lastModified = Files.getLastModifiedTime(key).toMillis();
+    final Builder builder = new Builder(DEFAULT_SPAN);
+    final GzipCheckpointInputStream inputStream = new GzipCheckpointInputStream(key, START);
+    inputStream.reportCheckpoints(builder);
+
+    return new FilterInputStream(inputStream) {
+      private boolean isIndexed;
+
+      @Override
+      public int read() throws IOException {
+        return indexAtEnd(super.read());
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException {
+        return indexAtEnd(super.read(b, off, len));
+      }
+
+      private int indexAtEnd(final int result) {
+        if (result == -1 && !isIndexed) {
+          isIndexed = true;
+          cache(key, new GzipIndex(key, fileSize, lastModified, builder.checkpoints()));
+        }
+        return result;
+      }
+    };
+  }
+
+  /**
+   * @return the index of a gzip file kept in memory, {@code null} if there is
+   *         none or if the gzip file was modified since it was built.
+   */
+  static GzipIndex cached(final Path file) throws IOException {
+    final Path key = file.toAbsolutePath().normalize();
+    synchronized (INDEXES) {
+      final GzipIndex index = INDEXES.get(key);
+      return index != null && index.isCurrent() ? index : null;
+    }
+  }
+
+  /**
+   * <p>
+   *   Builds the index of a gzip file by decompressing it entirely.
+   * </p>
+   *
+   * @param file the gzip file.
+   * @param span minimal distance between two checkpoints in the decompressed content.
+   * @return the index.
+   * @throws IOException if an error occurs while reading the gzip file.
+   */
+  static GzipIndex build(final Path file, final long span) throws IOException {
+    final long fileSize = Files.size(file);
+    final long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+    final Builder builder = new Builder(span);
+    try (GzipCheckpointInputStream inputStream = new GzipCheckpointInputStream(file, START)) {
+      inputStream.reportCheckpoints(builder);
+      final byte[] buffer = new byte[64 * 1024];
+      while (inputStream.read(buffer) != -1) {
+        // Decompresses the whole file, the checkpoints are reported on the way.
+      }
+    }
+
+    return new GzipIndex(file, fileSize, lastModified, builder.checkpoints());
+  }
+
+  /**
+   * <p>
+   *   Keeps an index in memory, the least recently used indexes are dropped
+   *   once the indexes are larger than {@link #MAX_CACHED_BYTES}.
+   * </p>
+   */
+  private static void cache(final Path key, final GzipIndex index) {
+    synchronized (INDEXES) {
+      final GzipIndex previous = INDEXES.put(key, index);
+      if (previous != null)
+        cachedBytes -= previous.bytes;
+      cachedBytes += index.bytes;
+
+      // The index just put is the most recently used one, the last one.
+      final Iterator<GzipIndex> iterator = INDEXES.values().iterator();
+      while (cachedBytes > MAX_CACHED_BYTES && INDEXES.size() > 1) {
+        cachedBytes -= iterator.next().bytes;
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * <p>
+   *   Opens the decompressed content at {@code position}.
+   * </p>
+   *
+   * @param position offset in bytes in the decompressed content.
+   * @return the decompressed content, starting at {@code position}.
+   * @throws IOException if an error occurs while reading the gzip file.
+   */
+  InputStream open(final long position) throws IOException {
+    final Checkpoint checkpoint = checkpoints.get(checkpointIndex(position));
+    final InputStream inputStream = new GzipCheckpointInputStream(file, checkpoint);
+    try {
+      inputStream.skipNBytes(position - checkpoint.position());
+    } catch (IOException | RuntimeException e) {
+      inputStream.close();
+      throw e;
+    }
+    return inputStream;
+  }
+
+  /**
+   * @return the number of checkpoints.
+   */
+  int size() {
+    return checkpoints.size();
+  }
+
+  /**
+   * @return the size in memory of the index, approximately.
+   */
+  long bytes() {
+    return bytes;
+  }
+
+  private int checkpointIndex(final long position) {
+    int low = 0;
+    int high = checkpoints.size() - 1;
+    while (low < high) {
+      final int middle = (low + high + 1) >>> 1;
+      if (checkpoints.get(middle).position() <= position)
+        low = middle;
+      else
+        high = middle - 1;
+    }
+    return low;
+  }
+
+  private boolean isCurrent() throws IOException {
+    return Files.size(file) == fileSize && Files.getLastModifiedTime(file).toMillis() == lastModified;
+  }
+
+}
@@ -0,0 +1,245 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ *   Random access to a remote log file with HTTP range requests
+ *   ({@code Range: bytes=first-last}), for the servers that support them. The
+ *   log file is read in blocks of {@link #BLOCK_SIZE} bytes, the last blocks
+ *   read are kept in memory: the lines of neighbouring log entries are read
+ *   from the same blocks, without another request.
+ * </p>
+ * <p>
+ *   Consecutive missing blocks are fetched with a single request. A stream
+ *   starts with a request of {@link #INITIAL_READ_AHEAD} blocks, and doubles
+ *   the number of blocks of its next requests while it keeps reading, up to
+ *   {@link #MAX_READ_AHEAD} blocks: reading the lines of an error transfers a
+ *   few kilobytes, reading a large part of the log file doesn't take a
+ *   request per block.
+ * </p>
+ * <p>
+ *   The blocks are dropped when the {@code ETag} (or else the
+ *   {@code Last-Modified} date) of the log file changes.
+ * </p>
+ */
+final class HttpRangeCache {
+
+  /**
+   * Size of the blocks of the log file.
+   */
+  static final int BLOCK_SIZE = 16 * 1024;
+
+  /**
+   * Number of blocks requested when a stream reads its first block.
+   */
+  static final int INITIAL_READ_AHEAD = 2;
+
+  /**
+   * Maximal number of blocks of a request.
+   */
+  static final int MAX_READ_AHEAD = 64;
+
+  /**
+   * Maximal number of blocks kept in memory (2 MB).
+   */
+  static final int MAX_BLOCKS = 128;
+
+  private static final byte[] NO_BLOCK = new byte[0];
+
+  private final URL url;
+  private final Map<Long, byte[]> blocks = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> eldest) {
+      return size() > MAX_BLOCKS;
+    }
+  };
+
+  private Boolean isSupported;
+  private long size = -1;
+  private String validator;
+
+  HttpRangeCache(final URL url) {
+    this.url = Objects.requireNonNull(url);
+  }
+
+  /**
+   * <p>
+   *   Checks if the server supports range requests for the log file. The
+   *   first block is requested the first time.
+   * </p>
+   *
+   * @return {@code true} if the server answers range requests with partial content.
+   * @throws IOException if the first block can't be requested.
+   */
+  synchronized boolean isSupported() throws IOException {
+    if (isSupported == null)
+      block(0, 1);
+    return isSupported;
+  }
+
+  /**
+   * <p>
+   *   Opens the log file at {@code begin}, the server must support range
+   *   requests.
+   * </p>
+   *
+   * @param begin offset in bytes of the first byte to read.
+   * @return the content of the log file, starting at {@code begin}.
+   */
+  InputStream open(final long begin) {
+    return new InputStream() {
+      private long position = begin;
+      private int readAhead = INITIAL_READ_AHEAD;
+      private long lastBlock = -1;
+
+      @Override
+      public int read() throws IOException {
+        final byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (len == 0)
+          return 0;
+
+        final long index = position / BLOCK_SIZE;
+        if (lastBlock != -1 && index != lastBlock)
+          readAhead = Math.min(readAhead * 2, MAX_READ_AHEAD);
+        lastBlock = index;
+
+        final byte[] block = block(index, readAhead);
+        final int from = (int) (position % BLOCK_SIZE);
+        if (from >= block.length)
+          return -1;
+
+        final int count = Math.min(len, block.length - from);
+        System.arraycopy(block, from, b, off, count);
+        position += count;
+        return count;
+      }
+
+      @Override
+      public long skip(final long n) {
+        // The skipped blocks aren't requested.
+        final long skipped = size == -1 ? Math.max(n, 0) : Math.max(0, Math.min(n, size - position));
+        position += skipped;
+        return skipped;
+      }
+    };
+  }
+
+  /**
+   * <p>
+   *   Returns a block of the log file, the missing blocks that follow it are
+   *   requested with it, {@code count} blocks at most.
+   * </p>
+   *
+   * @return the block, shorter than {@link #BLOCK_SIZE} at the end of the log
+   *         file, empty after it.
+   */
+  private synchronized byte[] block(final long index, final int count) throws IOException {
+    final byte[] cached = blocks.get(index);
+    if (cached != null)
+      return cached;
+    if (size != -1 && index * BLOCK_SIZE >= size)
+      return NO_BLOCK;
+
+    int missing = 1;
+    while (missing < count && !blocks.containsKey(index + missing)
+      && (size == -1 || (index + missing) * BLOCK_SIZE < size))
+      missing++;
+
+    fetch(index, missing);
+    final byte[] block = blocks.get(index);
+    return block == null ? NO_BLOCK : block;
+  }
+
+  /**
+   * <p>
+   *   Requests {@code count} blocks with a single range request.
+   * </p>
+   */
+  private void fetch(final long first, final int count) throws IOException {
+    final long begin = first * BLOCK_SIZE;
+    final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      connection.setRequestProperty("Range", "bytes=" + begin + "-" + (begin + (long) count * BLOCK_SIZE - 1));
+      final int responseCode = connection.getResponseCode();
+      if (responseCode == 416) {
+        // Range Not Satisfiable: the log file ends before the block.
+        isSupported = true;
+        size = Math.min(begin, totalSize(connection.getHeaderField("Content-Range"), begin));
+        return;
+      }
+      if (responseCode != HttpURLConnection.HTTP_PARTIAL) {
+        // The whole log file would be sent, the connection is closed without reading it.
+        isSupported = false;
+        if (responseCode >= 400)
+          throw new IOException("Server returned HTTP response code: " + responseCode + " for URL: " + url);
+        return;
+      }
+      isSupported = true;
+
+      final String contentRange = connection.getHeaderField("Content-Range");
+      if (contentRange == null || !contentRange.startsWith("bytes " + begin + "-"))
+        throw new IOException("Unexpected Content-Range " + contentRange + " for URL: " + url);
+      final long totalSize = totalSize(contentRange, -1);
+      if (totalSize != -1)
+        size = totalSize;
+
+      final String currentValidator = connection.getHeaderField("ETag") != null
+        ? connection.getHeaderField("ETag") : connection.getHeaderField("Last-Modified");
+      if (validator != null && !validator.equals(currentValidator))
+        blocks.clear();
+      validator = currentValidator;
+
+      try (InputStream inputStream = connection.getInputStream()) {
+        for (int i = 0; i < count; i++) {
+          final byte[] block = inputStream.readNBytes(BLOCK_SIZE);
+          if (block.length > 0)
+            blocks.put(first + i, block);
+          if (block.length < BLOCK_SIZE) {
+            size = begin + (long) i * BLOCK_SIZE + block.length;
+            break;
+          }
+        }
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  /**
+   * @return the total size of a {@code Content-Range} header ({@code bytes first-last/size}),
+   *         {@code defaultSize} if it is unknown.
+   */
+  private static long totalSize(final String contentRange, final long defaultSize) {
+    if (contentRange == null)
+      return defaultSize;
+
+    final int slash = contentRange.lastIndexOf('/');
+    try {
+      return slash == -1 ? defaultSize : Long.parseLong(contentRange.substring(slash + 1).trim());
+    } catch (NumberFormatException e) {
+      // The total size is "*".
+      return defaultSize;
+    }
+  }
+
+}
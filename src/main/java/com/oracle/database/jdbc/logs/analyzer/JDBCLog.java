@@ -10,20 +10,28 @@ package com.oracle.database.jdbc.logs.analyzer;
 import com.oracle.database.jdbc.logs.model.JDBCConnectionEvent;
 import com.oracle.database.jdbc.logs.model.JDBCExecutedQuery;
 import com.oracle.database.jdbc.logs.model.JDBCLogComparison;
+import com.oracle.database.jdbc.logs.model.JDBCLogIndex;
+import com.oracle.database.jdbc.logs.model.JDBCLogSnapshot;
 import com.oracle.database.jdbc.logs.model.JDBCStats;
+import com.oracle.database.jdbc.logs.model.JDBCStatsAccumulator;
 import com.oracle.database.jdbc.logs.model.LogEntry;
+import com.oracle.database.jdbc.logs.model.LogEntryIndex;
 import com.oracle.database.jdbc.logs.model.LogError;
-import com.oracle.database.jdbc.logs.model.LogLine;
+import com.oracle.database.jdbc.logs.model.LineIndex;
+import com.oracle.database.jdbc.logs.model.ResolvedLogError;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static com.oracle.database.jdbc.logs.analyzer.Utils.*;
 
@@ -64,16 +72,35 @@ public class JDBCLog {
    */
   static final String UCP = " UCP ";
 
-  // Boolean to know whether the field has been initialized or not.
-  private Boolean isUCPFormatted;
+  /**
+   * Minimal delay between two writes of the index by {@link #refresh()}.
+   */
+  private static final long INDEX_WRITE_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+  /**
+   * Number of bytes parsed by {@link #refresh()} after which the index is
+   * written, even before {@link #INDEX_WRITE_INTERVAL}.
+   */
+  private static final long INDEX_WRITE_BYTES = 64L << 20;
 
+  private final LogSource source;
   private final String logLocation;
-  private List<LogEntry> logEntries;
-  private List<LogLine> traceLines;
-  private List<LogLine> logLines;
+  // Null unless the source is a local file.
+  private final Path logFile;
+  private final int parallelism;
+  private final Path indexDirectory;
+  private final List<JDBCLogListener> listeners = new CopyOnWriteArrayList<>();
+  private JDBCLogParser parser;
+  // Null unless the source is a local file, other sources can't be resumed.
+  private LogCheckpoint checkpoint;
+  private JDBCLogIndex logIndex;
   private JDBCStats stats;
-  private List<JDBCExecutedQuery> executedQueries;
+  // Unmodifiable copies of the lists of the parser, made once per change of the analysis.
+  private List<JDBCExecutedQuery> queries;
   private List<JDBCConnectionEvent> connectionEvents;
+  // When the index was last written or read, and the parsed position it holds.
+  private long indexTime;
+  private long indexPosition;
 
   /**
    * <p>
@@ -84,90 +111,409 @@ public class JDBCLog {
    * @throws IllegalArgumentException If {@code logLocation} is null or empty.
    */
   public JDBCLog(String logLocation) throws IllegalArgumentException {
-    Utils.requireNonBlank(logLocation, "logLocation cannot be null or blank.");
-    this.logLocation = logLocation;
+    this(logLocation, 1);
   }
 
-  private List<LogLine> extractTraceLines() throws IOException  {
-    List<LogLine> tracesLines = new ArrayList<>();
+  /**
+   * <p>
+   *   Creates an instance capable of parsing the Oracle JDBC log file with
+   *   {@code parallelism} threads.
+   * </p>
+   * <p>
+   *   A local log file is split in chunks that are parsed in parallel, the
+   *   result is the same as the result of a single thread. Log files located
+   *   by a URL and compressed log files are always parsed by a single thread.
+   * </p>
+   *
+   * @param logLocation URL or path to the Oracle JDBC log file.
+   * @param parallelism number of threads used to parse the log file.
+   * @throws IllegalArgumentException If {@code logLocation} is null or empty,
+   *                                  or if {@code parallelism} is lower than 1.
+   */
+  public JDBCLog(String logLocation, int parallelism) throws IllegalArgumentException {
+    this(logLocation, parallelism, null);
+  }
 
-    try (final BufferedReader reader = getBufferedReader(logLocation)) {
-      int lineNumber = 1;
-      long positionInFile = 0;
-      String line;
-      while ( (line = reader.readLine()) != null) {
-        // a trace is never more than 1 line
-        Matcher matcher = TRACE_PATTERN.matcher(line);
-        if (matcher.find()) {
-          tracesLines.add(new LogLine(lineNumber, positionInFile));
-        }
+  /**
+   * <p>
+   *   Creates an instance capable of parsing the Oracle JDBC log file with
+   *   {@code parallelism} threads, the result of the analysis of a local log
+   *   file is kept in an index file in {@code indexDirectory}.
+   * </p>
+   * <p>
+   *   When the same log file is opened again, the index file is read instead
+   *   of the log file if the log file hasn't changed in the meantime (same
+   *   size, modification time and content at its beginning and end).
+   *   Otherwise the log file is parsed and the index file is replaced. The
+   *   index is a cache: if it can't be read or written, the log file is parsed
+   *   as if there were no index. While the log file is {@link #refresh() refreshed},
+   *   the index is written again at most once a minute, or once 64 MB were
+   *   appended.
+   * </p>
+   *
+   * @param logLocation URL or path to the Oracle JDBC log file.
+   * @param parallelism number of threads used to parse the log file.
+   * @param indexDirectory directory of the index files, for instance the
+   *                       directory of the log file or a cache directory, or
+   *                       {@code null} to not use an index. Log files located
+   *                       by a URL are never indexed.
+   * @throws IllegalArgumentException If {@code logLocation} is null or empty,
+   *                                  or if {@code parallelism} is lower than 1.
+   */
+  public JDBCLog(String logLocation, int parallelism, Path indexDirectory) throws IllegalArgumentException {
+    this(source(logLocation), parallelism, indexDirectory);
+  }
 
-        positionInFile += (line.length() + 1);
-        lineNumber++;
+  /**
+   * <p>
+   *   Creates an instance capable of parsing an Oracle JDBC log from any
+   *   source: a local file, a URL, a stream such as the standard input, a
+   *   channel or an array of bytes.
+   * </p>
+   *
+   * @param source the source of the Oracle JDBC log.
+   * @throws NullPointerException If {@code source} is null.
+   * @see #JDBCLog(LogSource, int, Path)
+   */
+  public JDBCLog(LogSource source) {
+    this(source, 1, null);
+  }
+
+  /**
+   * <p>
+   *   Creates an instance capable of parsing an Oracle JDBC log from any
+   *   source with {@code parallelism} threads, the result of the analysis of
+   *   a local log file is kept in an index file in {@code indexDirectory}.
+   * </p>
+   * <p>
+   *   Local log files are memory-mapped, parsed in parallel, indexed and can
+   *   be followed. Other sources are parsed by a single thread in a single
+   *   pass. A source that can only be read once (a stream or a channel) is
+   *   kept while it is analyzed, in memory up to 1 MB and in a temporary file
+   *   beyond, so that the lines of its errors can be read afterward. The
+   *   {@code stream*} and {@code publish*} methods of the queries and of the
+   *   connection events don't keep it: called before anything else, they read
+   *   it directly, and it can't be analyzed afterward.
+   * </p>
+   *
+   * @param source the source of the Oracle JDBC log.
+   * @param parallelism number of threads used to parse a local log file.
+   * @param indexDirectory directory of the index files, or {@code null} to
+   *                       not use an index. Only local log files are indexed.
+   * @throws NullPointerException If {@code source} is null.
+   * @throws IllegalArgumentException If {@code parallelism} is lower than 1.
+   */
+  public JDBCLog(LogSource source, int parallelism, Path indexDirectory) {
+    Objects.requireNonNull(source, "source cannot be null.");
+    if (parallelism < 1)
+      throw new IllegalArgumentException("parallelism must be greater than 0.");
+
+    this.source = LogSources.reReadable(source);
+    this.logLocation = source.location();
+    this.logFile = LogSources.localFile(source);
+    this.parallelism = parallelism;
+    this.indexDirectory = indexDirectory;
+  }
+
+  private static LogSource source(final String logLocation) {
+    Utils.requireNonBlank(logLocation, "logLocation cannot be null or blank.");
+    return LogSource.of(logLocation);
+  }
+
+  /**
+   * <p>
+   *   Reads the log file once and runs all the extractors on each line, the
+   *   result is kept so that the getters don't read the file again.
+   * </p>
+   *
+   * @return the parser holding the extracted data.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  private JDBCLogParser analyze() throws IOException {
+    if (parser != null)
+      return parser;
+
+    if (indexDirectory == null || logFile == null) {
+      parser = parseLogFile();
+    } else {
+      final LogIndexFile indexFile = new LogIndexFile(logFile, indexDirectory);
+      parser = indexFile.read();
+      if (parser == null) {
+        parser = parseLogFile();
+        indexFile.write(parser);
       }
+      indexTime = System.nanoTime();
+      indexPosition = parser.getParsedPosition();
+    }
+
+    if (logFile != null) {
+      // The parsed position of a compressed file is an offset in its decompressed content.
+      checkpoint = isCompressed(source) ? LogCheckpoint.of(logFile, Files.size(logFile))
+        : LogCheckpoint.of(logFile, parser.getParsedPosition());
     }
 
-    return tracesLines;
+    return parser;
   }
 
-  private List<LogLine> extractLogLines() throws IOException  {
-    List<LogLine> logLines = new ArrayList<>();
+  /**
+   * <p>
+   *   Brings the analysis up to date with a log file that is being appended
+   *   to. Only the lines appended since the last analysis are parsed, the
+   *   errors, queries, connection events and stats include them afterward. A
+   *   last line without a line terminator is still being written, it is
+   *   parsed once it is complete.
+   * </p>
+   * <p>
+   *   The log file is analyzed again from the beginning if it isn't a local
+   *   file (a URL or a stream for instance), if it is compressed, or if it
+   *   doesn't just grow: it is smaller or its beginning changed (after a
+   *   rotation for instance). The lists previously returned by
+   *   {@link #getQueries()} and {@link #getConnectionEvents()} aren't
+   *   modified, call them again to get the new ones. An HTTP or HTTPS log file is
+   *   revalidated, it is only downloaded and analyzed again if it changed.
+   * </p>
+   *
+   * @return {@code true} if the log file changed since the last analysis.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  public synchronized boolean refresh() throws IOException {
+    return update() != Change.NONE;
+  }
 
-    try (final BufferedReader reader = getBufferedReader(logLocation)) {
-      int lineNumber = 1;
-      long positionInFile = 0;
-      String line;
-      while ( (line = reader.readLine()) != null) {
-        Matcher matcher = LOG_PATTERN.matcher(line);
-        if (matcher.find()) {
-          logLines.add(new LogLine(lineNumber, positionInFile));
-        }
+  private Change update() throws IOException {
+    if (parser == null) {
+      analyze();
+      return Change.REWRITTEN;
+    }
+
+    if (checkpoint == null && !LogSources.revalidate(source)) {
+      // The downloaded copy of the URL is still up to date.
+      return Change.NONE;
+    }
+
+    if (checkpoint == null || checkpoint.isRewritten(logFile)) {
+      reset();
+      analyze();
+      return Change.REWRITTEN;
+    }
+
+    if (isCompressed(source)) {
+      // A compressed file can't be resumed: a gzip member was appended to it.
+      if (Files.size(logFile) == checkpoint.getPosition())
+        return Change.NONE;
+      reset();
+      analyze();
+      return Change.APPENDED;
+    }
+
+    final long endPosition = checkpoint.lastLineEnd(logFile);
+    if (endPosition == checkpoint.getPosition())
+      return Change.NONE;
+
+    if (checkpoint.isInLine()) {
+      // The last line was parsed as a whole line before it was complete.
+      reset();
+      analyze();
+      return Change.APPENDED;
+    }
+
+    logIndex = null;
+    stats = null;
+    queries = null;
+    connectionEvents = null;
+    // Writing the index costs as much as the whole analysis, it is throttled.
+    final boolean isIndexDue = indexDirectory != null && (System.nanoTime() - indexTime >= INDEX_WRITE_INTERVAL
+      || endPosition - indexPosition >= INDEX_WRITE_BYTES);
+    final LogIndexFile indexFile = isIndexDue ? new LogIndexFile(logFile, indexDirectory) : null;
+    try (final LineReader reader = new MappedLineReader(logFile, checkpoint.getPosition(), MappedLineReader.DEFAULT_SEGMENT_SIZE)) {
+      parser.resume(reader, endPosition);
+    } catch (IOException e) {
+      // The parser may have parsed a part of the lines, the next call starts over.
+      reset();
+      throw e;
+    }
+
+    if (indexFile != null) {
+      indexFile.write(parser);
+      indexTime = System.nanoTime();
+      indexPosition = parser.getParsedPosition();
+    }
+    checkpoint = LogCheckpoint.of(logFile, parser.getParsedPosition());
+
+    return Change.APPENDED;
+  }
+
+  private void reset() {
+    parser = null;
+    checkpoint = null;
+    logIndex = null;
+    stats = null;
+    queries = null;
+    connectionEvents = null;
+  }
+
+  /**
+   * <p>
+   *   Registers a listener notified of the errors, queries and connection
+   *   events found in the lines appended to the log file while it is
+   *   {@link #follow(Duration) followed}.
+   * </p>
+   *
+   * @param listener the listener.
+   * @throws NullPointerException if {@code listener} is null.
+   */
+  public void addListener(JDBCLogListener listener) {
+    listeners.add(Objects.requireNonNull(listener, "listener cannot be null."));
+  }
+
+  /**
+   * <p>
+   *   Unregisters a listener.
+   * </p>
+   *
+   * @param listener the listener.
+   */
+  public void removeListener(JDBCLogListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * <p>
+   *   Follows the log file: it is {@link #refresh() refreshed} every
+   *   {@code pollInterval} by a daemon thread, and the errors, queries and
+   *   connection events found in the appended lines are pushed to the
+   *   {@link #addListener(JDBCLogListener) listeners}.
+   * </p>
+   * <p>
+   *   The content of the log file when it starts being followed is analyzed
+   *   but not pushed to the listeners. When the log file is rotated or
+   *   truncated, everything found in the new content is pushed.
+   * </p>
+   *
+   * @param pollInterval delay between two polls of the log file.
+   * @return the follower, to close once the log file shouldn't be followed anymore.
+   * @throws IOException if an error occurs while reading the log file.
+   * @throws IllegalArgumentException if {@code pollInterval} is null, zero or negative.
+   * @throws UnsupportedOperationException if the log file isn't a local file, or if it is compressed.
+   */
+  public LogFollower follow(Duration pollInterval) throws IOException {
+    LogFollower.checkFollowable(source, pollInterval);
 
-        positionInFile += (line.length() + 1);
-        lineNumber++;
+    synchronized (this) {
+      analyze();
+    }
+
+    return new LogFollower(logLocation, this::poll, this::notifyFailure, pollInterval);
+  }
+
+  private void poll() throws IOException {
+    final List<LogError> errors;
+    final List<JDBCExecutedQuery> queries;
+    final List<JDBCConnectionEvent> connectionEvents;
+
+    synchronized (this) {
+      final int errorCount = analyze().getErrorLines().size();
+      final int queryCount = analyze().getQueries().size();
+      final int connectionEventCount = analyze().getConnectionEvents().size();
+
+      final Change change = update();
+      if (change == Change.NONE)
+        return;
+
+      final boolean isRewritten = change == Change.REWRITTEN;
+      errors = getLogErrors(isRewritten ? 0 : errorCount);
+      queries = List.copyOf(analyze().getQueries().subList(isRewritten ? 0 : queryCount, analyze().getQueries().size()));
+      connectionEvents = List.copyOf(analyze().getConnectionEvents()
+        .subList(isRewritten ? 0 : connectionEventCount, analyze().getConnectionEvents().size()));
+    }
+
+    // The listeners are notified without holding the lock, they may take time.
+    for (JDBCLogListener listener : listeners) {
+      try {
+        errors.forEach(listener::onError);
+        queries.forEach(listener::onQuery);
+        connectionEvents.forEach(listener::onConnectionEvent);
+      } catch (RuntimeException e) {
+        notifyFailure(e);
+      }
+    }
+  }
+
+  private void notifyFailure(final Exception exception) {
+    for (JDBCLogListener listener : listeners) {
+      try {
+        listener.onFailure(exception);
+      } catch (RuntimeException ignored) {
+        // Failures of the failure handlers are not reported again.
       }
     }
+  }
 
-    return logLines;
+  /**
+   * Change of the log file since the last analysis.
+   */
+  private enum Change {
+    NONE,
+    APPENDED,
+    REWRITTEN
   }
 
-  private List<LogEntry> parse() throws IOException {
-    if (logEntries != null) {
-      return logEntries;
+  private JDBCLogParser parseLogFile() throws IOException {
+    if (parallelism > 1 && logFile != null && !isCompressed(source))
+      return ParallelLogParser.parse(logFile, parallelism);
+
+    final JDBCLogParser logParser = new JDBCLogParser();
+    try (final LineReader reader = getLineReader(source)) {
+      logParser.parse(reader);
+    }
+
+    return logParser;
+  }
+
+  private JDBCLogIndex parse() throws IOException {
+    if (logIndex != null) {
+      return logIndex;
     }
 
     // Differentiate between trace lines and log lines
     // traces can only be 1 line but logs can be multiple lines.
-    traceLines = extractTraceLines();
-    logLines = extractLogLines();
+    final LineIndex traceLines = analyze().getTraceLines();
+    final LineIndex logLines = analyze().getLogLines();
 
-    logEntries = new ArrayList<>(logLines.size());
+    // A log entry starts at a log line and ends right before the next trace
+    // or log line, the position of that line is where the log entry ends.
+    final List<LogEntry> logEntries = new ArrayList<>(logLines.size());
     int traceLineIndex = 0, logLineIndex = 0, logBeginLineIndex = 0;
     long logBeginPosition = 0;
     boolean inLogEntry = false;
     for (int i = 0; i < (traceLines.size() + logLines.size()); i++) {
-      if (traceLineIndex < traceLines.size() && traceLines.get(traceLineIndex).getLineNumber() < logLines.get(logLineIndex).getLineNumber()) {
+      if (traceLineIndex < traceLines.size()
+        && (logLineIndex == logLines.size() || traceLines.getLineNumber(traceLineIndex) < logLines.getLineNumber(logLineIndex))) {
         if (inLogEntry) {
-          logEntries.add(new LogEntry(logLocation, logBeginLineIndex, traceLines.get(traceLineIndex).getLineNumber() - 1, logBeginPosition));
+          logEntries.add(new LogEntry(source, logBeginLineIndex, traceLines.getLineNumber(traceLineIndex) - 1,
+            logBeginPosition, traceLines.getPositionInFile(traceLineIndex)));
         }
         inLogEntry = false;
         traceLineIndex++;
       } else {
         if (inLogEntry) {
-          logEntries.add(new LogEntry(logLocation, logBeginLineIndex, logLines.get(logLineIndex).getLineNumber() - 1, logBeginPosition));
+          logEntries.add(new LogEntry(source, logBeginLineIndex, logLines.getLineNumber(logLineIndex) - 1,
+            logBeginPosition, logLines.getPositionInFile(logLineIndex)));
         }
-        logBeginLineIndex = logLines.get(logLineIndex).getLineNumber();
-        logBeginPosition = logLines.get(logLineIndex).getPositionInFile();
+        logBeginLineIndex = logLines.getLineNumber(logLineIndex);
+        logBeginPosition = logLines.getPositionInFile(logLineIndex);
         inLogEntry = true;
         logLineIndex++;
       }
     }
 
     if (inLogEntry) {
-      logEntries.add(new LogEntry(logLocation, logBeginLineIndex, -1, logBeginPosition));
+      logEntries.add(new LogEntry(source, logBeginLineIndex, -1, logBeginPosition, -1));
     }
 
-    return logEntries;
+    logIndex = new JDBCLogIndex(new LogEntryIndex(logEntries), analyze().getTraces(), analyze().getSqlTimings(),
+      analyze().getPacketDumps());
+    return logIndex;
   }
 
   /**
@@ -179,149 +525,125 @@ public class JDBCLog {
    * @throws IOException if an error occurs while reading the log file.
    * @see LogError
    */
-  public List<LogError> getLogErrors() throws IOException {
-    List<Integer> errorLines = new ArrayList<>();
-
-    try (final BufferedReader reader = getBufferedReader(logLocation)) {
-      int lineNumber = 1;
-      String line;
-      while ( (line = reader.readLine()) != null) {
-        Matcher matcher = EXCEPTION_PATTERN.matcher(line);
-        if (matcher.find()) {
-          errorLines.add(lineNumber);
-        }
-        lineNumber++;
-      }
-    }
+  public synchronized List<LogError> getLogErrors() throws IOException {
+    return getLogErrors(0);
+  }
+
+  /**
+   * @param fromErrorLine index of the first error line to report.
+   */
+  private List<LogError> getLogErrors(final int fromErrorLine) throws IOException {
+    final int errorLineCount = analyze().getErrorLines().size();
 
     List<LogError> result = new ArrayList<>();
-    if (!errorLines.isEmpty()) {
-      // We found some errors, we should associate them with logs.
-      List<LogEntry> logs = parse();
-
-      for (Integer errorLine : errorLines) {
-        for (LogEntry log : logs) {
-          if (log.getBeginLine() <= errorLine && (log.getEndLine() >= errorLine || log.getEndLine() == -1)) {
-            // This is the entire log for this error
-            result.add(new LogError(logs, this.traceLines, log));
-            break;
-          }
-        }
+    for (int i = fromErrorLine; i < errorLineCount; i++) {
+      final LogError error = getLogError(i);
+      if (error != null) {
+        result.add(error);
       }
     }
 
     return result;
   }
 
+  /**
+   * @param errorLine index of the error line.
+   * @return the error reported at this error line, or {@code null} if it
+   *         isn't part of a log entry or if there is no such error line.
+   */
+  private LogError getLogError(final int errorLine) throws IOException {
+    final LineIndex errorLines = analyze().getErrorLines();
+    if (errorLine >= errorLines.size())
+      return null;
+
+    // We found an error, we should associate it with its log.
+    final JDBCLogIndex index = parse();
+    final LogEntryIndex logs = index.getLogEntries();
+    final int logIndex = logs.indexOfLine(errorLines.getLineNumber(errorLine));
+
+    // This is the entire log for this error
+    return logIndex == -1 ? null : new LogError(index, logs.get(logIndex));
+  }
+
   /**
    * <p>
-   *   Generate statistics from the log file.
+   *   Stream the errors reported in the log file, as {@link #getLogErrors()}
+   *   but each error is only created when the stream reaches it.
+   * </p>
+   * <p>
+   *   The errors are associated with the log entries and the traces of the
+   *   whole log file, the log file is analyzed when the first error is
+   *   requested. A short-circuiting operation avoids creating the other errors.
    * </p>
    *
-   * @return {@link JDBCStats} object
-   * @throws IOException if an error occurs while reading the log file.
+   * @return a sequential {@link Stream} of {@link LogError}.
+   * @see LogError
    */
-  public JDBCStats getStats() throws IOException {
-    if (stats != null)
-      return stats;
-
-    final Pattern writtenBytesPattern = Pattern.compile("(\\d+|\\d{1,3}(?:,\\d{3})*) bytes written to the Socket");
-    final Pattern receivedBytesPattern = Pattern.compile("(\\d+|\\d{1,3}(?:,\\d{3})*) bytes$");
-
-    long errorsCount = 0;
-    long receivedPacketCount = 0;
-    long sentPacketCount = 0;
-    long bytesConsumed = 0;
-    long bytesProduced = 0;
-    long linesCount = 0;
-    String startTime = null;
-    String endTime = null;
-
-    Duration zonedDiff = null;
-    Duration localDiff = null;
-
-    String line;
-    try (final BufferedReader bufferedReader = getBufferedReader(logLocation)) {
-      while( (line = bufferedReader.readLine()) != null) {
-
-        if (isUCPFormatted == null)
-          isUCPFormatted = line.contains(UCP);
-
-        Matcher matcherHolder;
-        line = line.strip();
-
-        try {
-          if (isUCPFormatted) {
-            final var zonedDateTime = ZonedDateTime.parse(line.split(UCP)[0].strip(), LogError.UCP_TIMESTAMP_FORMATTER);
-
-            if (startTime == null || zonedDateTime.isBefore(ZonedDateTime.parse(startTime)))
-              startTime = zonedDateTime.toString();
-
-            if (endTime == null || zonedDateTime.isAfter(ZonedDateTime.parse(endTime)))
-              endTime = zonedDateTime.toString();
-
-            zonedDiff = Duration.between(ZonedDateTime.parse(startTime), ZonedDateTime.parse(endTime));
-
-          } else {
-            final String[] lineSegments = line.split(" ");
-            final var localDateTime = LocalDateTime.parse(
-              String.join(" ", lineSegments[0], lineSegments[1], lineSegments[2], lineSegments[3], lineSegments[4]),
-              LogError.DEFAULT_TIMESTAMP_FORMATTER);
-
-            if (startTime == null || localDateTime.isBefore(LocalDateTime.parse(startTime)))
-              startTime = localDateTime.toString();
-
-            if (endTime == null || localDateTime.isAfter(LocalDateTime.parse(endTime)))
-              endTime = localDateTime.toString();
-
-            localDiff = Duration.between(LocalDateTime.parse(startTime), LocalDateTime.parse(endTime));
-          }
-        } catch (Exception ignored) {
-          // Line doesn't start with timestamp
-        }
-
-        linesCount++;
-
-        matcherHolder = writtenBytesPattern.matcher(line);
-        if (matcherHolder.find()) {
-          sentPacketCount ++;
-          final String bytesString = matcherHolder.group(1).replace(",", "");
-          bytesProduced += Long.parseLong(bytesString);
-          continue;
-        }
+  public Stream<LogError> streamLogErrors() {
+    final int[] errorLine = {0};
+    return LogSpliterator.stream(sink -> {
+      synchronized (this) {
+        if (errorLine[0] >= analyze().getErrorLines().size())
+          return false;
+
+        final LogError error = getLogError(errorLine[0]++);
+        if (error != null)
+          sink.accept(error);
+        return true;
+      }
+    }, null);
+  }
 
-        matcherHolder = receivedBytesPattern.matcher(line);
-        if (matcherHolder.find()) {
-          receivedPacketCount++;
-          final String bytesString = matcherHolder.group(1).replace(",", "");
-          bytesConsumed += Long.parseLong(bytesString);
-          continue;
-        }
+  /**
+   * <p>
+   *   Publish the errors reported in the log file, as {@link #getLogErrors()}
+   *   but one at a time to a reactive subscriber.
+   * </p>
+   * <p>
+   *   The log file is analyzed when the first error is requested. The
+   *   errors are created as they are requested by the subscriber instead of
+   *   being collected in a list.
+   * </p>
+   *
+   * @return a publisher of {@link LogError}, each subscription gets all the errors.
+   * @see LogError
+   */
+  public Flow.Publisher<LogError> publishLogErrors() {
+    return new LogPublisher<>(logLocation, sink -> {
+      final int errorLineCount;
+      synchronized (this) {
+        errorLineCount = analyze().getErrorLines().size();
+      }
 
-        if (EXCEPTION_PATTERN.matcher(line).find()) {
-          errorsCount++;
+      for (int i = 0; i < errorLineCount; i++) {
+        final LogError error;
+        synchronized (this) {
+          error = getLogError(i);
         }
 
+        // Outside the lock, the subscriber may be slow.
+        if (error != null)
+          sink.accept(error);
       }
-    }
-
-    final var averageQueryTime = getQueries().stream()
-      .mapToDouble(JDBCExecutedQuery::executionTime)
-      .average()
-      .orElse(0);
-
-    final long openedConnectionCount = getConnectionEvents().stream()
-      .filter(jdbcConnectionEvent -> jdbcConnectionEvent.event() == JDBCConnectionEvent.Event.CONNECTION_OPENED)
-      .count();
+    });
+  }
 
-    final long closedConnectionCount = getConnectionEvents().stream()
-      .filter(jdbcConnectionEvent -> jdbcConnectionEvent.event() == JDBCConnectionEvent.Event.CONNECTION_CLOSED)
-      .count();
+  /**
+   * <p>
+   *   Generate statistics from the log file.
+   * </p>
+   *
+   * @return {@link JDBCStats} object
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  public synchronized JDBCStats getStats() throws IOException {
+    if (stats != null)
+      return stats;
 
-    stats = new JDBCStats(getFileSize(logLocation), linesCount, startTime, endTime,
-      localDiff != null ? localDiff : zonedDiff, errorsCount, getQueries().size(),
-      averageQueryTime,  openedConnectionCount, closedConnectionCount,
-      receivedPacketCount, sentPacketCount, bytesConsumed, bytesProduced);
+    // A copy, the accumulator of the parser doesn't hold the file size.
+    final JDBCStatsAccumulator accumulator = new JDBCStatsAccumulator().merge(analyze().getStats());
+    accumulator.addFileSize(getFileSize(source));
+    stats = accumulator.toJDBCStats();
 
     return stats;
   }
@@ -331,76 +653,54 @@ public class JDBCLog {
    *   Retrieve the executed SQL statements with the timestamp and the execution time.
    * </p>
    *
-   * @return {@link List} of {@link JDBCExecutedQuery}
+   * @return unmodifiable {@link List} of {@link JDBCExecutedQuery}
    * @throws IOException if an error occurs while reading the log file.
    */
-  public List<JDBCExecutedQuery> getQueries() throws IOException {
-    if (executedQueries != null && !executedQueries.isEmpty())
-      return executedQueries;
-
-    final Pattern queriesPattern = Pattern.compile("[\\s|.]endCurrentSql");
-    final Pattern sqlAndTimePattern = Pattern.compile("sql=([\\S\\s]*), time=(.*)", Pattern.MULTILINE);
-    final Pattern connectionIdAndTenantPattern = Pattern.compile("CONNECTION_ID=(.*),TENANT=(.*),SQL=", Pattern.MULTILINE);
-    final List<JDBCExecutedQuery> queries = new ArrayList<>();
-
-    String line;
-    StringBuilder multilineSql;
-    try (final BufferedReader bufferedReader = getBufferedReader(logLocation)) {
-      while ((line = bufferedReader.readLine()) != null) {
-        if (isUCPFormatted == null)
-          isUCPFormatted = line.contains(UCP);
-
-        line = line.strip();
-        String timestamp;
-        multilineSql = new StringBuilder();
-        final Matcher queryMatcher = queriesPattern.matcher(line);
-
-        if (queryMatcher.find()) {
-          if (isUCPFormatted)
-            timestamp = ZonedDateTime.parse(line.split(UCP)[0].strip(), LogError.UCP_TIMESTAMP_FORMATTER).toString();
-          else {
-            timestamp = line.replace(" oracle.jdbc.driver.ConnectionDiagnosable endCurrentSql", "").strip();
-            timestamp = LocalDateTime.parse(timestamp, LogError.DEFAULT_TIMESTAMP_FORMATTER).toString();
-          }
-
-          // Multiline SQL Queries, for example:
-          // ... sql=update /*+ index(orders, order_pk) */
-          // orders
-          // set order_status = ?
-          // where order_id = ?, time=14ms
-          while (!line.contains(", time=")) {
-            multilineSql.append(line)
-              .append("\n");
-            line = bufferedReader.readLine();
-          }
-
-          // Add the last line (that has the `, time=` string).
-          multilineSql.append(line);
-
-          String sql = null;
-          int executionTime = 0;
-          String connectionId = null;
-          String tenant = null;
-          final Matcher sqlAndTimeMatcher = sqlAndTimePattern.matcher(multilineSql.toString());
-          if (sqlAndTimeMatcher.find()) {
-            sql = sqlAndTimeMatcher.group(1);
-            executionTime = Integer.parseInt(sqlAndTimeMatcher.group(2).replace("ms","").strip());
-          }
-
-          final Matcher connectionIdAndTenantMatcher = connectionIdAndTenantPattern.matcher(line);
-          if (connectionIdAndTenantMatcher.find()) {
-            connectionId = connectionIdAndTenantMatcher.group(1);
-            tenant = connectionIdAndTenantMatcher.group(2);
-          }
-
-          queries.add(new JDBCExecutedQuery(timestamp, sql, executionTime, connectionId, tenant));
+  public synchronized List<JDBCExecutedQuery> getQueries() throws IOException {
+    if (queries == null)
+      queries = List.copyOf(analyze().getQueries());
+    return queries;
+  }
 
-        }
-      }
-    }
+  /**
+   * <p>
+   *   Stream the executed SQL statements, as {@link #getQueries()} but the log
+   *   file is read as the stream is consumed: a short-circuiting operation
+   *   ({@code limit}, {@code findFirst}, {@code anyMatch}...) stops reading it.
+   * </p>
+   * <p>
+   *   The log file stays open until the stream is closed, the stream should
+   *   be used in a try-with-resources statement.
+   * </p>
+   *
+   * @return a sequential {@link Stream} of {@link JDBCExecutedQuery}.
+   * @throws IOException if an error occurs while opening the log file.
+   */
+  public Stream<JDBCExecutedQuery> streamQueries() throws IOException {
+    final LineReader reader = getLineReader(LogSources.sequential(source));
+    final JDBCLogParser logParser = new JDBCLogParser();
+    return LogSpliterator.stream(sink -> logParser.streamNext(reader, sink, null), reader);
+  }
 
-    executedQueries = queries;
-    return executedQueries;
+  /**
+   * <p>
+   *   Publish the executed SQL statements, as {@link #getQueries()} but one at
+   *   a time to a reactive subscriber.
+   * </p>
+   * <p>
+   *   Each subscription reads the log file again and only extracts the
+   *   queries, as they are requested by the subscriber: the memory used
+   *   doesn't depend on the size of the log file.
+   * </p>
+   *
+   * @return a publisher of {@link JDBCExecutedQuery}.
+   */
+  public Flow.Publisher<JDBCExecutedQuery> publishQueries() {
+    return new LogPublisher<>(logLocation, sink -> {
+      try (final LineReader reader = getLineReader(LogSources.sequential(source))) {
+        new JDBCLogParser().stream(reader, sink, null);
+      }
+    });
   }
 
   /**
@@ -408,71 +708,74 @@ public class JDBCLog {
    *  Retrieve the connection opened/closed events.
    * </p>
    *
-   * @return {@link List} of {@link JDBCConnectionEvent}
+   * @return unmodifiable {@link List} of {@link JDBCConnectionEvent}
    * @throws IOException if an error occurs while reading the log file.
    */
-  public List<JDBCConnectionEvent> getConnectionEvents() throws IOException {
-    if (connectionEvents!= null && !connectionEvents.isEmpty())
-      return connectionEvents;
-    final Pattern openedConnectionsPattern = Pattern.compile(" oracle.jdbc.driver.T4CConnection[. ]logon\\s.*Session Attributes:");
-    final Pattern closedConnectionsPattern = Pattern.compile(" oracle.jdbc.driver.T4CConnection[. ]logoff$");
-    final List<JDBCConnectionEvent> events = new ArrayList<>();
-
-    String line;
-    try (final BufferedReader bufferedReader = getBufferedReader(logLocation)) {
-      while ((line = bufferedReader.readLine()) != null) {
-        if (isUCPFormatted == null)
-          isUCPFormatted = line.contains(UCP);
-
-        line = line.strip();
-        Matcher matcherHolder;
-        String timestamp;
-
-        matcherHolder = closedConnectionsPattern.matcher(line);
-        if (matcherHolder.find()) {
-          final var nextLine = bufferedReader.readLine().strip();
-          if (!nextLine.endsWith(" null")) {
-            if (isUCPFormatted)
-              timestamp = ZonedDateTime.parse(line.split(UCP)[0].strip(), LogError.UCP_TIMESTAMP_FORMATTER).toString();
-            else {
-              timestamp = line.split(closedConnectionsPattern.pattern())[0];
-              timestamp = LocalDateTime.parse(timestamp, LogError.DEFAULT_TIMESTAMP_FORMATTER).toString();
-            }
-            events.add(new JDBCConnectionEvent(timestamp, JDBCConnectionEvent.Event.CONNECTION_CLOSED));
-          }
-          continue;
-        }
+  public synchronized List<JDBCConnectionEvent> getConnectionEvents() throws IOException {
+    if (connectionEvents == null)
+      connectionEvents = List.copyOf(analyze().getConnectionEvents());
+    return connectionEvents;
+  }
 
-        if (line.contains("oracle.jdbc.driver.T4CConnection logon"))
-          line += "\n" + bufferedReader.readLine();
-
-        matcherHolder = openedConnectionsPattern.matcher(line);
-        if (matcherHolder.find()) {
-          if (isUCPFormatted)
-            timestamp = ZonedDateTime.parse(line.split(UCP)[0].strip(), LogError.UCP_TIMESTAMP_FORMATTER).toString();
-          else {
-            timestamp = line.split(openedConnectionsPattern.pattern().substring(0, openedConnectionsPattern.pattern().length()-1))[0];
-            timestamp = LocalDateTime.parse(timestamp, LogError.DEFAULT_TIMESTAMP_FORMATTER).toString();
-          }
-          StringBuilder details = new StringBuilder();
-          String temp = bufferedReader.readLine();
-          while (!temp.isBlank()) {
-            details.append(temp).append(" ");
-            temp = bufferedReader.readLine();
-          }
-          details.append(", ");
-          temp = bufferedReader.readLine();
-          if (temp.endsWith("logon"))
-            temp = bufferedReader.readLine();
-          details.append(temp.substring(temp.indexOf("cookie found?")));
-          events.add(new JDBCConnectionEvent(timestamp, JDBCConnectionEvent.Event.CONNECTION_OPENED, details.toString()));
-        }
+  /**
+   * <p>
+   *   Stream the connection opened/closed events, as {@link #getConnectionEvents()}
+   *   but the log file is read as the stream is consumed: a short-circuiting
+   *   operation stops reading it.
+   * </p>
+   * <p>
+   *   The log file stays open until the stream is closed, the stream should
+   *   be used in a try-with-resources statement.
+   * </p>
+   *
+   * @return a sequential {@link Stream} of {@link JDBCConnectionEvent}.
+   * @throws IOException if an error occurs while opening the log file.
+   */
+  public Stream<JDBCConnectionEvent> streamConnectionEvents() throws IOException {
+    final LineReader reader = getLineReader(LogSources.sequential(source));
+    final JDBCLogParser logParser = new JDBCLogParser();
+    return LogSpliterator.stream(sink -> logParser.streamNext(reader, null, sink), reader);
+  }
 
+  /**
+   * <p>
+   *   Publish the connection opened/closed events, as {@link #getConnectionEvents()}
+   *   but one at a time to a reactive subscriber.
+   * </p>
+   * <p>
+   *   Each subscription reads the log file again and only extracts the
+   *   events, as they are requested by the subscriber: the memory used
+   *   doesn't depend on the size of the log file.
+   * </p>
+   *
+   * @return a publisher of {@link JDBCConnectionEvent}.
+   */
+  public Flow.Publisher<JDBCConnectionEvent> publishConnectionEvents() {
+    return new LogPublisher<>(logLocation, sink -> {
+      try (final LineReader reader = getLineReader(LogSources.sequential(source))) {
+        new JDBCLogParser().stream(reader, null, sink);
       }
+    });
+  }
+
+  /**
+   * <p>
+   *   Take a snapshot of the complete analysis of the log file, including
+   *   the details of every error. The snapshot doesn't need the log file, it
+   *   can be saved with {@link JDBCLogSnapshot#writeTo(java.io.OutputStream)}.
+   * </p>
+   *
+   * @return the snapshot.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  public synchronized JDBCLogSnapshot snapshot() throws IOException {
+    final List<ResolvedLogError> errors = new ArrayList<>();
+    for (LogError error : getLogErrors()) {
+      errors.add(ResolvedLogError.of(error));
     }
 
-    connectionEvents = events;
-    return connectionEvents;
+    return new JDBCLogSnapshot(logLocation, getStats(), getQueries(), getConnectionEvents(),
+      errors);
   }
 
   /**
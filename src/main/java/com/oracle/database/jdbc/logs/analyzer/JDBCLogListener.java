@@ -0,0 +1,70 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JDBCConnectionEvent;
+import com.oracle.database.jdbc.logs.model.JDBCExecutedQuery;
+import com.oracle.database.jdbc.logs.model.LogError;
+
+/**
+ * <p>
+ *   Receives what is found in the lines appended to a followed Oracle JDBC
+ *   log file, a listener only needs to implement the methods it is interested in.
+ * </p>
+ * <p>
+ *   The methods are called by the thread that follows the log file, in the
+ *   order the records appear in the log file for each kind of record.
+ * </p>
+ *
+ * @see JDBCLog#addListener(JDBCLogListener)
+ * @see JDBCLog#follow(java.time.Duration)
+ */
+public interface JDBCLogListener {
+
+  /**
+   * <p>
+   *   Called for each error found in the appended lines.
+   * </p>
+   *
+   * @param error the error.
+   */
+  default void onError(LogError error) {
+  }
+
+  /**
+   * <p>
+   *   Called for each executed query found in the appended lines.
+   * </p>
+   *
+   * @param query the executed query.
+   */
+  default void onQuery(JDBCExecutedQuery query) {
+  }
+
+  /**
+   * <p>
+   *   Called for each connection event found in the appended lines.
+   * </p>
+   *
+   * @param event the connection event.
+   */
+  default void onConnectionEvent(JDBCConnectionEvent event) {
+  }
+
+  /**
+   * <p>
+   *   Called when the log file can't be read, or when another listener
+   *   failed. The log file is still followed, it is read again at the next poll.
+   * </p>
+   *
+   * @param exception the failure.
+   */
+  default void onFailure(Exception exception) {
+  }
+
+}
@@ -0,0 +1,1171 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.BinaryIO;
+import com.oracle.database.jdbc.logs.model.JDBCConnectionEvent;
+import com.oracle.database.jdbc.logs.model.JDBCExecutedQuery;
+import com.oracle.database.jdbc.logs.model.JDBCStatsAccumulator;
+import com.oracle.database.jdbc.logs.model.LogError;
+import com.oracle.database.jdbc.logs.model.LineIndex;
+import com.oracle.database.jdbc.logs.model.PacketDumpIndex;
+import com.oracle.database.jdbc.logs.model.SQLTimingIndex;
+import com.oracle.database.jdbc.logs.model.TraceIndex;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.oracle.database.jdbc.logs.analyzer.JDBCLog.*;
+import static com.oracle.database.jdbc.logs.analyzer.TimestampParser.NOT_A_TIMESTAMP;
+
+/**
+ * <p>
+ *   Single-pass engine behind {@link JDBCLog}.
+ * </p>
+ * <p>
+ *   Every extractor (trace lines, log lines, errors, statistics, queries and
+ *   connection events) sees each line of the log file exactly once. Extractors
+ *   that used to read ahead with their own reader (multiline SQL, connection
+ *   details) are implemented as small state machines, so they consume the same
+ *   lines they would have consumed before without an extra read of the file.
+ * </p>
+ */
+final class JDBCLogParser {
+
+  private static final Pattern WRITTEN_BYTES_PATTERN = Pattern.compile("(\\d+|\\d{1,3}(?:,\\d{3})*) bytes written to the Socket");
+  private static final Pattern RECEIVED_BYTES_PATTERN = Pattern.compile("(\\d+|\\d{1,3}(?:,\\d{3})*) bytes$");
+  private static final Pattern QUERIES_PATTERN = Pattern.compile("[\\s|.]endCurrentSql");
+  private static final Pattern SQL_AND_TIME_PATTERN = Pattern.compile("sql=([\\S\\s]*), time=(.*)", Pattern.MULTILINE);
+  private static final Pattern CONNECTION_ID_AND_TENANT_PATTERN = Pattern.compile("CONNECTION_ID=(.*),TENANT=(.*),SQL=", Pattern.MULTILINE);
+  private static final Pattern OPENED_CONNECTIONS_PATTERN = Pattern.compile(" oracle.jdbc.driver.T4CConnection[. ]logon\\s.*Session Attributes:");
+  private static final Pattern CLOSED_CONNECTIONS_PATTERN = Pattern.compile(" oracle.jdbc.driver.T4CConnection[. ]logoff$");
+  private static final Pattern PACKET_DUMP_ROW_PATTERN = Pattern.compile("\\s([0-9A-F]{2}\\s){8}\\s+\\|.{8}\\|");
+
+  /*
+   * Anchors searched at once in the bytes of each line before matching the
+   * patterns, a pattern can't match a line that doesn't contain its anchor.
+   * The bit of an anchor is its position in ANCHORS.
+   */
+  private static final LiteralSet ANCHORS = new LiteralSet(
+    "FINE", "CONFIG", "INFO", "WARNING", "SEVERE",
+    "Exception: ORA-", " bytes", "endCurrentSql", "T4CConnection", " CONNECTION_ID=");
+  private static final int LOG_LEVEL_ANCHORS = 0b11111;
+  private static final int EXCEPTION_ANCHOR = 1 << 5;
+  private static final int BYTES_ANCHOR = 1 << 6;
+  private static final int QUERY_ANCHOR = 1 << 7;
+  private static final int CONNECTION_ANCHOR = 1 << 8;
+  private static final int CONNECTION_ID_ANCHOR = 1 << 9;
+  private static final byte[] LOGON_ANCHOR = LineReader.literal("oracle.jdbc.driver.T4CConnection logon");
+
+  /**
+   * Number of lines at the beginning of a chunk for which the state of the
+   * multiline extractors is recorded.
+   */
+  static final int RECORDED_LINES = 1 << 16;
+
+  // Null until the first line has been read.
+  private Boolean isUCPFormatted;
+
+  private final TraceIndex traces;
+  private final LineIndex logLines;
+  private final LineIndex errorLines;
+  private List<QueryRecord> queryRecords;
+  private List<ConnectionEventRecord> connectionEventRecords;
+  private final PacketDumpIndex packetDumps;
+
+  // Offset in bytes of the line that follows the last parsed line.
+  private long parsedPosition;
+
+  // Built by finish()
+  private List<JDBCExecutedQuery> queries;
+  private List<JDBCConnectionEvent> connectionEvents;
+  private SQLTimingIndex sqlTimings;
+
+  // Lines of a chunk after which a multiline extractor is in the middle of a record.
+  private final BitSet activeLines;
+
+  private final JDBCStatsAccumulator stats;
+
+  // Set by stream(), the records are passed to them instead of being kept.
+  private Consumer<JDBCExecutedQuery> querySink;
+  private Consumer<JDBCConnectionEvent> connectionEventSink;
+  private final TimestampParser timestampParser = new TimestampParser();
+
+  // Matchers are reset for each line instead of being created.
+  private final Matcher traceMatcher = TRACE_PATTERN.matcher("");
+  private final Matcher exceptionMatcher = EXCEPTION_PATTERN.matcher("");
+  private final Matcher writtenBytesMatcher = WRITTEN_BYTES_PATTERN.matcher("");
+  private final Matcher receivedBytesMatcher = RECEIVED_BYTES_PATTERN.matcher("");
+  private final Matcher queriesMatcher = QUERIES_PATTERN.matcher("");
+  private final Matcher openedConnectionsMatcher = OPENED_CONNECTIONS_PATTERN.matcher("");
+  private final Matcher closedConnectionsMatcher = CLOSED_CONNECTIONS_PATTERN.matcher("");
+  private final Matcher packetDumpRowMatcher = PACKET_DUMP_ROW_PATTERN.matcher("");
+  private long lastTraceMillis = NOT_A_TIMESTAMP;
+  private LocalDateTime lastTraceTimestamp;
+
+  private final QueryExtractor queryExtractor = new QueryExtractor();
+  private final ConnectionEventExtractor connectionEventExtractor = new ConnectionEventExtractor();
+  private final PacketDumpExtractor packetDumpExtractor = new PacketDumpExtractor();
+
+  /**
+   * <p>
+   *   Creates a parser for a whole log file.
+   * </p>
+   */
+  JDBCLogParser() {
+    this(null, null, new TraceIndex(), new LineIndex(), new LineIndex(), new ArrayList<>(), new ArrayList<>(),
+      new PacketDumpIndex(), new JDBCStatsAccumulator());
+  }
+
+  /**
+   * <p>
+   *   Creates a parser for a chunk of a log file, it records the state of the
+   *   multiline extractors over the first {@link #RECORDED_LINES} lines so
+   *   that the chunk can be {@link #carryOver(JDBCLogParser, LineReader, long) fixed}
+   *   if the previous chunk ends in the middle of a record.
+   * </p>
+   *
+   * @param isUCPFormatted whether the first line of the log file contains {@link JDBCLog#UCP}.
+   */
+  JDBCLogParser(final boolean isUCPFormatted) {
+    this(isUCPFormatted, new BitSet(), new TraceIndex(), new LineIndex(), new LineIndex(), new ArrayList<>(),
+      new ArrayList<>(), new PacketDumpIndex(), new JDBCStatsAccumulator());
+  }
+
+  private JDBCLogParser(final Boolean isUCPFormatted, final BitSet activeLines, final TraceIndex traces,
+                        final LineIndex logLines, final LineIndex errorLines, final List<QueryRecord> queryRecords,
+                        final List<ConnectionEventRecord> connectionEventRecords, final PacketDumpIndex packetDumps,
+                        final JDBCStatsAccumulator stats) {
+    this.isUCPFormatted = isUCPFormatted;
+    this.activeLines = activeLines;
+    this.traces = traces;
+    this.logLines = logLines;
+    this.errorLines = errorLines;
+    this.queryRecords = queryRecords;
+    this.connectionEventRecords = connectionEventRecords;
+    this.packetDumps = packetDumps;
+    this.stats = stats;
+  }
+
+  /**
+   * <p>
+   *   Runs all the extractors over every line returned by {@code reader}.
+   * </p>
+   *
+   * @param reader the log file reader, it is not closed by this method.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  void parse(final LineReader reader) throws IOException {
+    parse(reader, Long.MAX_VALUE);
+    finish();
+  }
+
+  /**
+   * <p>
+   *   Runs all the extractors over the lines returned by {@code reader} that
+   *   start before {@code endPosition}, {@link #finish()} must be called once
+   *   all the lines have been parsed.
+   * </p>
+   *
+   * @param reader the log file reader, it is not closed by this method.
+   * @param endPosition offset in bytes where to stop.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  void parse(final LineReader reader, final long endPosition) throws IOException {
+    while (reader.next() && reader.position() < endPosition) {
+      accept(reader);
+      parsedPosition = reader.nextPosition();
+    }
+
+    // The last log entry may go on in lines appended later, it is not ended.
+    packetDumpExtractor.flush();
+  }
+
+  /**
+   * <p>
+   *   Parses the lines appended to the log file after {@link #getParsedPosition()}
+   *   that start before {@code endPosition} as if they had been parsed with
+   *   the rest of the file: the records that were in progress at the end of
+   *   the previous parse are completed.
+   * </p>
+   *
+   * @param reader reader positioned at {@link #getParsedPosition()}, it is not closed by this method.
+   * @param endPosition offset in bytes where to stop.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  void resume(final LineReader reader, final long endPosition) throws IOException {
+    reader.skipLineNumbers((int) stats.getLineCount());
+    parse(reader, endPosition);
+    finish();
+  }
+
+  /**
+   * <p>
+   *   Runs only the query and connection event extractors over every line
+   *   returned by {@code reader}, the records are passed to the sinks as soon
+   *   as they are extracted and are not kept. The memory used doesn't depend
+   *   on the size of the log file.
+   * </p>
+   *
+   * @param reader the log file reader, it is not closed by this method.
+   * @param querySink receives the executed queries, {@code null} to not extract them.
+   * @param connectionEventSink receives the connection events, {@code null} to not extract them.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  void stream(final LineReader reader, final Consumer<JDBCExecutedQuery> querySink,
+              final Consumer<JDBCConnectionEvent> connectionEventSink) throws IOException {
+    while (streamNext(reader, querySink, connectionEventSink)) {
+      // The records are passed to the sinks.
+    }
+  }
+
+  /**
+   * <p>
+   *   As {@link #stream(LineReader, Consumer, Consumer)} but for the next line
+   *   only, a record spanning several lines is passed to its sink when its
+   *   last line is read.
+   * </p>
+   *
+   * @return {@code false} if there was no line left to read.
+   */
+  boolean streamNext(final LineReader reader, final Consumer<JDBCExecutedQuery> querySink,
+                     final Consumer<JDBCConnectionEvent> connectionEventSink) throws IOException {
+    if (!reader.next())
+      return false;
+
+    this.querySink = querySink;
+    this.connectionEventSink = connectionEventSink;
+    if (isUCPFormatted == null)
+      isUCPFormatted = reader.line().contains(UCP);
+
+    final int anchors = reader.find(ANCHORS);
+    if (querySink != null && (queryExtractor.isActive() || (anchors & QUERY_ANCHOR) != 0)) {
+      queryExtractor.accept(reader);
+    }
+
+    if (connectionEventSink != null && (connectionEventExtractor.isActive() || (anchors & CONNECTION_ANCHOR) != 0)) {
+      connectionEventExtractor.accept(reader);
+    }
+
+    return true;
+  }
+
+  /**
+   * <p>
+   *   Re-runs the multiline extractors (queries and connection events) over
+   *   this chunk starting from the state the {@code previous} chunk ended in.
+   *   The replay stops at the first line after which both runs are idle,
+   *   from there on they see the same lines in the same state.
+   * </p>
+   *
+   * @param previous parser of the previous chunk, already carried over.
+   * @param reader reader positioned at the beginning of this chunk, it is not closed by this method.
+   * @param endPosition offset in bytes of the end of this chunk.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  void carryOver(final JDBCLogParser previous, final LineReader reader, final long endPosition) throws IOException {
+    if (!previous.isMultilineActive())
+      return;
+
+    final JDBCLogParser replay = new JDBCLogParser(isUCPFormatted);
+    replay.queryExtractor.copyFrom(previous.queryExtractor);
+    replay.connectionEventExtractor.copyFrom(previous.connectionEventExtractor);
+
+    while (reader.next() && reader.position() < endPosition) {
+      replay.acceptMultiline(reader, reader.find(ANCHORS));
+
+      final int lineNumber = reader.lineNumber();
+      if (!replay.isMultilineActive() && lineNumber <= RECORDED_LINES && !activeLines.get(lineNumber)) {
+        replay.queryRecords.addAll(queryRecords.stream().filter(record -> record.lineNumber() > lineNumber).toList());
+        replay.connectionEventRecords.addAll(connectionEventRecords.stream().filter(record -> record.lineNumber() > lineNumber).toList());
+        queryRecords = replay.queryRecords;
+        connectionEventRecords = replay.connectionEventRecords;
+        return;
+      }
+    }
+
+    // The runs never met, the replay is the right result for the whole chunk.
+    queryRecords = replay.queryRecords;
+    connectionEventRecords = replay.connectionEventRecords;
+    queryExtractor.copyFrom(replay.queryExtractor);
+    connectionEventExtractor.copyFrom(replay.connectionEventExtractor);
+  }
+
+  /**
+   * <p>
+   *   Appends the result of the parser of the next chunk, its line numbers
+   *   are shifted by {@code lineOffset}.
+   * </p>
+   *
+   * @param chunk parser of the chunk that follows the chunks already appended.
+   * @param lineOffset number of lines before the chunk.
+   */
+  void append(final JDBCLogParser chunk, final int lineOffset) {
+    if (isUCPFormatted == null)
+      isUCPFormatted = chunk.isUCPFormatted;
+
+    traces.addAll(chunk.traces, lineOffset);
+    logLines.addAll(chunk.logLines, lineOffset);
+    errorLines.addAll(chunk.errorLines, lineOffset);
+    packetDumps.addAll(chunk.packetDumps, lineOffset);
+
+    for (QueryRecord record : chunk.queryRecords) {
+      queryRecords.add(new QueryRecord(record.query(), record.connectionId(), record.lineNumber() + lineOffset));
+    }
+    for (ConnectionEventRecord record : chunk.connectionEventRecords) {
+      connectionEventRecords.add(new ConnectionEventRecord(record.event(), record.lineNumber() + lineOffset));
+    }
+
+    stats.merge(chunk.stats);
+
+    // The state at the end of the last chunk is the state at the end of the file.
+    parsedPosition = chunk.parsedPosition;
+    queryExtractor.copyFrom(chunk.queryExtractor);
+    connectionEventExtractor.copyFrom(chunk.connectionEventExtractor);
+    packetDumpExtractor.copyFrom(chunk.packetDumpExtractor, lineOffset);
+  }
+
+  /**
+   * <p>
+   *   Builds the lists of queries and connection events and the SQL timing
+   *   index, and adds them to the statistics. Once the parser is
+   *   {@link #resume(LineReader, long) resumed}, only the new records are added.
+   * </p>
+   */
+  void finish() {
+    final int builtQueryCount = queries == null ? 0 : queries.size();
+    final int builtEventCount = connectionEvents == null ? 0 : connectionEvents.size();
+    build();
+
+    for (int i = builtQueryCount; i < queries.size(); i++) {
+      stats.addQuery(queries.get(i).executionTime());
+    }
+    for (int i = builtEventCount; i < connectionEvents.size(); i++) {
+      stats.addConnectionEvent(connectionEvents.get(i).event());
+    }
+  }
+
+  private void build() {
+    if (queries == null) {
+      queries = new ArrayList<>(queryRecords.size());
+      sqlTimings = new SQLTimingIndex();
+      connectionEvents = new ArrayList<>(connectionEventRecords.size());
+    }
+
+    for (int i = queries.size(); i < queryRecords.size(); i++) {
+      final QueryRecord record = queryRecords.get(i);
+      queries.add(record.query());
+      // Errors look up the execution time by the connection id as LogError extracts it.
+      sqlTimings.add(record.connectionId(), record.query().sql(), record.lineNumber(), record.query().executionTime());
+    }
+
+    for (int i = connectionEvents.size(); i < connectionEventRecords.size(); i++) {
+      connectionEvents.add(connectionEventRecords.get(i).event());
+    }
+  }
+
+  /**
+   * <p>
+   *   Writes the result of a finished parser, it can be read back with
+   *   {@link #readFrom(DataInput)} instead of parsing the log file again.
+   * </p>
+   *
+   * @param out the output.
+   * @throws IOException if an error occurs while writing.
+   */
+  void writeTo(final DataOutput out) throws IOException {
+    out.writeBoolean(isUCPFormatted != null);
+    if (isUCPFormatted != null)
+      out.writeBoolean(isUCPFormatted);
+    out.writeLong(parsedPosition);
+    traces.writeTo(out);
+    logLines.writeTo(out);
+    errorLines.writeTo(out);
+    packetDumps.writeTo(out);
+
+    out.writeInt(queryRecords.size());
+    for (QueryRecord record : queryRecords) {
+      final JDBCExecutedQuery query = record.query();
+      BinaryIO.writeString(out, query.timestamp());
+      BinaryIO.writeString(out, query.sql());
+      out.writeInt(query.executionTime());
+      BinaryIO.writeString(out, query.connectionId());
+      BinaryIO.writeString(out, query.tenant());
+      BinaryIO.writeString(out, record.connectionId());
+      out.writeInt(record.lineNumber());
+    }
+
+    out.writeInt(connectionEventRecords.size());
+    for (ConnectionEventRecord record : connectionEventRecords) {
+      final JDBCConnectionEvent event = record.event();
+      BinaryIO.writeString(out, event.timestamp());
+      out.writeInt(event.event().ordinal());
+      BinaryIO.writeString(out, event.details());
+      out.writeInt(record.lineNumber());
+    }
+
+    stats.writeTo(out);
+
+    // The records in progress, to resume the parser.
+    queryExtractor.writeTo(out);
+    connectionEventExtractor.writeTo(out);
+    packetDumpExtractor.writeTo(out);
+  }
+
+  /**
+   * <p>
+   *   Reads a finished parser written by {@link #writeTo(DataOutput)}.
+   * </p>
+   *
+   * @param in the input.
+   * @return the parser, ready to be queried.
+   * @throws IOException if an error occurs while reading.
+   */
+  static JDBCLogParser readFrom(final DataInput in) throws IOException {
+    final Boolean isUCPFormatted = in.readBoolean() ? in.readBoolean() : null;
+    final long parsedPosition = in.readLong();
+    final TraceIndex traces = TraceIndex.readFrom(in);
+    final LineIndex logLines = LineIndex.readFrom(in);
+    final LineIndex errorLines = LineIndex.readFrom(in);
+    final PacketDumpIndex packetDumps = PacketDumpIndex.readFrom(in);
+
+    final int queryCount = BinaryIO.readCount(in);
+    final List<QueryRecord> queryRecords = new ArrayList<>(BinaryIO.initialCapacity(queryCount));
+    for (int i = 0; i < queryCount; i++) {
+      final JDBCExecutedQuery query = new JDBCExecutedQuery(BinaryIO.readString(in), BinaryIO.readString(in),
+        in.readInt(), BinaryIO.readString(in), BinaryIO.readString(in));
+      queryRecords.add(new QueryRecord(query, BinaryIO.readString(in), in.readInt()));
+    }
+
+    final int eventCount = BinaryIO.readCount(in);
+    final List<ConnectionEventRecord> connectionEventRecords = new ArrayList<>(BinaryIO.initialCapacity(eventCount));
+    for (int i = 0; i < eventCount; i++) {
+      final JDBCConnectionEvent event = new JDBCConnectionEvent(BinaryIO.readString(in),
+        JDBCConnectionEvent.Event.values()[in.readInt()], BinaryIO.readString(in));
+      connectionEventRecords.add(new ConnectionEventRecord(event, in.readInt()));
+    }
+
+    final JDBCLogParser parser = new JDBCLogParser(isUCPFormatted, null, traces, logLines, errorLines, queryRecords,
+      connectionEventRecords, packetDumps, JDBCStatsAccumulator.readFrom(in));
+    parser.parsedPosition = parsedPosition;
+    parser.queryExtractor.readFrom(in);
+    parser.connectionEventExtractor.readFrom(in);
+    parser.packetDumpExtractor.readFrom(in);
+    parser.build();
+    return parser;
+  }
+
+  /**
+   * <p>
+   *   Checks whether the current line of {@code reader} is a trace, where a
+   *   record of the log file starts.
+   * </p>
+   *
+   * @param traceMatcher a matcher of {@link JDBCLog#TRACE_PATTERN}, it is reset to the line.
+   */
+  static boolean isTrace(final LineReader reader, final Matcher traceMatcher) {
+    return startsWithLocalTimestamp(reader, 0) && traceMatcher.reset(reader.view()).find();
+  }
+
+  private void addQueryRecord(final QueryRecord record) {
+    if (querySink != null)
+      querySink.accept(record.query());
+    else
+      queryRecords.add(record);
+  }
+
+  private void addConnectionEventRecord(final ConnectionEventRecord record) {
+    if (connectionEventSink != null)
+      connectionEventSink.accept(record.event());
+    else
+      connectionEventRecords.add(record);
+  }
+
+  private boolean isMultilineActive() {
+    return queryExtractor.isActive() || connectionEventExtractor.isActive();
+  }
+
+  /**
+   * <p>
+   *   Processes the current line of {@code reader}. The anchors of all the
+   *   extractors are first looked for in the bytes of the line, in one pass,
+   *   and the line is only matched against the patterns if an anchor is found.
+   *   Patterns are matched against a {@link LineReader#view() view} of the
+   *   bytes, the line is only decoded to a {@link String} when a part of it is
+   *   kept (a multiline record, a decoded trace, a packet dump header).
+   * </p>
+   */
+  private void accept(final LineReader reader) {
+    if (isUCPFormatted == null)
+      isUCPFormatted = reader.line().contains(UCP);
+
+    final int lineNumber = reader.lineNumber();
+    final long positionInFile = reader.position();
+    final int anchors = reader.find(ANCHORS);
+
+    // a trace is never more than 1 line
+    final boolean isTrace = isTrace(reader, traceMatcher);
+    if (isTrace) {
+      addTrace(lineNumber, positionInFile, reader.strippedView());
+    }
+
+    // LOG_PATTERN matches if and only if one of the log levels is found.
+    final boolean isLog = (anchors & LOG_LEVEL_ANCHORS) != 0;
+    if (isLog) {
+      logLines.add(lineNumber, positionInFile);
+    }
+
+    // Same order as the log entries are built: a log line begins a log entry
+    // and a trace line ends it.
+    if (isLog) {
+      packetDumpExtractor.endLogEntry();
+      packetDumpExtractor.beginLogEntry(lineNumber);
+    }
+    if (isTrace) {
+      packetDumpExtractor.endLogEntry();
+    }
+    packetDumpExtractor.accept(reader, anchors);
+
+    final boolean isError = (anchors & EXCEPTION_ANCHOR) != 0 && exceptionMatcher.reset(reader.view()).find();
+    if (isError) {
+      errorLines.add(lineNumber, positionInFile);
+    }
+
+    stats.addLine();
+    if ((anchors & (EXCEPTION_ANCHOR | BYTES_ANCHOR)) != 0 || mayStartWithTimestamp(reader)) {
+      collectStats(reader.strippedView(), (anchors & BYTES_ANCHOR) != 0, isError);
+    }
+
+    acceptMultiline(reader, anchors);
+
+    if (activeLines != null && lineNumber <= RECORDED_LINES && isMultilineActive()) {
+      activeLines.set(lineNumber);
+    }
+  }
+
+  private void acceptMultiline(final LineReader reader, final int anchors) {
+    if (queryExtractor.isActive() || (anchors & QUERY_ANCHOR) != 0) {
+      queryExtractor.accept(reader);
+    }
+
+    if (connectionEventExtractor.isActive() || (anchors & CONNECTION_ANCHOR) != 0) {
+      connectionEventExtractor.accept(reader);
+    }
+  }
+
+  /**
+   * <p>
+   *   Decodes the timestamp and the executed method of a trace line, i.e.
+   *   {@code Jun 20, 2024 10:27:12 PM oracle.jdbc.driver.PhysicalConnection connect}.
+   *   Consecutive traces usually share their timestamp, the last one is reused.
+   * </p>
+   *
+   * @param traceLine the stripped trace line.
+   */
+  private void addTrace(final int lineNumber, final long positionInFile, final CharSequence traceLine) {
+    // The executed method is made of the 2 last words, the date of the words before.
+    final int dateEnd = lastIndexOf(traceLine, ' ', lastIndexOf(traceLine, ' ', traceLine.length() - 1) - 1);
+    final String executedMethod = traceLine.subSequence(dateEnd + 1, traceLine.length()).toString();
+
+    final long epochMillis = timestampParser.parseLocal(traceLine, 0);
+    final int end = timestampParser.getEnd();
+    if (epochMillis == NOT_A_TIMESTAMP || end > dateEnd || !isBlank(traceLine, end, dateEnd)) {
+      // A date that can't be parsed is left to LogError.getNearestTrace() to report
+      lastTraceMillis = NOT_A_TIMESTAMP;
+      lastTraceTimestamp = null;
+    } else if (epochMillis != lastTraceMillis) {
+      lastTraceMillis = epochMillis;
+      lastTraceTimestamp = LocalDateTime.ofEpochSecond(epochMillis / 1000, 0, ZoneOffset.UTC);
+    }
+
+    traces.add(lineNumber, positionInFile, lastTraceTimestamp, executedMethod);
+  }
+
+  /**
+   * @return index of the last {@code c} at or before {@code fromIndex}, {@code -1} if there is none.
+   */
+  private static int lastIndexOf(final CharSequence text, final char c, final int fromIndex) {
+    for (int i = fromIndex; i >= 0; i--) {
+      if (text.charAt(i) == c)
+        return i;
+    }
+
+    return -1;
+  }
+
+  private static boolean isBlank(final CharSequence text, final int begin, final int end) {
+    for (int i = begin; i < end; i++) {
+      if (!Character.isWhitespace(text.charAt(i)))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * <p>
+   *   Checks whether the line may start with a timestamp once stripped, any
+   *   line with a non ASCII leading character is considered as a candidate.
+   * </p>
+   */
+  private boolean mayStartWithTimestamp(final LineReader reader) {
+    int index = 0;
+    while (index < reader.length() && LineReader.isWhitespace(reader.byteAt(index)))
+      index++;
+
+    if (index < reader.length() && reader.byteAt(index) < 0)
+      return true;
+
+    return isUCPFormatted ? startsWithUCPTimestamp(reader, index) : startsWithLocalTimestamp(reader, index);
+  }
+
+  /**
+   * <p>
+   *   Checks the beginning of a {@code MMM dd, yyyy} timestamp ({@code Jun 20, ...}) at {@code index}.
+   * </p>
+   */
+  private static boolean startsWithLocalTimestamp(final LineReader reader, final int index) {
+    return index + 4 < reader.length()
+      && isLetter(reader.byteAt(index))
+      && isLetter(reader.byteAt(index + 1))
+      && isLetter(reader.byteAt(index + 2))
+      && LineReader.isWhitespace(reader.byteAt(index + 3))
+      && isDigit(reader.byteAt(index + 4));
+  }
+
+  /**
+   * <p>
+   *   Checks the beginning of a {@code yyyy-MM-dd} timestamp ({@code 2024-10-21...}) at {@code index}.
+   * </p>
+   */
+  private static boolean startsWithUCPTimestamp(final LineReader reader, final int index) {
+    return index + 4 < reader.length()
+      && isDigit(reader.byteAt(index))
+      && isDigit(reader.byteAt(index + 1))
+      && isDigit(reader.byteAt(index + 2))
+      && isDigit(reader.byteAt(index + 3))
+      && reader.byteAt(index + 4) == '-';
+  }
+
+  private static boolean isLetter(final byte b) {
+    return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+  }
+
+  private static boolean isDigit(final byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private void collectStats(final CharSequence line, final boolean hasBytes, final boolean isError) {
+    if (isUCPFormatted) {
+      // The timestamp is the whole text before " UCP "
+      final long epochMillis = timestampParser.parseUCP(line, 0);
+      if (epochMillis != NOT_A_TIMESTAMP && isFollowedByUCP(line, timestampParser.getEnd()))
+        stats.addTimestamp(epochMillis, timestampParser.getOffset());
+
+    } else {
+      // The timestamp is the first 5 words of the line
+      final long epochMillis = timestampParser.parseLocal(line, 0);
+      final int end = timestampParser.getEnd();
+      if (epochMillis != NOT_A_TIMESTAMP && (end == line.length() || line.charAt(end) == ' '))
+        stats.addTimestamp(epochMillis, null);
+    }
+
+    if (hasBytes && writtenBytesMatcher.reset(line).find()) {
+      stats.addSentPacket(parseBytes(line, writtenBytesMatcher.start(1), writtenBytesMatcher.end(1)));
+      return;
+    }
+
+    if (hasBytes && receivedBytesMatcher.reset(line).find()) {
+      stats.addReceivedPacket(parseBytes(line, receivedBytesMatcher.start(1), receivedBytesMatcher.end(1)));
+      return;
+    }
+
+    if (isError) {
+      stats.addError();
+    }
+  }
+
+  /**
+   * <p>
+   *   Checks whether {@code index} is followed by blanks, then by {@link JDBCLog#UCP} or the end of the line.
+   * </p>
+   */
+  private static boolean isFollowedByUCP(final CharSequence line, final int index) {
+    int end = index;
+    while (end < line.length() && Character.isWhitespace(line.charAt(end)))
+      end++;
+
+    if (end == line.length())
+      return true;
+
+    // end is on the first non blank character, UCP starts with a blank
+    if (end == index || line.charAt(end - 1) != ' ' || end + UCP.length() - 1 > line.length())
+      return false;
+
+    for (int i = 1; i < UCP.length(); i++) {
+      if (line.charAt(end + i - 1) != UCP.charAt(i))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * @return the number of bytes between {@code begin} and {@code end}, with or without thousands separators.
+   */
+  private static long parseBytes(final CharSequence line, final int begin, final int end) {
+    long bytes = 0;
+    for (int i = begin; i < end; i++) {
+      final char c = line.charAt(i);
+      if (c != ',')
+        bytes = bytes * 10 + (c - '0');
+    }
+
+    return bytes;
+  }
+
+  /**
+   * @return the timestamp of a query or connection event, {@code null} if it
+   *         is malformed: the record is skipped, the rest of the analysis
+   *         goes on.
+   */
+  private String parseTimestamp(final String line, final String suffixToRemove) {
+    try {
+      if (isUCPFormatted)
+        return ZonedDateTime.parse(line.split(UCP)[0].strip(), LogError.UCP_TIMESTAMP_FORMATTER).toString();
+
+      return LocalDateTime.parse(suffixToRemove, LogError.DEFAULT_TIMESTAMP_FORMATTER).toString();
+    } catch (DateTimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * <p>
+   *   Extracts the executed SQL statements, a statement starts at a line
+   *   containing {@code endCurrentSql} and ends at the first line containing
+   *   {@code , time=}. For example:
+   * </p>
+   * <pre>
+   * ... sql=update /*+ index(orders, order_pk) *&#47;
+   * orders
+   * set order_status = ?
+   * where order_id = ?, time=14ms
+   * </pre>
+   */
+  private final class QueryExtractor {
+    private StringBuilder multilineSql;
+    private String timestamp;
+
+    boolean isActive() {
+      return multilineSql != null;
+    }
+
+    void copyFrom(final QueryExtractor other) {
+      multilineSql = other.multilineSql == null ? null : new StringBuilder(other.multilineSql);
+      timestamp = other.timestamp;
+    }
+
+    void writeTo(final DataOutput out) throws IOException {
+      BinaryIO.writeString(out, multilineSql == null ? null : multilineSql.toString());
+      BinaryIO.writeString(out, timestamp);
+    }
+
+    void readFrom(final DataInput in) throws IOException {
+      final String sql = BinaryIO.readString(in);
+      multilineSql = sql == null ? null : new StringBuilder(sql);
+      timestamp = BinaryIO.readString(in);
+    }
+
+    void accept(final LineReader reader) {
+      final int lineNumber = reader.lineNumber();
+      if (multilineSql == null) {
+        if (!queriesMatcher.reset(reader.strippedView()).find())
+          return;
+
+        final String strippedLine = reader.line().strip();
+        timestamp = parseTimestamp(strippedLine,
+          strippedLine.replace(" oracle.jdbc.driver.ConnectionDiagnosable endCurrentSql", "").strip());
+        if (timestamp == null)
+          return;
+        multilineSql = new StringBuilder();
+        // The first line is the stripped one, the following lines are kept as is.
+        append(strippedLine, lineNumber);
+      } else {
+        append(reader.line(), lineNumber);
+      }
+    }
+
+    private void append(final String line, final int lineNumber) {
+      if (!line.contains(", time=")) {
+        multilineSql.append(line)
+          .append("\n");
+        return;
+      }
+
+      // Add the last line (that has the `, time=` string).
+      multilineSql.append(line);
+
+      String sql = null;
+      int executionTime = 0;
+      String connectionId = null;
+      String tenant = null;
+      final Matcher sqlAndTimeMatcher = SQL_AND_TIME_PATTERN.matcher(multilineSql.toString());
+      if (sqlAndTimeMatcher.find()) {
+        sql = sqlAndTimeMatcher.group(1);
+        try {
+          executionTime = Integer.parseInt(sqlAndTimeMatcher.group(2).replace("ms","").strip());
+        } catch (NumberFormatException e) {
+          // Malformed execution time, the query is skipped.
+          multilineSql = null;
+          timestamp = null;
+          return;
+        }
+      }
+
+      final Matcher connectionIdAndTenantMatcher = CONNECTION_ID_AND_TENANT_PATTERN.matcher(line);
+      if (connectionIdAndTenantMatcher.find()) {
+        connectionId = connectionIdAndTenantMatcher.group(1);
+        tenant = connectionIdAndTenantMatcher.group(2);
+      }
+
+      final Matcher errorConnectionIdMatcher = LogError.CONN_ID_PATTERN.matcher(line);
+      addQueryRecord(new QueryRecord(new JDBCExecutedQuery(timestamp, sql, executionTime, connectionId, tenant),
+        errorConnectionIdMatcher.find() ? errorConnectionIdMatcher.group(1) : null, lineNumber));
+      multilineSql = null;
+      timestamp = null;
+    }
+  }
+
+  /**
+   * <p>
+   *   Extracts the connection opened/closed events. A {@code logoff} trace is
+   *   followed by 1 line, a {@code logon} trace is followed by 1 line that may
+   *   contain the session attributes, then by the details up to the next blank
+   *   line, then by the line reporting whether a cookie was found.
+   * </p>
+   */
+  private final class ConnectionEventExtractor {
+    private static final int IDLE = 0;
+    private static final int AFTER_LOGOFF = 1;
+    private static final int AFTER_LOGON = 2;
+    private static final int DETAILS = 3;
+    private static final int COOKIE = 4;
+    private static final int COOKIE_AFTER_LOGON = 5;
+
+    private int state = IDLE;
+    private String pendingLine;
+    private String timestamp;
+    private StringBuilder details;
+
+    boolean isActive() {
+      return state != IDLE;
+    }
+
+    void copyFrom(final ConnectionEventExtractor other) {
+      state = other.state;
+      pendingLine = other.pendingLine;
+      timestamp = other.timestamp;
+      details = other.details == null ? null : new StringBuilder(other.details);
+    }
+
+    void writeTo(final DataOutput out) throws IOException {
+      out.writeInt(state);
+      BinaryIO.writeString(out, pendingLine);
+      BinaryIO.writeString(out, timestamp);
+      BinaryIO.writeString(out, details == null ? null : details.toString());
+    }
+
+    void readFrom(final DataInput in) throws IOException {
+      state = in.readInt();
+      pendingLine = BinaryIO.readString(in);
+      timestamp = BinaryIO.readString(in);
+      final String readDetails = BinaryIO.readString(in);
+      details = readDetails == null ? null : new StringBuilder(readDetails);
+    }
+
+    void accept(final LineReader reader) {
+      if (state == IDLE) {
+        acceptFirstLine(reader);
+        return;
+      }
+
+      final String line = reader.line();
+      final String strippedLine = line.strip();
+      final int lineNumber = reader.lineNumber();
+      switch (state) {
+        case AFTER_LOGOFF -> {
+          if (!strippedLine.endsWith(" null")) {
+            closedConnectionsMatcher.reset(pendingLine).find();
+            timestamp = parseTimestamp(pendingLine, pendingLine.substring(0, closedConnectionsMatcher.start()));
+            if (timestamp != null)
+              addConnectionEventRecord(new ConnectionEventRecord(
+                new JDBCConnectionEvent(timestamp, JDBCConnectionEvent.Event.CONNECTION_CLOSED), lineNumber));
+          }
+          reset();
+        }
+        case AFTER_LOGON -> {
+          final String logonLines = pendingLine + "\n" + line;
+          timestamp = openedConnectionsMatcher.reset(logonLines).find()
+            ? parseTimestamp(logonLines, logonLines.substring(0, openedConnectionsMatcher.start())) : null;
+          if (timestamp != null) {
+            details = new StringBuilder();
+            state = DETAILS;
+          } else {
+            reset();
+          }
+        }
+        case DETAILS -> {
+          if (line.isBlank()) {
+            details.append(", ");
+            state = COOKIE;
+          } else {
+            details.append(line).append(" ");
+          }
+        }
+        case COOKIE, COOKIE_AFTER_LOGON -> {
+          if (state == COOKIE && line.endsWith("logon")) {
+            state = COOKIE_AFTER_LOGON;
+            return;
+          }
+          final int cookieIndex = line.indexOf("cookie found?");
+          details.append(cookieIndex == -1 ? line : line.substring(cookieIndex));
+          addConnectionEventRecord(new ConnectionEventRecord(
+            new JDBCConnectionEvent(timestamp, JDBCConnectionEvent.Event.CONNECTION_OPENED, details.toString()), lineNumber));
+          reset();
+        }
+      }
+    }
+
+    /**
+     * <p>
+     *   Looks for the first line of a connection event, the line is only
+     *   decoded to a {@link String} if an event starts.
+     * </p>
+     */
+    private void acceptFirstLine(final LineReader reader) {
+      final CharSequence strippedLine = reader.strippedView();
+      if (closedConnectionsMatcher.reset(strippedLine).find()) {
+        pendingLine = reader.line().strip();
+        state = AFTER_LOGOFF;
+      } else if (reader.contains(LOGON_ANCHOR)) {
+        pendingLine = reader.line().strip();
+        state = AFTER_LOGON;
+      } else if (openedConnectionsMatcher.reset(strippedLine).find()) {
+        final String line = reader.line().strip();
+        timestamp = parseTimestamp(line, line.substring(0, openedConnectionsMatcher.start()));
+        if (timestamp != null) {
+          details = new StringBuilder();
+          state = DETAILS;
+        }
+      }
+    }
+
+    private void reset() {
+      state = IDLE;
+      pendingLine = null;
+      timestamp = null;
+      details = null;
+    }
+  }
+
+  /**
+   * <p>
+   *   Finds the log entries that contain a packet dump. A packet dump belongs
+   *   to the {@code CONNECTION_ID=...,TENANT=...,SQL=...} lines that precede a
+   *   full row of 8 bytes in the same log entry. For example:
+   * </p>
+   * <pre>
+   * FINEST: ... CONNECTION_ID=z7...==,TENANT=CDB1_PDB1,SQL=select 1 from dual,Type = 6, Length = 131, ...
+   *  00 83 00 00 06 00 00 00     |........|
+   *  00 00 00 00 03 5E 00 02     |.....^..|
+   * </pre>
+   * <p>
+   *   The lines containing a connection id are copied to a reusable buffer and
+   *   are only decoded if the log entry contains a packet dump.
+   * </p>
+   */
+  private final class PacketDumpExtractor {
+    private int beginLine = -1;
+    private byte[] headers = new byte[1024];
+    private int headersLength;
+    // Length of the headers followed by a packet dump row.
+    private int dumpHeadersLength;
+    // Length of the headers already added to the index by flush().
+    private int flushedHeadersLength;
+
+    void beginLogEntry(final int lineNumber) {
+      beginLine = lineNumber;
+    }
+
+    void copyFrom(final PacketDumpExtractor other, final int lineOffset) {
+      beginLine = other.beginLine == -1 ? -1 : other.beginLine + lineOffset;
+      headers = other.headers.clone();
+      headersLength = other.headersLength;
+      dumpHeadersLength = other.dumpHeadersLength;
+      flushedHeadersLength = other.flushedHeadersLength;
+    }
+
+    void writeTo(final DataOutput out) throws IOException {
+      out.writeInt(beginLine);
+      out.writeInt(headersLength);
+      out.write(headers, 0, headersLength);
+      out.writeInt(dumpHeadersLength);
+      out.writeInt(flushedHeadersLength);
+    }
+
+    void readFrom(final DataInput in) throws IOException {
+      beginLine = in.readInt();
+      headersLength = BinaryIO.readCount(in);
+      if (headersLength > BinaryIO.MAX_STRING_LENGTH)
+        throw new StreamCorruptedException("Invalid packet dump headers length: " + headersLength);
+      headers = new byte[Math.max(headersLength, headers.length)];
+      in.readFully(headers, 0, headersLength);
+      dumpHeadersLength = in.readInt();
+      flushedHeadersLength = in.readInt();
+    }
+
+    void accept(final LineReader reader, final int anchors) {
+      if (beginLine == -1)
+        return;
+
+      if ((anchors & CONNECTION_ID_ANCHOR) != 0) {
+        final int length = headersLength + reader.length() + 1;
+        if (length > headers.length)
+          headers = Arrays.copyOf(headers, Math.max(length, headers.length * 2));
+
+        reader.copyTo(headers, headersLength);
+        headers[length - 1] = '\n';
+        headersLength = length;
+      } else if (headersLength > dumpHeadersLength && isPacketDumpRow(reader)) {
+        dumpHeadersLength = headersLength;
+      }
+    }
+
+    void endLogEntry() {
+      flush();
+
+      beginLine = -1;
+      headersLength = 0;
+      dumpHeadersLength = 0;
+      flushedHeadersLength = 0;
+    }
+
+    /**
+     * <p>
+     *   Adds the headers of the current log entry found so far, the log
+     *   entry goes on and its following headers are added by the next flush.
+     * </p>
+     */
+    void flush() {
+      if (dumpHeadersLength > flushedHeadersLength) {
+        new String(headers, flushedHeadersLength, dumpHeadersLength - flushedHeadersLength, StandardCharsets.UTF_8)
+          .lines()
+          .forEach(this::addHeader);
+        flushedHeadersLength = dumpHeadersLength;
+      }
+    }
+
+    private boolean isPacketDumpRow(final LineReader reader) {
+      return reader.length() > 0
+        && LineReader.isWhitespace(reader.byteAt(0))
+        && reader.byteAt(reader.length() - 1) == '|'
+        && packetDumpRowMatcher.reset(reader.view()).matches();
+    }
+
+    private void addHeader(final String line) {
+      final String connectionIdPrefix = " CONNECTION_ID=";
+      for (int index = line.indexOf(connectionIdPrefix); index != -1; index = line.indexOf(connectionIdPrefix, index + 1)) {
+        final int connectionIdStart = index + connectionIdPrefix.length();
+        final int connectionIdEnd = line.indexOf(',', connectionIdStart);
+        if (connectionIdEnd == -1 || !line.startsWith(",TENANT=", connectionIdEnd))
+          continue;
+
+        final int tenantStart = connectionIdEnd + ",TENANT=".length();
+        final int tenantEnd = line.indexOf(',', tenantStart);
+        if (tenantEnd == -1 || !line.startsWith(",SQL=", tenantEnd))
+          continue;
+
+        packetDumps.add(line.substring(connectionIdStart, connectionIdEnd), line.substring(tenantStart, tenantEnd),
+          line.substring(tenantEnd + ",SQL=".length()), beginLine);
+      }
+    }
+  }
+
+  /**
+   * A query and the line where it ends, {@code connectionId} is extracted as
+   * {@link LogError#getConnectionId()} does.
+   */
+  private record QueryRecord(JDBCExecutedQuery query, String connectionId, int lineNumber) { }
+
+  /**
+   * A connection event and the line where it ends.
+   */
+  private record ConnectionEventRecord(JDBCConnectionEvent event, int lineNumber) { }
+
+  LineIndex getTraceLines() {
+    return traces.getLines();
+  }
+
+  TraceIndex getTraces() {
+    return traces;
+  }
+
+  LineIndex getLogLines() {
+    return logLines;
+  }
+
+  LineIndex getErrorLines() {
+    return errorLines;
+  }
+
+  SQLTimingIndex getSqlTimings() {
+    return sqlTimings;
+  }
+
+  /**
+   * @return the offset in bytes of the line that follows the last parsed line.
+   */
+  long getParsedPosition() {
+    return parsedPosition;
+  }
+
+  PacketDumpIndex getPacketDumps() {
+    return packetDumps;
+  }
+
+  List<JDBCExecutedQuery> getQueries() {
+    return queries;
+  }
+
+  List<JDBCConnectionEvent> getConnectionEvents() {
+    return connectionEvents;
+  }
+
+  /**
+   * @return the statistics, the queries and the connection events are added by {@link #finish()}.
+   */
+  JDBCStatsAccumulator getStats() {
+    return stats;
+  }
+
+}
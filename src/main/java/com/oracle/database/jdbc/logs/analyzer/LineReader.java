@@ -0,0 +1,275 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>
+ *   Reads a log file line by line, working on the raw bytes of each line.
+ * </p>
+ * <p>
+ *   Lines are terminated by {@code \n} (a trailing {@code \r} is dropped), the
+ *   bytes of the current line can be searched with {@link #contains(byte[])},
+ *   {@link #find(LiteralSet)} and {@link #byteAt(int)}, and matched through
+ *   {@link #view()}, without creating a {@link String}; the line is only
+ *   decoded (as UTF-8) when {@link #line()} is called.
+ * </p>
+ */
+abstract class LineReader implements Closeable {
+
+  /**
+   * Buffer holding the bytes of the current line.
+   */
+  protected byte[] lineBytes;
+
+  /**
+   * Offset of the current line in {@link #lineBytes}.
+   */
+  protected int lineOffset;
+
+  /**
+   * Length of the current line (without the line terminator).
+   */
+  protected int lineLength;
+
+  /**
+   * Offset in bytes of the current line in the file.
+   */
+  protected long position;
+
+  /**
+   * Offset in bytes of the line following the current line.
+   */
+  protected long nextPosition;
+
+  private int lineNumber;
+  private String line;
+  // -1 until the current line is checked, then 1 if it's ASCII, 0 otherwise.
+  private int ascii;
+  private final LineView view = new LineView();
+  private final LineView strippedView = new LineView();
+
+  /**
+   * <p>
+   *   Moves to the next line.
+   * </p>
+   *
+   * @return {@code false} if the end of the file is reached.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  final boolean next() throws IOException {
+    line = null;
+    ascii = -1;
+    if (!readLine())
+      return false;
+
+    if (lineLength > 0 && lineBytes[lineOffset + lineLength - 1] == '\r')
+      lineLength--;
+
+    lineNumber++;
+    return true;
+  }
+
+  /**
+   * <p>
+   *   Reads the next line, starting at {@link #nextPosition}, and updates
+   *   {@link #lineBytes}, {@link #lineOffset}, {@link #lineLength},
+   *   {@link #position} and {@link #nextPosition} accordingly.
+   * </p>
+   *
+   * @return {@code false} if there is no more lines to read.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  protected abstract boolean readLine() throws IOException;
+
+  /**
+   * <p>
+   *   Numbers the lines as if {@code lineCount} lines preceded the first line
+   *   read, for a reader that starts in the middle of a file.
+   * </p>
+   *
+   * @param lineCount number of lines before the first line read.
+   */
+  final void skipLineNumbers(final int lineCount) {
+    lineNumber += lineCount;
+  }
+
+  /**
+   * @return the number of the current line, starting at 1.
+   */
+  final int lineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * @return the offset in bytes of the current line in the file.
+   */
+  final long position() {
+    return position;
+  }
+
+  /**
+   * @return the offset in bytes of the line following the current line.
+   */
+  final long nextPosition() {
+    return nextPosition;
+  }
+
+  /**
+   * @return length in bytes of the current line.
+   */
+  final int length() {
+    return lineLength;
+  }
+
+  /**
+   * @param index index of the byte in the current line.
+   * @return the byte at {@code index}.
+   */
+  final byte byteAt(final int index) {
+    return lineBytes[lineOffset + index];
+  }
+
+  /**
+   * <p>
+   *   Copies the bytes of the current line to {@code destination}.
+   * </p>
+   *
+   * @param destination array with at least {@code offset + length()} bytes.
+   * @param offset position of the first byte in {@code destination}.
+   */
+  final void copyTo(final byte[] destination, final int offset) {
+    System.arraycopy(lineBytes, lineOffset, destination, offset, lineLength);
+  }
+
+  /**
+   * <p>
+   *   Checks whether the current line contains {@code literal}, an ASCII
+   *   encoded string.
+   * </p>
+   *
+   * @param literal the bytes to look for.
+   * @return {@code true} if {@code literal} is found in the current line.
+   */
+  final boolean contains(final byte[] literal) {
+    final byte first = literal[0];
+    final int last = lineOffset + lineLength - literal.length;
+
+    for (int i = lineOffset; i <= last; i++) {
+      if (lineBytes[i] != first)
+        continue;
+
+      int j = 1;
+      while (j < literal.length && lineBytes[i + j] == literal[j])
+        j++;
+
+      if (j == literal.length)
+        return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * @return the current line decoded as UTF-8.
+   */
+  final String line() {
+    if (line == null)
+      line = new String(lineBytes, lineOffset, lineLength, StandardCharsets.UTF_8);
+
+    return line;
+  }
+
+  /**
+   * <p>
+   *   Returns the current line without decoding it when it's ASCII (almost
+   *   all the lines of a log file), the returned {@link LineView} is reset by
+   *   the next call and must not be kept.
+   * </p>
+   *
+   * @return the current line, as a {@link LineView} or as a {@link String}.
+   */
+  final CharSequence view() {
+    if (line != null || !isAscii())
+      return line();
+
+    return view.reset(lineBytes, lineOffset, lineLength);
+  }
+
+  /**
+   * <p>
+   *   Same as {@link #view()} for the current line without its leading and
+   *   trailing whitespaces, as {@link String#strip()} does.
+   * </p>
+   *
+   * @return the stripped current line, as a {@link LineView} or as a {@link String}.
+   */
+  final CharSequence strippedView() {
+    if (!isAscii())
+      return line().strip();
+
+    int begin = lineOffset;
+    int end = lineOffset + lineLength;
+    while (begin < end && isWhitespace(lineBytes[begin]))
+      begin++;
+    while (end > begin && isWhitespace(lineBytes[end - 1]))
+      end--;
+
+    return strippedView.reset(lineBytes, begin, end - begin);
+  }
+
+  private boolean isAscii() {
+    if (ascii == -1) {
+      ascii = 1;
+      for (int i = lineOffset; i < lineOffset + lineLength; i++) {
+        if (lineBytes[i] < 0) {
+          ascii = 0;
+          break;
+        }
+      }
+    }
+
+    return ascii == 1;
+  }
+
+  /**
+   * <p>
+   *   Searches all the literals of {@code literals} in the current line at once.
+   * </p>
+   *
+   * @param literals the literals to look for.
+   * @return bit mask of the literals found, see {@link LiteralSet#find(byte[], int, int)}.
+   */
+  final int find(final LiteralSet literals) {
+    return literals.find(lineBytes, lineOffset, lineLength);
+  }
+
+  /**
+   * <p>
+   *   Encodes an ASCII literal to be used with {@link #contains(byte[])}.
+   * </p>
+   *
+   * @param literal ASCII string.
+   * @return the bytes of {@code literal}.
+   */
+  static byte[] literal(final String literal) {
+    return literal.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * @param b an ASCII byte.
+   * @return {@code true} if {@code b} is a whitespace, as {@link Character#isWhitespace(char)}.
+   */
+  static boolean isWhitespace(final byte b) {
+    return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+  }
+
+}
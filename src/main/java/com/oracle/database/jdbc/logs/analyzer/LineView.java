@@ -0,0 +1,70 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * <p>
+ *   Reusable {@link CharSequence} over ASCII bytes, each byte is a character.
+ * </p>
+ * <p>
+ *   Patterns can be matched against the bytes of a line without decoding it
+ *   to a {@link String}, only {@link #subSequence(int, int)} and
+ *   {@link #toString()} (used by {@link java.util.regex.Matcher#group(int)})
+ *   create one. A view is reset for each line, it must not be kept.
+ * </p>
+ *
+ * @see LineReader#view()
+ */
+final class LineView implements CharSequence {
+
+  private byte[] bytes;
+  private int offset;
+  private int length;
+
+  /**
+   * <p>
+   *   Points this view to {@code length} bytes of {@code bytes} starting at {@code offset}.
+   * </p>
+   *
+   * @param bytes ASCII bytes.
+   * @param offset index of the first byte.
+   * @param length number of bytes.
+   * @return this view.
+   */
+  LineView reset(final byte[] bytes, final int offset, final int length) {
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return (char) bytes[offset + Objects.checkIndex(index, length)];
+  }
+
+  @Override
+  public CharSequence subSequence(final int start, final int end) {
+    Objects.checkFromToIndex(start, end, length);
+    return new String(bytes, offset + start, end - start, StandardCharsets.US_ASCII);
+  }
+
+  @Override
+  public String toString() {
+    return new String(bytes, offset, length, StandardCharsets.US_ASCII);
+  }
+
+}
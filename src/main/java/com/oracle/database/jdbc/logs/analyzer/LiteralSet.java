@@ -0,0 +1,136 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * <p>
+ *   Set of up to 32 ASCII literals searched at once in the bytes of a line.
+ * </p>
+ * <p>
+ *   The literals are compiled to an Aho-Corasick automaton with all of its
+ *   transitions resolved, so a line is searched with a single table lookup per
+ *   byte whatever the number of literals. The result of a search is a bit mask
+ *   where bit {@code i} is set if the {@code i}-th literal was found.
+ * </p>
+ *
+ * @see LineReader#find(LiteralSet)
+ */
+final class LiteralSet {
+
+  private static final int ALPHABET_SIZE = 256;
+
+  // transitions[state * ALPHABET_SIZE + byte] is the next state, state 0 is the root.
+  private final int[] transitions;
+  // Bit mask of the literals that end at a state.
+  private final int[] outputs;
+
+  /**
+   * <p>
+   *   Compiles {@code literals}.
+   * </p>
+   *
+   * @param literals at most 32 non-empty ASCII strings.
+   * @throws IllegalArgumentException if there are more than 32 literals or if a literal is empty.
+   */
+  LiteralSet(final String... literals) {
+    if (literals.length > Integer.SIZE)
+      throw new IllegalArgumentException("A literal set can't contain more than " + Integer.SIZE + " literals.");
+
+    int maxStates = 1;
+    for (String literal : literals) {
+      if (literal.isEmpty())
+        throw new IllegalArgumentException("A literal can't be empty.");
+
+      maxStates += literal.length();
+    }
+
+    final int[] trie = new int[maxStates * ALPHABET_SIZE];
+    Arrays.fill(trie, -1);
+    final int[] literalOutputs = new int[maxStates];
+    int stateCount = 1;
+
+    for (int i = 0; i < literals.length; i++) {
+      int state = 0;
+      for (byte b : LineReader.literal(literals[i])) {
+        final int transition = state * ALPHABET_SIZE + (b & 0xFF);
+        if (trie[transition] == -1)
+          trie[transition] = stateCount++;
+        state = trie[transition];
+      }
+      literalOutputs[state] |= 1 << i;
+    }
+
+    transitions = Arrays.copyOf(trie, stateCount * ALPHABET_SIZE);
+    outputs = Arrays.copyOf(literalOutputs, stateCount);
+    resolveTransitions(stateCount);
+  }
+
+  /**
+   * <p>
+   *   Replaces the missing transitions by the transitions of the longest
+   *   suffix that is also a prefix of a literal (the failure link), states
+   *   are visited by increasing depth so the failure links are resolved first.
+   * </p>
+   */
+  private void resolveTransitions(final int stateCount) {
+    final int[] failures = new int[stateCount];
+    final Queue<Integer> states = new ArrayDeque<>();
+
+    for (int b = 0; b < ALPHABET_SIZE; b++) {
+      final int next = transitions[b];
+      if (next == -1) {
+        transitions[b] = 0;
+      } else {
+        failures[next] = 0;
+        states.add(next);
+      }
+    }
+
+    while (!states.isEmpty()) {
+      final int state = states.remove();
+      outputs[state] |= outputs[failures[state]];
+
+      for (int b = 0; b < ALPHABET_SIZE; b++) {
+        final int transition = state * ALPHABET_SIZE + b;
+        final int failureTransition = transitions[failures[state] * ALPHABET_SIZE + b];
+        if (transitions[transition] == -1) {
+          transitions[transition] = failureTransition;
+        } else {
+          failures[transitions[transition]] = failureTransition;
+          states.add(transitions[transition]);
+        }
+      }
+    }
+  }
+
+  /**
+   * <p>
+   *   Searches the literals in {@code length} bytes of {@code bytes} starting at {@code offset}.
+   * </p>
+   *
+   * @param bytes bytes to search.
+   * @param offset index of the first byte.
+   * @param length number of bytes.
+   * @return bit mask of the literals found.
+   */
+  int find(final byte[] bytes, final int offset, final int length) {
+    int found = 0;
+    int state = 0;
+    for (int i = offset; i < offset + length; i++) {
+      state = transitions[state * ALPHABET_SIZE + (bytes[i] & 0xFF)];
+      found |= outputs[state];
+    }
+
+    return found;
+  }
+
+}
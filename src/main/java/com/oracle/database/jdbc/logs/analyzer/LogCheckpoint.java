@@ -0,0 +1,139 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * <p>
+ *   Point up to which a local log file has been parsed, the parser can be
+ *   resumed from there if the log file has only been appended to since.
+ * </p>
+ * <p>
+ *   A log file that is smaller or whose beginning changed (it was rotated or
+ *   rewritten) can't be resumed, it must be parsed again.
+ * </p>
+ */
+final class LogCheckpoint {
+
+  private static final int CHECKED_BYTES = 4096;
+
+  private final long position;
+  private final long headChecksum;
+  private final boolean isInLine;
+
+  private LogCheckpoint(final long position, final long headChecksum, final boolean isInLine) {
+    this.position = position;
+    this.headChecksum = headChecksum;
+    this.isInLine = isInLine;
+  }
+
+  /**
+   * <p>
+   *   Records the state of {@code logFile} parsed up to {@code position}.
+   * </p>
+   *
+   * @param logFile the log file.
+   * @param position offset in bytes of the line that follows the last parsed line.
+   * @return the checkpoint.
+   * @throws IOException if the log file can't be read.
+   */
+  static LogCheckpoint of(final Path logFile, final long position) throws IOException {
+    try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+      return new LogCheckpoint(position, headChecksum(channel, position),
+        position > 0 && byteAt(channel, position - 1) != '\n');
+    }
+  }
+
+  /**
+   * @return the offset in bytes of the line that follows the last parsed line.
+   */
+  long getPosition() {
+    return position;
+  }
+
+  /**
+   * @return {@code true} if the last parsed line didn't end with a line
+   *         terminator, it was parsed before it was complete.
+   */
+  boolean isInLine() {
+    return isInLine;
+  }
+
+  /**
+   * <p>
+   *   Checks whether {@code logFile} was truncated or rewritten since this checkpoint.
+   * </p>
+   *
+   * @param logFile the log file.
+   * @return {@code true} if the log file can't be resumed from this checkpoint.
+   * @throws IOException if the log file can't be read.
+   */
+  boolean isRewritten(final Path logFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+      return channel.size() < position || headChecksum(channel, position) != headChecksum;
+    }
+  }
+
+  /**
+   * <p>
+   *   Finds the end of the last complete line appended to {@code logFile}
+   *   since this checkpoint, a line that is still being written is left for
+   *   later.
+   * </p>
+   *
+   * @param logFile the log file.
+   * @return offset in bytes following the last line terminator, or the
+   *         position of this checkpoint if no complete line was appended.
+   * @throws IOException if the log file can't be read.
+   */
+  long lastLineEnd(final Path logFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+      final ByteBuffer buffer = ByteBuffer.allocate(CHECKED_BYTES);
+      long end = channel.size();
+      while (end > position) {
+        final long start = Math.max(position, end - buffer.capacity());
+        buffer.clear().limit((int) (end - start));
+        while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) > 0) {
+          // Reads until the buffer is full.
+        }
+
+        for (int i = buffer.position() - 1; i >= 0; i--) {
+          if (buffer.get(i) == '\n')
+            return start + i + 1;
+        }
+        end = start;
+      }
+
+      return position;
+    }
+  }
+
+  private static byte byteAt(final FileChannel channel, final long position) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(1);
+    return channel.read(buffer, position) == 1 ? buffer.get(0) : 0;
+  }
+
+  private static long headChecksum(final FileChannel channel, final long position) throws IOException {
+    final ByteBuffer head = ByteBuffer.allocate((int) Math.min(CHECKED_BYTES, position));
+    while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+      // Reads until the buffer is full or the end of the file.
+    }
+    head.flip();
+
+    final CRC32 checksum = new CRC32();
+    checksum.update(head);
+    return checksum.getValue();
+  }
+
+}
@@ -0,0 +1,135 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * <p>
+ *   Compression of a log file, recognized from its first bytes rather than
+ *   from its name. A compressed log file is decompressed while it is read,
+ *   the positions in the log file are offsets in the decompressed content.
+ * </p>
+ */
+enum LogCompression {
+
+  NONE,
+
+  /**
+   * A gzip file, possibly made of several members (concatenated gzip files).
+   */
+  GZIP,
+
+  /**
+   * A zip archive, the log file is its first file.
+   */
+  ZIP;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int SIGNATURE_LENGTH = 4;
+
+  /**
+   * <p>
+   *   Recognizes the compression of a local file.
+   * </p>
+   *
+   * @param file the file.
+   * @return the compression of the file.
+   * @throws IOException if the file can't be read.
+   */
+  static LogCompression of(final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final ByteBuffer signature = ByteBuffer.allocate(SIGNATURE_LENGTH);
+      while (signature.hasRemaining() && channel.read(signature) > 0) {
+        // Reads until the signature is complete or the end of the file.
+      }
+      return of(signature.array(), signature.position());
+    }
+  }
+
+  /**
+   * <p>
+   *   Recognizes the compression of a content from its first bytes.
+   * </p>
+   *
+   * @param inputStream the content, its first bytes are read.
+   * @return the compression of the content.
+   * @throws IOException if the content can't be read.
+   */
+  static LogCompression of(final InputStream inputStream) throws IOException {
+    final byte[] signature = inputStream.readNBytes(SIGNATURE_LENGTH);
+    return of(signature, signature.length);
+  }
+
+  private static LogCompression of(final byte[] signature, final int length) {
+    if (length >= 2 && (signature[0] & 0xFF) == 0x1F && (signature[1] & 0xFF) == 0x8B)
+      return GZIP;
+    if (length >= 4 && signature[0] == 'P' && signature[1] == 'K' && signature[2] == 3 && signature[3] == 4)
+      return ZIP;
+    return NONE;
+  }
+
+  /**
+   * <p>
+   *   Decompresses a stream whose compression isn't known (a log file
+   *   located by a URL for instance).
+   * </p>
+   *
+   * @param inputStream the content, closed when the returned stream is closed.
+   * @return the decompressed content.
+   * @throws IOException if an error occurs while reading the stream.
+   */
+  static InputStream decompress(final InputStream inputStream) throws IOException {
+    final BufferedInputStream bufferedStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+    bufferedStream.mark(SIGNATURE_LENGTH);
+    final byte[] signature = bufferedStream.readNBytes(SIGNATURE_LENGTH);
+    bufferedStream.reset();
+
+    return of(signature, signature.length).open(bufferedStream);
+  }
+
+  /**
+   * <p>
+   *   Decompresses a stream compressed with this compression.
+   * </p>
+   *
+   * @param inputStream the content, closed when the returned stream is closed.
+   * @return the decompressed content.
+   * @throws IOException if an error occurs while reading the stream, or if it
+   *         is a zip archive without files.
+   */
+  InputStream open(final InputStream inputStream) throws IOException {
+    switch (this) {
+      case GZIP:
+        return new GZIPInputStream(inputStream, BUFFER_SIZE);
+
+      case ZIP:
+        final ZipInputStream zipStream = new ZipInputStream(inputStream);
+        for (ZipEntry entry = zipStream.getNextEntry(); entry != null; entry = zipStream.getNextEntry()) {
+          if (!entry.isDirectory())
+            return zipStream;
+        }
+        zipStream.close();
+        throw new ZipException("The zip archive doesn't contain any file.");
+
+      default:
+        return inputStream;
+    }
+  }
+
+}
@@ -0,0 +1,356 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * <p>
+ *   Local copies of the log files located by an HTTP or HTTPS URL. A log file
+ *   is downloaded once by a {@link LogSource}, which then reads the local copy
+ *   however many times the analysis needs it. The next sources of the same URL
+ *   revalidate the copy with a conditional request ({@code If-None-Match} with
+ *   the {@code ETag} of the copy, {@code If-Modified-Since} with its
+ *   {@code Last-Modified} date): the log file is only downloaded again if it
+ *   changed.
+ * </p>
+ * <p>
+ *   The total size of the copies is bounded, the least recently used copies
+ *   are deleted once it is exceeded. A copy is downloaded to a temporary file
+ *   first and then moved, readers never see a partial copy.
+ * </p>
+ * <p>
+ *   Anyone who can write in the directory of the cache can make the analyses
+ *   read another content than the log files. The default cache is in the
+ *   cache directory of the user, and is only used if it belongs to the user
+ *   and isn't accessible by other users.
+ * </p>
+ */
+public final class LogDownloadCache {
+
+  /**
+   * Default maximal total size of the copies: 1 GiB.
+   */
+  public static final long DEFAULT_MAX_SIZE = 1L << 30;
+
+  private static final String CONTENT_EXTENSION = ".log";
+  private static final String METADATA_EXTENSION = ".properties";
+
+  private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+  private static LogDownloadCache defaultCache;
+
+  private final Path directory;
+  private final long maxSize;
+  private final boolean isPrivate;
+
+  /**
+   * <p>
+   *   Creates a cache of log files in {@code directory}.
+   * </p>
+   *
+   * @param directory directory of the copies, created when the first log file is downloaded.
+   * @param maxSize maximal total size in bytes of the copies.
+   * @throws IllegalArgumentException if {@code maxSize} is negative.
+   */
+  public LogDownloadCache(final Path directory, final long maxSize) {
+    this(directory, maxSize, false);
+  }
+
+  /**
+   * @param isPrivate {@code true} to check that the directory belongs to the
+   *                  user and isn't accessible by other users before using it.
+   */
+  LogDownloadCache(final Path directory, final long maxSize, final boolean isPrivate) {
+    if (maxSize < 0)
+      throw new IllegalArgumentException("maxSize must not be negative.");
+
+    this.directory = directory.toAbsolutePath().normalize();
+    this.maxSize = maxSize;
+    this.isPrivate = isPrivate;
+  }
+
+  /**
+   * <p>
+   *   Returns the cache used by {@link LogSource#of(URL)} and
+   *   {@link LogSource#of(String)}: the {@code ojdbc-log-analyzer} directory
+   *   in the cache directory of the user ({@code $XDG_CACHE_HOME}, or else
+   *   {@code ~/.cache}), {@link #DEFAULT_MAX_SIZE} bytes at most. The directory
+   *   is created accessible by the user only, the downloads fail if it belongs
+   *   to another user.
+   * </p>
+   *
+   * @return the default cache.
+   */
+  public static synchronized LogDownloadCache getDefault() {
+    if (defaultCache == null) {
+      final String xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+      final Path cacheHome = xdgCacheHome != null && Path.of(xdgCacheHome).isAbsolute()
+        ? Path.of(xdgCacheHome) : Path.of(System.getProperty("user.home"), ".cache");
+      defaultCache = new LogDownloadCache(cacheHome.resolve("ojdbc-log-analyzer"), DEFAULT_MAX_SIZE, true);
+    }
+    return defaultCache;
+  }
+
+  /**
+   * <p>
+   *   Checks if the log files located by a URL can be cached: HTTP and HTTPS URLs.
+   * </p>
+   *
+   * @param url the URL.
+   * @return {@code true} if the protocol of the URL is HTTP or HTTPS.
+   */
+  static boolean isCacheable(final URL url) {
+    return "http".equalsIgnoreCase(url.getProtocol()) || "https".equalsIgnoreCase(url.getProtocol());
+  }
+
+  /**
+   * @return the directory of the copies.
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * @return the maximal total size in bytes of the copies.
+   */
+  public long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * <p>
+   *   Local copy of a log file.
+   * </p>
+   *
+   * @param file the copy.
+   * @param isDownloaded {@code true} if the log file was downloaded, {@code false} if the
+   *                     copy was still up to date.
+   */
+  record Copy(Path file, boolean isDownloaded) {
+  }
+
+  /**
+   * <p>
+   *   Returns an up to date copy of the log file located by {@code url}: the
+   *   copy is revalidated, and downloaded if there is no copy yet or if the
+   *   log file changed.
+   * </p>
+   *
+   * @param url HTTP or HTTPS URL of the log file.
+   * @return the local copy.
+   * @throws IOException if the log file can't be downloaded or revalidated.
+   */
+  synchronized Copy fetch(final URL url) throws IOException {
+    createDirectory();
+    final String key = key(url);
+    final Path content = directory.resolve(key + CONTENT_EXTENSION);
+    final Path metadataFile = directory.resolve(key + METADATA_EXTENSION);
+    final Properties metadata = readMetadata(metadataFile, url);
+
+    final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      connection.setUseCaches(false);
+      if (metadata != null && Files.exists(content)) {
+        if (metadata.getProperty("etag") != null)
+          connection.setRequestProperty("If-None-Match", metadata.getProperty("etag"));
+        if (metadata.getProperty("lastModified") != null)
+          connection.setRequestProperty("If-Modified-Since", metadata.getProperty("lastModified"));
+      }
+
+      if (connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED && metadata != null) {
+        // The modification time of the metadata is the last use of the copy.
+        Files.setLastModifiedTime(metadataFile, FileTime.fromMillis(System.currentTimeMillis()));
+        return new Copy(content, false);
+      }
+
+      download(connection, content, metadataFile, url);
+    } finally {
+      connection.disconnect();
+    }
+
+    evict(key);
+    return new Copy(content, true);
+  }
+
+  private void download(final HttpURLConnection connection, final Path content, final Path metadataFile,
+                        final URL url) throws IOException {
+    Path temporaryFile = null;
+    try {
+      temporaryFile = Files.createTempFile(directory, content.getFileName().toString(), ".tmp");
+      try (InputStream in = connection.getInputStream();
+           OutputStream out = Files.newOutputStream(temporaryFile)) {
+        in.transferTo(out);
+      }
+      move(temporaryFile, content);
+      temporaryFile = null;
+    } finally {
+      deleteQuietly(temporaryFile);
+    }
+
+    final Properties metadata = new Properties();
+    metadata.setProperty("url", url.toString());
+    if (connection.getHeaderField("ETag") != null)
+      metadata.setProperty("etag", connection.getHeaderField("ETag"));
+    if (connection.getHeaderField("Last-Modified") != null)
+      metadata.setProperty("lastModified", connection.getHeaderField("Last-Modified"));
+
+    final Path temporaryMetadata = Files.createTempFile(directory, metadataFile.getFileName().toString(), ".tmp");
+    try (OutputStream out = Files.newOutputStream(temporaryMetadata)) {
+      metadata.store(out, null);
+    }
+    move(temporaryMetadata, metadataFile);
+  }
+
+  /**
+   * <p>
+   *   Creates the directory of the cache if it doesn't exist. The directory of
+   *   a private cache is created accessible by the user only, and is checked:
+   *   it must be a directory (not a link) that belongs to the user. Its
+   *   permissions are restricted to the user if they aren't.
+   * </p>
+   *
+   * @throws IOException if the directory can't be created, or if it belongs to another user.
+   */
+  private void createDirectory() throws IOException {
+    if (!isPrivate) {
+      Files.createDirectories(directory);
+      return;
+    }
+
+    final boolean isPosix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+    if (Files.notExists(directory, LinkOption.NOFOLLOW_LINKS)) {
+      Files.createDirectories(directory.getParent());
+      try {
+        if (isPosix)
+          Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        else
+          Files.createDirectory(directory);
+      } catch (FileAlreadyExistsException e) {
+        // Created meanwhile, checked below.
+      }
+    }
+
+    if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS))
+      throw new IOException("The log cache " + directory + " isn't a directory.");
+    final UserPrincipal user = directory.getFileSystem().getUserPrincipalLookupService()
+      .lookupPrincipalByName(System.getProperty("user.name"));
+    if (!user.equals(Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS)))
+      throw new IOException("The log cache " + directory + " belongs to another user.");
+    if (isPosix && !OWNER_ONLY.equals(Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS)))
+      Files.setPosixFilePermissions(directory, OWNER_ONLY);
+  }
+
+  /**
+   * <p>
+   *   Deletes the least recently used copies, except {@code keptKey}, until
+   *   the total size of the copies doesn't exceed the maximal size.
+   * </p>
+   */
+  private void evict(final String keptKey) throws IOException {
+    record Entry(String key, long size, long lastUse) {
+    }
+
+    final List<Entry> entries = new ArrayList<>();
+    long totalSize = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + CONTENT_EXTENSION)) {
+      for (Path file : files) {
+        final String name = file.getFileName().toString();
+        final String key = name.substring(0, name.length() - CONTENT_EXTENSION.length());
+        try {
+          final long size = Files.size(file);
+          totalSize += size;
+          entries.add(new Entry(key, size,
+            Files.getLastModifiedTime(directory.resolve(key + METADATA_EXTENSION)).toMillis()));
+        } catch (NoSuchFileException e) {
+          // Without metadata, the copy is evicted first.
+          entries.add(new Entry(key, Files.exists(file) ? Files.size(file) : 0, Long.MIN_VALUE));
+        }
+      }
+    }
+
+    entries.sort(Comparator.comparingLong(Entry::lastUse));
+    for (Entry entry : entries) {
+      if (totalSize <= maxSize)
+        break;
+      if (entry.key().equals(keptKey))
+        continue;
+
+      deleteQuietly(directory.resolve(entry.key() + METADATA_EXTENSION));
+      deleteQuietly(directory.resolve(entry.key() + CONTENT_EXTENSION));
+      totalSize -= entry.size();
+    }
+  }
+
+  /**
+   * @return the metadata of the copy of {@code url}, or {@code null} if there is no usable copy.
+   */
+  private static Properties readMetadata(final Path metadataFile, final URL url) {
+    try (InputStream in = Files.newInputStream(metadataFile)) {
+      final Properties metadata = new Properties();
+      metadata.load(in);
+      return url.toString().equals(metadata.getProperty("url")) ? metadata : null;
+    } catch (IOException | IllegalArgumentException e) {
+      // Missing or corrupted: the log file is downloaded again.
+      return null;
+    }
+  }
+
+  private static String key(final URL url) {
+    try {
+      final byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void move(final Path source, final Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void deleteQuietly(final Path file) {
+    if (file == null)
+      return;
+
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *   Handle of a log file being followed: the log file is polled by a daemon
+ *   thread at a fixed interval and the records found in the appended lines
+ *   are pushed to the listeners of the log, until this follower is closed.
+ * </p>
+ *
+ * @see JDBCLog#follow(Duration)
+ * @see RDBMSLog#follow(Duration)
+ */
+public final class LogFollower implements Closeable {
+
+  /**
+   * Reads the lines appended since the previous poll and notifies the listeners.
+   */
+  @FunctionalInterface
+  interface Poll {
+    void run() throws IOException;
+  }
+
+  private final ScheduledExecutorService executor;
+
+  /**
+   * <p>
+   *   Starts polling.
+   * </p>
+   *
+   * @param logLocation path of the followed log file, used to name the thread.
+   * @param poll the poll, run every {@code pollInterval}.
+   * @param failureHandler called with the exceptions thrown by {@code poll}.
+   * @param pollInterval delay between the end of a poll and the beginning of the next one.
+   */
+  LogFollower(final String logLocation, final Poll poll, final Consumer<Exception> failureHandler,
+              final Duration pollInterval) {
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "Log follower " + logLocation);
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    executor.scheduleWithFixedDelay(() -> {
+      try {
+        poll.run();
+      } catch (IOException | RuntimeException e) {
+        // An exception would cancel the next polls, the log file may be readable again later (after a rotation).
+        failureHandler.accept(e);
+      }
+    }, pollInterval.toNanos(), pollInterval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * <p>
+   *   Stops following the log file, a poll in progress completes but no
+   *   other poll is started.
+   * </p>
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  /**
+   * @return {@code true} if this follower was closed.
+   */
+  public boolean isClosed() {
+    return executor.isShutdown();
+  }
+
+  /**
+   * <p>
+   *   Checks the arguments of a {@code follow} method.
+   * </p>
+   *
+   * @throws IOException if the log file can't be read.
+   * @throws IllegalArgumentException if {@code pollInterval} is null, zero or negative.
+   * @throws UnsupportedOperationException if {@code source} isn't a local file, or if it is compressed.
+   */
+  static void checkFollowable(final LogSource source, final Duration pollInterval) throws IOException {
+    if (pollInterval == null || pollInterval.isZero() || pollInterval.isNegative())
+      throw new IllegalArgumentException("pollInterval must be positive.");
+    if (LogSources.localFile(source) == null)
+      throw new UnsupportedOperationException("Only a local log file can be followed.");
+    if (Utils.isCompressed(source))
+      throw new UnsupportedOperationException("A compressed log file can't be followed.");
+  }
+
+}
@@ -0,0 +1,224 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.BinaryIO;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <p>
+ *   Index file that keeps the result of {@link JDBCLogParser} for a local log
+ *   file, so that the log file can be re-opened without being parsed again.
+ * </p>
+ * <p>
+ *   The index is only used if the log file is unchanged: its path, size, last
+ *   modification time and a SHA-256 hash of its first and last
+ *   {@value #HASHED_BYTES} bytes must match the ones recorded in the index.
+ *   Those are written uncompressed at the beginning of the file, the result of
+ *   the parser follows compressed with {@link java.util.zip.Deflater}.
+ * </p>
+ * <p>
+ *   The index is a cache: an index that is missing, stale, corrupted or
+ *   written by another version is ignored, and failing to write it doesn't
+ *   fail the analysis.
+ * </p>
+ */
+final class LogIndexFile {
+
+  private static final int MAGIC = 0x4F4A4C49; // "OJLI"
+  private static final int VERSION = 2;
+  private static final int HASHED_BYTES = 64 * 1024;
+  private static final String EXTENSION = ".idx";
+
+  private final Path logFile;
+  private final Path indexFile;
+  private final Key key;
+
+  /**
+   * <p>
+   *   Locates the index of {@code logFile} in {@code indexDirectory} and
+   *   records the current state of the log file.
+   * </p>
+   *
+   * @param logFile the log file.
+   * @param indexDirectory directory of the index files, the directory of the
+   *                       log file keeps the index next to it.
+   * @throws IOException if the log file can't be read.
+   */
+  LogIndexFile(final Path logFile, final Path indexDirectory) throws IOException {
+    this.logFile = logFile.toAbsolutePath().normalize();
+    // Several log files with the same name can share a cache directory.
+    final String pathHash = Integer.toHexString(this.logFile.toString().hashCode());
+    this.indexFile = indexDirectory.resolve(this.logFile.getFileName() + "." + pathHash + EXTENSION);
+    this.key = Key.of(this.logFile);
+  }
+
+  /**
+   * <p>
+   *   Reads the index if it matches the log file.
+   * </p>
+   *
+   * @return the parser read from the index, or {@code null} if there is no
+   *         index or if it can't be used.
+   */
+  JDBCLogParser read() {
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals(Key.readFrom(in)))
+        return null;
+
+      return JDBCLogParser.readFrom(new DataInputStream(new BufferedInputStream(new InflaterInputStream(in))));
+    } catch (IOException | RuntimeException e) {
+      // Missing, truncated or corrupted: a corrupted index can fail in many ways, the log file is parsed again.
+      return null;
+    }
+  }
+
+  /**
+   * <p>
+   *   Writes the index, unless the log file changed since this instance was
+   *   created: the parser may have read a part of the changes only.
+   * </p>
+   * <p>
+   *   The index is written to a temporary file first and then moved, readers
+   *   never see a partially written index.
+   * </p>
+   *
+   * @param parser the finished parser of the log file.
+   */
+  void write(final JDBCLogParser parser) {
+    Path temporaryFile = null;
+    try {
+      if (!key.equals(Key.of(logFile)))
+        return;
+
+      Files.createDirectories(indexFile.getParent());
+      temporaryFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        key.writeTo(out);
+
+        final DeflaterOutputStream deflater = new DeflaterOutputStream(out);
+        final DataOutputStream body = new DataOutputStream(new BufferedOutputStream(deflater));
+        parser.writeTo(body);
+        body.flush();
+        deflater.finish();
+      }
+
+      try {
+        Files.move(temporaryFile, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      // The index is only a cache, the analysis doesn't fail because of it.
+      deleteQuietly(temporaryFile);
+    }
+  }
+
+  Path getPath() {
+    return indexFile;
+  }
+
+  private static void deleteQuietly(final Path file) {
+    if (file == null)
+      return;
+
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ignored) {
+    }
+  }
+
+  /**
+   * State of a log file when it was indexed.
+   */
+  private record Key(String path, long size, long lastModified, byte[] hash) {
+
+    static Key of(final Path logFile) throws IOException {
+      // Size and time first: if the file is appended to while it is hashed, the key is stale.
+      final long size = Files.size(logFile);
+      final long lastModified = Files.getLastModifiedTime(logFile).toMillis();
+      return new Key(logFile.toString(), size, lastModified, hash(logFile, size));
+    }
+
+    private static byte[] hash(final Path logFile, final long size) throws IOException {
+      final MessageDigest digest;
+      try {
+        digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException("SHA-256 is a required algorithm.", e);
+      }
+
+      try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+        final ByteBuffer buffer = ByteBuffer.allocate(HASHED_BYTES);
+        update(digest, channel, buffer, 0);
+        if (size > HASHED_BYTES)
+          update(digest, channel, buffer, Math.max(HASHED_BYTES, size - HASHED_BYTES));
+      }
+
+      return digest.digest();
+    }
+
+    private static void update(final MessageDigest digest, final FileChannel channel, final ByteBuffer buffer,
+                               final long position) throws IOException {
+      buffer.clear();
+      while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+        // Reads until the buffer is full or the end of the file.
+      }
+      buffer.flip();
+      digest.update(buffer);
+    }
+
+    void writeTo(final DataOutputStream out) throws IOException {
+      BinaryIO.writeString(out, path);
+      out.writeLong(size);
+      out.writeLong(lastModified);
+      out.writeShort(hash.length);
+      out.write(hash);
+    }
+
+    static Key readFrom(final DataInputStream in) throws IOException {
+      final String path = BinaryIO.readString(in);
+      final long size = in.readLong();
+      final long lastModified = in.readLong();
+      final byte[] hash = new byte[in.readUnsignedShort()];
+      in.readFully(hash);
+      return new Key(path, size, lastModified, hash);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof Key key && path.equals(key.path) && size == key.size
+        && lastModified == key.lastModified && Arrays.equals(hash, key.hash);
+    }
+
+    @Override
+    public int hashCode() {
+      return path.hashCode() * 31 + Arrays.hashCode(hash);
+    }
+  }
+
+}
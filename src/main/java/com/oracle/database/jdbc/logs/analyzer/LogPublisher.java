@@ -0,0 +1,77 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *   Publishes the records of a log file to reactive subscribers. Each
+ *   subscription reads the log file again, on its own daemon thread, and
+ *   the thread waits whenever the subscriber is {@link Flow#defaultBufferSize()}
+ *   records behind: the memory used doesn't depend on the size of the log file.
+ * </p>
+ * <p>
+ *   The subscription completes after the last record, or with the exception
+ *   that prevented the log file from being read. Reading stops when the
+ *   subscription is cancelled.
+ * </p>
+ *
+ * @param <T> type of the published records.
+ */
+final class LogPublisher<T> implements Flow.Publisher<T> {
+
+  /**
+   * Reads the log file and passes each record to the sink, in order.
+   */
+  @FunctionalInterface
+  interface Source<T> {
+    void emit(Consumer<T> sink) throws IOException;
+  }
+
+  private final String logLocation;
+  private final Source<T> source;
+
+  /**
+   * @param logLocation path or URL of the log file, used to name the threads.
+   * @param source reads the records, once for each subscription.
+   */
+  LogPublisher(final String logLocation, final Source<T> source) {
+    this.logLocation = logLocation;
+    this.source = source;
+  }
+
+  @Override
+  public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+    final SubmissionPublisher<T> publisher = new SubmissionPublisher<>();
+    publisher.subscribe(subscriber);
+
+    final Thread thread = new Thread(() -> {
+      try {
+        source.emit(item -> {
+          // Blocks while the buffer of the subscriber is full.
+          publisher.submit(item);
+          if (!publisher.hasSubscribers())
+            throw new CancellationException();
+        });
+        publisher.close();
+      } catch (CancellationException e) {
+        publisher.close();
+      } catch (IOException | RuntimeException e) {
+        publisher.closeExceptionally(e);
+      }
+    }, "Log publisher " + logLocation);
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+}
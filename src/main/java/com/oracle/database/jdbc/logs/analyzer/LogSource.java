@@ -0,0 +1,231 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * <p>
+ *   Where the content of a log file comes from: a local file, a URL, a
+ *   stream (the standard input of a process that pipes its logs for instance),
+ *   a channel or an array of bytes. The content may be compressed (gzip or
+ *   zip), it is decompressed when it is read.
+ * </p>
+ * <p>
+ *   A source declares its capabilities, {@link JDBCLog} and {@link RDBMSLog}
+ *   read it accordingly: local files are memory-mapped, can be parsed in
+ *   parallel and followed, other sources are read in a single pass. A source
+ *   that can only be read once is kept while it is analyzed, in memory up to
+ *   1 MB and in a temporary file beyond, the lines of the errors can be read
+ *   afterward. An HTTP or HTTPS log file is
+ *   downloaded once into a {@link LogDownloadCache}.
+ * </p>
+ */
+public interface LogSource {
+
+  /**
+   * <p>
+   *   Returns the location of this source: a path, a URL, or a name for
+   *   the sources which have no location.
+   * </p>
+   *
+   * @return the location, used as the log file of the log entries.
+   */
+  String location();
+
+  /**
+   * <p>
+   *   Checks if this source can be read from any position without reading
+   *   what precedes it.
+   * </p>
+   *
+   * @return {@code true} if {@link #open(long)} doesn't read the bytes before the position.
+   */
+  boolean isSeekable();
+
+  /**
+   * <p>
+   *   Checks if the size of this source is known without reading it.
+   * </p>
+   *
+   * @return {@code true} if {@link #size()} doesn't read the content.
+   */
+  boolean isSizeKnown();
+
+  /**
+   * <p>
+   *   Checks if this source can be read more than once.
+   * </p>
+   *
+   * @return {@code true} if {@link #open()} can be called more than once.
+   */
+  boolean isReReadable();
+
+  /**
+   * <p>
+   *   Returns the size of this source, compressed if the content is compressed.
+   * </p>
+   *
+   * @return the size in bytes, {@code -1} if it is unknown.
+   * @throws IOException if an error occurs while getting the size.
+   */
+  long size() throws IOException;
+
+  /**
+   * <p>
+   *   Opens the content of this source.
+   * </p>
+   *
+   * @return the content, compressed if it is compressed.
+   * @throws IOException if the source can't be opened.
+   * @throws IllegalStateException if the source can only be read once and has already been opened.
+   */
+  InputStream open() throws IOException;
+
+  /**
+   * <p>
+   *   Opens the content of this source at {@code position}. The bytes before
+   *   {@code position} are read and skipped unless this source is
+   *   {@link #isSeekable() seekable}.
+   * </p>
+   *
+   * @param position offset in bytes of the first byte to read.
+   * @return the content, starting at {@code position}.
+   * @throws IOException if the source can't be opened.
+   * @throws IllegalStateException if the source can only be read once and has already been opened.
+   */
+  default InputStream open(final long position) throws IOException {
+    final InputStream inputStream = open();
+    try {
+      inputStream.skipNBytes(position);
+    } catch (IOException | RuntimeException e) {
+      inputStream.close();
+      throw e;
+    }
+    return inputStream;
+  }
+
+  /**
+   * <p>
+   *   Creates a source from a location: a URL, or else the path of a local file.
+   * </p>
+   *
+   * @param location URL or path of the log file.
+   * @return the source.
+   * @throws IllegalArgumentException if {@code location} is null or blank.
+   */
+  static LogSource of(final String location) {
+    Utils.requireNonBlank(location, "location cannot be null or blank.");
+    try {
+      return new LogSources.URLSource(new URL(location), location, LogDownloadCache.getDefault());
+    } catch (MalformedURLException ignored) {
+      return new LogSources.FileSource(Path.of(location), location);
+    }
+  }
+
+  /**
+   * <p>
+   *   Creates a source from a local file.
+   * </p>
+   *
+   * @param file the log file.
+   * @return the source.
+   */
+  static LogSource of(final Path file) {
+    return new LogSources.FileSource(file, file.toString());
+  }
+
+  /**
+   * <p>
+   *   Creates a source from a URL. An HTTP or HTTPS log file is downloaded
+   *   once into the {@link LogDownloadCache#getDefault() default cache}.
+   * </p>
+   *
+   * @param url URL of the log file.
+   * @return the source.
+   */
+  static LogSource of(final URL url) {
+    return of(url, LogDownloadCache.getDefault());
+  }
+
+  /**
+   * <p>
+   *   Creates a source from a URL. An HTTP or HTTPS log file is downloaded
+   *   once into {@code cache}, or revalidated if it is already there, and the
+   *   local copy is read afterward.
+   * </p>
+   *
+   * @param url URL of the log file.
+   * @param cache cache of the downloaded log files, {@code null} to read the URL every time.
+   * @return the source.
+   */
+  static LogSource of(final URL url, final LogDownloadCache cache) {
+    return new LogSources.URLSource(Objects.requireNonNull(url), url.toString(), cache);
+  }
+
+  /**
+   * <p>
+   *   Creates a source from an array of bytes, which must not be modified
+   *   afterward.
+   * </p>
+   *
+   * @param name name of the source, used as its location.
+   * @param content the content of the log file.
+   * @return the source.
+   */
+  static LogSource of(final String name, final byte[] content) {
+    return new LogSources.ByteArraySource(Objects.requireNonNull(content), name);
+  }
+
+  /**
+   * <p>
+   *   Creates a source that reads a stream, once.
+   * </p>
+   *
+   * @param name name of the source, used as its location.
+   * @param inputStream the content of the log file, closed once it is read.
+   * @return the source.
+   */
+  static LogSource of(final String name, final InputStream inputStream) {
+    return new LogSources.StreamSource(Objects.requireNonNull(inputStream), name);
+  }
+
+  /**
+   * <p>
+   *   Creates a source that reads a channel, once.
+   * </p>
+   *
+   * @param name name of the source, used as its location.
+   * @param channel the content of the log file, closed once it is read.
+   * @return the source.
+   */
+  static LogSource of(final String name, final ReadableByteChannel channel) {
+    return new LogSources.StreamSource(Channels.newInputStream(Objects.requireNonNull(channel)), name);
+  }
+
+  /**
+   * <p>
+   *   Creates a source that reads the standard input of this process, once.
+   *   For instance, {@code kubectl logs my-pod | java ...} analyzes the logs
+   *   of a pod without saving them to a file first.
+   * </p>
+   *
+   * @return the source, its location is {@code <stdin>}.
+   */
+  static LogSource stdin() {
+    return new LogSources.StreamSource(LogSources.nonClosing(System.in), "<stdin>");
+  }
+
+}
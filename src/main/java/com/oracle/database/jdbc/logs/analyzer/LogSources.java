@@ -0,0 +1,576 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>
+ *   The implementations of {@link LogSource}.
+ * </p>
+ */
+final class LogSources {
+
+  private LogSources() {}
+
+  /**
+   * <p>
+   *   Returns a source that can be read more than once: {@code source} itself,
+   *   or a {@link ReplayableSource} if it can only be read once.
+   * </p>
+   */
+  static LogSource reReadable(final LogSource source) {
+    return source.isReReadable() ? source : new ReplayableSource(source);
+  }
+
+  /**
+   * <p>
+   *   Returns a source for a single sequential read that doesn't keep what it
+   *   reads: {@link ReplayableSource#sequential()} for a {@link ReplayableSource},
+   *   {@code source} itself otherwise.
+   * </p>
+   */
+  static LogSource sequential(final LogSource source) {
+    return source instanceof ReplayableSource replayable ? replayable.sequential() : source;
+  }
+
+  /**
+   * <p>
+   *   Returns the local file of a source, {@code null} if it isn't a local file.
+   * </p>
+   */
+  static Path localFile(final LogSource source) {
+    return source instanceof FileSource fileSource ? fileSource.file : null;
+  }
+
+  /**
+   * <p>
+   *   Returns a local file with the content of a source: the local file of the
+   *   source, or the downloaded copy of a URL. {@code null} if there is none.
+   * </p>
+   */
+  static Path localCopy(final LogSource source) throws IOException {
+    if (source instanceof FileSource fileSource)
+      return fileSource.file;
+    if (source instanceof URLSource urlSource && urlSource.cache != null)
+      return urlSource.copy();
+    return null;
+  }
+
+  /**
+   * <p>
+   *   Checks if the content of a source may have changed since it was read:
+   *   the downloaded copy of a URL is revalidated, the other sources are
+   *   assumed to have changed.
+   * </p>
+   *
+   * @return {@code false} if the content didn't change.
+   */
+  static boolean revalidate(final LogSource source) throws IOException {
+    return !(source instanceof URLSource urlSource) || urlSource.revalidate();
+  }
+
+  static InputStream nonClosing(final InputStream inputStream) {
+    return new FilterInputStream(inputStream) {
+      @Override
+      public void close() {
+        // The stream belongs to the caller.
+      }
+    };
+  }
+
+  private static InputStream open(final Path file, final long position) throws IOException {
+    final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      channel.position(position);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+    return Channels.newInputStream(channel);
+  }
+
+  /**
+   * A local file: memory-mapped, positional reads.
+   */
+  static final class FileSource implements LogSource {
+    private final Path file;
+    private final String location;
+
+    FileSource(final Path file, final String location) {
+      this.file = Objects.requireNonNull(file);
+      this.location = location;
+    }
+
+    @Override
+    public String location() {
+      return location;
+    }
+
+    @Override
+    public boolean isSeekable() {
+      return true;
+    }
+
+    @Override
+    public boolean isSizeKnown() {
+      return true;
+    }
+
+    @Override
+    public boolean isReReadable() {
+      return true;
+    }
+
+    @Override
+    public long size() throws IOException {
+      return Files.size(file);
+    }
+
+    @Override
+    public InputStream open() throws IOException {
+      return Files.newInputStream(file);
+    }
+
+    @Override
+    public InputStream open(final long position) throws IOException {
+      return LogSources.open(file, position);
+    }
+  }
+
+  /**
+   * <p>
+   *   A URL. An HTTP or HTTPS URL is downloaded once into a {@link LogDownloadCache},
+   *   the local copy is read afterward: positional reads, size known. Without a
+   *   cache, an HTTP or HTTPS URL is read from a position with range requests
+   *   if the server supports them. Other URLs are read sequentially, every time
+   *   the source is opened.
+   * </p>
+   */
+  static final class URLSource implements LogSource {
+    private final URL url;
+    private final String location;
+    private final LogDownloadCache cache;
+    private final HttpRangeCache ranges;
+    private Path copy;
+
+    URLSource(final URL url, final String location, final LogDownloadCache cache) {
+      this.url = url;
+      this.location = location;
+      this.cache = cache != null && LogDownloadCache.isCacheable(url) ? cache : null;
+      this.ranges = this.cache == null && LogDownloadCache.isCacheable(url) ? new HttpRangeCache(url) : null;
+    }
+
+    URL url() {
+      return url;
+    }
+
+    /**
+     * <p>
+     *   Returns the local copy of the URL, downloaded or revalidated the first
+     *   time. The copy is fetched again if it was evicted from the cache meanwhile.
+     * </p>
+     */
+    synchronized Path copy() throws IOException {
+      if (copy == null || !Files.exists(copy))
+        copy = cache.fetch(url).file();
+      return copy;
+    }
+
+    /**
+     * @return {@code false} if the local copy is still up to date.
+     */
+    synchronized boolean revalidate() throws IOException {
+      if (cache == null)
+        return true;
+      if (copy == null) {
+        copy();
+        return true;
+      }
+
+      final LogDownloadCache.Copy fetched = cache.fetch(url);
+      copy = fetched.file();
+      return fetched.isDownloaded();
+    }
+
+    @Override
+    public String location() {
+      return location;
+    }
+
+    /**
+     * @return {@code true} if the URL is cached, or if the server supports range
+     *         requests (checked with a first request).
+     */
+    @Override
+    public boolean isSeekable() {
+      return cache != null || isRangeSupported();
+    }
+
+    @Override
+    public boolean isSizeKnown() {
+      return cache != null;
+    }
+
+    @Override
+    public boolean isReReadable() {
+      return true;
+    }
+
+    /**
+     * @return the size of the local copy, or else the content length of the URL,
+     *         {@code -1} if it is unknown.
+     */
+    @Override
+    public long size() throws IOException {
+      return cache != null ? Files.size(copy()) : url.openConnection().getContentLengthLong();
+    }
+
+    @Override
+    public InputStream open() throws IOException {
+      return cache != null ? Files.newInputStream(copy()) : url.openStream();
+    }
+
+    @Override
+    public InputStream open(final long position) throws IOException {
+      if (cache != null)
+        return LogSources.open(copy(), position);
+      if (isRangeSupported())
+        return ranges.open(position);
+      return LogSource.super.open(position);
+    }
+
+    private boolean isRangeSupported() {
+      try {
+        return ranges != null && ranges.isSupported();
+      } catch (IOException e) {
+        // Read sequentially, the error is reported when the URL is opened.
+        return false;
+      }
+    }
+  }
+
+  /**
+   * An array of bytes.
+   */
+  static final class ByteArraySource implements LogSource {
+    private final byte[] content;
+    private final String location;
+
+    ByteArraySource(final byte[] content, final String location) {
+      this.content = content;
+      this.location = location;
+    }
+
+    @Override
+    public String location() {
+      return location;
+    }
+
+    @Override
+    public boolean isSeekable() {
+      return true;
+    }
+
+    @Override
+    public boolean isSizeKnown() {
+      return true;
+    }
+
+    @Override
+    public boolean isReReadable() {
+      return true;
+    }
+
+    @Override
+    public long size() {
+      return content.length;
+    }
+
+    @Override
+    public InputStream open() {
+      return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public InputStream open(final long position) {
+      final int offset = (int) Math.min(position, content.length);
+      return new ByteArrayInputStream(content, offset, content.length - offset);
+    }
+  }
+
+  /**
+   * A stream, or a channel, that can be read once.
+   */
+  static final class StreamSource implements LogSource {
+    private final String location;
+    private InputStream inputStream;
+
+    StreamSource(final InputStream inputStream, final String location) {
+      this.inputStream = inputStream;
+      this.location = location;
+    }
+
+    @Override
+    public String location() {
+      return location;
+    }
+
+    @Override
+    public boolean isSeekable() {
+      return false;
+    }
+
+    @Override
+    public boolean isSizeKnown() {
+      return false;
+    }
+
+    @Override
+    public boolean isReReadable() {
+      return false;
+    }
+
+    @Override
+    public long size() {
+      return -1;
+    }
+
+    @Override
+    public synchronized InputStream open() {
+      if (inputStream == null)
+        throw new IllegalStateException(location + " can only be read once.");
+
+      final InputStream opened = inputStream;
+      inputStream = null;
+      return opened;
+    }
+  }
+
+  /**
+   * <p>
+   *   Makes a source that can only be read once readable again: what is read
+   *   from it is kept (compressed if it is compressed), the first
+   *   {@link #MEMORY_SIZE} bytes in memory and the following ones in a
+   *   temporary file. Each stream opened on this source reads the bytes kept,
+   *   then reads and keeps the following bytes of the source.
+   * </p>
+   * <p>
+   *   The temporary file is deleted once this source isn't reachable anymore,
+   *   or when the JVM exits.
+   * </p>
+   */
+  static final class ReplayableSource implements LogSource {
+    static final int MEMORY_SIZE = 1 << 20;
+    private static final int READ_SIZE = 64 * 1024;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final LogSource source;
+    private byte[] memory = new byte[READ_SIZE];
+    private FileChannel spool;
+    private long size;
+    private InputStream inputStream;
+    private boolean isEnd;
+
+    ReplayableSource(final LogSource source) {
+      this.source = source;
+    }
+
+    @Override
+    public String location() {
+      return source.location();
+    }
+
+    @Override
+    public boolean isSeekable() {
+      return false;
+    }
+
+    @Override
+    public synchronized boolean isSizeKnown() {
+      return isEnd;
+    }
+
+    @Override
+    public boolean isReReadable() {
+      return true;
+    }
+
+    /**
+     * @return the size of the source once it has been read entirely, {@code -1} before.
+     */
+    @Override
+    public synchronized long size() {
+      return isEnd ? size : -1;
+    }
+
+    @Override
+    public InputStream open() {
+      return new InputStream() {
+        private long position;
+
+        @Override
+        public int read() throws IOException {
+          final byte[] b = new byte[1];
+          return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+          Objects.checkFromIndexSize(off, len, b.length);
+          if (len == 0)
+            return 0;
+          final int count = ReplayableSource.this.read(position, b, off, len);
+          if (count > 0)
+            position += count;
+          return count;
+        }
+      };
+    }
+
+    /**
+     * <p>
+     *   Returns a view of this source for a single sequential read that
+     *   doesn't keep what it reads: the view reads the source itself if
+     *   nothing was read from it yet, and this source can't be read
+     *   afterward. Otherwise the view reads this source.
+     * </p>
+     */
+    LogSource sequential() {
+      return new LogSource() {
+        @Override
+        public String location() {
+          return source.location();
+        }
+
+        @Override
+        public boolean isSeekable() {
+          return false;
+        }
+
+        @Override
+        public boolean isSizeKnown() {
+          return false;
+        }
+
+        @Override
+        public boolean isReReadable() {
+          return false;
+        }
+
+        @Override
+        public long size() {
+          return ReplayableSource.this.size();
+        }
+
+        @Override
+        public InputStream open() throws IOException {
+          synchronized (ReplayableSource.this) {
+            // The source throws IllegalStateException if it is read again afterward.
+            return inputStream == null && !isEnd ? source.open() : ReplayableSource.this.open();
+          }
+        }
+      };
+    }
+
+    private synchronized int read(final long position, final byte[] b, final int off, final int len) throws IOException {
+      if (position == size && !fill())
+        return -1;
+
+      final int count = (int) Math.min(len, size - position);
+      if (position < MEMORY_SIZE) {
+        final int inMemory = (int) Math.min(count, MEMORY_SIZE - position);
+        System.arraycopy(memory, (int) position, b, off, inMemory);
+        return inMemory;
+      }
+
+      final ByteBuffer buffer = ByteBuffer.wrap(b, off, count);
+      while (buffer.hasRemaining()) {
+        if (spool.read(buffer, position - MEMORY_SIZE + buffer.position() - off) == -1)
+          throw new EOFException("Unexpected end of the temporary copy of " + location() + ".");
+      }
+      return count;
+    }
+
+    /**
+     * @return {@code false} if the end of the source is reached.
+     */
+    private boolean fill() throws IOException {
+      if (isEnd)
+        return false;
+      if (inputStream == null)
+        inputStream = source.open();
+
+      int count;
+      if (size < MEMORY_SIZE) {
+        if (size == memory.length)
+          memory = Arrays.copyOf(memory, Math.min(memory.length * 2, MEMORY_SIZE));
+        count = inputStream.read(memory, (int) size, memory.length - (int) size);
+        if (count > 0)
+          size += count;
+      } else {
+        final byte[] buffer = new byte[READ_SIZE];
+        count = inputStream.read(buffer);
+        if (count > 0)
+          append(buffer, count);
+      }
+
+      if (count == -1) {
+        isEnd = true;
+        inputStream.close();
+        return false;
+      }
+      return count > 0 || fill();
+    }
+
+    private void append(final byte[] buffer, final int count) throws IOException {
+      if (spool == null) {
+        final Path file = Files.createTempFile("ojdbc-log-", ".tmp");
+        file.toFile().deleteOnExit();
+        spool = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+          StandardOpenOption.DELETE_ON_CLOSE);
+        CLEANER.register(this, new Spool(spool, file));
+      }
+
+      final ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, count);
+      while (bytes.hasRemaining())
+        spool.write(bytes, size - MEMORY_SIZE + bytes.position());
+      size += count;
+    }
+
+    /**
+     * Closes and deletes the temporary file, it mustn't reference the source.
+     */
+    private record Spool(FileChannel channel, Path file) implements Runnable {
+      @Override
+      public void run() {
+        try {
+          channel.close();
+          Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+          // Deleted when the JVM exits.
+        }
+      }
+    }
+  }
+
+}
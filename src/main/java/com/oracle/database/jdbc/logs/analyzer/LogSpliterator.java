@@ -0,0 +1,93 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ *   Extracts the records of a log file only when the stream asks for them:
+ *   the log file is read a step at a time until a step produces records, a
+ *   short-circuiting operation ({@code limit}, {@code findFirst}, {@code anyMatch}...)
+ *   stops reading the log file.
+ * </p>
+ *
+ * @param <T> type of the records.
+ */
+final class LogSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+  /**
+   * Reads the log file a little further, usually one line, and passes the
+   * records found to the sink.
+   */
+  @FunctionalInterface
+  interface Step<T> {
+    /**
+     * @return {@code false} if the end of the log file was reached.
+     */
+    boolean advance(Consumer<T> sink) throws IOException;
+  }
+
+  private final Step<T> step;
+  private final ArrayDeque<T> pending = new ArrayDeque<>();
+  private boolean isEnd;
+
+  private LogSpliterator(final Step<T> step) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.step = step;
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super T> action) {
+    try {
+      while (pending.isEmpty() && !isEnd) {
+        isEnd = !step.advance(pending::add);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    if (pending.isEmpty())
+      return false;
+
+    action.accept(pending.poll());
+    return true;
+  }
+
+  /**
+   * <p>
+   *   Creates a sequential stream of the records produced by {@code step}.
+   * </p>
+   *
+   * @param step reads the records.
+   * @param resource closed when the stream is closed, can be {@code null}.
+   * @return the stream, it should be closed once it isn't needed anymore.
+   */
+  static <T> Stream<T> stream(final Step<T> step, final Closeable resource) {
+    final Stream<T> stream = StreamSupport.stream(new LogSpliterator<>(step), false);
+    if (resource == null)
+      return stream;
+
+    return stream.onClose(() -> {
+      try {
+        resource.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+}
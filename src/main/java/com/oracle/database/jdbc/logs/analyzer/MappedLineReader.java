@@ -0,0 +1,145 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ *   {@link LineReader} backed by a memory-mapped local file.
+ * </p>
+ * <p>
+ *   A {@link MappedByteBuffer} is limited to 2 GB, so the file is mapped as
+ *   consecutive segments of at most {@link #DEFAULT_SEGMENT_SIZE} bytes, a
+ *   line that crosses two segments is copied from both. Newlines are searched
+ *   directly in the mapped memory, only the bytes of the current line are
+ *   copied to a reusable buffer.
+ * </p>
+ */
+final class MappedLineReader extends LineReader {
+
+  /**
+   * Size of the mapped segments (1 GB).
+   */
+  static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+  private final FileChannel channel;
+  private final long fileSize;
+  private final int segmentSize;
+
+  private MappedByteBuffer segment;
+  private long segmentStart = -1;
+
+  /**
+   * <p>
+   *   Maps the file at {@code path} with segments of {@link #DEFAULT_SEGMENT_SIZE}.
+   * </p>
+   *
+   * @param path local log file.
+   * @throws IOException if the file cannot be opened.
+   */
+  MappedLineReader(final Path path) throws IOException {
+    this(path, DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * <p>
+   *   Maps the file at {@code path} with segments of {@code segmentSize} bytes.
+   * </p>
+   *
+   * @param path local log file.
+   * @param segmentSize maximum size in bytes of a mapped segment.
+   * @throws IOException if the file cannot be opened.
+   */
+  MappedLineReader(final Path path, final int segmentSize) throws IOException {
+    this(path, 0, segmentSize);
+  }
+
+  /**
+   * <p>
+   *   Maps the file at {@code path} with segments of {@code segmentSize} bytes,
+   *   the first line is read at {@code startPosition}.
+   * </p>
+   *
+   * @param path local log file.
+   * @param startPosition offset in bytes of the first line to read.
+   * @param segmentSize maximum size in bytes of a mapped segment.
+   * @throws IOException if the file cannot be opened.
+   */
+  MappedLineReader(final Path path, final long startPosition, final int segmentSize) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.fileSize = channel.size();
+    this.segmentSize = segmentSize;
+    this.lineBytes = new byte[256];
+    this.nextPosition = startPosition;
+  }
+
+  @Override
+  protected boolean readLine() throws IOException {
+    if (nextPosition >= fileSize)
+      return false;
+
+    position = nextPosition;
+    lineOffset = 0;
+    lineLength = 0;
+
+    long cursor = position;
+    while (cursor < fileSize) {
+      final MappedByteBuffer buffer = mapSegment(cursor);
+      final int from = (int) (cursor - segmentStart);
+      final int limit = buffer.limit();
+
+      int newline = from;
+      while (newline < limit && buffer.get(newline) != '\n')
+        newline++;
+
+      copy(buffer, from, newline - from);
+      cursor = segmentStart + newline;
+
+      if (newline < limit) {
+        // skip the '\n'
+        cursor++;
+        break;
+      }
+    }
+
+    nextPosition = cursor;
+    return true;
+  }
+
+  private MappedByteBuffer mapSegment(final long offset) throws IOException {
+    if (segment == null || offset < segmentStart || offset >= segmentStart + segment.limit()) {
+      segmentStart = (offset / segmentSize) * segmentSize;
+      segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, Math.min(segmentSize, fileSize - segmentStart));
+    }
+
+    return segment;
+  }
+
+  private void copy(final MappedByteBuffer buffer, final int from, final int length) {
+    if (lineLength + length > lineBytes.length) {
+      final byte[] grown = new byte[Math.max(lineBytes.length * 2, lineLength + length)];
+      System.arraycopy(lineBytes, 0, grown, 0, lineLength);
+      lineBytes = grown;
+    }
+
+    buffer.get(from, lineBytes, lineLength, length);
+    lineLength += length;
+  }
+
+  @Override
+  public void close() throws IOException {
+    segment = null;
+    channel.close();
+  }
+
+}
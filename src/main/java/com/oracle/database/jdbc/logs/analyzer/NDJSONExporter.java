@@ -0,0 +1,179 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JSONWritable;
+import com.oracle.database.jdbc.logs.model.JSONWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>
+ *   Exports the records of a log file as newline-delimited JSON (NDJSON):
+ *   one JSON object per line, in the order of the log file.
+ * </p>
+ * <p>
+ *   The records are written as they are extracted from the log file, they
+ *   are never collected in a {@link java.util.List}. The files can be
+ *   compressed with gzip.
+ * </p>
+ *
+ * <pre>{@code
+ * final NDJSONExporter exporter = new NDJSONExporter(true);
+ * exporter.exportQueries(new JDBCLog(logFile), Path.of("queries.ndjson.gz"));
+ * }</pre>
+ */
+public final class NDJSONExporter {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final boolean isCompressed;
+
+  /**
+   * <p>
+   *   Create an exporter.
+   * </p>
+   *
+   * @param isCompressed {@code true} to compress the exported files with gzip.
+   */
+  public NDJSONExporter(final boolean isCompressed) {
+    this.isCompressed = isCompressed;
+  }
+
+  /**
+   * <p>
+   *   Exports the executed queries of an Oracle JDBC log file.
+   * </p>
+   *
+   * @param jdbcLog the log file.
+   * @param file the exported file, replaced if it exists.
+   * @return the number of exported queries.
+   * @throws IOException if an error occurs while reading the log file or writing the exported file.
+   * @see JDBCLog#getQueries()
+   */
+  public long exportQueries(final JDBCLog jdbcLog, final Path file) throws IOException {
+    try (Stream<? extends JSONWritable> queries = jdbcLog.streamQueries()) {
+      return export(queries, file);
+    }
+  }
+
+  /**
+   * <p>
+   *   Exports the errors of an Oracle JDBC log file.
+   * </p>
+   *
+   * @param jdbcLog the log file.
+   * @param file the exported file, replaced if it exists.
+   * @return the number of exported errors.
+   * @throws IOException if an error occurs while reading the log file or writing the exported file.
+   * @see JDBCLog#getLogErrors()
+   */
+  public long exportLogErrors(final JDBCLog jdbcLog, final Path file) throws IOException {
+    try (Stream<? extends JSONWritable> errors = jdbcLog.streamLogErrors()) {
+      return export(errors, file);
+    }
+  }
+
+  /**
+   * <p>
+   *   Exports the connection events of an Oracle JDBC log file.
+   * </p>
+   *
+   * @param jdbcLog the log file.
+   * @param file the exported file, replaced if it exists.
+   * @return the number of exported connection events.
+   * @throws IOException if an error occurs while reading the log file or writing the exported file.
+   * @see JDBCLog#getConnectionEvents()
+   */
+  public long exportConnectionEvents(final JDBCLog jdbcLog, final Path file) throws IOException {
+    try (Stream<? extends JSONWritable> connectionEvents = jdbcLog.streamConnectionEvents()) {
+      return export(connectionEvents, file);
+    }
+  }
+
+  /**
+   * <p>
+   *   Exports the errors of an RDBMS (SQLNet) trace file.
+   * </p>
+   *
+   * @param rdbmsLog the trace file.
+   * @param file the exported file, replaced if it exists.
+   * @return the number of exported errors.
+   * @throws IOException if an error occurs while reading the trace file or writing the exported file.
+   * @see RDBMSLog#getErrors()
+   */
+  public long exportErrors(final RDBMSLog rdbmsLog, final Path file) throws IOException {
+    try (Stream<? extends JSONWritable> errors = rdbmsLog.streamErrors()) {
+      return export(errors, file);
+    }
+  }
+
+  /**
+   * <p>
+   *   Exports the packet dumps of a connection from an RDBMS (SQLNet) trace file.
+   * </p>
+   *
+   * @param rdbmsLog the trace file.
+   * @param connectionId String representation of the connection id.
+   * @param file the exported file, replaced if it exists.
+   * @return the number of exported packet dumps.
+   * @throws IOException if an error occurs while reading the trace file or writing the exported file.
+   * @see RDBMSLog#getPacketDumps(String)
+   */
+  public long exportPacketDumps(final RDBMSLog rdbmsLog, final String connectionId, final Path file) throws IOException {
+    try (Stream<? extends JSONWritable> packetDumps = rdbmsLog.streamPacketDumps(connectionId)) {
+      return export(packetDumps, file);
+    }
+  }
+
+  /**
+   * <p>
+   *   Writes records to {@code out}, one per line. The output is compressed
+   *   if this exporter compresses its files.
+   * </p>
+   *
+   * @param records the records, the stream isn't closed by this method.
+   * @param out the destination, it is not closed by this method.
+   * @return the number of written records.
+   * @throws IOException if an error occurs while reading the records or writing them.
+   */
+  public long export(final Stream<? extends JSONWritable> records, final OutputStream out) throws IOException {
+    final GZIPOutputStream gzipOut = isCompressed ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+    final JSONWriter jsonWriter = new JSONWriter(gzipOut == null ? out : gzipOut);
+
+    long count = 0;
+    try {
+      for (Iterator<? extends JSONWritable> iterator = records.iterator(); iterator.hasNext(); count++) {
+        jsonWriter.line(iterator.next());
+      }
+    } catch (UncheckedIOException e) {
+      // Thrown by the stream when the log file can't be read.
+      throw e.getCause();
+    }
+
+    jsonWriter.flush();
+    if (gzipOut != null)
+      gzipOut.finish();
+
+    return count;
+  }
+
+  private long export(final Stream<? extends JSONWritable> records, final Path file) throws IOException {
+    try (OutputStream out = Files.newOutputStream(file)) {
+      return export(records, out);
+    }
+  }
+
+}
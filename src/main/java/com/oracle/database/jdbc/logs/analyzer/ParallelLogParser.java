@@ -0,0 +1,222 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Matcher;
+
+import static com.oracle.database.jdbc.logs.analyzer.JDBCLog.UCP;
+
+/**
+ * <p>
+ *   Parses a local log file with several {@link JDBCLogParser} running on a
+ *   {@link ForkJoinPool}, each one over a byte range (chunk) of the file.
+ * </p>
+ * <p>
+ *   A chunk starts at a trace line, where a record of the log file starts, so
+ *   the log entries never cross two chunks. The queries and the connection
+ *   events are the only records that may still be in progress at the end of a
+ *   chunk, the multiline extractors of the next chunk are then
+ *   {@link JDBCLogParser#carryOver(JDBCLogParser, LineReader, long) carried over}
+ *   before the chunks are merged in file order. The result is the same as the
+ *   result of a single {@link JDBCLogParser}.
+ * </p>
+ */
+final class ParallelLogParser {
+
+  /**
+   * Files are not split in chunks smaller than 8 MB.
+   */
+  static final long MIN_CHUNK_SIZE = 8L * 1024 * 1024;
+
+  /**
+   * Number of chunks per thread, more chunks than threads balance the work
+   * when some parts of the file are slower to parse.
+   */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private ParallelLogParser() {
+  }
+
+  /**
+   * <p>
+   *   Parses the log file at {@code path} with {@code parallelism} threads.
+   * </p>
+   *
+   * @param path local log file.
+   * @param parallelism number of threads.
+   * @return parser holding the extracted data.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  static JDBCLogParser parse(final Path path, final int parallelism) throws IOException {
+    return parse(path, parallelism, MIN_CHUNK_SIZE);
+  }
+
+  /**
+   * <p>
+   *   Parses the log file at {@code path} with {@code parallelism} threads
+   *   and chunks of at least {@code minChunkSize} bytes.
+   * </p>
+   *
+   * @param path local log file.
+   * @param parallelism number of threads.
+   * @param minChunkSize minimum size in bytes of a chunk.
+   * @return parser holding the extracted data.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  static JDBCLogParser parse(final Path path, final int parallelism, final long minChunkSize) throws IOException {
+    final long fileSize = Files.size(path);
+    final long[] boundaries = split(path, fileSize, (int) Math.min(
+      (long) parallelism * CHUNKS_PER_THREAD, Math.max(fileSize / Math.max(minChunkSize, 1), 1)));
+
+    if (boundaries.length <= 2) {
+      final JDBCLogParser parser = new JDBCLogParser();
+      try (final LineReader reader = new MappedLineReader(path)) {
+        parser.parse(reader);
+      }
+      return parser;
+    }
+
+    final boolean isUCPFormatted;
+    try (final LineReader reader = new MappedLineReader(path)) {
+      isUCPFormatted = reader.next() && reader.line().contains(UCP);
+    }
+
+    final List<ChunkTask> tasks = new ArrayList<>(boundaries.length - 1);
+    for (int i = 0; i < boundaries.length - 1; i++) {
+      tasks.add(new ChunkTask(path, boundaries[i], boundaries[i + 1], isUCPFormatted));
+    }
+
+    final ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      pool.invoke(new RecursiveTask<Void>() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected Void compute() {
+          ForkJoinTask.invokeAll(tasks);
+          return null;
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      pool.shutdown();
+    }
+
+    // The chunks are carried over in order, each one starts in the state the previous one ends in.
+    for (int i = 1; i < tasks.size(); i++) {
+      try (final LineReader reader = new MappedLineReader(path, boundaries[i], MappedLineReader.DEFAULT_SEGMENT_SIZE)) {
+        tasks.get(i).getRawResult().carryOver(tasks.get(i - 1).getRawResult(), reader, boundaries[i + 1]);
+      }
+    }
+
+    final JDBCLogParser parser = new JDBCLogParser();
+    int lineOffset = 0;
+    for (ChunkTask task : tasks) {
+      parser.append(task.getRawResult(), lineOffset);
+      lineOffset += (int) task.getRawResult().getStats().getLineCount();
+    }
+    parser.finish();
+
+    return parser;
+  }
+
+  /**
+   * <p>
+   *   Splits the file in at most {@code chunkCount} chunks.
+   * </p>
+   *
+   * @return offsets of the beginning of the chunks followed by the file size.
+   */
+  private static long[] split(final Path path, final long fileSize, final int chunkCount) throws IOException {
+    final List<Long> boundaries = new ArrayList<>();
+    boundaries.add(0L);
+
+    for (int i = 1; i < chunkCount; i++) {
+      final long target = fileSize / chunkCount * i;
+      if (target <= boundaries.get(boundaries.size() - 1))
+        continue;
+
+      final long recordStart = findRecordStart(path, target, fileSize / chunkCount * (i + 1));
+      if (recordStart != -1 && recordStart > boundaries.get(boundaries.size() - 1))
+        boundaries.add(recordStart);
+    }
+    boundaries.add(fileSize);
+
+    return boundaries.stream()
+      .mapToLong(Long::longValue)
+      .toArray();
+  }
+
+  /**
+   * <p>
+   *   Finds the first trace line that starts at or after {@code position}
+   *   and before {@code limit}.
+   * </p>
+   *
+   * @return offset of the trace line, {@code -1} if there is none.
+   */
+  private static long findRecordStart(final Path path, final long position, final long limit) throws IOException {
+    // Start on the byte before position to know whether a line starts at position.
+    try (final LineReader reader = new MappedLineReader(path, position - 1, MappedLineReader.DEFAULT_SEGMENT_SIZE)) {
+      // Skip the end of the line in which position falls.
+      if (!reader.next())
+        return -1;
+
+      final Matcher traceMatcher = JDBCLog.TRACE_PATTERN.matcher("");
+      while (reader.next() && reader.position() < limit) {
+        if (JDBCLogParser.isTrace(reader, traceMatcher))
+          return reader.position();
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * <p>
+   *   Parses the chunk {@code [beginPosition, endPosition)} of the log file.
+   * </p>
+   */
+  private static final class ChunkTask extends RecursiveTask<JDBCLogParser> {
+    private static final long serialVersionUID = 1L;
+
+    private final Path path;
+    private final long beginPosition;
+    private final long endPosition;
+    private final boolean isUCPFormatted;
+
+    ChunkTask(final Path path, final long beginPosition, final long endPosition, final boolean isUCPFormatted) {
+      this.path = path;
+      this.beginPosition = beginPosition;
+      this.endPosition = endPosition;
+      this.isUCPFormatted = isUCPFormatted;
+    }
+
+    @Override
+    protected JDBCLogParser compute() {
+      final JDBCLogParser parser = new JDBCLogParser(isUCPFormatted);
+      try (final LineReader reader = new MappedLineReader(path, beginPosition, MappedLineReader.DEFAULT_SEGMENT_SIZE)) {
+        parser.parse(reader, endPosition);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return parser;
+    }
+  }
+
+}
@@ -12,11 +12,18 @@ import com.oracle.database.jdbc.logs.model.RDBMSPacketDump;
 import com.oracle.database.jdbc.logs.model.RDBMSError;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static com.oracle.database.jdbc.logs.analyzer.Utils.*;
 
@@ -44,7 +51,12 @@ public class RDBMSLog {
   static final Pattern CONNECTION_ID_PATTERN = Pattern.compile("(.*):connection_id = (.*)");
   static final String MY_CONNECTION_ID_PATTERN_STRING = "(.*):connection_id = %s";
 
+  private static final byte[] CONNECTION_ID_ANCHOR = LineReader.literal("connection_id = ");
+  private static final byte[] ORA_ANCHOR = LineReader.literal("ORA-");
+
+  private final LogSource source;
   private final String logLocation;
+  private final List<RDBMSLogListener> listeners = new CopyOnWriteArrayList<>();
   private List<RDBMSLogEntry> logEntries;
 
   /**
@@ -55,11 +67,53 @@ public class RDBMSLog {
    * @throws IllegalArgumentException if {@code logLocation} is null or empty.
    */
   public RDBMSLog(String logLocation) throws IllegalArgumentException {
+    this(source(logLocation));
+  }
+
+  /**
+   * <p>
+   *   Create an instance to parse an RDBMS (SQLNet) trace from any source: a
+   *   local file, a URL, a stream, a channel or an array of bytes. A source
+   *   that can only be read once is kept while it is read, in memory up to
+   *   1 MB and in a temporary file beyond. The {@code stream*} and
+   *   {@code publish*} methods don't keep it: called before anything else,
+   *   they read it directly, and it can't be read afterward.
+   * </p>
+   * @param source the source of the RDBMS (SQLNet) trace.
+   * @throws NullPointerException if {@code source} is null.
+   */
+  public RDBMSLog(LogSource source) {
+    Objects.requireNonNull(source, "source cannot be null.");
+    this.source = LogSources.reReadable(source);
+    this.logLocation = source.location();
+  }
+
+  private static LogSource source(final String logLocation) {
     requireNonBlank(logLocation, "logLocation cannot be empty");
-    this.logLocation = logLocation;
+    return LogSource.of(logLocation);
   }
 
-  private List<RDBMSLogEntry> parse() throws IOException {
+  private static boolean startsWith(final LineReader reader, final byte[] literal) {
+    if (reader.length() < literal.length)
+      return false;
+
+    for (int i = 0; i < literal.length; i++) {
+      if (reader.byteAt(i) != literal[i])
+        return false;
+    }
+
+    return true;
+  }
+
+  private static boolean isPacketDumpCandidate(final LineReader reader) {
+    if (reader.length() < 2 || reader.byteAt(1) != ':' || reader.byteAt(reader.length() - 1) != '|')
+      return false;
+
+    final byte first = reader.byteAt(0);
+    return first == 'D' || first == 'C' || first == 'I';
+  }
+
+  private synchronized List<RDBMSLogEntry> parse() throws IOException {
     if (logEntries != null) {
       return logEntries;
     }
@@ -68,21 +122,20 @@ public class RDBMSLog {
 
     int previousLogStartLine = 0;
     long previousLogPositionInFile = 0;
-    long positionInFile = 0;
-
-    try (BufferedReader reader = getBufferedReader(logLocation)) {
-      int lineNumber = 1;
-      while (reader.ready()) {
-        String line = reader.readLine();
-        Matcher matcher = CONNECTION_ID_PATTERN.matcher(line);
-        if (matcher.find()) {
-          logEntries.add(new RDBMSLogEntry(logLocation, previousLogStartLine, lineNumber - 1, previousLogPositionInFile));
-
-          previousLogStartLine = lineNumber;
-          previousLogPositionInFile = positionInFile;
+
+    final Matcher matcher = CONNECTION_ID_PATTERN.matcher("");
+    try (LineReader reader = getLineReader(source)) {
+      while (reader.next()) {
+        if (!reader.contains(CONNECTION_ID_ANCHOR))
+          continue;
+
+        if (matcher.reset(reader.view()).find()) {
+          logEntries.add(new RDBMSLogEntry(source, previousLogStartLine, reader.lineNumber() - 1,
+            previousLogPositionInFile, reader.position()));
+
+          previousLogStartLine = reader.lineNumber();
+          previousLogPositionInFile = reader.position();
         }
-        lineNumber++;
-        positionInFile += line.length() + 1;
       }
     }
 
@@ -90,7 +143,7 @@ public class RDBMSLog {
   }
 
   private List<RDBMSLogEntry> getLogs(String connectionId) throws IOException {
-    parse();
+    final List<RDBMSLogEntry> logEntries = parse();
 
     List<RDBMSLogEntry> logs = new ArrayList<>();
 
@@ -116,27 +169,209 @@ public class RDBMSLog {
    */
   public List<RDBMSError> getErrors() throws IOException {
     final var errors = new ArrayList<RDBMSError>();
+    emitErrors(source, errors::add);
+    return errors;
+  }
 
-    try (final var bufferedReader = getBufferedReader(logLocation)) {
-      String docLinkTemplate = null;
-      String dbVersion = null;
-      String line;
+  /**
+   * <p>
+   *   Publish the errors of the RDBMS (SQLNet) trace file, as {@link #getErrors()}
+   *   but one at a time to a reactive subscriber.
+   * </p>
+   * <p>
+   *   Each subscription reads the trace file again, the errors are extracted
+   *   as they are requested by the subscriber: the memory used doesn't depend
+   *   on the size of the trace file.
+   * </p>
+   *
+   * @return a publisher of {@link RDBMSError}.
+   */
+  public Flow.Publisher<RDBMSError> publishErrors() {
+    return new LogPublisher<>(logLocation, sink -> emitErrors(LogSources.sequential(source), sink));
+  }
 
-      while( (line = bufferedReader.readLine()) != null) {
-        // This if block will only run once
-        if (dbVersion == null || line.startsWith("Oracle Database")) {
-          dbVersion = line.split(" ")[2];
-          docLinkTemplate = "https://docs.oracle.com/en/error-help/db/%s/?r=" + dbVersion;
-          continue;
+  /**
+   * <p>
+   *   Stream the errors of the RDBMS (SQLNet) trace file, as {@link #getErrors()}
+   *   but the trace file is read as the stream is consumed: a short-circuiting
+   *   operation ({@code limit}, {@code findFirst}, {@code anyMatch}...) stops reading it.
+   * </p>
+   * <p>
+   *   The trace file stays open until the stream is closed, the stream should
+   *   be used in a try-with-resources statement.
+   * </p>
+   *
+   * @return a sequential {@link Stream} of {@link RDBMSError}.
+   * @throws IOException if an error occurs while opening the trace file.
+   */
+  public Stream<RDBMSError> streamErrors() throws IOException {
+    final LineReader reader = getLineReader(LogSources.sequential(source));
+    final ErrorExtractor extractor = new ErrorExtractor();
+    return LogSpliterator.stream(sink -> {
+      if (!reader.next())
+        return false;
+
+      extractor.accept(reader, sink);
+      return true;
+    }, reader);
+  }
+
+  private static void emitErrors(final LogSource source, final Consumer<RDBMSError> sink) throws IOException {
+    try (final var reader = getLineReader(source)) {
+      final ErrorExtractor extractor = new ErrorExtractor();
+      while (reader.next()) {
+        extractor.accept(reader, sink);
+      }
+    }
+  }
+
+  /**
+   * <p>
+   *   Registers a listener notified of the errors found in the lines appended
+   *   to the trace file while it is {@link #follow(Duration) followed}.
+   * </p>
+   *
+   * @param listener the listener.
+   * @throws NullPointerException if {@code listener} is null.
+   */
+  public void addListener(RDBMSLogListener listener) {
+    listeners.add(Objects.requireNonNull(listener, "listener cannot be null."));
+  }
+
+  /**
+   * <p>
+   *   Unregisters a listener.
+   * </p>
+   *
+   * @param listener the listener.
+   */
+  public void removeListener(RDBMSLogListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * <p>
+   *   Follows the trace file: the lines appended to it are read every
+   *   {@code pollInterval} by a daemon thread, and the errors they contain are
+   *   pushed to the {@link #addListener(RDBMSLogListener) listeners}.
+   * </p>
+   * <p>
+   *   The errors already in the trace file when it starts being followed are
+   *   not pushed. When the trace file is rotated or truncated, the errors of
+   *   the new content are pushed. A last line without a line terminator is
+   *   still being written, it is read once it is complete.
+   * </p>
+   *
+   * @param pollInterval delay between two polls of the trace file.
+   * @return the follower, to close once the trace file shouldn't be followed anymore.
+   * @throws IOException if an error occurs while reading the trace file.
+   * @throws IllegalArgumentException if {@code pollInterval} is null, zero or negative.
+   * @throws UnsupportedOperationException if the trace file isn't a local file, or if it is compressed.
+   */
+  public LogFollower follow(Duration pollInterval) throws IOException {
+    LogFollower.checkFollowable(source, pollInterval);
+
+    // The errors before the current end of the trace file are skipped, the banner isn't.
+    final Tail tail = new Tail(LogSources.localFile(source));
+    tail.read();
+
+    return new LogFollower(logLocation, () -> {
+      final List<RDBMSError> errors = tail.read();
+      if (errors.isEmpty())
+        return;
+
+      synchronized (this) {
+        // Log entries are only located when packet dumps are searched, they are located again.
+        logEntries = null;
+      }
+
+      for (RDBMSLogListener listener : listeners) {
+        try {
+          errors.forEach(listener::onError);
+        } catch (RuntimeException e) {
+          notifyFailure(e);
         }
+      }
+    }, this::notifyFailure, pollInterval);
+  }
 
-        final Matcher matcher = SERVER_ERROR_PATTERN.matcher(line);
-        if (matcher.matches())
-          errors.add( new RDBMSError(line, docLinkTemplate.formatted(matcher.group(1))) );
+  private void notifyFailure(final Exception exception) {
+    for (RDBMSLogListener listener : listeners) {
+      try {
+        listener.onFailure(exception);
+      } catch (RuntimeException ignored) {
+        // Failures of the failure handlers are not reported again.
       }
     }
+  }
 
-    return errors;
+  /**
+   * <p>
+   *   Extracts the {@code ORA-} errors, the documentation links depend on the
+   *   database version read from the banner that precedes them.
+   * </p>
+   */
+  private static final class ErrorExtractor {
+    private String docLinkTemplate;
+    private String dbVersion;
+
+    void accept(final LineReader reader, final Consumer<RDBMSError> errors) {
+      // An error line starts with "ORA-", the other lines are skipped without being decoded.
+      final boolean isDatabaseBanner = reader.length() > 0 && reader.byteAt(0) == 'O' && reader.line().startsWith("Oracle Database");
+      if (!isDatabaseBanner && dbVersion != null && !startsWith(reader, ORA_ANCHOR))
+        return;
+
+      final String line = reader.line();
+      // This if block will only run once
+      if (dbVersion == null || isDatabaseBanner) {
+        dbVersion = line.split(" ")[2];
+        docLinkTemplate = "https://docs.oracle.com/en/error-help/db/%s/?r=" + dbVersion;
+        return;
+      }
+
+      final Matcher matcher = SERVER_ERROR_PATTERN.matcher(line);
+      if (matcher.matches())
+        errors.accept( new RDBMSError(line, docLinkTemplate.formatted(matcher.group(1))) );
+    }
+  }
+
+  /**
+   * <p>
+   *   Reads the complete lines appended to a trace file since the previous read.
+   * </p>
+   */
+  private static final class Tail {
+    private final Path traceFile;
+    private ErrorExtractor extractor = new ErrorExtractor();
+    private LogCheckpoint checkpoint;
+
+    Tail(final Path traceFile) {
+      this.traceFile = traceFile;
+    }
+
+    /**
+     * @return the errors found in the appended lines.
+     */
+    List<RDBMSError> read() throws IOException {
+      if (checkpoint == null || checkpoint.isRewritten(traceFile)) {
+        extractor = new ErrorExtractor();
+        checkpoint = LogCheckpoint.of(traceFile, 0);
+      }
+
+      final long endPosition = checkpoint.lastLineEnd(traceFile);
+      if (endPosition == checkpoint.getPosition())
+        return List.of();
+
+      final List<RDBMSError> errors = new ArrayList<>();
+      try (LineReader reader = new MappedLineReader(traceFile, checkpoint.getPosition(), MappedLineReader.DEFAULT_SEGMENT_SIZE)) {
+        while (reader.next() && reader.position() < endPosition) {
+          extractor.accept(reader, errors::add);
+        }
+      }
+      checkpoint = LogCheckpoint.of(traceFile, endPosition);
+
+      return errors;
+    }
   }
 
   /**
@@ -150,42 +385,120 @@ public class RDBMSLog {
    */
   public List<RDBMSPacketDump> getPacketDumps(final String connectionId) throws IOException {
     final List<RDBMSPacketDump> packetDumps = new ArrayList<>();
-    String line;
+    emitPacketDumps(source, connectionId, packetDumps::add);
+    return packetDumps;
+  }
 
-    try (final var bufferedReader = getBufferedReader(logLocation)) {
-      while( (line = bufferedReader.readLine()) != null) {
-        if (!line.contains("connection_id = " + connectionId))
-          continue;
+  /**
+   * <p>
+   *   Publish the packet dumps that corresponds with a {@code connectionId},
+   *   as {@link #getPacketDumps(String)} but one at a time to a reactive subscriber.
+   * </p>
+   * <p>
+   *   Each subscription reads the trace file again, the packet dumps are
+   *   extracted as they are requested by the subscriber: the memory used
+   *   doesn't depend on the size of the trace file.
+   * </p>
+   *
+   * @param connectionId String representation of the connection id.
+   * @return a publisher of {@link RDBMSPacketDump}.
+   */
+  public Flow.Publisher<RDBMSPacketDump> publishPacketDumps(final String connectionId) {
+    return new LogPublisher<>(logLocation, sink -> emitPacketDumps(LogSources.sequential(source), connectionId, sink));
+  }
 
-        boolean parsingTheFirstFoundPacket = false;
-        String timestamp = null;
-        final StringJoiner packetDump = new StringJoiner(System.lineSeparator());
+  /**
+   * <p>
+   *   Stream the packet dumps that corresponds with a {@code connectionId}, as
+   *   {@link #getPacketDumps(String)} but the trace file is read as the stream
+   *   is consumed: a short-circuiting operation stops reading it.
+   * </p>
+   * <p>
+   *   The trace file stays open until the stream is closed, the stream should
+   *   be used in a try-with-resources statement.
+   * </p>
+   *
+   * @param connectionId String representation of the connection id.
+   * @return a sequential {@link Stream} of {@link RDBMSPacketDump}.
+   * @throws IOException if an error occurs while opening the trace file.
+   */
+  public Stream<RDBMSPacketDump> streamPacketDumps(final String connectionId) throws IOException {
+    final LineReader reader = getLineReader(LogSources.sequential(source));
+    final PacketDumpExtractor extractor = new PacketDumpExtractor(connectionId);
+    return LogSpliterator.stream(sink -> extractor.next(reader, sink), reader);
+  }
 
-        // Keep reading the following lines to find the packet dumps
-        while( (line = bufferedReader.readLine()) != null) {
-          if (line.contains("connection_id = ") && !line.contains("connection_id = " + connectionId)) {
-            // We found a connection_id on this line that is not the connection id we are working on.
-            break;
-          }
+  private static void emitPacketDumps(final LogSource source, final String connectionId,
+                                      final Consumer<RDBMSPacketDump> packetDumps) throws IOException {
+    try (final var reader = getLineReader(source)) {
+      final PacketDumpExtractor extractor = new PacketDumpExtractor(connectionId);
+      while (extractor.next(reader, packetDumps)) {
+        // The packet dumps are passed to the consumer.
+      }
+    }
+  }
 
-          final Matcher matcher = PACKET_DUMP_PATTERN.matcher(line);
-          if (matcher.matches()) {
-            if (timestamp == null)
-              timestamp = matcher.group(1);
+  /**
+   * <p>
+   *   Extracts the packet dumps that follow the lines with a connection id.
+   * </p>
+   */
+  private static final class PacketDumpExtractor {
+    private final byte[] myConnectionIdAnchor;
+    private final Matcher matcher = PACKET_DUMP_PATTERN.matcher("");
 
-            parsingTheFirstFoundPacket = true;
-            packetDump.add(line.substring(line.length() - 35));
-          } else if (parsingTheFirstFoundPacket)
-            break;
+    PacketDumpExtractor(final String connectionId) {
+      this.myConnectionIdAnchor = LineReader.literal("connection_id = " + connectionId);
+    }
+
+    /**
+     * <p>
+     *   Reads the next line, and the packet dump that follows it if it has
+     *   the connection id.
+     * </p>
+     *
+     * @return {@code false} if there was no line left to read.
+     */
+    boolean next(final LineReader reader, final Consumer<RDBMSPacketDump> packetDumps) throws IOException {
+      if (!reader.next())
+        return false;
+      if (!reader.contains(myConnectionIdAnchor))
+        return true;
+
+      boolean parsingTheFirstFoundPacket = false;
+      String timestamp = null;
+      final StringJoiner packetDump = new StringJoiner(System.lineSeparator());
+
+      // Keep reading the following lines to find the packet dumps
+      while (reader.next()) {
+        if (reader.contains(CONNECTION_ID_ANCHOR) && !reader.contains(myConnectionIdAnchor)) {
+          // We found a connection_id on this line that is not the connection id we are working on.
+          break;
         }
 
-        if (packetDump.length() > 0) {
-          packetDumps.add(new RDBMSPacketDump(timestamp, packetDump.toString()));
+        // A packet dump line starts with "D:", "C:" or "I:" and ends with '|'
+        if (!isPacketDumpCandidate(reader)) {
+          if (parsingTheFirstFoundPacket)
+            break;
+          continue;
         }
+
+        final CharSequence line = reader.view();
+        if (matcher.reset(line).matches()) {
+          if (timestamp == null)
+            timestamp = matcher.group(1);
+
+          parsingTheFirstFoundPacket = true;
+          packetDump.add(line.subSequence(line.length() - 35, line.length()));
+        } else if (parsingTheFirstFoundPacket)
+          break;
       }
-    }
 
-    return packetDumps;
+      if (packetDump.length() > 0) {
+        packetDumps.accept(new RDBMSPacketDump(timestamp, packetDump.toString()));
+      }
+      return true;
+    }
   }
 
 }
@@ -0,0 +1,47 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.RDBMSError;
+
+/**
+ * <p>
+ *   Receives the errors found in the lines appended to a followed RDBMS
+ *   (SQLNet) trace file.
+ * </p>
+ * <p>
+ *   The methods are called by the thread that follows the trace file, in the
+ *   order the errors appear in the trace file.
+ * </p>
+ *
+ * @see RDBMSLog#addListener(RDBMSLogListener)
+ * @see RDBMSLog#follow(java.time.Duration)
+ */
+public interface RDBMSLogListener {
+
+  /**
+   * <p>
+   *   Called for each error found in the appended lines.
+   * </p>
+   *
+   * @param error the error.
+   */
+  void onError(RDBMSError error);
+
+  /**
+   * <p>
+   *   Called when the trace file can't be read, or when another listener
+   *   failed. The trace file is still followed, it is read again at the next poll.
+   * </p>
+   *
+   * @param exception the failure.
+   */
+  default void onFailure(Exception exception) {
+  }
+
+}
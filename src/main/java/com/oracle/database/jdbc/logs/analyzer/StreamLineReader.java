@@ -0,0 +1,129 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>
+ *   {@link LineReader} backed by an {@link InputStream} (i.e. a log file
+ *   located by a URL). Lines are read in place from a buffer that is refilled
+ *   from the stream, the buffer grows if a line is longer than the buffer.
+ * </p>
+ */
+final class StreamLineReader extends LineReader {
+
+  /**
+   * Default size of the read buffer.
+   */
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  private final InputStream inputStream;
+
+  // Valid bytes in lineBytes are [start, end).
+  private int start;
+  private int end;
+  private boolean endOfStream;
+
+  /**
+   * <p>
+   *   Creates a reader over {@code inputStream}.
+   * </p>
+   *
+   * @param inputStream the log content, closed by {@link #close()}.
+   */
+  StreamLineReader(final InputStream inputStream) {
+    this(inputStream, 0, BUFFER_SIZE);
+  }
+
+  /**
+   * <p>
+   *   Creates a reader over {@code inputStream} which has already been moved
+   *   to {@code startPosition} in the log file.
+   * </p>
+   *
+   * @param inputStream the log content starting at {@code startPosition}, closed by {@link #close()}.
+   * @param startPosition offset in bytes of the first byte of {@code inputStream} in the log file.
+   * @param bufferSize initial size of the read buffer.
+   */
+  StreamLineReader(final InputStream inputStream, final long startPosition, final int bufferSize) {
+    this.inputStream = inputStream;
+    this.lineBytes = new byte[Math.max(bufferSize, 1)];
+    this.nextPosition = startPosition;
+  }
+
+  @Override
+  protected boolean readLine() throws IOException {
+    position = nextPosition;
+
+    // Number of bytes of the line already scanned without finding a '\n'
+    int scanned = 0;
+    while (true) {
+      while (start + scanned < end && lineBytes[start + scanned] != '\n')
+        scanned++;
+
+      if (start + scanned < end) {
+        setLine(scanned, 1);
+        return true;
+      }
+
+      if (endOfStream || !fill()) {
+        if (start == end)
+          return false;
+
+        // The last line doesn't end with a '\n'
+        setLine(end - start, 0);
+        return true;
+      }
+    }
+  }
+
+  private void setLine(final int length, final int terminatorLength) {
+    lineOffset = start;
+    lineLength = length;
+    start += length + terminatorLength;
+    nextPosition = position + length + terminatorLength;
+  }
+
+  /**
+   * <p>
+   *   Moves the remaining bytes to the beginning of the buffer (growing it
+   *   if it is full) and reads more bytes from the stream.
+   * </p>
+   *
+   * @return {@code false} if the end of the stream is reached.
+   */
+  private boolean fill() throws IOException {
+    final int remaining = end - start;
+    if (start > 0) {
+      System.arraycopy(lineBytes, start, lineBytes, 0, remaining);
+    } else if (remaining == lineBytes.length) {
+      final byte[] grown = new byte[lineBytes.length * 2];
+      System.arraycopy(lineBytes, 0, grown, 0, remaining);
+      lineBytes = grown;
+    }
+    start = 0;
+    end = remaining;
+
+    final int read = inputStream.read(lineBytes, end, lineBytes.length - end);
+    if (read == -1) {
+      endOfStream = true;
+      return false;
+    }
+
+    end += read;
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+}
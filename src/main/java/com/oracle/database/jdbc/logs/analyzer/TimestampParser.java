@@ -0,0 +1,389 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * <p>
+ *   Parses the timestamps of {@link LogError#DEFAULT_TIMESTAMP_FORMATTER} and
+ *   {@link LogError#UCP_TIMESTAMP_FORMATTER} to epoch milliseconds, with the
+ *   same results as the formatters, without allocating and without throwing
+ *   an exception when the text isn't a timestamp.
+ * </p>
+ * <p>
+ *   The names of the months and the AM/PM markers are the ones of the
+ *   locale of the formatters, the default locale when the class is loaded,
+ *   as java.util.logging writes them.
+ * </p>
+ * <p>
+ *   Consecutive lines usually share the same second, the last parsed second
+ *   is remembered and reused when the text of the next timestamp is the same
+ *   (milliseconds excepted). An instance isn't thread safe.
+ * </p>
+ */
+final class TimestampParser {
+
+  /**
+   * Returned when the text doesn't start with a timestamp.
+   */
+  static final long NOT_A_TIMESTAMP = Long.MIN_VALUE;
+
+  private static final Locale DEFAULT_LOCALE = LogError.DEFAULT_TIMESTAMP_FORMATTER.getLocale();
+  private static final String[] DEFAULT_MONTHS = months(DEFAULT_LOCALE);
+  private static final String[] DEFAULT_AM_PM = amPm(DEFAULT_LOCALE);
+
+  private static final long DAYS_0000_TO_1970 = 719_528;
+  private static final long MAX_OFFSET_SECONDS = 18 * 3600;
+
+  // yyyy-MM-ddThh:mm:ss.SSS AM +0000
+  private static final int UCP_TIMESTAMP_LENGTH = 32;
+  private static final int UCP_MILLIS_INDEX = 20;
+
+  private final String[] months;
+  private final String[] amPm;
+
+  // Text of the last parsed timestamp and its value, in seconds.
+  private char[] lastText = new char[UCP_TIMESTAMP_LENGTH];
+  private int lastLength;
+  private boolean lastIsUCP;
+  private long lastEpochSecond;
+  private ZoneOffset lastOffset;
+
+  private int position;
+
+  /**
+   * <p>
+   *   Creates a parser of the timestamps of the formatters of {@link LogError}.
+   * </p>
+   */
+  TimestampParser() {
+    months = DEFAULT_MONTHS;
+    amPm = DEFAULT_AM_PM;
+  }
+
+  /**
+   * <p>
+   *   Creates a parser of the timestamps of the formatters of {@link LogError}
+   *   with another locale.
+   * </p>
+   *
+   * @param locale locale of the names of the months and of the AM/PM markers.
+   */
+  TimestampParser(final Locale locale) {
+    months = months(locale);
+    amPm = amPm(locale);
+  }
+
+  private static String[] months(final Locale locale) {
+    final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM", locale);
+    final String[] names = new String[12];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = formatter.format(Month.of(i + 1));
+    }
+    return names;
+  }
+
+  private static String[] amPm(final Locale locale) {
+    final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("a", locale);
+    return new String[]{formatter.format(LocalTime.MIDNIGHT), formatter.format(LocalTime.NOON)};
+  }
+
+  /**
+   * <p>
+   *   Parses a {@code MMM dd, yyyy h:mm:ss a} timestamp ({@code Jun 20, 2024 10:27:12 PM})
+   *   that starts at {@code from}, the local date-time is converted as if it were UTC.
+   * </p>
+   *
+   * @param text text that contains the timestamp.
+   * @param from index of the first character of the timestamp.
+   * @return epoch milliseconds, {@link #NOT_A_TIMESTAMP} if there's no timestamp at {@code from}.
+   */
+  long parseLocal(final CharSequence text, final int from) {
+    if (!isLast(text, from, false) && !decodeLocal(text, from))
+      return NOT_A_TIMESTAMP;
+
+    position = from + lastLength;
+    return lastEpochSecond * 1000;
+  }
+
+  /**
+   * <p>
+   *   Parses a {@code yyyy-MM-dd'T'hh:mm:ss.SSS a Z} timestamp
+   *   ({@code 2024-10-21T01:05:12.123 PM +0200}) that starts at {@code from}.
+   * </p>
+   *
+   * @param text text that contains the timestamp.
+   * @param from index of the first character of the timestamp.
+   * @return epoch milliseconds, {@link #NOT_A_TIMESTAMP} if there's no timestamp at {@code from}.
+   */
+  long parseUCP(final CharSequence text, final int from) {
+    if (!isLast(text, from, true) && !decodeUCP(text, from))
+      return NOT_A_TIMESTAMP;
+
+    position = from + UCP_MILLIS_INDEX;
+    final int millis = readNumber(text, 3, 3);
+    if (millis == -1)
+      return NOT_A_TIMESTAMP;
+
+    position = from + lastLength;
+    return lastEpochSecond * 1000 + millis;
+  }
+
+  /**
+   * @return index of the character that follows the last parsed timestamp.
+   */
+  int getEnd() {
+    return position;
+  }
+
+  /**
+   * @return offset of the last parsed timestamp, {@code null} for a local timestamp.
+   */
+  ZoneOffset getOffset() {
+    return lastOffset;
+  }
+
+  /**
+   * <p>
+   *   Checks whether the text at {@code from} is the last parsed timestamp,
+   *   the milliseconds of a UCP timestamp aren't compared.
+   * </p>
+   */
+  private boolean isLast(final CharSequence text, final int from, final boolean isUCP) {
+    if (lastLength == 0 || lastIsUCP != isUCP || from + lastLength > text.length())
+      return false;
+
+    for (int i = 0; i < lastLength; i++) {
+      if (isUCP && i >= UCP_MILLIS_INDEX && i < UCP_MILLIS_INDEX + 3)
+        continue;
+
+      if (text.charAt(from + i) != lastText[i])
+        return false;
+    }
+
+    return true;
+  }
+
+  private boolean decodeLocal(final CharSequence text, final int from) {
+    position = from;
+
+    final int month = readText(text, months) + 1;
+    if (month == 0 || !read(text, ' '))
+      return false;
+
+    final int day = readNumber(text, 2, 2);
+    if (day == -1 || !read(text, ',') || !read(text, ' '))
+      return false;
+
+    final int year = readNumber(text, 4, 4);
+    if (year == -1 || !read(text, ' '))
+      return false;
+
+    // Like the formatter, the hour takes all the digits
+    final int hour = readNumber(text, 1, 9);
+    if (hour == -1 || !read(text, ':'))
+      return false;
+
+    final int minute = readNumber(text, 2, 2);
+    if (minute == -1 || !read(text, ':'))
+      return false;
+
+    final int second = readNumber(text, 2, 2);
+    if (second == -1 || !read(text, ' '))
+      return false;
+
+    final int amPm = readText(text, this.amPm);
+    if (amPm == -1)
+      return false;
+
+    final long epochSecond = toEpochSecond(year, month, day, hour, amPm, minute, second);
+    if (epochSecond == NOT_A_TIMESTAMP)
+      return false;
+
+    remember(text, from, false, epochSecond, null);
+    return true;
+  }
+
+  private boolean decodeUCP(final CharSequence text, final int from) {
+    position = from;
+
+    final int year = readNumber(text, 4, 4);
+    if (year == -1 || !read(text, '-'))
+      return false;
+
+    final int month = readNumber(text, 2, 2);
+    if (month == -1 || !read(text, '-'))
+      return false;
+
+    final int day = readNumber(text, 2, 2);
+    if (day == -1 || !read(text, 'T'))
+      return false;
+
+    final int hour = readNumber(text, 2, 2);
+    if (hour == -1 || !read(text, ':'))
+      return false;
+
+    final int minute = readNumber(text, 2, 2);
+    if (minute == -1 || !read(text, ':'))
+      return false;
+
+    final int second = readNumber(text, 2, 2);
+    if (second == -1 || !read(text, '.') || readNumber(text, 3, 3) == -1 || !read(text, ' '))
+      return false;
+
+    final int amPm = readText(text, this.amPm);
+    if (amPm == -1 || !read(text, ' '))
+      return false;
+
+    final int offsetSeconds = readOffset(text);
+    if (offsetSeconds == Integer.MIN_VALUE)
+      return false;
+
+    final long epochSecond = toEpochSecond(year, month, day, hour, amPm, minute, second);
+    if (epochSecond == NOT_A_TIMESTAMP)
+      return false;
+
+    remember(text, from, true, epochSecond - offsetSeconds, ZoneOffset.ofTotalSeconds(offsetSeconds));
+    return true;
+  }
+
+  private void remember(final CharSequence text, final int from, final boolean isUCP, final long epochSecond,
+                        final ZoneOffset offset) {
+    lastLength = position - from;
+    if (lastLength > lastText.length)
+      lastText = Arrays.copyOf(lastText, lastLength);
+    for (int i = 0; i < lastLength; i++) {
+      lastText[i] = text.charAt(from + i);
+    }
+    lastIsUCP = isUCP;
+    lastEpochSecond = epochSecond;
+    lastOffset = offset;
+  }
+
+  private boolean read(final CharSequence text, final char expected) {
+    if (position >= text.length() || text.charAt(position) != expected)
+      return false;
+
+    position++;
+    return true;
+  }
+
+  /**
+   * @return the number of {@code minDigits} to {@code maxDigits} digits, {@code -1} if there are fewer digits.
+   */
+  private int readNumber(final CharSequence text, final int minDigits, final int maxDigits) {
+    int value = 0;
+    int digits = 0;
+    while (digits < maxDigits && position < text.length()) {
+      final char c = text.charAt(position);
+      if (c < '0' || c > '9')
+        break;
+
+      value = value * 10 + (c - '0');
+      digits++;
+      position++;
+    }
+
+    return digits < minDigits ? -1 : value;
+  }
+
+  /**
+   * <p>
+   *   Reads one of {@code texts}, the longest one when several match as the
+   *   formatters do.
+   * </p>
+   *
+   * @return index of the text read, {@code -1} if there's none.
+   */
+  private int readText(final CharSequence text, final String[] texts) {
+    int index = -1;
+    for (int i = 0; i < texts.length; i++) {
+      final String candidate = texts[i];
+      if ((index == -1 || candidate.length() > texts[index].length()) && startsWith(text, candidate))
+        index = i;
+    }
+
+    if (index != -1)
+      position += texts[index].length();
+    return index;
+  }
+
+  private boolean startsWith(final CharSequence text, final String prefix) {
+    if (position + prefix.length() > text.length())
+      return false;
+
+    for (int i = 0; i < prefix.length(); i++) {
+      if (text.charAt(position + i) != prefix.charAt(i))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * @return offset in seconds of a {@code +HHMM} offset, {@link Integer#MIN_VALUE} if there's no offset.
+   */
+  private int readOffset(final CharSequence text) {
+    if (position >= text.length())
+      return Integer.MIN_VALUE;
+
+    final char sign = text.charAt(position);
+    if (sign != '+' && sign != '-')
+      return Integer.MIN_VALUE;
+
+    position++;
+    final int hours = readNumber(text, 2, 2);
+    final int minutes = hours == -1 ? -1 : readNumber(text, 2, 2);
+    if (minutes == -1 || minutes > 59)
+      return Integer.MIN_VALUE;
+
+    final int seconds = hours * 3600 + minutes * 60;
+    if (seconds > MAX_OFFSET_SECONDS)
+      return Integer.MIN_VALUE;
+
+    return sign == '+' ? seconds : -seconds;
+  }
+
+  /**
+   * <p>
+   *   Same validation as the smart resolver of the formatters: the day of
+   *   month is moved back to the last day of a shorter month.
+   * </p>
+   *
+   * @return epoch seconds, {@link #NOT_A_TIMESTAMP} if a field is out of range.
+   */
+  private static long toEpochSecond(final int year, final int month, int day, final int clockHour, final int amPm,
+                                    final int minute, final int second) {
+    if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31 || clockHour > 12 || minute > 59 || second > 59)
+      return NOT_A_TIMESTAMP;
+
+    final boolean isLeap = (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    if (month == 4 || month == 6 || month == 9 || month == 11)
+      day = Math.min(day, 30);
+    else if (month == 2)
+      day = Math.min(day, isLeap ? 29 : 28);
+
+    // Same computation as LocalDate.toEpochDay()
+    long epochDay = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    epochDay += (367 * month - 362) / 12 + day - 1;
+    if (month > 2)
+      epochDay -= isLeap ? 1 : 2;
+    epochDay -= DAYS_0000_TO_1970;
+
+    final int hour = clockHour % 12 + amPm * 12;
+    return epochDay * 86_400 + hour * 3600 + minute * 60 + second;
+  }
+
+}
@@ -1,13 +1,11 @@
 package com.oracle.database.jdbc.logs.analyzer;
 
 import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.nio.file.Path;
 
 /**
  * Utility class providing I/O helper methods for file and URL handling.
@@ -17,6 +15,7 @@ import java.net.URL;
 public final class Utils {
 
   private static final String FILE_LOCATION_CANNOT_BE_NULL_OR_EMPTY = "fileLocation cannot be null or empty.";
+  private static final int READ_LINES_BUFFER_SIZE = 8 * 1024;
 
   private Utils() {}
 
@@ -35,11 +34,145 @@ public final class Utils {
     return new BufferedReader(getReader(fileLocation));
   }
 
+  /**
+   * Returns a {@link LineReader} for the specified file location.
+   *
+   * @param fileLocation the file path or URL to read from
+   * @return a {@link LineReader} for the specified location
+   * @throws IOException if an I/O error occurs opening the file or URL
+   * @throws IllegalArgumentException if {@code fileLocation} is null or blank
+   * @see #getLineReader(LogSource)
+   */
+  static LineReader getLineReader(final String fileLocation) throws IOException {
+    requireNonBlank(fileLocation, FILE_LOCATION_CANNOT_BE_NULL_OR_EMPTY);
+    return getLineReader(LogSource.of(fileLocation));
+  }
+
+  /**
+   * Returns a {@link LineReader} for the specified source.
+   * <p>
+   * Local files are memory-mapped, other sources are read from their {@link InputStream}.
+   * Compressed log files (gzip or zip) are decompressed while they are read.
+   *
+   * @param source the source to read from
+   * @return a {@link LineReader} for the specified source
+   * @throws IOException if an I/O error occurs opening the source
+   * @see #open(LogSource)
+   */
+  static LineReader getLineReader(final LogSource source) throws IOException {
+    final Path path = LogSources.localFile(source);
+    if (path != null && LogCompression.of(path) == LogCompression.NONE)
+      return new MappedLineReader(path);
+    else
+      return new StreamLineReader(open(source));
+  }
+
+  /**
+   * Returns a {@link LineReader} for the specified source, positioned at
+   * {@code position}.
+   * <p>
+   * Seekable sources are read from {@code position} without reading what precedes
+   * it, other sources and zip files are streamed and the bytes before {@code position}
+   * are skipped, local gzip files (and the downloaded copies of gzip URLs) are
+   * decompressed from the nearest checkpoint of their {@link GzipIndex}. The position of a compressed file is an offset in its
+   * decompressed content.
+   *
+   * @param source the source to read from
+   * @param position offset in bytes of the first line to read
+   * @param bufferSize initial size of the read buffer
+   * @return a {@link LineReader} starting at {@code position}
+   * @throws IOException if an I/O error occurs opening the source
+   */
+  static LineReader getLineReader(final LogSource source, final long position, final int bufferSize) throws IOException {
+    final Path path = LogSources.localCopy(source);
+    final LogCompression compression;
+    if (path != null) {
+      compression = LogCompression.of(path);
+    } else if (source.isSeekable()) {
+      try (InputStream head = source.open(0)) {
+        compression = LogCompression.of(head);
+      }
+    } else {
+      compression = null;
+    }
+
+    final InputStream inputStream;
+    if (compression == LogCompression.NONE) {
+      inputStream = source.open(position);
+    } else if (compression == LogCompression.GZIP && path != null && position > 0) {
+      inputStream = GzipIndex.of(path).open(position);
+    } else {
+      inputStream = compression == null ? LogCompression.decompress(source.open()) : compression.open(source.open());
+      try {
+        inputStream.skipNBytes(position);
+      } catch (IOException | RuntimeException e) {
+        inputStream.close();
+        throw e;
+      }
+    }
+
+    return new StreamLineReader(inputStream, position, bufferSize);
+  }
+
+  /**
+   * Reads the lines of the specified location that start between
+   * {@code beginPosition} (inclusive) and {@code endPosition} (exclusive).
+   * <p>
+   * Positions are offsets in bytes, local files are accessed with a positional read
+   * so the cost doesn't depend on where the lines are in the file. Local gzip files
+   * are decompressed from the nearest checkpoint of their {@link GzipIndex}.
+   *
+   * @param fileLocation the file path or URL to read from
+   * @param beginPosition offset in bytes of the first line to read
+   * @param endPosition offset in bytes where to stop reading, or {@code -1} to read up to the end of the file
+   * @param maxLines maximum number of lines to read, or {@code -1} for no limit
+   * @return the lines, each one followed by {@code \n}
+   * @throws IOException if an I/O error occurs reading the file or URL
+   * @throws IllegalArgumentException if {@code fileLocation} is null or blank
+   */
+  public static String readLines(final String fileLocation, final long beginPosition, final long endPosition,
+                                 final int maxLines) throws IOException {
+    requireNonBlank(fileLocation, FILE_LOCATION_CANNOT_BE_NULL_OR_EMPTY);
+    return readLines(LogSource.of(fileLocation), beginPosition, endPosition, maxLines);
+  }
+
+  /**
+   * Reads the lines of the specified source that start between
+   * {@code beginPosition} (inclusive) and {@code endPosition} (exclusive).
+   *
+   * @param source the source to read from
+   * @param beginPosition offset in bytes of the first line to read
+   * @param endPosition offset in bytes where to stop reading, or {@code -1} to read up to the end of the source
+   * @param maxLines maximum number of lines to read, or {@code -1} for no limit
+   * @return the lines, each one followed by {@code \n}
+   * @throws IOException if an I/O error occurs reading the source
+   * @see #readLines(String, long, long, int)
+   */
+  public static String readLines(final LogSource source, final long beginPosition, final long endPosition,
+                                 final int maxLines) throws IOException {
+    final int bufferSize = endPosition == -1
+      ? READ_LINES_BUFFER_SIZE
+      : (int) Math.min(StreamLineReader.BUFFER_SIZE, endPosition - beginPosition);
+
+    final StringBuilder lines = new StringBuilder();
+    try (final LineReader reader = getLineReader(source, beginPosition, bufferSize)) {
+      int lineCount = 0;
+      while ((maxLines == -1 || lineCount < maxLines)
+        && (endPosition == -1 || reader.nextPosition() < endPosition)
+        && reader.next()) {
+        lines.append(reader.line()).append("\n");
+        lineCount++;
+      }
+    }
+
+    return lines.toString();
+  }
+
   /**
    * Returns a {@link Reader} for the specified location.
    * <p>
-   * If the location is a valid URL, an {@link InputStreamReader} is returned; otherwise,
-   * a {@link FileReader} is returned for a local file.
+   * The location can be either a local file path or a URL. Compressed log files
+   * (gzip or zip) are decompressed while they are read.
    *
    * @param fileLocation the file path or URL to read from
    * @return a Reader for the specified location
@@ -48,53 +181,58 @@ public final class Utils {
    */
   static Reader getReader(final String fileLocation) throws IOException {
     requireNonBlank(fileLocation, FILE_LOCATION_CANNOT_BE_NULL_OR_EMPTY);
+    return new InputStreamReader(open(LogSource.of(fileLocation)));
+  }
 
-    if (isURL(fileLocation))
-      return new InputStreamReader(new URL(fileLocation).openStream());
+  /**
+   * Opens the content of a source, decompressed if it is compressed (gzip or zip).
+   * <p>
+   * A local gzip file (or the downloaded copy of a gzip URL) that isn't indexed yet
+   * is indexed while it is read, see {@link GzipIndex#read(Path)}.
+   *
+   * @param source the source to read from
+   * @return the decompressed content
+   * @throws IOException if an I/O error occurs opening the source
+   */
+  static InputStream open(final LogSource source) throws IOException {
+    final Path path = LogSources.localCopy(source);
+    if (path == null)
+      return LogCompression.decompress(source.open());
+
+    final LogCompression compression = LogCompression.of(path);
+    if (compression == LogCompression.GZIP)
+      return GzipIndex.read(path);
     else
-      return new FileReader(fileLocation);
+      return compression.open(source.open());
   }
 
   /**
-   * Checks if a string represents a valid URL.
+   * Checks if a source is a compressed local file (gzip or zip).
    *
-   * @param fileLocation the string to test
-   * @return {@code true} if the string is a valid URL, {@code false} otherwise
-   * @throws IllegalArgumentException if {@code location} is null or blank
+   * @param source the source
+   * @return {@code true} if the source is a compressed local file, {@code false} otherwise
+   * @throws IOException if the file can't be read
    */
-  static boolean isURL(final String fileLocation) {
-    requireNonBlank(fileLocation, FILE_LOCATION_CANNOT_BE_NULL_OR_EMPTY);
-    try {
-      new URL(fileLocation);
-      return true;
-    } catch (MalformedURLException ignored) {
-      return false;
-    }
+  static boolean isCompressed(final LogSource source) throws IOException {
+    final Path path = LogSources.localFile(source);
+    return path != null && LogCompression.of(path) != LogCompression.NONE;
   }
 
   /**
-   * Returns the size in bytes of the file at the given location.
+   * Returns the size in bytes of a source.
    * <p>
-   * The location can be a local file path or a URL.
    * For URLs, this method retrieves the content length from the URL connection.
    * For local files, it queries the filesystem for the file's length.
    *
-   * @param fileLocation the file path or URL whose size is to be determined
-   * @return the size of the file or URL content, or 0 if the size cannot be determined
-   * @throws IllegalArgumentException if {@code fileLocation} is null or blank
+   * @param source the source whose size is to be determined
+   * @return the size of the source, or 0 if the size cannot be determined
    */
-  static long getFileSize(String fileLocation) {
-    requireNonBlank(fileLocation, FILE_LOCATION_CANNOT_BE_NULL_OR_EMPTY);
-
-    if (isURL(fileLocation)) {
-      try {
-        return new URL(fileLocation).openConnection().getContentLengthLong();
-      } catch (Exception ignore) {
-        return 0;
-      }
+  static long getFileSize(final LogSource source) {
+    try {
+      return Math.max(source.size(), 0);
+    } catch (IOException | RuntimeException ignore) {
+      return 0;
     }
-    else
-      return new File(fileLocation).length();
   }
 
   /**
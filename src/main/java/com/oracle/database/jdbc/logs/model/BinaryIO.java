@@ -0,0 +1,124 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>
+ *   Helpers shared by the classes that are saved to a binary index file.
+ * </p>
+ * <p>
+ *   Strings are written as their length in UTF-8 bytes followed by the bytes,
+ *   unlike {@link DataOutput#writeUTF(String)} they aren't limited to 64 kB
+ *   (an SQL statement can be longer) and they can be {@code null}.
+ * </p>
+ * <p>
+ *   The lengths and counts read from a file are checked, and the memory
+ *   allocated for them grows with the bytes actually read: a corrupted file
+ *   fails with an {@link IOException} rather than an {@link OutOfMemoryError}.
+ * </p>
+ */
+public final class BinaryIO {
+
+  /**
+   * Maximal length in bytes of a string (64 MB), a longer one can only come from a corrupted file.
+   */
+  public static final int MAX_STRING_LENGTH = 1 << 26;
+
+  /**
+   * Maximal number of elements allocated before they are read.
+   */
+  private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+  private BinaryIO() {
+  }
+
+  /**
+   * <p>
+   *   Writes a {@link String} that may be {@code null}.
+   * </p>
+   *
+   * @param out the output.
+   * @param string the string to write, or {@code null}.
+   * @throws IOException if an error occurs while writing.
+   */
+  public static void writeString(final DataOutput out, final String string) throws IOException {
+    if (string == null) {
+      out.writeInt(-1);
+      return;
+    }
+
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * <p>
+   *   Reads a {@link String} written by {@link #writeString(DataOutput, String)}.
+   * </p>
+   *
+   * @param in the input.
+   * @return the string, or {@code null}.
+   * @throws IOException if an error occurs while reading.
+   */
+  public static String readString(final DataInput in) throws IOException {
+    final int length = in.readInt();
+    if (length == -1)
+      return null;
+    if (length < 0 || length > MAX_STRING_LENGTH)
+      throw new StreamCorruptedException("Invalid string length: " + length);
+
+    // Read by chunks, a length that exceeds the file fails before it is allocated.
+    byte[] bytes = new byte[Math.min(length, MAX_INITIAL_CAPACITY)];
+    for (int read = 0; read < length; ) {
+      if (read == bytes.length)
+        bytes = Arrays.copyOf(bytes, (int) Math.min(length, 2L * bytes.length));
+      in.readFully(bytes, read, bytes.length - read);
+      read = bytes.length;
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * <p>
+   *   Reads a number of elements written with {@link DataOutput#writeInt(int)}.
+   * </p>
+   *
+   * @param in the input.
+   * @return the number of elements.
+   * @throws IOException if an error occurs while reading.
+   * @throws StreamCorruptedException if the number is negative.
+   */
+  public static int readCount(final DataInput in) throws IOException {
+    final int count = in.readInt();
+    if (count < 0)
+      throw new StreamCorruptedException("Invalid count: " + count);
+    return count;
+  }
+
+  /**
+   * <p>
+   *   Returns the capacity to allocate for {@code count} elements read from a
+   *   file: the collection grows beyond it while the elements are actually read.
+   * </p>
+   *
+   * @param count number of elements read from a file.
+   * @return the initial capacity.
+   */
+  public static int initialCapacity(final int count) {
+    return Math.min(count, MAX_INITIAL_CAPACITY);
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.oracle.database.jdbc.logs.model.CompactOutput.*;
+
+/**
+ * <p>
+ *   Reads values written by {@link CompactOutput}.
+ * </p>
+ */
+final class CompactInput {
+
+  private final InputStream in;
+  private final List<String> dictionary = new ArrayList<>();
+  private String previousTimestamp = "";
+
+  /**
+   * @param in the source, it should be buffered.
+   */
+  CompactInput(final InputStream in) {
+    this.in = in;
+  }
+
+  long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final int b = readByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+        return value;
+    }
+    throw new StreamCorruptedException("Malformed variable-length integer.");
+  }
+
+  long readSignedVarLong() throws IOException {
+    final long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * @return a variable-length integer that must fit in an {@code int}.
+   */
+  int readVarInt() throws IOException {
+    final long value = readVarLong();
+    if (value < 0 || value > Integer.MAX_VALUE)
+      throw new StreamCorruptedException("Integer out of range: " + value);
+    return (int) value;
+  }
+
+  int readSignedVarInt() throws IOException {
+    final long value = readSignedVarLong();
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+      throw new StreamCorruptedException("Integer out of range: " + value);
+    return (int) value;
+  }
+
+  String readString() throws IOException {
+    final int code = readVarInt();
+    if (code == NULL)
+      return null;
+
+    if (code == NEW_STRING) {
+      final String string = readBytes();
+      dictionary.add(string);
+      return string;
+    }
+
+    final int index = code - FIRST_INDEX;
+    if (index >= dictionary.size())
+      throw new StreamCorruptedException("Unknown string index: " + index);
+    return dictionary.get(index);
+  }
+
+  String readTimestamp() throws IOException {
+    final int code = readVarInt();
+    if (code == NULL)
+      return null;
+
+    final int prefixLength = code - 1;
+    if (prefixLength > previousTimestamp.length())
+      throw new StreamCorruptedException("Timestamp prefix out of range: " + prefixLength);
+
+    previousTimestamp = previousTimestamp.substring(0, prefixLength) + readBytes();
+    return previousTimestamp;
+  }
+
+  private String readBytes() throws IOException {
+    final int length = readVarInt();
+    final byte[] bytes = in.readNBytes(length);
+    if (bytes.length != length)
+      throw new EOFException();
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int readByte() throws IOException {
+    final int b = in.read();
+    if (b < 0)
+      throw new EOFException();
+    return b;
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *   Writes values in the compact encoding of the snapshot files, read by
+ *   {@link CompactInput}:
+ * </p>
+ * <ul>
+ *   <li>integers are variable-length (7 bits per byte, least significant
+ *   first), signed ones are zigzag-encoded first so that small negative
+ *   values stay short,</li>
+ *   <li>strings are dictionary-encoded: a string is written once, its next
+ *   occurrences are written as its index in the dictionary,</li>
+ *   <li>timestamps are written as the length of the prefix they share with
+ *   the previous timestamp, followed by the rest of the timestamp.</li>
+ * </ul>
+ */
+final class CompactOutput {
+
+  /**
+   * Code of a {@code null} string, a new string is followed by its UTF-8
+   * bytes, a known string is written as its index plus {@code FIRST_INDEX}.
+   */
+  static final int NULL = 0;
+  static final int NEW_STRING = 1;
+  static final int FIRST_INDEX = 2;
+
+  private final OutputStream out;
+  private final Map<String, Integer> dictionary = new HashMap<>();
+  private String previousTimestamp = "";
+
+  /**
+   * @param out the destination, it should be buffered.
+   */
+  CompactOutput(final OutputStream out) {
+    this.out = out;
+  }
+
+
+  void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  void writeSignedVarLong(final long value) throws IOException {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  void writeString(final String string) throws IOException {
+    if (string == null) {
+      writeVarLong(NULL);
+      return;
+    }
+
+    final Integer index = dictionary.get(string);
+    if (index != null) {
+      writeVarLong(index + FIRST_INDEX);
+      return;
+    }
+
+    dictionary.put(string, dictionary.size());
+    writeVarLong(NEW_STRING);
+    writeBytes(string);
+  }
+
+  void writeTimestamp(final String timestamp) throws IOException {
+    if (timestamp == null) {
+      writeVarLong(NULL);
+      return;
+    }
+
+    int prefixLength = 0;
+    final int maxPrefixLength = Math.min(timestamp.length(), previousTimestamp.length());
+    while (prefixLength < maxPrefixLength && timestamp.charAt(prefixLength) == previousTimestamp.charAt(prefixLength)) {
+      prefixLength++;
+    }
+    // The prefix doesn't split a surrogate pair, the rest is written in UTF-8.
+    if (prefixLength > 0 && Character.isHighSurrogate(timestamp.charAt(prefixLength - 1)))
+      prefixLength--;
+
+    writeVarLong(prefixLength + 1);
+    writeBytes(timestamp.substring(prefixLength));
+    previousTimestamp = timestamp;
+  }
+
+  void flush() throws IOException {
+    out.flush();
+  }
+
+  private void writeBytes(final String string) throws IOException {
+    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    writeVarLong(bytes.length);
+    out.write(bytes);
+  }
+
+}
@@ -7,6 +7,8 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
+
 /**
  * <p>
  *   POJO to hold the connection event type, timestamp and details.
@@ -16,7 +18,7 @@ package com.oracle.database.jdbc.logs.model;
  * @param event {@link Event} enum value.
  * @param details event details (such as socket and connection options) if available.
  */
-public record JDBCConnectionEvent(String timestamp, Event event, String details) {
+public record JDBCConnectionEvent(String timestamp, Event event, String details) implements JSONWritable {
 
   /**
    * <p>
@@ -30,18 +32,13 @@ public record JDBCConnectionEvent(String timestamp, Event event, String details)
     this(timestamp, event, null);
   }
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-     {"timestamp": "%s","event": "%s","details": "%s"}
-     """.formatted(timestamp, event.name(), details)
-      .strip();
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("timestamp").value(timestamp)
+      .name("event").value(event.name())
+      .name("details").value(details)
+      .endObject();
   }
 
   /**
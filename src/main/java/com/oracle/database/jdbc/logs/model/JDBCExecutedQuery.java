@@ -7,6 +7,8 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
+
 /**
  * <p>
  *   POJO to store an executed query's info.
@@ -18,25 +20,18 @@ package com.oracle.database.jdbc.logs.model;
  * @param connectionId  The identifier of the database connection used to execute the query.
  * @param tenant        The tenant in which the query was run.
  */
-public record JDBCExecutedQuery(String timestamp, String sql, int executionTime, String connectionId, String tenant) {
+public record JDBCExecutedQuery(String timestamp, String sql, int executionTime, String connectionId, String tenant)
+  implements JSONWritable {
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-     {"timestamp":"%s","sql":"%s","executionTime":"%sms","connectionId":%s,"tenant":%s}
-     """.formatted(timestamp,
-        sql.replace("\n", "\\n")
-          .replace("\t", "\\t"),
-        executionTime,
-        connectionId == null ? "null" : "\""+connectionId+"\"",
-        tenant == null ? "null" : "\""+tenant+"\"")
-      .strip();
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("timestamp").value(timestamp)
+      .name("sql").value(sql)
+      .name("executionTime").value(executionTime + "ms")
+      .name("connectionId").value(connectionId)
+      .name("tenant").value(tenant)
+      .endObject();
   }
 
 }
@@ -7,7 +7,9 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
 import java.time.Duration;
+import java.util.Objects;
 
 /**
  * <p>
@@ -23,7 +25,8 @@ import java.time.Duration;
  * @param error {@link Error Error} error comparison between the log files, if any occurred.
  * @param network {@link Network Network} network-related information at the time of logging.
  */
-public record JDBCLogComparison(Summary summary, Performance performance, Error error, Network network) {
+public record JDBCLogComparison(Summary summary, Performance performance, Error error, Network network)
+  implements JSONWritable {
   private static final String DELTA_PERCENTAGE_TEMPLATE = "%s%.2f%%";
 
   /**
@@ -40,18 +43,14 @@ public record JDBCLogComparison(Summary summary, Performance performance, Error
     return DELTA_PERCENTAGE_TEMPLATE.formatted(percentage > 0 ? "+" : "", percentage);
   }
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-        {"summary":%s,"performance":%s,"error":%s,"network":%s}
-        """.formatted(summary.toJSONString(), performance.toJSONString(), error.toJSONString(), network.toJSONString())
-      .strip();
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("summary").value(summary)
+      .name("performance").value(performance)
+      .name("error").value(error)
+      .name("network").value(network)
+      .endObject();
   }
 
   /**
@@ -94,30 +93,22 @@ public record JDBCLogComparison(Summary summary, Performance performance, Error
 
     String currentLogFileTimespan,
     Duration currentLogFileDuration
-  ) {
-    /**
-     * <p>
-     *   Returns a JSON string representation of this object.
-     * </p>
-     *
-     * @return a JSON-formatted {@link String} representing the current state of this object
-     */
-    public String toJSONString() {
-      return """
-        {"referenceLogFileName":"%s","currentLogFileName":"%s","referenceLogFileSize":"%s","currentLogFileSize":"%s","referenceLogFileLineCount":%d,"currentLogFileLineCount":%d,"lineCountDelta":"%s","referenceLogFileTimespan":"%s","referenceLogFileDuration":"%s","currentLogFileTimespan":"%s","currentLogFileDuration":"%s"}
-        """.formatted(
-          referenceLogFileName,
-          currentLogFileName,
-          referenceLogFileSize,
-          currentLogFileSize,
-          referenceLogFileLineCount,
-          currentLogFileLineCount,
-          lineCountDelta,
-          referenceLogFileTimespan,
-          referenceLogFileDuration,
-          currentLogFileTimespan,
-          currentLogFileDuration)
-        .strip();
+  ) implements JSONWritable {
+    @Override
+    public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+      jsonWriter.beginObject()
+        .name("referenceLogFileName").value(referenceLogFileName)
+        .name("currentLogFileName").value(currentLogFileName)
+        .name("referenceLogFileSize").value(referenceLogFileSize)
+        .name("currentLogFileSize").value(currentLogFileSize)
+        .name("referenceLogFileLineCount").value(referenceLogFileLineCount)
+        .name("currentLogFileLineCount").value(currentLogFileLineCount)
+        .name("lineCountDelta").value(lineCountDelta)
+        .name("referenceLogFileTimespan").value(referenceLogFileTimespan)
+        .name("referenceLogFileDuration").value(Objects.toString(referenceLogFileDuration, null))
+        .name("currentLogFileTimespan").value(currentLogFileTimespan)
+        .name("currentLogFileDuration").value(Objects.toString(currentLogFileDuration, null))
+        .endObject();
     }
   }
 
@@ -146,19 +137,17 @@ public record JDBCLogComparison(Summary summary, Performance performance, Error
     String referenceAverageQueryTime,
     String currentAverageQueryTime,
     String averageQueryTimeDelta
-  ){
-    /**
-     * <p>
-     *   Returns a JSON string representation of this object.
-     * </p>
-     *
-     * @return a JSON-formatted {@link String} representing the current state of this object
-     */
-    public String toJSONString() {
-      return """
-        {"referenceQueryCount":%d,"currentQueryCount":%d,"queryCountDelta":"%s","referenceAverageQueryTime":"%s","currentAverageQueryTime":"%s","averageQueryTimeDelta":"%s"}
-        """.formatted(referenceQueryCount, currentQueryCount, queryCountDelta, referenceAverageQueryTime, currentAverageQueryTime, averageQueryTimeDelta)
-        .strip();
+  ) implements JSONWritable {
+    @Override
+    public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+      jsonWriter.beginObject()
+        .name("referenceQueryCount").value(referenceQueryCount)
+        .name("currentQueryCount").value(currentQueryCount)
+        .name("queryCountDelta").value(queryCountDelta)
+        .name("referenceAverageQueryTime").value(referenceAverageQueryTime)
+        .name("currentAverageQueryTime").value(currentAverageQueryTime)
+        .name("averageQueryTimeDelta").value(averageQueryTimeDelta)
+        .endObject();
     }
   }
 
@@ -176,19 +165,14 @@ public record JDBCLogComparison(Summary summary, Performance performance, Error
     long referenceErrorCount,
     long currentErrorCount,
     String totalErrorsDelta
-  ){
-    /**
-     * <p>
-     *   Returns a JSON string representation of this object.
-     * </p>
-     *
-     * @return a JSON-formatted {@link String} representing the current state of this object
-     */
-    public String toJSONString() {
-      return """
-        {"referenceErrorCount":%d,"currentErrorCount":%d,"totalErrorsDelta":"%s"}
-        """.formatted(referenceErrorCount, currentErrorCount, totalErrorsDelta)
-        .strip();
+  ) implements JSONWritable {
+    @Override
+    public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+      jsonWriter.beginObject()
+        .name("referenceErrorCount").value(referenceErrorCount)
+        .name("currentErrorCount").value(currentErrorCount)
+        .name("totalErrorsDelta").value(totalErrorsDelta)
+        .endObject();
     }
   }
 
@@ -212,19 +196,17 @@ public record JDBCLogComparison(Summary summary, Performance performance, Error
     String referenceBytesProduced,
     String currentBytesProduced,
     String bytesProducedDelta
-  ){
-    /**
-     * <p>
-     *   Returns a JSON string representation of this object.
-     * </p>
-     *
-     * @return a JSON-formatted {@link String} representing the current state of this object
-     */
-    public String toJSONString() {
-      return """
-        {"referenceBytesConsumed":"%s","currentBytesConsumed":"%s","bytesConsumedDelta":"%s","referenceBytesProduced":"%s","currentBytesProduced":"%s","bytesProducedDelta":"%s"}
-        """.formatted(referenceBytesConsumed, currentBytesConsumed,bytesConsumedDelta, referenceBytesProduced, currentBytesProduced, bytesProducedDelta)
-        .strip();
+  ) implements JSONWritable {
+    @Override
+    public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+      jsonWriter.beginObject()
+        .name("referenceBytesConsumed").value(referenceBytesConsumed)
+        .name("currentBytesConsumed").value(currentBytesConsumed)
+        .name("bytesConsumedDelta").value(bytesConsumedDelta)
+        .name("referenceBytesProduced").value(referenceBytesProduced)
+        .name("currentBytesProduced").value(currentBytesProduced)
+        .name("bytesProducedDelta").value(bytesProducedDelta)
+        .endObject();
     }
   }
 
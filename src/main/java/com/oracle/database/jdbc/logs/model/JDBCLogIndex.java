@@ -0,0 +1,88 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+/**
+ * <p>
+ *   Indexes built while parsing an Oracle JDBC log file, shared by all the
+ *   {@link LogError errors} of the file to look up their details without
+ *   reading the log file again.
+ * </p>
+ */
+public final class JDBCLogIndex {
+
+  private final LogEntryIndex logEntries;
+  private final TraceIndex traces;
+  private final SQLTimingIndex sqlTimings;
+  private final PacketDumpIndex packetDumps;
+
+  /**
+   * <p>
+   *   Creates an instance holding the indexes of a log file.
+   * </p>
+   *
+   * @param logEntries index of the log entries.
+   * @param traces index of the trace lines, can be {@code null}.
+   * @param sqlTimings index of the SQL execution times, {@code null} if it
+   *                   wasn't built while parsing.
+   * @param packetDumps index of the packet dumps, {@code null} if it wasn't
+   *                    built while parsing.
+   */
+  public JDBCLogIndex(final LogEntryIndex logEntries, final TraceIndex traces, final SQLTimingIndex sqlTimings,
+                      final PacketDumpIndex packetDumps) {
+    this.logEntries = logEntries;
+    this.traces = traces;
+    this.sqlTimings = sqlTimings;
+    this.packetDumps = packetDumps;
+  }
+
+  /**
+   * <p>
+   *   Returns the index of the log entries.
+   * </p>
+   *
+   * @return {@link LogEntryIndex} of the log file.
+   */
+  public LogEntryIndex getLogEntries() {
+    return logEntries;
+  }
+
+  /**
+   * <p>
+   *   Returns the index of the trace lines.
+   * </p>
+   *
+   * @return {@link TraceIndex} of the traces, can be {@code null}.
+   */
+  public TraceIndex getTraces() {
+    return traces;
+  }
+
+  /**
+   * <p>
+   *   Returns the index of the SQL execution times.
+   * </p>
+   *
+   * @return {@link SQLTimingIndex}, can be {@code null}.
+   */
+  public SQLTimingIndex getSqlTimings() {
+    return sqlTimings;
+  }
+
+  /**
+   * <p>
+   *   Returns the index of the packet dumps.
+   * </p>
+   *
+   * @return {@link PacketDumpIndex}, can be {@code null}.
+   */
+  public PacketDumpIndex getPacketDumps() {
+    return packetDumps;
+  }
+
+}
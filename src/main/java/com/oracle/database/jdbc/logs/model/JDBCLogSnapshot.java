@@ -0,0 +1,253 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <p>
+ *   The complete analysis of an Oracle JDBC log file: stats, executed
+ *   queries, connection events and errors with their details. A snapshot
+ *   doesn't need the log file, it can be saved and reloaded or shipped to
+ *   another host.
+ * </p>
+ * <p>
+ *   The binary format is versioned. Strings are dictionary-encoded, integers
+ *   are variable-length and each timestamp is encoded as the difference with
+ *   the previous one (see {@link CompactOutput}). The log lines of the errors
+ *   are mostly unique, the encoded values are deflated with the fastest
+ *   compression level: a snapshot is usually a fraction of the size of the
+ *   same analysis in JSON.
+ * </p>
+ *
+ * @param logLocation path or URL of the analyzed log file.
+ * @param stats the stats of the log file.
+ * @param queries the executed queries.
+ * @param connectionEvents the connection events.
+ * @param errors the errors and their details.
+ */
+public record JDBCLogSnapshot(String logLocation,
+                              JDBCStats stats,
+                              List<JDBCExecutedQuery> queries,
+                              List<JDBCConnectionEvent> connectionEvents,
+                              List<ResolvedLogError> errors) {
+
+  private static final int MAGIC = 0x4F4A4C53;
+  private static final int VERSION = 1;
+
+  private static final JDBCConnectionEvent.Event[] EVENTS = JDBCConnectionEvent.Event.values();
+
+  /**
+   * <p>
+   *   Writes this snapshot.
+   * </p>
+   *
+   * @param out the destination, it is flushed but not closed.
+   * @throws IOException if an error occurs while writing.
+   */
+  public void writeTo(final OutputStream out) throws IOException {
+    final DataOutputStream header = new DataOutputStream(out);
+    header.writeInt(MAGIC);
+    header.writeInt(VERSION);
+
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater, 64 * 1024);
+    final CompactOutput output = new CompactOutput(new BufferedOutputStream(deflaterOut, 64 * 1024));
+    output.writeString(logLocation);
+    writeStats(output, stats);
+
+    output.writeVarLong(queries.size());
+    for (JDBCExecutedQuery query : queries) {
+      output.writeTimestamp(query.timestamp());
+      output.writeString(query.sql());
+      output.writeSignedVarLong(query.executionTime());
+      output.writeString(query.connectionId());
+      output.writeString(query.tenant());
+    }
+
+    output.writeVarLong(connectionEvents.size());
+    for (JDBCConnectionEvent event : connectionEvents) {
+      output.writeTimestamp(event.timestamp());
+      output.writeVarLong(event.event().ordinal());
+      output.writeString(event.details());
+    }
+
+    output.writeVarLong(errors.size());
+    for (ResolvedLogError error : errors) {
+      writeError(output, error);
+    }
+
+    output.flush();
+    deflaterOut.finish();
+    deflater.end();
+    out.flush();
+  }
+
+  /**
+   * <p>
+   *   Reads a snapshot written by {@link #writeTo(OutputStream)}.
+   * </p>
+   *
+   * @param in the source, it is read in blocks and is not closed.
+   * @return the snapshot.
+   * @throws IOException if an error occurs while reading, or if {@code in}
+   *         isn't a snapshot of a supported version.
+   */
+  public static JDBCLogSnapshot readFrom(final InputStream in) throws IOException {
+    final DataInputStream header = new DataInputStream(in);
+    if (header.readInt() != MAGIC)
+      throw new StreamCorruptedException("Not a JDBC log snapshot.");
+    final int version = header.readInt();
+    if (version != VERSION)
+      throw new StreamCorruptedException("Unsupported JDBC log snapshot version: " + version);
+
+    final Inflater inflater = new Inflater();
+    try {
+      return readBody(new CompactInput(new BufferedInputStream(new InflaterInputStream(in, inflater, 64 * 1024), 64 * 1024)));
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static JDBCLogSnapshot readBody(final CompactInput input) throws IOException {
+    final String logLocation = input.readString();
+    final JDBCStats stats = readStats(input);
+
+    final int queryCount = input.readVarInt();
+    final List<JDBCExecutedQuery> queries = new ArrayList<>(Math.min(queryCount, 1 << 16));
+    for (int i = 0; i < queryCount; i++) {
+      queries.add(new JDBCExecutedQuery(input.readTimestamp(), input.readString(), input.readSignedVarInt(),
+        input.readString(), input.readString()));
+    }
+
+    final int connectionEventCount = input.readVarInt();
+    final List<JDBCConnectionEvent> connectionEvents = new ArrayList<>(Math.min(connectionEventCount, 1 << 16));
+    for (int i = 0; i < connectionEventCount; i++) {
+      final String timestamp = input.readTimestamp();
+      final int event = input.readVarInt();
+      if (event >= EVENTS.length)
+        throw new StreamCorruptedException("Unknown connection event: " + event);
+      connectionEvents.add(new JDBCConnectionEvent(timestamp, EVENTS[event], input.readString()));
+    }
+
+    final int errorCount = input.readVarInt();
+    final List<ResolvedLogError> errors = new ArrayList<>(Math.min(errorCount, 1 << 16));
+    for (int i = 0; i < errorCount; i++) {
+      errors.add(readError(input));
+    }
+
+    return new JDBCLogSnapshot(logLocation, stats, queries, connectionEvents, errors);
+  }
+
+  private static void writeStats(final CompactOutput output, final JDBCStats stats) throws IOException {
+    output.writeString(stats.fileSize());
+    output.writeVarLong(stats.lineCount());
+    output.writeTimestamp(stats.startTime());
+    output.writeTimestamp(stats.endTime());
+    output.writeSignedVarLong(stats.duration().getSeconds());
+    output.writeVarLong(stats.duration().getNano());
+    output.writeVarLong(stats.errorCount());
+    output.writeVarLong(stats.queryCount());
+    output.writeString(stats.averageQueryTime());
+    output.writeVarLong(stats.openedConnectionCount());
+    output.writeVarLong(stats.closedConnectionCount());
+    output.writeVarLong(stats.roundTripCount());
+    output.writeVarLong(stats.sentPacketCount());
+    output.writeVarLong(stats.receivedPacketCount());
+    output.writeString(stats.bytesConsumed());
+    output.writeString(stats.bytesProduced());
+  }
+
+  private static JDBCStats readStats(final CompactInput input) throws IOException {
+    return new JDBCStats(input.readString(),
+      input.readVarLong(),
+      input.readTimestamp(),
+      input.readTimestamp(),
+      Duration.ofSeconds(input.readSignedVarLong(), input.readVarLong()),
+      input.readVarLong(),
+      input.readVarLong(),
+      input.readString(),
+      input.readVarLong(),
+      input.readVarLong(),
+      input.readVarLong(),
+      input.readVarLong(),
+      input.readVarLong(),
+      input.readString(),
+      input.readString());
+  }
+
+  private static void writeError(final CompactOutput output, final ResolvedLogError error) throws IOException {
+    final LogEntry logEntry = error.logEntry();
+    output.writeString(logEntry.getLogFile());
+    output.writeSignedVarLong(logEntry.getBeginLine());
+    output.writeSignedVarLong(logEntry.getEndLine());
+    output.writeSignedVarLong(logEntry.getBeginPosition());
+    output.writeSignedVarLong(logEntry.getEndPosition());
+
+    output.writeString(error.sql());
+    output.writeString(error.originalSql());
+    output.writeString(error.errorMessage());
+    output.writeString(error.errorCode());
+    output.writeVarLong(error.packetDumps().size());
+    for (JDBCPacketDump packetDump : error.packetDumps()) {
+      output.writeString(packetDump.log());
+      output.writeString(packetDump.formattedPacket());
+    }
+    output.writeString(error.tenant());
+    output.writeString(error.logLines());
+    output.writeString(error.documentationLink());
+    output.writeSignedVarLong(error.sqlExecutionTime());
+
+    final JDBCTrace nearestTrace = error.nearestTrace();
+    output.writeVarLong(nearestTrace == null ? 0 : 1);
+    if (nearestTrace != null) {
+      output.writeTimestamp(nearestTrace.timestamp());
+      output.writeString(nearestTrace.executedMethod());
+    }
+    output.writeString(error.connectionId());
+  }
+
+  private static ResolvedLogError readError(final CompactInput input) throws IOException {
+    final LogEntry logEntry = new LogEntry(input.readString(), input.readSignedVarInt(), input.readSignedVarInt(),
+      input.readSignedVarLong(), input.readSignedVarLong());
+
+    final String sql = input.readString();
+    final String originalSql = input.readString();
+    final String errorMessage = input.readString();
+    final String errorCode = input.readString();
+    final int packetDumpCount = input.readVarInt();
+    final List<JDBCPacketDump> packetDumps = new ArrayList<>(Math.min(packetDumpCount, 1 << 10));
+    for (int i = 0; i < packetDumpCount; i++) {
+      packetDumps.add(new JDBCPacketDump(input.readString(), input.readString()));
+    }
+    final String tenant = input.readString();
+    final String logLines = input.readString();
+    final String documentationLink = input.readString();
+    final int sqlExecutionTime = input.readSignedVarInt();
+    final JDBCTrace nearestTrace = input.readVarLong() == 0 ? null
+      : new JDBCTrace(input.readTimestamp(), input.readString());
+
+    return new ResolvedLogError(logEntry, sql, originalSql, errorMessage, errorCode, List.copyOf(packetDumps), tenant,
+      logLines, documentationLink, sqlExecutionTime, nearestTrace, input.readString());
+  }
+
+}
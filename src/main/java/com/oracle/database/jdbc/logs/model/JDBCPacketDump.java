@@ -7,6 +7,8 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
+
 /**
  * <p>
  *   POJO to store JDBC packet dump data.
@@ -17,24 +19,14 @@ package com.oracle.database.jdbc.logs.model;
  *                        (as it appears in the Oracle JDBC log file).
  */
 
-public record JDBCPacketDump(String log, String formattedPacket) {
+public record JDBCPacketDump(String log, String formattedPacket) implements JSONWritable {
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-      {"log":"%s","formattedPacket":"%s"}
-      """.formatted(log.replace("\n", "\\n").replace("\t", "\\t"),
-        formattedPacket.replace("\n", "\\n")
-          .replace("\t", "\\t")
-          .replace("\\", "\\\\")
-          .replace("\"", "\\\""))
-      .strip();
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("log").value(log)
+      .name("formattedPacket").value(formattedPacket)
+      .endObject();
   }
 
 }
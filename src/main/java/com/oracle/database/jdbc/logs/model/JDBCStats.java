@@ -7,6 +7,7 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
 import java.time.Duration;
 
 /**
@@ -45,7 +46,7 @@ public record JDBCStats(String fileSize,
                         long sentPacketCount,
                         long receivedPacketCount,
                         String bytesConsumed,
-                        String bytesProduced) {
+                        String bytesProduced) implements JSONWritable {
 
   private static final String[] UNITS = new String[]{"B", "kB", "MB", "GB", "TB"};
 
@@ -210,32 +211,25 @@ public record JDBCStats(String fileSize,
     return startTime + " to " + endTime;
   }
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-      {"fileSize":"%s","lineCount":%d,"startTime":"%s","endTime":"%s","duration":"%s","errorCount":%d,"queryCount":%d,"averageQueryTime":"%s","openedConnectionCount":%d,"closedConnectionCount":%d,"roundTripCount":%d,"sentPacketCount":%d,"receivedPacketCount":%d,"bytesConsumed":"%s","bytesProduced":"%s"}
-      """.formatted(fileSize,
-        lineCount,
-        startTime,
-        endTime,
-        duration.toString(),
-        errorCount,
-        queryCount,
-        averageQueryTime,
-        openedConnectionCount,
-        closedConnectionCount,
-        roundTripCount,
-        sentPacketCount,
-        receivedPacketCount,
-        bytesConsumed,
-        bytesProduced)
-      .strip();
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("fileSize").value(fileSize)
+      .name("lineCount").value(lineCount)
+      .name("startTime").value(startTime)
+      .name("endTime").value(endTime)
+      .name("duration").value(duration.toString())
+      .name("errorCount").value(errorCount)
+      .name("queryCount").value(queryCount)
+      .name("averageQueryTime").value(averageQueryTime)
+      .name("openedConnectionCount").value(openedConnectionCount)
+      .name("closedConnectionCount").value(closedConnectionCount)
+      .name("roundTripCount").value(roundTripCount)
+      .name("sentPacketCount").value(sentPacketCount)
+      .name("receivedPacketCount").value(receivedPacketCount)
+      .name("bytesConsumed").value(bytesConsumed)
+      .name("bytesProduced").value(bytesProduced)
+      .endObject();
   }
 
 }
@@ -0,0 +1,353 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * <p>
+ *   Numeric partial result of {@link JDBCStats}. The counters, the byte totals,
+ *   the sum of the query times and the earliest and latest timestamps are kept
+ *   as numbers, they are only formatted by {@link #toJDBCStats()}.
+ * </p>
+ * <p>
+ *   {@link #merge(JDBCStatsAccumulator)} is associative, so partial results of
+ *   chunks of a log file, of rotated log files or of logs of several nodes can
+ *   be combined in any grouping as long as their order is kept (the earlier
+ *   partial result wins when two timestamps are equal).
+ * </p>
+ */
+public final class JDBCStatsAccumulator {
+
+  private long fileSize;
+  private long lineCount;
+  private long errorCount;
+  private long queryCount;
+  private long queryTimeSum;
+  private long openedConnectionCount;
+  private long closedConnectionCount;
+  private long receivedPacketCount;
+  private long sentPacketCount;
+  private long bytesConsumed;
+  private long bytesProduced;
+
+  // A null offset stands for a local timestamp.
+  private boolean hasTimestamps;
+  private long startMillis;
+  private ZoneOffset startOffset;
+  private long endMillis;
+  private ZoneOffset endOffset;
+
+  /**
+   * <p>
+   *   Adds the size of a log file.
+   * </p>
+   *
+   * @param bytes size of the log file in bytes.
+   */
+  public void addFileSize(final long bytes) {
+    fileSize += bytes;
+  }
+
+  /**
+   * <p>
+   *   Adds one line.
+   * </p>
+   */
+  public void addLine() {
+    lineCount++;
+  }
+
+  /**
+   * <p>
+   *   Adds one error.
+   * </p>
+   */
+  public void addError() {
+    errorCount++;
+  }
+
+  /**
+   * <p>
+   *   Adds one executed query.
+   * </p>
+   *
+   * @param executionTime execution time of the query in {@code ms}.
+   */
+  public void addQuery(final long executionTime) {
+    queryCount++;
+    queryTimeSum += executionTime;
+  }
+
+  /**
+   * <p>
+   *   Adds one connection event.
+   * </p>
+   *
+   * @param event the connection event.
+   */
+  public void addConnectionEvent(final JDBCConnectionEvent.Event event) {
+    if (event == JDBCConnectionEvent.Event.CONNECTION_OPENED)
+      openedConnectionCount++;
+    else if (event == JDBCConnectionEvent.Event.CONNECTION_CLOSED)
+      closedConnectionCount++;
+  }
+
+  /**
+   * <p>
+   *   Adds one received packet.
+   * </p>
+   *
+   * @param bytes size of the packet in bytes.
+   */
+  public void addReceivedPacket(final long bytes) {
+    receivedPacketCount++;
+    bytesConsumed += bytes;
+  }
+
+  /**
+   * <p>
+   *   Adds one sent packet.
+   * </p>
+   *
+   * @param bytes size of the packet in bytes.
+   */
+  public void addSentPacket(final long bytes) {
+    sentPacketCount++;
+    bytesProduced += bytes;
+  }
+
+  /**
+   * <p>
+   *   Adds a timestamp found in the log file.
+   * </p>
+   *
+   * @param epochMillis the timestamp in milliseconds, a local timestamp is converted as if it were UTC.
+   * @param offset the offset of the timestamp, {@code null} for a local timestamp.
+   */
+  public void addTimestamp(final long epochMillis, final ZoneOffset offset) {
+    if (!hasTimestamps || epochMillis < startMillis) {
+      startMillis = epochMillis;
+      startOffset = offset;
+    }
+
+    if (!hasTimestamps || epochMillis > endMillis) {
+      endMillis = epochMillis;
+      endOffset = offset;
+    }
+
+    hasTimestamps = true;
+  }
+
+  /**
+   * <p>
+   *   Adds the values of {@code other}, a partial result that follows this one.
+   * </p>
+   *
+   * @param other the partial result to add.
+   * @return this instance.
+   */
+  public JDBCStatsAccumulator merge(final JDBCStatsAccumulator other) {
+    fileSize += other.fileSize;
+    lineCount += other.lineCount;
+    errorCount += other.errorCount;
+    queryCount += other.queryCount;
+    queryTimeSum += other.queryTimeSum;
+    openedConnectionCount += other.openedConnectionCount;
+    closedConnectionCount += other.closedConnectionCount;
+    receivedPacketCount += other.receivedPacketCount;
+    sentPacketCount += other.sentPacketCount;
+    bytesConsumed += other.bytesConsumed;
+    bytesProduced += other.bytesProduced;
+
+    if (other.hasTimestamps) {
+      addTimestamp(other.startMillis, other.startOffset);
+      addTimestamp(other.endMillis, other.endOffset);
+    }
+
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Writes the accumulated values.
+   * </p>
+   *
+   * @param out the output.
+   * @throws IOException if an error occurs while writing.
+   */
+  public void writeTo(final DataOutput out) throws IOException {
+    for (long value : new long[]{fileSize, lineCount, errorCount, queryCount, queryTimeSum, openedConnectionCount,
+      closedConnectionCount, receivedPacketCount, sentPacketCount, bytesConsumed, bytesProduced}) {
+      out.writeLong(value);
+    }
+
+    out.writeBoolean(hasTimestamps);
+    if (hasTimestamps) {
+      out.writeLong(startMillis);
+      writeOffset(out, startOffset);
+      out.writeLong(endMillis);
+      writeOffset(out, endOffset);
+    }
+  }
+
+  /**
+   * <p>
+   *   Reads values written by {@link #writeTo(DataOutput)}.
+   * </p>
+   *
+   * @param in the input.
+   * @return the accumulator.
+   * @throws IOException if an error occurs while reading.
+   */
+  public static JDBCStatsAccumulator readFrom(final DataInput in) throws IOException {
+    final JDBCStatsAccumulator accumulator = new JDBCStatsAccumulator();
+    accumulator.fileSize = in.readLong();
+    accumulator.lineCount = in.readLong();
+    accumulator.errorCount = in.readLong();
+    accumulator.queryCount = in.readLong();
+    accumulator.queryTimeSum = in.readLong();
+    accumulator.openedConnectionCount = in.readLong();
+    accumulator.closedConnectionCount = in.readLong();
+    accumulator.receivedPacketCount = in.readLong();
+    accumulator.sentPacketCount = in.readLong();
+    accumulator.bytesConsumed = in.readLong();
+    accumulator.bytesProduced = in.readLong();
+
+    if (in.readBoolean()) {
+      accumulator.addTimestamp(in.readLong(), readOffset(in));
+      accumulator.addTimestamp(in.readLong(), readOffset(in));
+    }
+
+    return accumulator;
+  }
+
+  private static void writeOffset(final DataOutput out, final ZoneOffset offset) throws IOException {
+    out.writeBoolean(offset != null);
+    if (offset != null)
+      out.writeInt(offset.getTotalSeconds());
+  }
+
+  private static ZoneOffset readOffset(final DataInput in) throws IOException {
+    return in.readBoolean() ? ZoneOffset.ofTotalSeconds(in.readInt()) : null;
+  }
+
+  /**
+   * <p>
+   *   Returns the number of lines.
+   * </p>
+   *
+   * @return number of lines.
+   */
+  public long getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * <p>
+   *   Returns the number of errors.
+   * </p>
+   *
+   * @return number of errors.
+   */
+  public long getErrorCount() {
+    return errorCount;
+  }
+
+  /**
+   * <p>
+   *   Returns the number of executed queries.
+   * </p>
+   *
+   * @return number of executed queries.
+   */
+  public long getQueryCount() {
+    return queryCount;
+  }
+
+  /**
+   * <p>
+   *   Returns the sum of the execution times of the queries.
+   * </p>
+   *
+   * @return sum of the execution times in {@code ms}.
+   */
+  public long getQueryTimeSum() {
+    return queryTimeSum;
+  }
+
+  /**
+   * <p>
+   *   Returns the earliest timestamp.
+   * </p>
+   *
+   * @return the earliest timestamp, {@code null} if no timestamp was added.
+   */
+  public String getStartTime() {
+    return hasTimestamps ? format(startMillis, startOffset) : null;
+  }
+
+  /**
+   * <p>
+   *   Returns the latest timestamp.
+   * </p>
+   *
+   * @return the latest timestamp, {@code null} if no timestamp was added.
+   */
+  public String getEndTime() {
+    return hasTimestamps ? format(endMillis, endOffset) : null;
+  }
+
+  /**
+   * <p>
+   *   Returns the duration between the earliest and the latest timestamps.
+   * </p>
+   *
+   * @return {@link Duration}, {@code null} if no timestamp was added.
+   */
+  public Duration getDuration() {
+    return hasTimestamps ? Duration.ofMillis(endMillis - startMillis) : null;
+  }
+
+  /**
+   * <p>
+   *   Formats the accumulated values.
+   * </p>
+   *
+   * @return {@link JDBCStats} of the accumulated values.
+   */
+  public JDBCStats toJDBCStats() {
+    final double averageQueryTime = queryCount == 0 ? 0 : (double) queryTimeSum / queryCount;
+
+    return new JDBCStats(fileSize, lineCount, getStartTime(), getEndTime(), getDuration(), errorCount, queryCount,
+      averageQueryTime, openedConnectionCount, closedConnectionCount, receivedPacketCount, sentPacketCount,
+      bytesConsumed, bytesProduced);
+  }
+
+  /**
+   * <p>
+   *   Formats a timestamp as {@link LocalDateTime#toString()}, or as
+   *   {@link java.time.ZonedDateTime#toString()} when it has an offset.
+   * </p>
+   */
+  private static String format(final long epochMillis, final ZoneOffset offset) {
+    if (offset == null) {
+      return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000),
+        Math.floorMod(epochMillis, 1000) * 1_000_000, ZoneOffset.UTC).toString();
+    }
+
+    return Instant.ofEpochMilli(epochMillis).atZone(offset).toString();
+  }
+
+}
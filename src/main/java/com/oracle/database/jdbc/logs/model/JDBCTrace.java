@@ -7,6 +7,8 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
+
 /**
  * <p>
  *   POJO to store JDBC trace information.
@@ -14,20 +16,14 @@ package com.oracle.database.jdbc.logs.model;
  * @param timestamp String representation the date and time.
  * @param executedMethod fully qualified class name with method name.
  */
-public record JDBCTrace(String timestamp, String executedMethod) {
+public record JDBCTrace(String timestamp, String executedMethod) implements JSONWritable {
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-      {"timestamp": "%s","executedMethod": "%s"}
-      """.formatted(timestamp, executedMethod)
-      .strip();
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("timestamp").value(timestamp)
+      .name("executedMethod").value(executedMethod)
+      .endObject();
   }
 
 }
@@ -0,0 +1,82 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * <p>
+ *   An object that writes its JSON representation to a {@link JSONWriter}.
+ * </p>
+ */
+public interface JSONWritable {
+
+  /**
+   * <p>
+   *   Writes the JSON representation of this object.
+   * </p>
+   *
+   * @param jsonWriter the JSON writer.
+   * @throws IOException if an error occurs while writing, or while reading
+   *         the log file for the details of this object.
+   */
+  void writeJSON(JSONWriter jsonWriter) throws IOException;
+
+  /**
+   * <p>
+   *   Writes the JSON representation of this object to {@code writer}.
+   * </p>
+   *
+   * @param writer the destination, it is flushed but not closed.
+   * @throws IOException if an error occurs while writing.
+   */
+  default void writeJSON(Writer writer) throws IOException {
+    final JSONWriter jsonWriter = new JSONWriter(writer);
+    writeJSON(jsonWriter);
+    jsonWriter.flush();
+  }
+
+  /**
+   * <p>
+   *   Writes the JSON representation of this object to {@code out}, in UTF-8.
+   * </p>
+   *
+   * @param out the destination, it is flushed but not closed.
+   * @throws IOException if an error occurs while writing.
+   */
+  default void writeJSON(OutputStream out) throws IOException {
+    final JSONWriter jsonWriter = new JSONWriter(out);
+    writeJSON(jsonWriter);
+    jsonWriter.flush();
+  }
+
+  /**
+   * <p>
+   *   Returns a JSON string representation of this object.
+   * </p>
+   *
+   * @return a JSON-formatted {@link String} representing the current state of this object.
+   * @throws UncheckedIOException if an {@link IOException} occurs while reading the log file.
+   */
+  default String toJSONString() {
+    final StringWriter writer = new StringWriter();
+    try {
+      final JSONWriter jsonWriter = new JSONWriter(writer, 256);
+      writeJSON(jsonWriter);
+      jsonWriter.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to serialize to JSON", e);
+    }
+    return writer.toString();
+  }
+
+}
@@ -0,0 +1,324 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>
+ *   Writes JSON straight to a {@link Writer}, without building the document
+ *   in memory. The strings are escaped as required by RFC 8259: quotation
+ *   marks, reverse solidi and all the control characters.
+ * </p>
+ * <p>
+ *   The JSON text is buffered by this writer, it reaches the {@link Writer}
+ *   when the buffer is full or when this writer is {@link #flush() flushed}.
+ * </p>
+ * <p>
+ *   The separators are written by the writer: a value or a name is preceded
+ *   by a comma when it isn't the first of its object or array. The writer
+ *   doesn't check that the document is well-formed.
+ * </p>
+ *
+ * <pre>{@code
+ * jsonWriter.beginObject().name("sql").value(sql).name("executionTime").value(time).endObject();
+ * }</pre>
+ */
+public final class JSONWriter implements Flushable {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * Escape sequence of each ASCII character, {@code null} if it isn't escaped.
+   */
+  private static final String[] ESCAPES = new String[128];
+
+  static {
+    for (int c = 0; c < 0x20; c++) {
+      ESCAPES[c] = "\\u00" + HEX_DIGITS[c >> 4] + HEX_DIGITS[c & 0xF];
+    }
+    ESCAPES['\b'] = "\\b";
+    ESCAPES['\f'] = "\\f";
+    ESCAPES['\n'] = "\\n";
+    ESCAPES['\r'] = "\\r";
+    ESCAPES['\t'] = "\\t";
+    ESCAPES['"'] = "\\\"";
+    ESCAPES['\\'] = "\\\\";
+  }
+
+  private final Writer writer;
+  private final char[] buffer;
+  private int count;
+  private boolean needsSeparator;
+
+  /**
+   * <p>
+   *   Create a JSON writer.
+   * </p>
+   *
+   * @param writer the destination of the JSON text.
+   */
+  public JSONWriter(final Writer writer) {
+    this(writer, 8192);
+  }
+
+  /**
+   * @param writer the destination of the JSON text.
+   * @param bufferSize size of the buffer in characters, small for a single short object.
+   */
+  JSONWriter(final Writer writer, final int bufferSize) {
+    this.writer = writer;
+    this.buffer = new char[bufferSize];
+  }
+
+  /**
+   * <p>
+   *   Create a JSON writer encoding the JSON text in UTF-8.
+   * </p>
+   *
+   * @param out the destination of the JSON text.
+   */
+  public JSONWriter(final OutputStream out) {
+    this(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * <p>
+   *   Begins an object, its members follow as names and values.
+   * </p>
+   *
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter beginObject() throws IOException {
+    separate();
+    write('{');
+    needsSeparator = false;
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Ends the current object.
+   * </p>
+   *
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter endObject() throws IOException {
+    write('}');
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Begins an array, its elements follow.
+   * </p>
+   *
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter beginArray() throws IOException {
+    separate();
+    write('[');
+    needsSeparator = false;
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Ends the current array.
+   * </p>
+   *
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter endArray() throws IOException {
+    write(']');
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Writes the name of the next member of the current object.
+   * </p>
+   *
+   * @param name the name.
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter name(final String name) throws IOException {
+    separate();
+    writeString(name);
+    write(':');
+    needsSeparator = false;
+    return this;
+  }
+
+  /**
+   * @param value a string, or {@code null}.
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter value(final String value) throws IOException {
+    separate();
+    if (value == null)
+      write("null");
+    else
+      writeString(value);
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * @param value a number.
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter value(final long value) throws IOException {
+    separate();
+    write(Long.toString(value));
+    needsSeparator = true;
+    return this;
+  }
+
+  /**
+   * @param value an object that writes itself, or {@code null}.
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter value(final JSONWritable value) throws IOException {
+    if (value == null) {
+      separate();
+      write("null");
+      needsSeparator = true;
+    } else {
+      value.writeJSON(this);
+    }
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Writes each value on its own line, as in a newline-delimited JSON
+   *   (NDJSON) file.
+   * </p>
+   *
+   * @param values the values.
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter lines(final Iterable<? extends JSONWritable> values) throws IOException {
+    for (JSONWritable value : values) {
+      line(value);
+    }
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Writes a value followed by a line feed, as a line of a newline-delimited
+   *   JSON (NDJSON) file.
+   * </p>
+   *
+   * @param value the value.
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter line(final JSONWritable value) throws IOException {
+    value(value);
+    write('\n');
+    needsSeparator = false;
+    return this;
+  }
+
+  /**
+   * <p>
+   *   Writes the values as a JSON array.
+   * </p>
+   *
+   * @param values the values.
+   * @return this writer.
+   * @throws IOException if an error occurs while writing.
+   */
+  public JSONWriter array(final Iterable<? extends JSONWritable> values) throws IOException {
+    beginArray();
+    for (JSONWritable value : values) {
+      value(value);
+    }
+    return endArray();
+  }
+
+  /**
+   * <p>
+   *   Writes the buffered JSON text to the {@link Writer} and flushes it.
+   * </p>
+   *
+   * @throws IOException if an error occurs while writing.
+   */
+  @Override
+  public void flush() throws IOException {
+    drain();
+    writer.flush();
+  }
+
+  private void separate() throws IOException {
+    if (needsSeparator)
+      write(',');
+  }
+
+  private void writeString(final String string) throws IOException {
+    write('"');
+
+    final int length = string.length();
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      final String escape = c < 128 ? ESCAPES[c] : null;
+      if (escape != null) {
+        write(escape);
+      } else {
+        if (count == buffer.length)
+          drain();
+        buffer[count++] = c;
+      }
+    }
+
+    write('"');
+  }
+
+  private void write(final char c) throws IOException {
+    if (count == buffer.length)
+      drain();
+    buffer[count++] = c;
+  }
+
+  private void write(final String string) throws IOException {
+    int offset = 0;
+    while (offset < string.length()) {
+      if (count == buffer.length)
+        drain();
+      final int length = Math.min(string.length() - offset, buffer.length - count);
+      string.getChars(offset, offset + length, buffer, count);
+      count += length;
+      offset += length;
+    }
+  }
+
+  private void drain() throws IOException {
+    writer.write(buffer, 0, count);
+    count = 0;
+  }
+
+}
@@ -0,0 +1,222 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ *   Compact index of lines in a log file, it stores the line numbers and the
+ *   offsets in bytes of the lines in primitive arrays (12 bytes per line)
+ *   instead of a {@link List} of {@link LogLine} objects.
+ * </p>
+ * <p>
+ *   Lines must be added in ascending order of line number.
+ * </p>
+ */
+public final class LineIndex {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] lineNumbers;
+  private long[] positions;
+  private int size;
+
+  /**
+   * <p>
+   *   Creates an empty index.
+   * </p>
+   */
+  public LineIndex() {
+    this.lineNumbers = new int[DEFAULT_CAPACITY];
+    this.positions = new long[DEFAULT_CAPACITY];
+  }
+
+  /**
+   * <p>
+   *   Creates an index from a {@link List} of {@link LogLine}.
+   * </p>
+   *
+   * @param logLines lines sorted by line number.
+   * @return {@link LineIndex} with the same lines.
+   */
+  public static LineIndex of(final List<LogLine> logLines) {
+    final LineIndex index = new LineIndex();
+    for (LogLine logLine : logLines) {
+      index.add(logLine.getLineNumber(), logLine.getPositionInFile());
+    }
+    return index;
+  }
+
+  /**
+   * <p>
+   *   Appends a line to the index.
+   * </p>
+   *
+   * @param lineNumber line number, greater than the last added line number.
+   * @param positionInFile offset in bytes of the line in the log file.
+   */
+  public void add(final int lineNumber, final long positionInFile) {
+    if (size == lineNumbers.length) {
+      lineNumbers = Arrays.copyOf(lineNumbers, size * 2);
+      positions = Arrays.copyOf(positions, size * 2);
+    }
+
+    lineNumbers[size] = lineNumber;
+    positions[size] = positionInFile;
+    size++;
+  }
+
+  /**
+   * <p>
+   *   Appends all the lines of {@code other}, their line numbers are shifted
+   *   by {@code lineOffset}.
+   * </p>
+   *
+   * @param other index of the lines that follow the lines of this index.
+   * @param lineOffset number added to the line numbers of {@code other}.
+   */
+  public void addAll(final LineIndex other, final int lineOffset) {
+    final int newSize = size + other.size;
+    if (newSize > lineNumbers.length) {
+      lineNumbers = Arrays.copyOf(lineNumbers, Math.max(newSize, size * 2));
+      positions = Arrays.copyOf(positions, lineNumbers.length);
+    }
+
+    for (int i = 0; i < other.size; i++) {
+      lineNumbers[size + i] = other.lineNumbers[i] + lineOffset;
+    }
+    System.arraycopy(other.positions, 0, positions, size, other.size);
+    size = newSize;
+  }
+
+  /**
+   * <p>
+   *   Returns the number of lines in this index.
+   * </p>
+   *
+   * @return number of indexed lines.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * <p>
+   *   Returns {@code true} if this index contains no line.
+   * </p>
+   *
+   * @return {@code true} if this index is empty.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * <p>
+   *   Returns the line number of the {@code index}-th line.
+   * </p>
+   *
+   * @param index position of the line in this index.
+   * @return line number in the log file.
+   */
+  public int getLineNumber(final int index) {
+    checkIndex(index);
+    return lineNumbers[index];
+  }
+
+  /**
+   * <p>
+   *   Returns the offset in bytes of the {@code index}-th line.
+   * </p>
+   *
+   * @param index position of the line in this index.
+   * @return offset in bytes of the line in the log file.
+   */
+  public long getPositionInFile(final int index) {
+    checkIndex(index);
+    return positions[index];
+  }
+
+  /**
+   * <p>
+   *   Finds the last line located before the line {@code lineNumber}.
+   * </p>
+   *
+   * @param lineNumber line number in the log file.
+   * @return position in this index of the last line with a smaller line
+   *         number, {@code -1} if there is none.
+   */
+  public int indexBefore(final int lineNumber) {
+    int low = 0;
+    int high = size - 1;
+    int result = -1;
+
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      if (lineNumbers[middle] < lineNumber) {
+        result = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * <p>
+   *   Writes this index, the line numbers and the offsets are written as the
+   *   difference with the previous line.
+   * </p>
+   *
+   * @param out the output.
+   * @throws IOException if an error occurs while writing.
+   */
+  public void writeTo(final DataOutput out) throws IOException {
+    out.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      out.writeInt(i == 0 ? lineNumbers[i] : lineNumbers[i] - lineNumbers[i - 1]);
+      out.writeLong(i == 0 ? positions[i] : positions[i] - positions[i - 1]);
+    }
+  }
+
+  /**
+   * <p>
+   *   Reads an index written by {@link #writeTo(DataOutput)}.
+   * </p>
+   *
+   * @param in the input.
+   * @return the index.
+   * @throws IOException if an error occurs while reading.
+   */
+  public static LineIndex readFrom(final DataInput in) throws IOException {
+    final int size = BinaryIO.readCount(in);
+    final LineIndex index = new LineIndex();
+    index.lineNumbers = new int[Math.max(BinaryIO.initialCapacity(size), DEFAULT_CAPACITY)];
+    index.positions = new long[index.lineNumbers.length];
+
+    for (int i = 0; i < size; i++) {
+      index.add(in.readInt() + (i == 0 ? 0 : index.lineNumbers[i - 1]),
+        in.readLong() + (i == 0 ? 0 : index.positions[i - 1]));
+    }
+
+    return index;
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+  }
+
+}
@@ -7,27 +7,30 @@
 
 package com.oracle.database.jdbc.logs.model;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
+import com.oracle.database.jdbc.logs.analyzer.LogSource;
+
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.oracle.database.jdbc.logs.analyzer.Utils.readLines;
+
 /**
  * A LogEntry is a collection of consecutive log lines in a log file.
  * It corresponds to 1 call to the logger (which may be more than 1 line).
  */
-public class LogEntry {
+public class LogEntry implements JSONWritable {
 
   /**
    * The log file where we found this log
    */
   private final String logFile;
 
+  /**
+   * The source of the log file, resolved from {@code logFile} when it is first needed.
+   */
+  private LogSource logSource;
+
   /**
    * The line in the log file where this log started
    */
@@ -43,6 +46,12 @@ public class LogEntry {
    */
   private final long beginPosition;
 
+  /**
+   * The offset in bytes of the line following this log, {@code -1} if unknown
+   * or if this log ends at the end of the file.
+   */
+  private final long endPosition;
+
   /**
    * The thread ID where this log happened.
    */
@@ -73,19 +82,43 @@ public class LogEntry {
    * @param beginPosition the beginning offset.
    */
   public LogEntry(String logFile, int beginLine, int endLine, long beginPosition) {
+    this(logFile, beginLine, endLine, beginPosition, -1);
+  }
+
+  /**
+   * <p>
+   *   Creates a log entry instance which lines are between {@code beginPosition}
+   *   and {@code endPosition}.
+   * </p>
+   * @param logFile the log file location.
+   * @param beginLine number of the beginning line
+   * @param endLine number of the end  line.
+   * @param beginPosition the beginning offset in bytes.
+   * @param endPosition the offset in bytes of the line following the end line,
+   *                    {@code -1} if the log ends at the end of the file.
+   */
+  public LogEntry(String logFile, int beginLine, int endLine, long beginPosition, long endPosition) {
     this.logFile = logFile;
     this.beginLine = beginLine;
     this.endLine = endLine;
     this.beginPosition = beginPosition;
+    this.endPosition = endPosition;
   }
 
-  private BufferedReader getBufferedReader() throws IOException {
-    if (logFile.startsWith("http://") || logFile.startsWith("https://")) {
-      URL url = new URL(logFile);
-      return new BufferedReader(new InputStreamReader(url.openStream()));
-    } else {
-      return new BufferedReader(new FileReader(logFile));
-    }
+  /**
+   * <p>
+   *   Creates a log entry instance which lines are read from {@code logSource}.
+   * </p>
+   * @param logSource the source of the log file.
+   * @param beginLine number of the beginning line
+   * @param endLine number of the end  line.
+   * @param beginPosition the beginning offset in bytes.
+   * @param endPosition the offset in bytes of the line following the end line,
+   *                    {@code -1} if the log ends at the end of the file.
+   */
+  public LogEntry(LogSource logSource, int beginLine, int endLine, long beginPosition, long endPosition) {
+    this(logSource.location(), beginLine, endLine, beginPosition, endPosition);
+    this.logSource = logSource;
   }
 
   /**
@@ -99,6 +132,20 @@ public class LogEntry {
     return this.logFile;
   }
 
+  /**
+   * <p>
+   *   Returns the source of the log file.
+   * </p>
+   *
+   * @return the source the log entry was found in, or the source located by
+   *         {@link #getLogFile()}.
+   */
+  public synchronized LogSource getLogSource() {
+    if (logSource == null)
+      logSource = LogSource.of(logFile);
+    return logSource;
+  }
+
   /**
    * <p>
    *   Return the number of this log entry's begin line.
@@ -123,6 +170,28 @@ public class LogEntry {
     return endLine;
   }
 
+  /**
+   * <p>
+   *   Returns the offset in bytes of this log entry in the log file.
+   * </p>
+   *
+   * @return offset in bytes of the first line.
+   */
+  public long getBeginPosition() {
+    return beginPosition;
+  }
+
+  /**
+   * <p>
+   *   Returns the offset in bytes of the line following this log entry.
+   * </p>
+   *
+   * @return offset in bytes, {@code -1} if unknown or if the log ends at the end of the file.
+   */
+  public long getEndPosition() {
+    return endPosition;
+  }
+
   /**
    * <p>
    *   Returns the log that corresponds to this log entry.
@@ -137,32 +206,14 @@ public class LogEntry {
     if (lines != null)
       return lines;
 
-    StringBuilder result = new StringBuilder();
-    try (final BufferedReader reader = getBufferedReader()) {
-
-      if (reader.ready())
-        reader.skip(beginPosition);
-
-      if (getEndLine() != -1) {
-        // The log ends at getEndLine()
-        int linesToRead = getEndLine() - getBeginLine() + 1;
-
-        while (reader.ready() && linesToRead > 0) {
-          String line = reader.readLine();
-          result.append(line).append("\n");
-          linesToRead--;
-        }
-      } else {
-        // The log ends at the end of the file
-        while (reader.ready() ) {
-          String line = reader.readLine();
-          result.append(line).append("\n");
-        }
-      }
+    if (getEndLine() != -1) {
+      // The log ends at getEndLine()
+      lines = readLines(getLogSource(), beginPosition, endPosition, getEndLine() - getBeginLine() + 1);
+    } else {
+      // The log ends at the end of the file
+      lines = readLines(getLogSource(), beginPosition, -1, -1);
     }
 
-    lines = result.toString();
-
     return lines;
   }
 
@@ -184,13 +235,8 @@ public class LogEntry {
       // This log is only a single line
       this.firstLine = getLines();
     } else {
-      try (final BufferedReader reader = getBufferedReader()) {
-
-        if (reader.ready())
-          reader.skip(beginPosition);
-
-        this.firstLine = reader.readLine();
-      }
+      final String line = readLines(getLogSource(), beginPosition, endPosition, 1);
+      this.firstLine = line.isEmpty() ? null : line.substring(0, line.length() - 1);
     }
 
     return this.firstLine;
@@ -221,18 +267,13 @@ public class LogEntry {
     return "beginLine: " + beginLine + ", endLine: " + endLine;
   }
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-      {"logFile": "%s","beginLine": %d,"endLine": %d}
-      """.formatted(logFile, beginLine, endLine)
-      .strip();
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("logFile").value(logFile)
+      .name("beginLine").value(beginLine)
+      .name("endLine").value(endLine)
+      .endObject();
   }
 
 }
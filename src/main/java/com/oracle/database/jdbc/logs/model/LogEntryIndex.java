@@ -0,0 +1,145 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ *   Interval index over the {@link LogEntry log entries} of a log file.
+ * </p>
+ * <p>
+ *   The entries are sorted by line number and don't overlap, so the entry
+ *   that contains a line (or the position of an entry in the list) is found
+ *   with a binary search over the begin lines.
+ * </p>
+ */
+public final class LogEntryIndex {
+
+  private final List<LogEntry> entries;
+  private final int[] beginLines;
+  private final int[] endLines;
+
+  /**
+   * <p>
+   *   Creates an index over {@code entries}.
+   * </p>
+   *
+   * @param entries log entries sorted by begin line.
+   */
+  public LogEntryIndex(final List<? extends LogEntry> entries) {
+    this.entries = Collections.unmodifiableList(entries);
+    this.beginLines = new int[entries.size()];
+    this.endLines = new int[entries.size()];
+
+    for (int i = 0; i < entries.size(); i++) {
+      beginLines[i] = entries.get(i).getBeginLine();
+      endLines[i] = entries.get(i).getEndLine();
+    }
+  }
+
+  /**
+   * <p>
+   *   Returns the indexed log entries.
+   * </p>
+   *
+   * @return unmodifiable {@link List} of {@link LogEntry}.
+   */
+  public List<LogEntry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * <p>
+   *   Returns the number of log entries.
+   * </p>
+   *
+   * @return number of log entries.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * <p>
+   *   Returns the {@code index}-th log entry.
+   * </p>
+   *
+   * @param index position of the entry.
+   * @return the {@link LogEntry} at {@code index}.
+   */
+  public LogEntry get(final int index) {
+    return entries.get(index);
+  }
+
+  /**
+   * <p>
+   *   Finds the log entry that contains the line {@code lineNumber}.
+   * </p>
+   *
+   * @param lineNumber line number in the log file.
+   * @return position of the entry that contains the line, {@code -1} if no
+   *         entry contains it.
+   */
+  public int indexOfLine(final int lineNumber) {
+    final int index = floor(lineNumber);
+
+    if (index != -1 && (endLines[index] >= lineNumber || endLines[index] == -1))
+      return index;
+
+    return -1;
+  }
+
+  /**
+   * <p>
+   *   Finds the position of {@code logEntry} in this index.
+   * </p>
+   *
+   * @param logEntry an entry of this index.
+   * @return position of the entry, {@code -1} if it is not in this index.
+   */
+  public int indexOf(final LogEntry logEntry) {
+    final int index = floor(logEntry.getBeginLine());
+
+    if (index != -1 && entries.get(index) == logEntry)
+      return index;
+
+    // The entry is not where it should be, the list may not be sorted.
+    for (int i = 0; i < entries.size(); i++) {
+      if (entries.get(i) == logEntry)
+        return i;
+    }
+
+    return -1;
+  }
+
+  /**
+   * <p>
+   *   Returns the position of the last entry that begins at or before {@code lineNumber}.
+   * </p>
+   */
+  private int floor(final int lineNumber) {
+    int low = 0;
+    int high = beginLines.length - 1;
+    int result = -1;
+
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      if (beginLines[middle] <= lineNumber) {
+        result = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    return result;
+  }
+
+}
@@ -7,7 +7,6 @@
 
 package com.oracle.database.jdbc.logs.model;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -23,7 +22,7 @@ import static com.oracle.database.jdbc.logs.analyzer.Utils.*;
 /**
  * A LogError is a LogEntry recognized as an error
  */
-public class LogError {
+public class LogError implements JSONWritable {
 
   /**
    * Pattern to extract the CONNECTION_ID from an error, i.e. {@code (CONNECTION_ID=k+5OXkWXQ7KpAof3H0FpKg==)}.
@@ -50,6 +49,11 @@ public class LogError {
    */
   public static final Pattern JDBC_PACKET_DUMP_PATTERN = Pattern.compile("([\\s0-9A-F]+\\|.{8}\\|)");
 
+  /**
+   * RegEx of a full row (8 bytes) of a JDBC packet dump.
+   */
+  private static final Pattern JDBC_PACKET_DUMP_ROW_PATTERN = Pattern.compile("\\s([0-9A-F]{2}\\s){8}\\s+\\|.{8}\\|");
+
   /**
    * String Template for the Database Error Messages website, used as follows:
    * {@code DOCUMENTATION_LINK_TEMPLATE.formatted(oraCode)}
@@ -74,14 +78,24 @@ public class LogError {
   public static final int LOG_LINE_MAX_REWIND = 50;
 
   /**
-   * The list of all Logs in the log file
+   * The index of all Logs in the log file
    */
-  private final List<LogEntry> allLogs;
+  private final LogEntryIndex allLogs;
 
   /**
-   * The list of all traces in the log file
+   * The index of all traces in the log file
    */
-  private final List<LogLine> allTraces;
+  private final TraceIndex allTraces;
+
+  /**
+   * The index of the SQL execution times in the log file, can be {@code null}
+   */
+  private final SQLTimingIndex sqlTimings;
+
+  /**
+   * The index of the packet dumps in the log file, can be {@code null}
+   */
+  private final PacketDumpIndex packetDumpIndex;
 
   /**
    * The logEntry (i.e. multiple consecutive log lines) where this error appears
@@ -128,8 +142,22 @@ public class LogError {
    * @param logEntry corresponding {@link LogEntry}
    */
   public LogError(List<LogEntry> allLogs, List<LogLine> allTraces, LogEntry logEntry) {
-    this.allLogs = allLogs;
-    this.allTraces = allTraces;
+    this(new JDBCLogIndex(new LogEntryIndex(allLogs), allTraces == null ? null : TraceIndex.of(LineIndex.of(allTraces)), null, null), logEntry);
+  }
+
+  /**
+   * <p>
+   *   Creates an instance with the log information related to this error.
+   * </p>
+   *
+   * @param logIndex {@link JDBCLogIndex} built while parsing the log file
+   * @param logEntry corresponding {@link LogEntry}
+   */
+  public LogError(JDBCLogIndex logIndex, LogEntry logEntry) {
+    this.allLogs = logIndex.getLogEntries();
+    this.allTraces = logIndex.getTraces();
+    this.sqlTimings = logIndex.getSqlTimings();
+    this.packetDumpIndex = logIndex.getPacketDumps();
     this.logEntry = logEntry;
   }
 
@@ -283,14 +311,18 @@ public class LogError {
       return this.executionTime;
     }
 
-    int i = 0;
     // Find the log entry in the list;
-    while (allLogs.get(i) != getLogEntry()) {
-      i++;
+    final int i = allLogs.indexOf(getLogEntry());
+
+    if (sqlTimings != null) {
+      executionTime = sqlTimings.getExecutionTime(getConnectionId(), getOriginalSql(), allLogs, i, LOG_LINE_MAX_REWIND);
+      return executionTime;
     }
 
+    // No index was built while parsing, look for the SQL in the previous log entries.
+    final Pattern sqlPattern = Pattern.compile("CONNECTION_ID=" + Pattern.quote(String.valueOf(getConnectionId()))
+      + "(.*),sql=" + Pattern.quote(String.valueOf(getOriginalSql())) + ", time=(\\d*)ms");
     for (int j = i - 1; j > (i-LOG_LINE_MAX_REWIND) && j > 0; j--) {
-      Pattern sqlPattern = Pattern.compile("CONNECTION_ID=" + getConnectionId() + "(.*),sql=" + getOriginalSql() + ", time=(\\d*)ms");
       Matcher matcher = sqlPattern.matcher(allLogs.get(j).getLines());
       if (matcher.find()) {
         try {
@@ -321,33 +353,25 @@ public class LogError {
 
     packetDumps = new ArrayList<>();
 
-    int i = 0;
     // Find the log entry in the list;
-    while (allLogs.get(i) != getLogEntry()) {
-      i++;
+    final int i = allLogs.indexOf(getLogEntry());
+
+    if (packetDumpIndex != null) {
+      final List<LogEntry> dumpEntries = packetDumpIndex.getLogEntries(String.valueOf(getConnectionId()),
+        String.valueOf(getTenant()), String.valueOf(getSql()), allLogs, i, LOG_LINE_MAX_REWIND);
+      for (LogEntry dumpEntry : dumpEntries) {
+        packetDumps.add(toPacketDump(dumpEntry.getLines()));
+      }
+
+      return packetDumps;
     }
 
+    // No index was built while parsing, look for the packet dumps in the previous log entries.
+    final String header = " CONNECTION_ID=" + getConnectionId() + ",TENANT=" + getTenant() + ",SQL=" + getSql();
     for (int j = i - 1; j > (i-LOG_LINE_MAX_REWIND) && j > 0; j--) {
-      Pattern packetDumpPattern = Pattern.compile("(.*) CONNECTION_ID=" + getConnectionId() + ",TENANT=" + getTenant() + ",SQL=" + getSql() + "((.*)\n)+" + "(^\\s([0-9A-F]{2}\\s){8}\\s+\\|(.){8}\\|$)+", Pattern.MULTILINE);
-      //Pattern packetDumpPattern = Pattern.compile("[\\s0-9A-F]+\\|.{8}\\|", Pattern.MULTILINE);
-      Matcher matcher = packetDumpPattern.matcher(allLogs.get(j).getLines());
-      if (matcher.find()) {
-        final List<String> lines = allLogs.get(j)
-          .getLines()
-          .lines()
-          .filter(line -> !line.isBlank())
-          .toList();
-
-        final String log = lines.stream()
-          .filter(line -> !JDBC_PACKET_DUMP_PATTERN.matcher(line).find())
-          .collect(Collectors.joining(System.lineSeparator()));
-
-        final String packet = lines.stream()
-          .filter(line -> JDBC_PACKET_DUMP_PATTERN.matcher(line).find())
-          .map(String::strip)
-          .collect(Collectors.joining("\n"));
-
-        packetDumps.add(new JDBCPacketDump(log, packet));
+      final String lines = allLogs.get(j).getLines();
+      if (containsPacketDump(lines, header)) {
+        packetDumps.add(toPacketDump(lines));
       }
     }
 
@@ -356,6 +380,40 @@ public class LogError {
     return packetDumps;
   }
 
+  /**
+   * <p>
+   *   Checks whether a line containing {@code header} is followed by a full
+   *   row of 8 bytes of a packet dump in {@code lines}.
+   * </p>
+   */
+  private static boolean containsPacketDump(final String lines, final String header) {
+    final int headerIndex = lines.indexOf(header);
+    if (headerIndex == -1)
+      return false;
+
+    return lines.substring(lines.indexOf('\n', headerIndex) + 1)
+      .lines()
+      .anyMatch(line -> JDBC_PACKET_DUMP_ROW_PATTERN.matcher(line).matches());
+  }
+
+  private static JDBCPacketDump toPacketDump(final String logEntryLines) {
+    final List<String> lines = logEntryLines
+      .lines()
+      .filter(line -> !line.isBlank())
+      .toList();
+
+    final String log = lines.stream()
+      .filter(line -> !JDBC_PACKET_DUMP_PATTERN.matcher(line).find())
+      .collect(Collectors.joining(System.lineSeparator()));
+
+    final String packet = lines.stream()
+      .filter(line -> JDBC_PACKET_DUMP_PATTERN.matcher(line).find())
+      .map(String::strip)
+      .collect(Collectors.joining("\n"));
+
+    return new JDBCPacketDump(log, packet);
+  }
+
   /**
    * <p>
    *   Returns nearest {@link JDBCTrace}, which gives the timestamp and the FQN
@@ -368,32 +426,25 @@ public class LogError {
   public JDBCTrace getNearestTrace() throws IOException {
     JDBCTrace trace = null;
 
-    if (allTraces == null || allTraces.isEmpty())
+    if (allTraces == null || allTraces.size() == 0)
       return trace;
 
-    LogLine nearestTrace = null;
-    for (LogLine logLine : allTraces) {
-      if (logLine.getLineNumber() < getLogEntry().getBeginLine()) {
-        nearestTrace = logLine;
-      } else {
-        break;
-      }
-    }
-
-    if (nearestTrace != null) {
-      try (BufferedReader reader = getBufferedReader(getLogEntry().getLogFile())) {
+    final int nearestTrace = allTraces.indexBefore(getLogEntry().getBeginLine());
 
-        reader.skip(nearestTrace.getPositionInFile());
+    if (nearestTrace != -1) {
+      // Traces are decoded while parsing, except if they were given as a List of LogLine.
+      trace = allTraces.getTrace(nearestTrace);
+      if (trace != null)
+        return trace;
 
-        final String traceLine = reader.readLine();
-        final String[] traceSegments = traceLine.split(" ");
+      final String traceLine = readLines(getLogEntry().getLogSource(), allTraces.getLines().getPositionInFile(nearestTrace), -1, 1).strip();
+      final String[] traceSegments = traceLine.split(" ");
 
-        final String lastExecutedMethod = traceSegments[traceSegments.length - 2] + " " + traceSegments[traceSegments.length - 1];
-        final String stringDate = traceLine.replace(lastExecutedMethod, "").strip();
-        final String formattedTimestamp = LocalDateTime.parse(stringDate, DEFAULT_TIMESTAMP_FORMATTER).toString();
+      final String lastExecutedMethod = traceSegments[traceSegments.length - 2] + " " + traceSegments[traceSegments.length - 1];
+      final String stringDate = traceLine.replace(lastExecutedMethod, "").strip();
+      final String formattedTimestamp = LocalDateTime.parse(stringDate, DEFAULT_TIMESTAMP_FORMATTER).toString();
 
-        trace = new JDBCTrace(formattedTimestamp, lastExecutedMethod);
-      }
+      trace = new JDBCTrace(formattedTimestamp, lastExecutedMethod);
     }
 
     return trace;
@@ -419,39 +470,21 @@ public class LogError {
     }
   }
 
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object.
-   *
-   * @throws RuntimeException if an {@link IOException} occurs while reading the log file.
-   */
-  public String toJSONString() {
-    try {
-      return """
-        {"logEntry": %s,"sql":%s,"originalSql":%s,"errorMessage":"%s","packetDumps":%s,"tenant":%s,"logLines":"%s","documentationLink":"%s","sqlExecutionTime":%d,"nearestTrace":%s,"connectionId":%s}
-        """.formatted(logEntry.toJSONString(),
-          getSql() == null ? "null" : "\""+getSql()+"\"",
-          getOriginalSql() == null ? "null" : "\""+getOriginalSql()+"\"",
-          getErrorMessage(),
-          getPacketDumps().stream()
-            .map(JDBCPacketDump::toJSONString)
-            .collect(Collectors.joining(",", "[", "]")),
-          getTenant() == null ? "null" : "\""+getTenant()+"\"",
-          getLogLines()
-            .replace("\"", "\\\"")
-            .replace("\n", "\\n")
-            .replace("\t", "\\t"),
-          getDocumentationLink(),
-          getSQLExecutionTime(),
-          getNearestTrace() == null ? "null" : getNearestTrace().toJSONString(),
-          getConnectionId() == null ? "null" : "\"" + getConnectionId() + "\"")
-        .strip();
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to serialize to JSON", e);
-    }
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("logEntry").value(logEntry)
+      .name("sql").value(getSql())
+      .name("originalSql").value(getOriginalSql())
+      .name("errorMessage").value(getErrorMessage())
+      .name("packetDumps").array(getPacketDumps())
+      .name("tenant").value(getTenant())
+      .name("logLines").value(getLogLines())
+      .name("documentationLink").value(getDocumentationLink())
+      .name("sqlExecutionTime").value(getSQLExecutionTime())
+      .name("nearestTrace").value(getNearestTrace())
+      .name("connectionId").value(getConnectionId())
+      .endObject();
   }
 
 }
@@ -0,0 +1,212 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *   Index of the log entries that contain a packet dump, keyed by the
+ *   connection id and the tenant of the {@code CONNECTION_ID=...,TENANT=...,SQL=...}
+ *   line that precedes the dump.
+ * </p>
+ * <p>
+ *   It is filled while the log file is parsed so that the packet dumps of an
+ *   error are found without matching the log entries that precede the error.
+ * </p>
+ *
+ * @see LogError#getPacketDumps()
+ */
+public final class PacketDumpIndex {
+
+  private final Map<Key, Dumps> dumps = new HashMap<>();
+
+  /**
+   * <p>
+   *   Adds a packet dump to the index, log entries must be added in ascending order.
+   * </p>
+   *
+   * @param connectionId the connection id as it appears after {@code CONNECTION_ID=}.
+   * @param tenant the tenant as it appears after {@code TENANT=}.
+   * @param sql the rest of the line after {@code SQL=}, it starts with the SQL.
+   * @param beginLine the first line of the log entry that contains the packet dump.
+   */
+  public void add(final String connectionId, final String tenant, final String sql, final int beginLine) {
+    dumps.computeIfAbsent(new Key(connectionId, tenant), key -> new Dumps())
+      .add(beginLine, sql);
+  }
+
+  /**
+   * <p>
+   *   Appends all the packet dumps of {@code other}, their line numbers are
+   *   shifted by {@code lineOffset}.
+   * </p>
+   *
+   * @param other index of the log entries that follow the log entries of this index.
+   * @param lineOffset number added to the line numbers of {@code other}.
+   */
+  public void addAll(final PacketDumpIndex other, final int lineOffset) {
+    other.dumps.forEach((key, otherDumps) -> {
+      final Dumps keyDumps = dumps.computeIfAbsent(key, k -> new Dumps());
+      for (int i = 0; i < otherDumps.size; i++) {
+        keyDumps.add(otherDumps.beginLines[i] + lineOffset, otherDumps.sqls[i]);
+      }
+    });
+  }
+
+  /**
+   * <p>
+   *   Returns the log entries, among the {@code maxRewind} log entries that
+   *   precede the {@code logEntryIndex}-th log entry (the first log entry of
+   *   the file is never considered), that contain a packet dump of {@code sql}
+   *   on {@code connectionId} and {@code tenant}.
+   * </p>
+   *
+   * @param connectionId the connection id.
+   * @param tenant the tenant.
+   * @param sql the SQL.
+   * @param logEntries the log entries of the log file.
+   * @param logEntryIndex position of the log entry of the error.
+   * @param maxRewind number of log entries to look back.
+   * @return {@link List} of {@link LogEntry} in the order they appear in the log file.
+   */
+  public List<LogEntry> getLogEntries(final String connectionId, final String tenant, final String sql,
+                                      final LogEntryIndex logEntries, final int logEntryIndex, final int maxRewind) {
+    if (logEntryIndex == -1)
+      return Collections.emptyList();
+
+    final Dumps connectionDumps = dumps.get(new Key(connectionId, tenant));
+    if (connectionDumps == null)
+      return Collections.emptyList();
+
+    final int lowestLogEntryIndex = Math.max(logEntryIndex - maxRewind, 0);
+    final int beginLine = logEntries.get(logEntryIndex).getBeginLine();
+
+    final List<LogEntry> result = new ArrayList<>();
+    int lastIndex = -1;
+    for (int i = connectionDumps.lastBefore(beginLine); i >= 0; i--) {
+      final int index = logEntries.indexOfLine(connectionDumps.beginLines[i]);
+      if (index == -1)
+        continue;
+
+      if (index <= lowestLogEntryIndex)
+        break;
+
+      if (index == lastIndex || !connectionDumps.sqls[i].startsWith(sql))
+        continue;
+
+      result.add(logEntries.get(index));
+      lastIndex = index;
+    }
+
+    Collections.reverse(result);
+    return result;
+  }
+
+  /**
+   * <p>
+   *   Writes this index.
+   * </p>
+   *
+   * @param out the output.
+   * @throws IOException if an error occurs while writing.
+   */
+  public void writeTo(final DataOutput out) throws IOException {
+    out.writeInt(dumps.size());
+    for (Map.Entry<Key, Dumps> entry : dumps.entrySet()) {
+      BinaryIO.writeString(out, entry.getKey().connectionId());
+      BinaryIO.writeString(out, entry.getKey().tenant());
+
+      final Dumps keyDumps = entry.getValue();
+      out.writeInt(keyDumps.size);
+      for (int i = 0; i < keyDumps.size; i++) {
+        out.writeInt(keyDumps.beginLines[i]);
+        BinaryIO.writeString(out, keyDumps.sqls[i]);
+      }
+    }
+  }
+
+  /**
+   * <p>
+   *   Reads an index written by {@link #writeTo(DataOutput)}.
+   * </p>
+   *
+   * @param in the input.
+   * @return the index.
+   * @throws IOException if an error occurs while reading.
+   */
+  public static PacketDumpIndex readFrom(final DataInput in) throws IOException {
+    final PacketDumpIndex index = new PacketDumpIndex();
+
+    final int keyCount = BinaryIO.readCount(in);
+    for (int i = 0; i < keyCount; i++) {
+      final Key key = new Key(BinaryIO.readString(in), BinaryIO.readString(in));
+      final Dumps keyDumps = new Dumps();
+      final int size = BinaryIO.readCount(in);
+      for (int j = 0; j < size; j++) {
+        keyDumps.add(in.readInt(), BinaryIO.readString(in));
+      }
+      index.dumps.put(key, keyDumps);
+    }
+
+    return index;
+  }
+
+  private record Key(String connectionId, String tenant) { }
+
+  private static final class Dumps {
+    private int[] beginLines = new int[2];
+    private String[] sqls = new String[2];
+    private int size;
+
+    void add(final int beginLine, final String sql) {
+      // The same line may be repeated in a log entry.
+      if (size > 0 && beginLines[size - 1] == beginLine && sqls[size - 1].equals(sql))
+        return;
+
+      if (size == beginLines.length) {
+        beginLines = Arrays.copyOf(beginLines, size * 2);
+        sqls = Arrays.copyOf(sqls, size * 2);
+      }
+
+      beginLines[size] = beginLine;
+      sqls[size] = sql;
+      size++;
+    }
+
+    /**
+     * @return position of the last log entry that begins before {@code lineNumber}, {@code -1} if none.
+     */
+    int lastBefore(final int lineNumber) {
+      int low = 0;
+      int high = size - 1;
+      int result = -1;
+
+      while (low <= high) {
+        final int middle = (low + high) >>> 1;
+        if (beginLines[middle] < lineNumber) {
+          result = middle;
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+
+      return result;
+    }
+  }
+
+}
@@ -7,6 +7,8 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
+
 /**
  * <p>
  *  POJO to store {@code ORA} error messages with its documentation link.
@@ -19,18 +21,12 @@ package com.oracle.database.jdbc.logs.model;
  *                </a>.
  */
 
-public record RDBMSError(String errorMessage, String documentationLink) {
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-    {"errorMessage":"%s","documentationLink":"%s"}
-    """.formatted(errorMessage, documentationLink)
-      .strip();
+public record RDBMSError(String errorMessage, String documentationLink) implements JSONWritable {
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("errorMessage").value(errorMessage)
+      .name("documentationLink").value(documentationLink)
+      .endObject();
   }
 }
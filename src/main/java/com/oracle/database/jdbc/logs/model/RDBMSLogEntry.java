@@ -7,6 +7,8 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import com.oracle.database.jdbc.logs.analyzer.LogSource;
+
 /**
  * A collection of consecutive log lines in an RDBMS log file.
  * It corresponds to 1 call to the logger (which may be more than 1 line).
@@ -27,4 +29,34 @@ public class RDBMSLogEntry extends LogEntry {
     super(logFile, beginLine, endLine, beginPosition);
   }
 
+  /**
+   * <p>
+   *   Creates a {@link RDBMSLogEntry} instance which lines are between
+   *   {@code beginPosition} and {@code endPosition}.
+   * </p>
+   * @param logFile Oracle JDBC thin log file.
+   * @param beginLine the start line.
+   * @param endLine the end line (inclusive).
+   * @param beginPosition start offset in bytes in the log file.
+   * @param endPosition offset in bytes of the line following the end line.
+   */
+  public RDBMSLogEntry(String logFile, int beginLine, int endLine, long beginPosition, long endPosition) {
+    super(logFile, beginLine, endLine, beginPosition, endPosition);
+  }
+
+  /**
+   * <p>
+   *   Creates a {@link RDBMSLogEntry} instance which lines are read from
+   *   {@code logSource}.
+   * </p>
+   * @param logSource the source of the trace file.
+   * @param beginLine the start line.
+   * @param endLine the end line (inclusive).
+   * @param beginPosition start offset in bytes in the log file.
+   * @param endPosition offset in bytes of the line following the end line.
+   */
+  public RDBMSLogEntry(LogSource logSource, int beginLine, int endLine, long beginPosition, long endPosition) {
+    super(logSource, beginLine, endLine, beginPosition, endPosition);
+  }
+
 }
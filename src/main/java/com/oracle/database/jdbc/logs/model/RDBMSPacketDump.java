@@ -7,6 +7,8 @@
 
 package com.oracle.database.jdbc.logs.model;
 
+import java.io.IOException;
+
 /**
  * <p>
  *   POJO to store RDBMS packet dump data.
@@ -16,21 +18,12 @@ package com.oracle.database.jdbc.logs.model;
  * @param formattedPacket String of formatted packet bytes
  *                        (as it appears in the SQLNet trace file).
  */
-public record RDBMSPacketDump(String timestamp, String formattedPacket) {
-  /**
-   * <p>
-   *   Returns a JSON string representation of this object.
-   * </p>
-   *
-   * @return a JSON-formatted {@link String} representing the current state of this object
-   */
-  public String toJSONString() {
-    return """
-    {"timestamp":"%s","formattedPacket":"%s"}
-    """.formatted(timestamp, formattedPacket.replace("\n", "\\n")
-        .replace("\t", "\\t")
-        .replace("\\", "\\\\")
-        .replace("\"", "\\\""))
-      .strip();
+public record RDBMSPacketDump(String timestamp, String formattedPacket) implements JSONWritable {
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("timestamp").value(timestamp)
+      .name("formattedPacket").value(formattedPacket)
+      .endObject();
   }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>
+ *   POJO to store the details of a {@link LogError} once they have been read
+ *   from the log file, they remain available without the log file.
+ * </p>
+ *
+ * @param logEntry the log entry of the error.
+ * @param sql the SQL statement that failed, if any.
+ * @param originalSql the original SQL statement, if any.
+ * @param errorMessage the error message.
+ * @param errorCode the {@code ORA} error code.
+ * @param packetDumps the packet dumps that preceded the error.
+ * @param tenant the tenant, if any.
+ * @param logLines the lines of the log entry.
+ * @param documentationLink link to the documentation of the error code.
+ * @param sqlExecutionTime execution time of the SQL statement in milliseconds, -1 if unknown.
+ * @param nearestTrace the last trace before the error, if any.
+ * @param connectionId the connection id, if any.
+ */
+public record ResolvedLogError(LogEntry logEntry,
+                               String sql,
+                               String originalSql,
+                               String errorMessage,
+                               String errorCode,
+                               List<JDBCPacketDump> packetDumps,
+                               String tenant,
+                               String logLines,
+                               String documentationLink,
+                               int sqlExecutionTime,
+                               JDBCTrace nearestTrace,
+                               String connectionId) implements JSONWritable {
+
+  /**
+   * <p>
+   *   Reads all the details of an error.
+   * </p>
+   *
+   * @param error the error.
+   * @return the details.
+   * @throws IOException if an error occurs while reading the log file.
+   */
+  public static ResolvedLogError of(final LogError error) throws IOException {
+    return new ResolvedLogError(error.getLogEntry(),
+      error.getSql(),
+      error.getOriginalSql(),
+      error.getErrorMessage(),
+      error.getErrorCode(),
+      List.copyOf(error.getPacketDumps()),
+      error.getTenant(),
+      error.getLogLines(),
+      error.getDocumentationLink(),
+      error.getSQLExecutionTime(),
+      error.getNearestTrace(),
+      error.getConnectionId());
+  }
+
+  /**
+   * <p>
+   *   Writes the same JSON representation as {@link LogError}.
+   * </p>
+   */
+  @Override
+  public void writeJSON(final JSONWriter jsonWriter) throws IOException {
+    jsonWriter.beginObject()
+      .name("logEntry").value(logEntry)
+      .name("sql").value(sql)
+      .name("originalSql").value(originalSql)
+      .name("errorMessage").value(errorMessage)
+      .name("packetDumps").array(packetDumps)
+      .name("tenant").value(tenant)
+      .name("logLines").value(logLines)
+      .name("documentationLink").value(documentationLink)
+      .name("sqlExecutionTime").value(sqlExecutionTime)
+      .name("nearestTrace").value(nearestTrace)
+      .name("connectionId").value(connectionId)
+      .endObject();
+  }
+
+}
@@ -0,0 +1,132 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *   Index of the SQL execution times reported in a log file, keyed by
+ *   connection id and SQL.
+ * </p>
+ * <p>
+ *   It is filled while the log file is parsed, one entry per
+ *   {@code CONNECTION_ID=...,sql=..., time=...ms} line, so that the execution
+ *   time of the SQL that caused an error is found without reading the log
+ *   entries that precede the error.
+ * </p>
+ *
+ * @see LogError#getSQLExecutionTime()
+ */
+public final class SQLTimingIndex {
+
+  private final Map<Key, Timings> timings = new HashMap<>();
+
+  /**
+   * <p>
+   *   Adds an execution time to the index, lines must be added in ascending order.
+   * </p>
+   *
+   * @param connectionId the connection id as it appears after {@code CONNECTION_ID=}.
+   * @param sql the executed SQL.
+   * @param lineNumber the line where the execution time is reported.
+   * @param executionTime the execution time in {@code ms}.
+   */
+  public void add(final String connectionId, final String sql, final int lineNumber, final int executionTime) {
+    if (connectionId == null || sql == null)
+      return;
+
+    timings.computeIfAbsent(new Key(connectionId, sql), key -> new Timings())
+      .add(lineNumber, executionTime);
+  }
+
+  /**
+   * <p>
+   *   Returns the execution time of the nearest execution of {@code sql} on
+   *   {@code connectionId} reported in the {@code maxRewind} log entries that
+   *   precede the {@code logEntryIndex}-th log entry (the first log entry of
+   *   the file is never considered).
+   * </p>
+   *
+   * @param connectionId the connection id.
+   * @param sql the executed SQL.
+   * @param logEntries the log entries of the log file.
+   * @param logEntryIndex position of the log entry of the error.
+   * @param maxRewind number of log entries to look back.
+   * @return execution time in {@code ms}, {@code -1} if not found.
+   */
+  public int getExecutionTime(final String connectionId, final String sql, final LogEntryIndex logEntries,
+                              final int logEntryIndex, final int maxRewind) {
+    if (connectionId == null || sql == null || logEntryIndex == -1)
+      return -1;
+
+    final Timings sqlTimings = timings.get(new Key(connectionId, sql));
+    if (sqlTimings == null)
+      return -1;
+
+    final int lowestLogEntryIndex = Math.max(logEntryIndex - maxRewind, 0);
+    final int beginLine = logEntries.get(logEntryIndex).getBeginLine();
+
+    // Walk back from the nearest execution reported before the error.
+    for (int i = sqlTimings.lastBefore(beginLine); i >= 0; i--) {
+      final int index = logEntries.indexOfLine(sqlTimings.lineNumbers[i]);
+      if (index == -1)
+        continue;
+
+      if (index <= lowestLogEntryIndex)
+        break;
+
+      return sqlTimings.executionTimes[i];
+    }
+
+    return -1;
+  }
+
+  private record Key(String connectionId, String sql) { }
+
+  private static final class Timings {
+    private int[] lineNumbers = new int[2];
+    private int[] executionTimes = new int[2];
+    private int size;
+
+    void add(final int lineNumber, final int executionTime) {
+      if (size == lineNumbers.length) {
+        lineNumbers = Arrays.copyOf(lineNumbers, size * 2);
+        executionTimes = Arrays.copyOf(executionTimes, size * 2);
+      }
+
+      lineNumbers[size] = lineNumber;
+      executionTimes[size] = executionTime;
+      size++;
+    }
+
+    /**
+     * @return position of the last line before {@code lineNumber}, {@code -1} if none.
+     */
+    int lastBefore(final int lineNumber) {
+      int low = 0;
+      int high = size - 1;
+      int result = -1;
+
+      while (low <= high) {
+        final int middle = (low + high) >>> 1;
+        if (lineNumbers[middle] < lineNumber) {
+          result = middle;
+          low = middle + 1;
+        } else {
+          high = middle - 1;
+        }
+      }
+
+      return result;
+    }
+  }
+
+}
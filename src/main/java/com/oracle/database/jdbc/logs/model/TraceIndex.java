@@ -0,0 +1,226 @@
+/*
+ ** OJDBC Log Analyzer version 1.0.0
+ **
+ ** Copyright (c) 2025 Oracle and/or its affiliates.
+ ** Licensed under the Universal Permissive License v 1.0 as shown at https://oss.oracle.com/licenses/upl/
+ */
+
+package com.oracle.database.jdbc.logs.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *   Index of the trace lines of a log file with their decoded {@link JDBCTrace}.
+ * </p>
+ * <p>
+ *   The timestamps are stored as seconds and the executed methods as ids in a
+ *   dictionary (a log file only calls a few hundred distinct methods), so a
+ *   trace costs 12 bytes on top of its {@link LineIndex} entry.
+ * </p>
+ */
+public final class TraceIndex {
+
+  private static final int NOT_DECODED = -1;
+
+  private final LineIndex lines;
+  private long[] timestamps;
+  private int[] methodIds;
+  private int decodedSize;
+
+  private final List<String> methods = new ArrayList<>();
+  private final Map<String, Integer> methodIdsByName = new HashMap<>();
+
+  /**
+   * <p>
+   *   Creates an empty index.
+   * </p>
+   */
+  public TraceIndex() {
+    this(new LineIndex());
+  }
+
+  private TraceIndex(final LineIndex lines) {
+    this.lines = lines;
+    this.timestamps = new long[Math.max(lines.size(), 16)];
+    this.methodIds = new int[timestamps.length];
+  }
+
+  /**
+   * <p>
+   *   Creates an index of trace lines that haven't been decoded.
+   * </p>
+   *
+   * @param lines the trace lines.
+   * @return {@link TraceIndex} of the lines, {@link #getTrace(int)} returns {@code null} for all of them.
+   */
+  public static TraceIndex of(final LineIndex lines) {
+    return new TraceIndex(lines);
+  }
+
+  /**
+   * <p>
+   *   Appends a trace line to the index.
+   * </p>
+   *
+   * @param lineNumber line number, greater than the last added line number.
+   * @param positionInFile offset in bytes of the line in the log file.
+   * @param timestamp decoded timestamp, {@code null} if the line couldn't be decoded.
+   * @param executedMethod fully qualified class name with method name.
+   */
+  public void add(final int lineNumber, final long positionInFile, final LocalDateTime timestamp,
+                  final String executedMethod) {
+    final int index = lines.size();
+    lines.add(lineNumber, positionInFile);
+
+    if (index >= timestamps.length) {
+      timestamps = Arrays.copyOf(timestamps, Math.max(index + 1, timestamps.length * 2));
+      methodIds = Arrays.copyOf(methodIds, timestamps.length);
+    }
+
+    // Lines of an index created by of(LineIndex) are not decoded.
+    Arrays.fill(methodIds, decodedSize, index, NOT_DECODED);
+
+    if (timestamp == null) {
+      methodIds[index] = NOT_DECODED;
+    } else {
+      timestamps[index] = timestamp.toEpochSecond(ZoneOffset.UTC);
+      methodIds[index] = methodIdsByName.computeIfAbsent(executedMethod, method -> {
+        methods.add(method);
+        return methods.size() - 1;
+      });
+    }
+    decodedSize = index + 1;
+  }
+
+  /**
+   * <p>
+   *   Appends all the traces of {@code other}, their line numbers are shifted
+   *   by {@code lineOffset}.
+   * </p>
+   *
+   * @param other index of the traces that follow the traces of this index.
+   * @param lineOffset number added to the line numbers of {@code other}.
+   */
+  public void addAll(final TraceIndex other, final int lineOffset) {
+    for (int i = 0; i < other.size(); i++) {
+      final boolean decoded = i < other.decodedSize && other.methodIds[i] != NOT_DECODED;
+      add(other.lines.getLineNumber(i) + lineOffset, other.lines.getPositionInFile(i),
+        decoded ? LocalDateTime.ofEpochSecond(other.timestamps[i], 0, ZoneOffset.UTC) : null,
+        decoded ? other.methods.get(other.methodIds[i]) : null);
+    }
+  }
+
+  /**
+   * <p>
+   *   Writes this index, the executed methods are written once.
+   * </p>
+   *
+   * @param out the output.
+   * @throws IOException if an error occurs while writing.
+   */
+  public void writeTo(final DataOutput out) throws IOException {
+    lines.writeTo(out);
+
+    out.writeInt(methods.size());
+    for (String method : methods) {
+      BinaryIO.writeString(out, method);
+    }
+
+    for (int i = 0; i < size(); i++) {
+      final int methodId = i < decodedSize ? methodIds[i] : NOT_DECODED;
+      out.writeInt(methodId);
+      if (methodId != NOT_DECODED)
+        out.writeLong(timestamps[i]);
+    }
+  }
+
+  /**
+   * <p>
+   *   Reads an index written by {@link #writeTo(DataOutput)}.
+   * </p>
+   *
+   * @param in the input.
+   * @return the index.
+   * @throws IOException if an error occurs while reading.
+   */
+  public static TraceIndex readFrom(final DataInput in) throws IOException {
+    final TraceIndex index = new TraceIndex(LineIndex.readFrom(in));
+
+    final int methodCount = BinaryIO.readCount(in);
+    for (int i = 0; i < methodCount; i++) {
+      final String method = BinaryIO.readString(in);
+      index.methods.add(method);
+      index.methodIdsByName.put(method, i);
+    }
+
+    for (int i = 0; i < index.size(); i++) {
+      index.methodIds[i] = in.readInt();
+      if (index.methodIds[i] != NOT_DECODED)
+        index.timestamps[i] = in.readLong();
+    }
+    index.decodedSize = index.size();
+
+    return index;
+  }
+
+  /**
+   * <p>
+   *   Returns the trace lines.
+   * </p>
+   *
+   * @return {@link LineIndex} of the trace lines.
+   */
+  public LineIndex getLines() {
+    return lines;
+  }
+
+  /**
+   * <p>
+   *   Returns the number of traces in this index.
+   * </p>
+   *
+   * @return number of indexed traces.
+   */
+  public int size() {
+    return lines.size();
+  }
+
+  /**
+   * <p>
+   *   Finds the last trace located before the line {@code lineNumber}.
+   * </p>
+   *
+   * @param lineNumber line number in the log file.
+   * @return position of the trace in this index, {@code -1} if there is none.
+   */
+  public int indexBefore(final int lineNumber) {
+    return lines.indexBefore(lineNumber);
+  }
+
+  /**
+   * <p>
+   *   Returns the decoded {@code index}-th trace.
+   * </p>
+   *
+   * @param index position of the trace in this index.
+   * @return the {@link JDBCTrace}, {@code null} if the trace wasn't decoded.
+   */
+  public JDBCTrace getTrace(final int index) {
+    if (index >= decodedSize || methodIds[index] == NOT_DECODED)
+      return null;
+
+    final LocalDateTime timestamp = LocalDateTime.ofEpochSecond(timestamps[index], 0, ZoneOffset.UTC);
+    return new JDBCTrace(timestamp.toString(), methods.get(methodIds[index]));
+  }
+
+}
@@ -0,0 +1,168 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.json;
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedLogTest {
+
+  private static final String FILE_SIZE = "\"fileSize\":\"[^\"]*\"";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void jdbcLogTest() throws IOException {
+    final String plainLog = path("ojdbc-2.log");
+    final byte[] content = Files.readAllBytes(Path.of(plainLog));
+    final JDBCLog expected = new JDBCLog(plainLog);
+
+    for (Path compressedLog : new Path[]{gzip(content, "ojdbc-2.log.gz"), gzipMembers(content, "ojdbc-2.log.gz2"),
+        zip(content, "ojdbc-2.zip")}) {
+      final JDBCLog actual = new JDBCLog(compressedLog.toString());
+      final String name = compressedLog.getFileName().toString();
+
+      assertEquals(json(expected.getQueries()), json(actual.getQueries()), name);
+      assertEquals(json(expected.getConnectionEvents()), json(actual.getConnectionEvents()), name);
+      // The file size is the size of the compressed file.
+      assertEquals(expected.getStats().toJSONString().replaceFirst(FILE_SIZE, ""),
+        actual.getStats().toJSONString().replaceFirst(FILE_SIZE, ""), name);
+
+      final List<LogError> expectedErrors = expected.getLogErrors();
+      final List<LogError> actualErrors = actual.getLogErrors();
+      assertEquals(expectedErrors.size(), actualErrors.size(), name);
+      for (int i = 0; i < expectedErrors.size(); i++) {
+        assertEquals(expectedErrors.get(i).getLogLines(), actualErrors.get(i).getLogLines(), name);
+        assertEquals(expectedErrors.get(i).toJSONString(),
+          actualErrors.get(i).toJSONString().replace(compressedLog.toString(), plainLog), name);
+      }
+
+      assertFalse(actual.refresh(), name);
+      assertThrows(UnsupportedOperationException.class, () -> actual.follow(Duration.ofSeconds(1)));
+    }
+  }
+
+  @Test
+  void indexedWhileAnalyzedTest() throws IOException {
+    final Path compressedLog = gzip(Files.readAllBytes(Path.of(path("ojdbc-2.log"))), "indexed.log.gz");
+    assertNull(GzipIndex.cached(compressedLog));
+
+    // The analysis decompresses the gzip file once, and indexes it on the way.
+    final JDBCLog jdbcLog = new JDBCLog(compressedLog.toString());
+    jdbcLog.getStats();
+    final GzipIndex index = GzipIndex.cached(compressedLog);
+    assertNotNull(index);
+
+    // The lines of the errors are read from the index, it isn't built again.
+    assertFalse(jdbcLog.getLogErrors().isEmpty());
+    assertFalse(jdbcLog.getLogErrors().get(0).getLogLines().isEmpty());
+    assertSame(index, GzipIndex.of(compressedLog));
+  }
+
+  @Test
+  void parallelJDBCLogTest() throws IOException {
+    final String plainLog = path("ojdbc-2.log");
+    final Path compressedLog = gzip(Files.readAllBytes(Path.of(plainLog)), "ojdbc-2.log.gz");
+
+    assertEquals(json(new JDBCLog(plainLog).getQueries()),
+      json(new JDBCLog(compressedLog.toString(), 4).getQueries()));
+  }
+
+  @Test
+  void rdbmsLogTest() throws IOException {
+    final String connectionId = "BZyObJFSTCyZV9xp+bad4Q==";
+    final byte[] content = Files.readAllBytes(Path.of(path("rdbms.log")));
+    final RDBMSLog expected = new RDBMSLog(path("rdbms.log"));
+
+    for (Path compressedLog : new Path[]{gzip(content, "rdbms.log.gz"), zip(content, "rdbms.zip")}) {
+      final RDBMSLog actual = new RDBMSLog(compressedLog.toString());
+      assertEquals(json(expected.getErrors()), json(actual.getErrors()));
+      assertEquals(json(expected.getPacketDumps(connectionId)), json(actual.getPacketDumps(connectionId)));
+    }
+  }
+
+  @Test
+  void refreshTest() throws IOException {
+    final byte[] content = Files.readAllBytes(Path.of(path("ojdbc-2.log")));
+    final Path compressedLog = tempDir.resolve("ojdbc-2.log.gz");
+    final int half = content.length / 2;
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressedLog))) {
+      out.write(content, 0, half);
+    }
+
+    final JDBCLog jdbcLog = new JDBCLog(compressedLog.toString());
+    assertTrue(jdbcLog.getQueries().size() < new JDBCLog(path("ojdbc-2.log")).getQueries().size());
+    assertFalse(jdbcLog.refresh());
+
+    // A gzip member is appended, as done by a rotation that compresses in place.
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressedLog, StandardOpenOption.APPEND))) {
+      out.write(content, half, content.length - half);
+    }
+    assertTrue(jdbcLog.refresh());
+    assertEquals(json(new JDBCLog(path("ojdbc-2.log")).getQueries()), json(jdbcLog.getQueries()));
+  }
+
+  @Test
+  void emptyZipTest() throws IOException {
+    final Path emptyZip = tempDir.resolve("empty.zip");
+    try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(emptyZip))) {
+      out.putNextEntry(new ZipEntry("logs/"));
+      out.closeEntry();
+    }
+
+    assertThrows(ZipException.class, () -> new JDBCLog(emptyZip.toString()).getQueries());
+  }
+
+  private Path gzip(final byte[] content, final String name) throws IOException {
+    final Path file = tempDir.resolve(name);
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+      out.write(content);
+    }
+    return file;
+  }
+
+  /**
+   * Concatenates gzip members, split in the middle of a line.
+   */
+  private Path gzipMembers(final byte[] content, final String name) throws IOException {
+    final Path file = tempDir.resolve(name);
+    try (OutputStream out = Files.newOutputStream(file)) {
+      final int[] boundaries = {0, content.length / 3 + 1, 2 * content.length / 3 + 1, content.length};
+      for (int i = 0; i < boundaries.length - 1; i++) {
+        final GZIPOutputStream member = new GZIPOutputStream(out);
+        member.write(content, boundaries[i], boundaries[i + 1] - boundaries[i]);
+        member.finish();
+      }
+    }
+    return file;
+  }
+
+  private Path zip(final byte[] content, final String name) throws IOException {
+    final Path file = tempDir.resolve(name);
+    try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file))) {
+      out.putNextEntry(new ZipEntry("logs/"));
+      out.closeEntry();
+      out.putNextEntry(new ZipEntry("logs/" + name.replace(".zip", ".log")));
+      out.write(content);
+      out.closeEntry();
+    }
+    return file;
+  }
+
+}
@@ -0,0 +1,199 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipIndexTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void randomAccessTest() throws IOException {
+    final byte[] content = content();
+    for (int level : new int[]{Deflater.NO_COMPRESSION, Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION}) {
+      final Path file = tempDir.resolve("log-" + level + ".gz");
+      try (OutputStream out = gzip(Files.newOutputStream(file), level)) {
+        out.write(content);
+      }
+      assertRandomAccess(file, content);
+    }
+  }
+
+  @Test
+  void membersTest() throws IOException {
+    final byte[] content = content();
+    final Path file = tempDir.resolve("members.gz");
+    try (OutputStream out = Files.newOutputStream(file)) {
+      for (int from = 0; from < content.length; from += 100_000) {
+        final GZIPOutputStream member = gzip(out, Deflater.BEST_SPEED);
+        member.write(content, from, Math.min(100_000, content.length - from));
+        member.finish();
+      }
+      // Bytes after the last member are ignored.
+      out.write("not a gzip member".getBytes(StandardCharsets.US_ASCII));
+    }
+    assertRandomAccess(file, content);
+  }
+
+  @Test
+  void modifiedFileTest() throws IOException {
+    final Path file = tempDir.resolve("log.gz");
+    try (OutputStream out = gzip(Files.newOutputStream(file), Deflater.DEFAULT_COMPRESSION)) {
+      out.write("first line\nsecond line\n".getBytes(StandardCharsets.US_ASCII));
+    }
+    try (InputStream in = GzipIndex.of(file).open(11)) {
+      assertEquals("second line\n", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+    }
+
+    try (OutputStream out = gzip(Files.newOutputStream(file), Deflater.DEFAULT_COMPRESSION)) {
+      out.write("1st line\n2nd line\n".getBytes(StandardCharsets.US_ASCII));
+    }
+    Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+    try (InputStream in = GzipIndex.of(file).open(9)) {
+      assertEquals("2nd line\n", new String(in.readAllBytes(), StandardCharsets.US_ASCII));
+    }
+  }
+
+  @Test
+  void truncatedFileTest() throws IOException {
+    final Path file = tempDir.resolve("truncated.gz");
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = gzip(bytes, Deflater.DEFAULT_COMPRESSION)) {
+      out.write(content());
+    }
+    final byte[] compressed = bytes.toByteArray();
+    Files.write(file, Arrays.copyOf(compressed, compressed.length / 2));
+
+    assertThrows(IOException.class, () -> GzipIndex.build(file, 64 * 1024));
+  }
+
+  @Test
+  void maxCheckpointsTest() {
+    final GzipIndex.Builder builder = new GzipIndex.Builder(1000);
+    for (long position = 0; position < 5_000_000; position += 10) {
+      if (position >= builder.nextPosition())
+        builder.add(new GzipIndex.Checkpoint(position * 8, position, position, 0, null));
+    }
+
+    // The span doubled each time the checkpoints were thinned out.
+    final List<GzipIndex.Checkpoint> checkpoints = builder.checkpoints();
+    assertTrue(checkpoints.size() <= GzipIndex.MAX_CHECKPOINTS, "checkpoints " + checkpoints.size());
+    assertEquals(8000, builder.span());
+    assertEquals(0, checkpoints.get(0).position());
+    for (int i = 1; i < checkpoints.size(); i++)
+      assertTrue(checkpoints.get(i).position() - checkpoints.get(i - 1).position() >= 4000);
+  }
+
+  @Test
+  void deflatedWindowsTest() throws IOException {
+    final Path file = tempDir.resolve("log.gz");
+    try (OutputStream out = gzip(Files.newOutputStream(file), Deflater.DEFAULT_COMPRESSION)) {
+      out.write(content());
+    }
+
+    // The windows of log lines are much smaller deflated.
+    final GzipIndex index = GzipIndex.build(file, 64 * 1024);
+    assertTrue(index.bytes() < (long) index.size() * GzipCheckpointInputStream.WINDOW_SIZE / 2,
+      index.bytes() + " bytes for " + index.size() + " checkpoints");
+  }
+
+  @Test
+  void corruptedTrailerTest() throws IOException {
+    final Path file = tempDir.resolve("corrupted.gz");
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = gzip(bytes, Deflater.DEFAULT_COMPRESSION)) {
+      out.write(content());
+    }
+    final byte[] compressed = bytes.toByteArray();
+    Files.write(file, compressed);
+    final GzipIndex index = GzipIndex.build(file, 64 * 1024);
+
+    // The CRC-32, then the size of the member.
+    for (int corrupted : new int[]{compressed.length - 8, compressed.length - 4}) {
+      final byte[] copy = compressed.clone();
+      copy[corrupted] ^= 1;
+      Files.write(file, copy);
+      assertThrows(ZipException.class, () -> GzipIndex.build(file, 64 * 1024));
+      // Also when the member is read from one of its blocks.
+      try (InputStream in = index.open(900_000)) {
+        assertThrows(ZipException.class, in::readAllBytes);
+      }
+    }
+  }
+
+  @Test
+  void combineCrcTest() {
+    final byte[] content = content();
+    final CRC32 crc = new CRC32();
+    crc.update(content);
+    for (int split : new int[]{0, 1, 1000, 65_536, content.length - 1, content.length}) {
+      final CRC32 first = new CRC32();
+      first.update(content, 0, split);
+      final CRC32 second = new CRC32();
+      second.update(content, split, content.length - split);
+      assertEquals((int) crc.getValue(), GzipCheckpointInputStream.combineCrc((int) first.getValue(),
+        (int) second.getValue(), content.length - split), "split at " + split);
+    }
+  }
+
+  private static void assertRandomAccess(final Path file, final byte[] content) throws IOException {
+    final GzipIndex index = GzipIndex.build(file, 64 * 1024);
+    assertTrue(index.size() > 1, file.toString());
+
+    try (InputStream in = index.open(0)) {
+      assertArrayEquals(content, in.readAllBytes(), file.toString());
+    }
+
+    final Random random = new Random(42);
+    for (int i = 0; i < 50; i++) {
+      final int position = random.nextInt(content.length);
+      final int length = Math.min(500, content.length - position);
+      try (InputStream in = index.open(position)) {
+        assertArrayEquals(Arrays.copyOfRange(content, position, position + length), in.readNBytes(length),
+          file + " at " + position);
+      }
+    }
+  }
+
+  /**
+   * Log-like lines, repetitive enough for long matches.
+   */
+  private static byte[] content() {
+    final Random random = new Random(7);
+    final StringBuilder content = new StringBuilder();
+    for (int i = 0; content.length() < 1_000_000; i++) {
+      content.append("2024-06-20T21:44:").append(i % 60).append(" FINE: thread-").append(random.nextInt(16))
+        .append(" executeQuery SELECT * FROM T").append(random.nextInt(1000)).append(" WHERE ID = ")
+        .append(random.nextLong()).append('\n');
+    }
+    return content.toString().getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static GZIPOutputStream gzip(final OutputStream out, final int level) throws IOException {
+    return new GZIPOutputStream(out) {
+      {
+        def.setLevel(level);
+      }
+    };
+  }
+
+}
@@ -0,0 +1,184 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpRangeCacheTest {
+
+  @Test
+  void readLinesTest() throws IOException {
+    final StringBuilder log = new StringBuilder();
+    for (int i = 0; log.length() < 4_000_000; i++)
+      log.append("line ").append(i).append('\n');
+    final byte[] content = log.toString().getBytes(StandardCharsets.US_ASCII);
+
+    try (RangeServer server = new RangeServer(true)) {
+      server.content = content;
+      final LogSource source = LogSource.of(server.url(), null);
+      assertTrue(source.isSeekable());
+
+      final int position = log.indexOf("line 200000\n");
+      assertEquals("line 200000\nline 200001\n", Utils.readLines(source, position, -1, 2));
+      // The first block (compression check), then the blocks of the lines.
+      assertEquals(2, server.rangeRequests.get());
+      assertTrue(server.rangeBytes.get() <= 3 * HttpRangeCache.BLOCK_SIZE);
+
+      // The lines of a neighbouring entry are in the same blocks.
+      final int neighbour = log.indexOf("line 200100\n");
+      assertEquals("line 200100\n", Utils.readLines(source, neighbour, neighbour + 12, -1));
+      assertEquals(2, server.rangeRequests.get());
+
+      // Up to the end of the log file, with larger and larger requests.
+      final int end = log.indexOf("\n", content.length - 200_000) + 1;
+      assertEquals(log.substring(end), Utils.readLines(source, end, -1, -1));
+      assertTrue(server.rangeRequests.get() < 10);
+      assertEquals(0, server.downloads.get());
+    }
+  }
+
+  @Test
+  void streamTest() throws IOException {
+    final byte[] content = new byte[100_000];
+    for (int i = 0; i < content.length; i++)
+      content[i] = (byte) (i * 31);
+
+    try (RangeServer server = new RangeServer(true)) {
+      server.content = content;
+      final HttpRangeCache ranges = new HttpRangeCache(server.url());
+      assertTrue(ranges.isSupported());
+
+      try (InputStream in = ranges.open(content.length - 1)) {
+        assertEquals(content[content.length - 1] & 0xFF, in.read());
+        assertEquals(-1, in.read());
+      }
+      try (InputStream in = ranges.open(content.length + 10)) {
+        assertEquals(-1, in.read());
+      }
+
+      // The blocks of the previous version are dropped once the ETag changes.
+      final byte[] updated = content.clone();
+      updated[0] = 1;
+      updated[40_000] = 2;
+      server.update(updated);
+      try (InputStream in = ranges.open(40_000)) {
+        assertArrayEquals(Arrays.copyOfRange(updated, 40_000, updated.length), in.readAllBytes());
+      }
+      try (InputStream in = ranges.open(0)) {
+        assertArrayEquals(updated, in.readAllBytes());
+      }
+    }
+  }
+
+  @Test
+  void jdbcLogTest() throws IOException {
+    final String logLocation = HttpRangeCacheTest.class.getClassLoader().getResource("ojdbc-2.log").getPath();
+    final List<LogError> expected = new JDBCLog(logLocation).getLogErrors();
+
+    for (boolean isRangeSupported : new boolean[]{true, false}) {
+      try (RangeServer server = new RangeServer(isRangeSupported)) {
+        server.content = Files.readAllBytes(Path.of(logLocation));
+        final List<LogError> actual = new JDBCLog(LogSource.of(server.url(), null)).getLogErrors();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+          assertEquals(expected.get(i).getLogLines(), actual.get(i).getLogLines());
+
+        if (isRangeSupported) {
+          // The analysis downloads the log file, the lines of the errors are read with range requests.
+          assertEquals(1, server.downloads.get());
+          assertTrue(server.rangeBytes.get() < server.content.length);
+        } else {
+          assertTrue(server.downloads.get() > 1);
+        }
+      }
+    }
+  }
+
+  /**
+   * Serves a log file, with or without the support of range requests.
+   */
+  private static final class RangeServer implements AutoCloseable {
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private final HttpServer server;
+    private final boolean isRangeSupported;
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger rangeRequests = new AtomicInteger();
+    private final AtomicLong rangeBytes = new AtomicLong();
+    private volatile byte[] content;
+    private volatile int version;
+
+    RangeServer(final boolean isRangeSupported) throws IOException {
+      this.isRangeSupported = isRangeSupported;
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      server.createContext("/", this::handle);
+      server.start();
+    }
+
+    URL url() throws IOException {
+      return new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getAddress().getPort(), "/log");
+    }
+
+    void update(final byte[] content) {
+      this.content = content;
+      version++;
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+      try (exchange) {
+        final byte[] body = content;
+        exchange.getResponseHeaders().set("ETag", "\"v" + version + "\"");
+        final String range = exchange.getRequestHeaders().getFirst("Range");
+        final Matcher matcher = range == null ? null : RANGE.matcher(range);
+        if (!isRangeSupported || matcher == null || !matcher.matches()) {
+          downloads.incrementAndGet();
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+          return;
+        }
+
+        rangeRequests.incrementAndGet();
+        final int first = (int) Math.min(Long.parseLong(matcher.group(1)), Integer.MAX_VALUE);
+        if (first >= body.length) {
+          exchange.getResponseHeaders().set("Content-Range", "bytes */" + body.length);
+          exchange.sendResponseHeaders(416, -1);
+          return;
+        }
+        final int last = (int) Math.min(Long.parseLong(matcher.group(2)), body.length - 1);
+        exchange.getResponseHeaders().set("Content-Range", "bytes " + first + "-" + last + "/" + body.length);
+        exchange.sendResponseHeaders(206, last - first + 1);
+        rangeBytes.addAndGet(last - first + 1);
+        try (OutputStream out = exchange.getResponseBody()) {
+          out.write(body, first, last - first + 1);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      server.stop(0);
+    }
+  }
+
+}
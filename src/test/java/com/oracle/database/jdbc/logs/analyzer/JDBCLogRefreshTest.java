@@ -0,0 +1,169 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JDBCLogRefreshTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void refreshTest() throws IOException {
+    for (String log : new String[]{"ojdbc.log", "ojdbc-2.log", "ojdbc-test.log"}) {
+      final byte[] content = read(log);
+      final List<String> expected = describe(new JDBCLog(write(log, content).toString()));
+
+      // The log file grows by a few lines at a time, records are often cut in the middle.
+      for (int linesPerRefresh : new int[]{1, 7, 100}) {
+        final Path logFile = write(log, new byte[0]);
+        final JDBCLog jdbcLog = new JDBCLog(logFile.toString());
+        jdbcLog.getStats();
+
+        int position = 0;
+        while (position < content.length) {
+          final int end = nextLines(content, position, linesPerRefresh);
+          Files.write(logFile, Arrays.copyOfRange(content, position, end), StandardOpenOption.APPEND);
+          assertTrue(jdbcLog.refresh(), "The log file grew");
+          position = end;
+        }
+
+        assertFalse(jdbcLog.refresh(), "The log file didn't grow");
+        assertEquals(expected, describe(jdbcLog),
+          log + " refreshed every " + linesPerRefresh + " lines should give the same result");
+      }
+    }
+  }
+
+  @Test
+  void returnedListsTest() throws IOException {
+    final byte[] content = read("ojdbc-2.log");
+    final int half = nextLines(content, 0, 200);
+    final Path logFile = write("ojdbc-2.log", Arrays.copyOf(content, half));
+    final JDBCLog jdbcLog = new JDBCLog(logFile.toString());
+    final List<?> queries = jdbcLog.getQueries();
+    final int queryCount = queries.size();
+    assertThrows(UnsupportedOperationException.class, queries::clear);
+    // The copy is only made again once the analysis changed.
+    assertSame(queries, jdbcLog.getQueries());
+    assertSame(jdbcLog.getConnectionEvents(), jdbcLog.getConnectionEvents());
+
+    // The lists already returned don't change while the log file is refreshed.
+    Files.write(logFile, Arrays.copyOfRange(content, half, content.length), StandardOpenOption.APPEND);
+    assertTrue(jdbcLog.refresh());
+    assertEquals(queryCount, queries.size());
+    assertNotSame(queries, jdbcLog.getQueries());
+    assertTrue(jdbcLog.getQueries().size() > queryCount);
+  }
+
+  @Test
+  void refreshIndexedTest() throws IOException {
+    final byte[] content = read("ojdbc-2.log");
+    final int half = nextLines(content, 0, 200);
+    final Path logFile = write("ojdbc-2.log", Arrays.copyOf(content, half));
+    final Path indexDirectory = tempDir.resolve("index");
+    describe(new JDBCLog(logFile.toString(), 1, indexDirectory));
+
+    // Resumed from the state read from the index.
+    final JDBCLog jdbcLog = new JDBCLog(logFile.toString(), 1, indexDirectory);
+    jdbcLog.getStats();
+    final List<FileTime> indexTimes = lastModifiedTimes(indexDirectory);
+    Files.write(logFile, Arrays.copyOfRange(content, half, content.length), StandardOpenOption.APPEND);
+    assertTrue(jdbcLog.refresh());
+
+    final List<String> expected = describe(new JDBCLog(logFile.toString()));
+    assertEquals(expected, describe(jdbcLog), "A log file resumed from its index should give the same result");
+    assertEquals(indexTimes, lastModifiedTimes(indexDirectory), "A small refresh shouldn't rewrite the index");
+    assertEquals(expected, describe(new JDBCLog(logFile.toString(), 1, indexDirectory)),
+      "An outdated index should be ignored");
+  }
+
+  @Test
+  void rewrittenLogTest() throws IOException {
+    final byte[] content = read("ojdbc-2.log");
+    final Path logFile = write("ojdbc-2.log", content);
+    final JDBCLog jdbcLog = new JDBCLog(logFile.toString());
+    jdbcLog.getStats();
+
+    // A rotated log file that is larger than the previous one.
+    final byte[] other = read("ojdbc-test.log");
+    final byte[] rotated = (new String(other, StandardCharsets.UTF_8) + "\n").repeat(content.length / other.length + 1)
+      .getBytes(StandardCharsets.UTF_8);
+    Files.write(logFile, rotated);
+    assertTrue(jdbcLog.refresh());
+    assertEquals(describe(new JDBCLog(logFile.toString())), describe(jdbcLog),
+      "A rewritten log file should be analyzed again");
+  }
+
+  @Test
+  void incompleteLineTest() throws IOException {
+    final byte[] content = read("ojdbc-2.log");
+    final int end = nextLines(content, 0, 50);
+    final Path logFile = write("ojdbc-2.log", Arrays.copyOf(content, end - 10));
+    final JDBCLog jdbcLog = new JDBCLog(logFile.toString());
+    jdbcLog.getStats();
+
+    // The last line was parsed before it was complete.
+    Files.write(logFile, Arrays.copyOfRange(content, end - 10, content.length), StandardOpenOption.APPEND);
+    assertTrue(jdbcLog.refresh());
+    assertEquals(describe(new JDBCLog(logFile.toString())), describe(jdbcLog),
+      "A log file analyzed in the middle of a line should be analyzed again");
+  }
+
+  private static List<FileTime> lastModifiedTimes(final Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      final List<FileTime> times = new ArrayList<>();
+      for (Path file : files.sorted().collect(Collectors.toList()))
+        times.add(Files.getLastModifiedTime(file));
+      return times;
+    }
+  }
+
+  private static byte[] read(final String log) throws IOException {
+    return Files.readAllBytes(Path.of(JDBCLogRefreshTest.class.getClassLoader().getResource(log).getPath()));
+  }
+
+  private Path write(final String log, final byte[] content) throws IOException {
+    return Files.write(tempDir.resolve(log), content);
+  }
+
+  /**
+   * @return the offset after {@code lineCount} lines starting at {@code position}.
+   */
+  private static int nextLines(final byte[] content, final int position, final int lineCount) {
+    int end = position;
+    for (int i = 0; i < lineCount && end < content.length; i++) {
+      while (end < content.length && content[end++] != '\n') {
+        // Skips to the next line.
+      }
+    }
+    return end;
+  }
+
+  private static List<String> describe(final JDBCLog jdbcLog) throws IOException {
+    final List<String> description = new ArrayList<>();
+    for (LogError error : jdbcLog.getLogErrors()) {
+      description.add(error.toJSONString());
+    }
+    description.add("queries=" + jdbcLog.getQueries());
+    description.add("events=" + jdbcLog.getConnectionEvents());
+    description.add("stats=" + jdbcLog.getStats());
+    return description;
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JDBCLogSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.json;
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JDBCLogSnapshotTest {
+
+  @Test
+  void roundTripTest() throws IOException {
+    for (String log : new String[]{"ojdbc.log", "ojdbc-2.log", "ojdbc-test.log"}) {
+      final JDBCLog jdbcLog = new JDBCLog(path(log));
+      final byte[] bytes = write(jdbcLog.snapshot());
+      final JDBCLogSnapshot snapshot = JDBCLogSnapshot.readFrom(new ByteArrayInputStream(bytes));
+
+      assertEquals(path(log), snapshot.logLocation());
+      assertEquals(jdbcLog.getStats(), snapshot.stats(), log + " stats");
+      assertEquals(jdbcLog.getQueries(), snapshot.queries(), log + " queries");
+      assertEquals(jdbcLog.getConnectionEvents(), snapshot.connectionEvents(), log + " connection events");
+      final List<String> errors = json(jdbcLog.getLogErrors());
+      assertEquals(errors, json(snapshot.errors()), log + " errors");
+
+      final int jsonLength = String.join("", errors).getBytes(StandardCharsets.UTF_8).length
+        + String.join("", json(jdbcLog.getQueries())).length()
+        + String.join("", json(jdbcLog.getConnectionEvents())).length();
+      assertTrue(bytes.length < jsonLength / 2, log + " snapshot of " + bytes.length + " bytes for " + jsonLength + " bytes of JSON");
+    }
+  }
+
+  @Test
+  void invalidSnapshotTest() throws IOException {
+    final byte[] bytes = write(new JDBCLog(path("ojdbc-2.log")).snapshot());
+
+    final byte[] otherMagic = bytes.clone();
+    otherMagic[0] = 0;
+    assertThrows(IOException.class, () -> JDBCLogSnapshot.readFrom(new ByteArrayInputStream(otherMagic)));
+
+    final byte[] otherVersion = bytes.clone();
+    otherVersion[7] = 99;
+    assertThrows(IOException.class, () -> JDBCLogSnapshot.readFrom(new ByteArrayInputStream(otherVersion)));
+
+    final byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+    assertThrows(IOException.class, () -> JDBCLogSnapshot.readFrom(new ByteArrayInputStream(truncated)));
+  }
+
+  private static byte[] write(final JDBCLogSnapshot snapshot) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    snapshot.writeTo(out);
+    return out.toByteArray();
+  }
+
+}
@@ -4,12 +4,18 @@ import com.oracle.database.jdbc.logs.model.JDBCConnectionEvent;
 import com.oracle.database.jdbc.logs.model.JDBCExecutedQuery;
 import com.oracle.database.jdbc.logs.model.JDBCLogComparison;
 import com.oracle.database.jdbc.logs.model.JDBCStats;
+import com.oracle.database.jdbc.logs.model.JDBCTrace;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -167,4 +173,88 @@ class JDBCLogTest {
     assertEquals(expectedComparisonResults, actualComparisonResults,
       "JDBCLogComparison results should be the same");
   }
-}
\ No newline at end of file
+
+  @Test
+  void getLogErrorsWithMultibyteCharactersTest() throws IOException {
+    // ojdbc.log contains multibyte UTF-8 characters in its packet dumps, the
+    // position of the log entries must be in bytes to read the right lines.
+    final var filepath = JDBCLogTest.class.getClassLoader().getResource("ojdbc.log").getPath();
+    final var logErrors = new JDBCLog(filepath).getLogErrors();
+
+    assertEquals(14, logErrors.size(), "Should report 14 errors");
+    for (var logError : logErrors) {
+      assertTrue(logError.getLogLines().startsWith("SEVERE") || logError.getLogLines().startsWith("INFO")
+          || logError.getLogLines().startsWith("FINE") || logError.getLogLines().startsWith("WARNING"),
+        "Log lines should start with the log level: " + logError.getLogEntry());
+      assertTrue(logError.getLogLines().contains("ORA-"), "Log lines should contain the error");
+      assertNotNull(logError.getNearestTrace(), "Every error should have a trace before it");
+    }
+  }
+
+  @Test
+  void getSQLExecutionTimeTest() throws IOException {
+    // The connection ids of ojdbc-test.log contain '+' and '/' characters.
+    final var filepath = JDBCLogTest.class.getClassLoader().getResource("ojdbc-test.log").getPath();
+    final var actualExecutionTimes = new ArrayList<Integer>();
+    for (var logError : new JDBCLog(filepath).getLogErrors()) {
+      if (logError.getOriginalSql() != null)
+        actualExecutionTimes.add(logError.getSQLExecutionTime());
+    }
+
+    assertEquals(List.of(373, 365, 365), actualExecutionTimes,
+      "Should report the execution time of the SQL that caused each error");
+  }
+
+  @Test
+  void getPacketDumpsTest() throws IOException {
+    final var filepath = JDBCLogTest.class.getClassLoader().getResource("ojdbc-test.log").getPath();
+    final var actualPacketDumpCounts = new ArrayList<Integer>();
+    for (var logError : new JDBCLog(filepath).getLogErrors()) {
+      if (logError.getOriginalSql() == null)
+        continue;
+
+      actualPacketDumpCounts.add(logError.getPacketDumps().size());
+      for (var packetDump : logError.getPacketDumps()) {
+        assertTrue(packetDump.log().contains(",SQL=" + logError.getSql()),
+          "The packet dump should be logged for the SQL of the error");
+      }
+    }
+
+    assertEquals(List.of(5, 4, 4), actualPacketDumpCounts,
+      "Should report the packet dumps that precede each error");
+  }
+
+  @Test
+  void getNearestTraceTest() throws IOException {
+    final var expectedTraces = List.of(
+      new JDBCTrace("2024-06-20T21:44:32", "oracle.jdbc.driver.OracleStatement execute"),
+      new JDBCTrace("2024-06-20T21:44:36", "oracle.jdbc.driver.OracleStatement execute"),
+      new JDBCTrace("2024-06-20T21:44:36", "oracle.jdbc.driver.OracleStatement execute"));
+
+    final var actualTraces = new ArrayList<JDBCTrace>();
+    for (var logError : jdbcLog.getLogErrors()) {
+      actualTraces.add(logError.getNearestTrace());
+    }
+
+    assertEquals(expectedTraces, actualTraces, "Should report the trace right before each error");
+  }
+  @Test
+  void malformedRecordsTest() throws IOException {
+    final Path logFile = Path.of(JDBCLogTest.class.getClassLoader().getResource("ojdbc-2.log").getPath());
+    final String content = Files.readString(logFile, StandardCharsets.ISO_8859_1);
+    // A timestamp with an unknown AM/PM marker, then an execution time that overflows an int.
+    final int secondQuery = content.indexOf("endCurrentSql", content.indexOf("endCurrentSql") + 1);
+    final String malformed = content.substring(0, secondQuery)
+      .replaceFirst("9:44:32 PM oracle.jdbc.driver.ConnectionDiagnosable endCurrentSql",
+        "9:44:32 XM oracle.jdbc.driver.ConnectionDiagnosable endCurrentSql")
+      + content.substring(secondQuery).replaceFirst(", time=\\d+ms", ", time=99999999999ms");
+    final JDBCLog malformedLog = new JDBCLog(LogSource.of("malformed.log", malformed.getBytes(StandardCharsets.ISO_8859_1)));
+
+    // The malformed queries are skipped, the rest of the analysis isn't affected.
+    assertEquals(jdbcLog.getQueries().size() - 2, malformedLog.getQueries().size());
+    assertEquals(jdbcLog.getConnectionEvents().size(), malformedLog.getConnectionEvents().size());
+    assertEquals(jdbcLog.getLogErrors().size(), malformedLog.getLogErrors().size());
+    assertEquals(jdbcLog.getStats().errorCount(), malformedLog.getStats().errorCount());
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineReaderTest {
+
+  private static final String CONTENT = "first line\r\nsecond line with bytes\n\nthird line \u00e9\nlast line without newline";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void mappedLineReaderTest() throws IOException {
+    final Path file = Files.writeString(tempDir.resolve("lines.log"), CONTENT);
+
+    // Small segments so that lines cross the segment boundaries.
+    for (int segmentSize : new int[]{1, 3, 7, 64, MappedLineReader.DEFAULT_SEGMENT_SIZE}) {
+      try (LineReader reader = new MappedLineReader(file, segmentSize)) {
+        assertEquals(expectedLines(), readAll(reader), "Segment size " + segmentSize + " should yield the same lines");
+      }
+    }
+  }
+
+  @Test
+  void streamLineReaderTest() throws IOException {
+    try (LineReader reader = new StreamLineReader(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)))) {
+      assertEquals(expectedLines(), readAll(reader), "Should yield the same lines as the mapped reader");
+    }
+  }
+
+  @Test
+  void containsTest() throws IOException {
+    try (LineReader reader = new StreamLineReader(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)))) {
+      reader.next();
+      assertFalse(reader.contains(LineReader.literal("bytes")), "First line doesn't contain 'bytes'");
+      reader.next();
+      assertTrue(reader.contains(LineReader.literal("bytes")), "Second line contains 'bytes'");
+      assertTrue(reader.contains(LineReader.literal("second")), "Second line starts with 'second'");
+    }
+  }
+
+  @Test
+  void findTest() throws IOException {
+    // Overlapping literals, a literal may end inside another one.
+    final LiteralSet literals = new LiteralSet("he", "she", "his", "hers", "line");
+    try (LineReader reader = new StreamLineReader(new ByteArrayInputStream("ushers\nhis line\n\n".getBytes(StandardCharsets.UTF_8)))) {
+      reader.next();
+      assertEquals(0b01011, reader.find(literals), "'ushers' contains 'she', 'he' and 'hers'");
+      reader.next();
+      assertEquals(0b10100, reader.find(literals), "'his line' contains 'his' and 'line'");
+      reader.next();
+      assertEquals(0, reader.find(literals), "An empty line contains no literal");
+    }
+  }
+
+  @Test
+  void viewTest() throws IOException {
+    try (LineReader reader = new StreamLineReader(new ByteArrayInputStream(
+      " \tpadded line \n\u00e9t\u00e9 \n".getBytes(StandardCharsets.UTF_8)))) {
+      reader.next();
+      assertInstanceOf(LineView.class, reader.view(), "An ASCII line shouldn't be decoded");
+      assertEquals(" \tpadded line ", reader.view().toString());
+      assertEquals("padded line", reader.strippedView().toString());
+      assertEquals("line", reader.strippedView().subSequence(7, 11));
+
+      reader.next();
+      assertEquals("\u00e9t\u00e9 ", reader.view().toString(), "A non ASCII line should be decoded as UTF-8");
+      assertEquals("\u00e9t\u00e9", reader.strippedView().toString());
+    }
+  }
+
+  private static List<String> expectedLines() {
+    // line number:position:content
+    return List.of(
+      "1:0:first line",
+      "2:12:second line with bytes",
+      "3:35:",
+      "4:36:third line \u00e9",
+      "5:50:last line without newline");
+  }
+
+  private static List<String> readAll(final LineReader reader) throws IOException {
+    final List<String> lines = new ArrayList<>();
+    while (reader.next()) {
+      lines.add(reader.lineNumber() + ":" + reader.position() + ":" + reader.line());
+    }
+    return lines;
+  }
+}
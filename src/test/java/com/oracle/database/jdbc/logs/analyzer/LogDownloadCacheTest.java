@@ -0,0 +1,218 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.json;
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogDownloadCacheTest {
+
+  private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+  @TempDir
+  Path cacheDirectory;
+
+  @Test
+  void downloadOnceTest() throws IOException {
+    try (LogServer server = new LogServer(true)) {
+      server.content = Files.readAllBytes(Path.of(path("ojdbc-2.log")));
+      final LogDownloadCache cache = new LogDownloadCache(cacheDirectory, LogDownloadCache.DEFAULT_MAX_SIZE);
+      final URL url = server.url("/ojdbc-2.log");
+
+      final JDBCLog expected = new JDBCLog(path("ojdbc-2.log"));
+      final JDBCLog actual = new JDBCLog(LogSource.of(url, cache));
+      assertEquals(json(expected.getQueries()), json(actual.getQueries()));
+      assertEquals(json(expected.getConnectionEvents()), json(actual.getConnectionEvents()));
+      assertLogLines(expected.getLogErrors(), actual.getLogErrors());
+      assertEquals(expected.getStats().toJSONString(), actual.getStats().toJSONString());
+
+      // The analysis and the lines of the errors read the local copy.
+      assertEquals(1, server.downloads.get());
+      assertEquals(0, server.notModified.get());
+
+      // Another source of the same URL revalidates the copy.
+      final JDBCLog again = new JDBCLog(LogSource.of(url, cache));
+      assertEquals(json(expected.getQueries()), json(again.getQueries()));
+      assertEquals(1, server.downloads.get());
+      assertEquals(1, server.notModified.get());
+
+      // Without a cache, the URL is read every time.
+      final JDBCLog uncached = new JDBCLog(LogSource.of(url, null));
+      assertEquals(json(expected.getQueries()), json(uncached.getQueries()));
+      assertEquals(2, server.downloads.get());
+    }
+  }
+
+  @Test
+  void refreshTest() throws IOException {
+    try (LogServer server = new LogServer(true)) {
+      server.content = Files.readAllBytes(Path.of(path("ojdbc-2.log")));
+      final LogDownloadCache cache = new LogDownloadCache(cacheDirectory, LogDownloadCache.DEFAULT_MAX_SIZE);
+      final JDBCLog jdbcLog = new JDBCLog(LogSource.of(server.url("/ojdbc.log"), cache));
+      assertEquals(json(new JDBCLog(path("ojdbc-2.log")).getQueries()), json(jdbcLog.getQueries()));
+
+      assertFalse(jdbcLog.refresh());
+      assertEquals(1, server.downloads.get());
+      assertEquals(1, server.notModified.get());
+
+      server.update(Files.readAllBytes(Path.of(path("ojdbc.log"))));
+      assertTrue(jdbcLog.refresh());
+      assertEquals(2, server.downloads.get());
+
+      final JDBCLog expected = new JDBCLog(path("ojdbc.log"));
+      assertEquals(json(expected.getQueries()), json(jdbcLog.getQueries()));
+      assertLogLines(expected.getLogErrors(), jdbcLog.getLogErrors());
+    }
+  }
+
+  @Test
+  void lastModifiedTest() throws IOException {
+    try (LogServer server = new LogServer(false)) {
+      server.content = "first line\n".getBytes();
+      final LogDownloadCache cache = new LogDownloadCache(cacheDirectory, LogDownloadCache.DEFAULT_MAX_SIZE);
+      final URL url = server.url("/log");
+
+      final LogDownloadCache.Copy first = cache.fetch(url);
+      assertTrue(first.isDownloaded());
+      final LogDownloadCache.Copy second = cache.fetch(url);
+      assertFalse(second.isDownloaded());
+      assertEquals(first.file(), second.file());
+      assertEquals("first line\n", Files.readString(second.file()));
+      assertEquals(1, server.notModified.get());
+    }
+  }
+
+  @Test
+  void evictionTest() throws IOException {
+    try (LogServer server = new LogServer(true)) {
+      server.content = new byte[1000];
+      final LogDownloadCache cache = new LogDownloadCache(cacheDirectory, 2500);
+
+      final Path first = cache.fetch(server.url("/1")).file();
+      final Path second = cache.fetch(server.url("/2")).file();
+      // The first copy becomes the most recently used one.
+      Files.setLastModifiedTime(metadata(second), FileTime.from(Instant.now().minusSeconds(60)));
+      assertFalse(cache.fetch(server.url("/1")).isDownloaded());
+
+      final Path third = cache.fetch(server.url("/3")).file();
+      assertTrue(Files.exists(first));
+      assertFalse(Files.exists(second));
+      assertTrue(Files.exists(third));
+
+      // The copy just downloaded is kept, even larger than the cache.
+      final LogDownloadCache tiny = new LogDownloadCache(cacheDirectory, 10);
+      assertTrue(Files.exists(tiny.fetch(server.url("/4")).file()));
+      assertFalse(Files.exists(first));
+      assertFalse(Files.exists(third));
+    }
+  }
+
+  @Test
+  void privateDirectoryTest() throws IOException {
+    try (LogServer server = new LogServer(true)) {
+      server.content = "first line\n".getBytes();
+
+      // Created accessible by the user only.
+      final Path created = cacheDirectory.resolve("created");
+      new LogDownloadCache(created, LogDownloadCache.DEFAULT_MAX_SIZE, true).fetch(server.url("/log"));
+      assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(created));
+
+      // An existing directory of the user is restricted to the user.
+      final Path shared = Files.createDirectory(cacheDirectory.resolve("shared"));
+      Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+      new LogDownloadCache(shared, LogDownloadCache.DEFAULT_MAX_SIZE, true).fetch(server.url("/log"));
+      assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(shared));
+
+      // A link could point anywhere.
+      final Path link = Files.createSymbolicLink(cacheDirectory.resolve("link"), shared);
+      final LogDownloadCache linked = new LogDownloadCache(link, LogDownloadCache.DEFAULT_MAX_SIZE, true);
+      assertThrows(IOException.class, () -> linked.fetch(server.url("/log")));
+    }
+  }
+
+  private static Path metadata(final Path copy) {
+    return copy.resolveSibling(copy.getFileName().toString().replace(".log", ".properties"));
+  }
+
+  private static void assertLogLines(final List<LogError> expected, final List<LogError> actual) throws IOException {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++)
+      assertEquals(expected.get(i).getLogLines(), actual.get(i).getLogLines());
+  }
+
+  /**
+   * Serves the same content at every path, with an ETag or only a Last-Modified date.
+   */
+  private static final class LogServer implements AutoCloseable {
+    private final HttpServer server;
+    private final boolean isETag;
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private volatile byte[] content;
+    private volatile int version;
+
+    LogServer(final boolean isETag) throws IOException {
+      this.isETag = isETag;
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      server.createContext("/", this::handle);
+      server.start();
+    }
+
+    URL url(final String path) throws IOException {
+      return new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getAddress().getPort(), path);
+    }
+
+    void update(final byte[] content) {
+      this.content = content;
+      version++;
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+      try (exchange) {
+        final String etag = "\"v" + version + "\"";
+        final boolean isNotModified = isETag
+          ? etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))
+          : LAST_MODIFIED.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since"));
+        if (isNotModified) {
+          notModified.incrementAndGet();
+          exchange.sendResponseHeaders(304, -1);
+          return;
+        }
+
+        downloads.incrementAndGet();
+        if (isETag)
+          exchange.getResponseHeaders().set("ETag", etag);
+        else
+          exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+          out.write(content);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      server.stop(0);
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JDBCConnectionEvent;
+import com.oracle.database.jdbc.logs.model.JDBCExecutedQuery;
+import com.oracle.database.jdbc.logs.model.LogError;
+import com.oracle.database.jdbc.logs.model.RDBMSError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogFollowerTest {
+
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void followJDBCLogTest() throws IOException, InterruptedException {
+    final byte[] content = read("ojdbc-2.log");
+    final Path expectedFile = Files.write(tempDir.resolve("expected.log"), content);
+    final JDBCLog expected = new JDBCLog(expectedFile.toString());
+
+    final int half = nextLine(content, content.length / 2);
+    final Path logFile = Files.write(tempDir.resolve("ojdbc-2.log"), Arrays.copyOf(content, half));
+    final JDBCLog jdbcLog = new JDBCLog(logFile.toString());
+    final int queryCount = jdbcLog.getQueries().size();
+    final int connectionEventCount = jdbcLog.getConnectionEvents().size();
+    final int errorCount = jdbcLog.getLogErrors().size();
+
+    final List<LogError> errors = new CopyOnWriteArrayList<>();
+    final List<JDBCExecutedQuery> queries = new CopyOnWriteArrayList<>();
+    final List<JDBCConnectionEvent> connectionEvents = new CopyOnWriteArrayList<>();
+    jdbcLog.addListener(new JDBCLogListener() {
+      @Override
+      public void onError(final LogError error) {
+        errors.add(error);
+      }
+
+      @Override
+      public void onQuery(final JDBCExecutedQuery query) {
+        queries.add(query);
+      }
+
+      @Override
+      public void onConnectionEvent(final JDBCConnectionEvent event) {
+        connectionEvents.add(event);
+      }
+    });
+
+    try (LogFollower follower = jdbcLog.follow(POLL_INTERVAL)) {
+      Files.write(logFile, Arrays.copyOfRange(content, half, content.length), StandardOpenOption.APPEND);
+      final List<JDBCExecutedQuery> expectedQueries = expected.getQueries().subList(queryCount, expected.getQueries().size());
+      awaitSize(queries, expectedQueries.size());
+      awaitSize(connectionEvents, expected.getConnectionEvents().size() - connectionEventCount);
+      awaitSize(errors, expected.getLogErrors().size() - errorCount);
+
+      assertEquals(expectedQueries, queries, "Only the appended queries should be pushed");
+      assertEquals(expected.getConnectionEvents().subList(connectionEventCount, expected.getConnectionEvents().size()),
+        connectionEvents, "Only the appended connection events should be pushed");
+      assertEquals(json(expected.getLogErrors().subList(errorCount, expected.getLogErrors().size()), expectedFile),
+        json(errors, logFile),
+        "Only the appended errors should be pushed");
+      assertFalse(follower.isClosed());
+    }
+  }
+
+  @Test
+  void followRDBMSLogTest() throws IOException, InterruptedException {
+    final byte[] content = read("rdbms.log");
+    final String banner = new String(content, 0, nextLine(content, nextLine(content, 0)));
+    final Path traceFile = Files.write(tempDir.resolve("rdbms.log"), content);
+    final RDBMSLog rdbmsLog = new RDBMSLog(traceFile.toString());
+
+    final List<RDBMSError> errors = new CopyOnWriteArrayList<>();
+    rdbmsLog.addListener(errors::add);
+
+    try (LogFollower follower = rdbmsLog.follow(POLL_INTERVAL)) {
+      // The last line of rdbms.log has no line terminator, it is completed.
+      Files.writeString(traceFile, "\nORA-00942: table or view does not exist\nORA-01", StandardOpenOption.APPEND);
+      awaitSize(errors, 1);
+      assertEquals("ORA-00942: table or view does not exist", errors.get(0).errorMessage());
+
+      // Rotated: the errors of the new trace file are pushed.
+      Files.writeString(traceFile, banner + "ORA-01017: invalid credential or not authorized; logon denied\n");
+      awaitSize(errors, 2);
+      assertEquals("https://docs.oracle.com/en/error-help/db/ORA-01017/?r=23ai", errors.get(1).documentationLink());
+      assertFalse(follower.isClosed());
+    }
+
+    Thread.sleep(POLL_INTERVAL.toMillis() * 5);
+    assertEquals(2, errors.size(), "The incomplete line shouldn't be reported");
+  }
+
+  @Test
+  void followURLTest() {
+    final JDBCLog jdbcLog = new JDBCLog("https://example.com/ojdbc.log");
+    assertThrows(UnsupportedOperationException.class, () -> jdbcLog.follow(POLL_INTERVAL));
+    assertThrows(IllegalArgumentException.class, () -> jdbcLog.follow(Duration.ZERO));
+  }
+
+  private static void awaitSize(final List<?> list, final int size) throws InterruptedException {
+    final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (list.size() < size && System.nanoTime() < deadline) {
+      Thread.sleep(POLL_INTERVAL.toMillis());
+    }
+    assertEquals(size, list.size());
+  }
+
+  private static List<String> json(final List<LogError> errors, final Path logFile) {
+    return errors.stream()
+      .map(error -> error.toJSONString().replace(logFile.toString(), ""))
+      .toList();
+  }
+
+  private static byte[] read(final String log) throws IOException {
+    return Files.readAllBytes(Path.of(LogFollowerTest.class.getClassLoader().getResource(log).getPath()));
+  }
+
+  /**
+   * @return the offset of the line that follows the line at {@code position}.
+   */
+  private static int nextLine(final byte[] content, final int position) {
+    int end = position;
+    while (end < content.length && content[end++] != '\n') {
+      // Skips to the next line.
+    }
+    return end;
+  }
+
+}
@@ -0,0 +1,82 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogIndexFileTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void reopenTest() throws IOException {
+    for (String log : new String[]{"ojdbc.log", "ojdbc-2.log", "ojdbc-test.log"}) {
+      final Path logFile = copy(log);
+      final Path indexDirectory = tempDir.resolve("index");
+      final List<String> expected = describe(new JDBCLog(logFile.toString()));
+
+      assertEquals(expected, describe(new JDBCLog(logFile.toString(), 1, indexDirectory)),
+        log + " should give the same result when it is indexed");
+      final Path indexFile = new LogIndexFile(logFile, indexDirectory).getPath();
+      assertTrue(Files.exists(indexFile), "The index of " + log + " should be written");
+
+      final FileTime indexTime = Files.getLastModifiedTime(indexFile);
+      assertEquals(expected, describe(new JDBCLog(logFile.toString(), 1, indexDirectory)),
+        log + " should give the same result when it is read from the index");
+      assertEquals(indexTime, Files.getLastModifiedTime(indexFile), "An up to date index shouldn't be rewritten");
+    }
+  }
+
+  @Test
+  void staleIndexTest() throws IOException {
+    final Path logFile = copy("ojdbc-2.log");
+    describe(new JDBCLog(logFile.toString(), 1, tempDir));
+
+    Files.writeString(logFile, "Jun 20, 2024 10:27:12 PM oracle.jdbc.driver.T4CConnection logoff\n",
+      StandardOpenOption.APPEND);
+    assertEquals(describe(new JDBCLog(logFile.toString())), describe(new JDBCLog(logFile.toString(), 1, tempDir)),
+      "A log file changed after it was indexed should be parsed again");
+  }
+
+  @Test
+  void corruptedIndexTest() throws IOException {
+    final Path logFile = copy("ojdbc-2.log");
+    final List<String> expected = describe(new JDBCLog(logFile.toString(), 1, tempDir));
+    final Path indexFile = new LogIndexFile(logFile, tempDir).getPath();
+
+    final byte[] index = Files.readAllBytes(indexFile);
+    Files.write(indexFile, Arrays.copyOf(index, index.length / 2));
+    assertEquals(expected, describe(new JDBCLog(logFile.toString(), 1, tempDir)),
+      "A truncated index should be ignored");
+    assertNotNull(new LogIndexFile(logFile, tempDir).read(), "A truncated index should be replaced");
+  }
+
+  private Path copy(final String log) throws IOException {
+    final Path source = Path.of(LogIndexFileTest.class.getClassLoader().getResource(log).getPath());
+    return Files.copy(source, tempDir.resolve(log));
+  }
+
+  private static List<String> describe(final JDBCLog jdbcLog) throws IOException {
+    final List<String> description = new ArrayList<>();
+    for (LogError error : jdbcLog.getLogErrors()) {
+      description.add(error.toJSONString());
+    }
+    description.add("queries=" + jdbcLog.getQueries());
+    description.add("events=" + jdbcLog.getConnectionEvents());
+    description.add("stats=" + jdbcLog.getStats());
+    return description;
+  }
+
+}
@@ -0,0 +1,135 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JDBCExecutedQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.json;
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogPublisherTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void publishJDBCLogTest() throws Exception {
+    for (String log : new String[]{"ojdbc.log", "ojdbc-2.log", "ojdbc-test.log"}) {
+      final JDBCLog jdbcLog = new JDBCLog(path(log));
+
+      assertEquals(jdbcLog.getQueries(), collect(jdbcLog.publishQueries()),
+        log + " should publish the same queries");
+      assertEquals(jdbcLog.getConnectionEvents(), collect(jdbcLog.publishConnectionEvents()),
+        log + " should publish the same connection events");
+      assertEquals(json(jdbcLog.getLogErrors()), json(collect(jdbcLog.publishLogErrors())),
+        log + " should publish the same errors");
+    }
+  }
+
+  @Test
+  void publishRDBMSLogTest() throws Exception {
+    final RDBMSLog rdbmsLog = new RDBMSLog(path("rdbms.log"));
+    final String connectionId = "BZyObJFSTCyZV9xp+bad4Q==";
+
+    assertEquals(rdbmsLog.getErrors(), collect(rdbmsLog.publishErrors()));
+    assertEquals(rdbmsLog.getPacketDumps(connectionId), collect(rdbmsLog.publishPacketDumps(connectionId)));
+  }
+
+  @Test
+  void cancelTest() throws Exception {
+    final JDBCLog jdbcLog = new JDBCLog(path("ojdbc-2.log"));
+    final List<JDBCExecutedQuery> items = new CopyOnWriteArrayList<>();
+    final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    jdbcLog.publishQueries().subscribe(new Flow.Subscriber<>() {
+      private Flow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(final Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(2);
+      }
+
+      @Override
+      public void onNext(final JDBCExecutedQuery item) {
+        items.add(item);
+        if (items.size() == 2)
+          subscription.cancel();
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+        completion.completeExceptionally(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+        completion.complete(null);
+      }
+    });
+
+    assertThrows(TimeoutException.class, () -> completion.get(200, TimeUnit.MILLISECONDS),
+      "A cancelled subscription doesn't complete");
+    assertEquals(jdbcLog.getQueries().subList(0, 2), items, "Nothing should be published once cancelled");
+  }
+
+  @Test
+  void unreadableLogTest() throws Exception {
+    final Path logFile = Files.copy(Path.of(path("ojdbc-2.log")), tempDir.resolve("ojdbc-2.log"));
+    final JDBCLog jdbcLog = new JDBCLog(logFile.toString());
+    Files.delete(logFile);
+
+    final ExecutionException exception = assertThrows(ExecutionException.class,
+      () -> collect(jdbcLog.publishQueries()));
+    assertInstanceOf(IOException.class, exception.getCause(), "The subscriber should be told why the log file can't be read");
+  }
+
+  /**
+   * Requests the items one at a time, as a slow subscriber would.
+   */
+  private static <T> List<T> collect(final Flow.Publisher<T> publisher) throws Exception {
+    final List<T> items = new CopyOnWriteArrayList<>();
+    final CompletableFuture<List<T>> completion = new CompletableFuture<>();
+
+    publisher.subscribe(new Flow.Subscriber<>() {
+      private Flow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(final Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(final T item) {
+        items.add(item);
+        subscription.request(1);
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+        completion.completeExceptionally(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+        completion.complete(items);
+      }
+    });
+
+    return completion.get(30, TimeUnit.SECONDS);
+  }
+
+}
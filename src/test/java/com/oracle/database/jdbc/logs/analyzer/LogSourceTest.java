@@ -0,0 +1,158 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.json;
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSourceTest {
+
+  @Test
+  void capabilitiesTest() throws IOException {
+    final String logLocation = path("ojdbc-2.log");
+    final byte[] content = Files.readAllBytes(Path.of(logLocation));
+
+    final LogSource file = LogSource.of(logLocation);
+    assertTrue(file.isSeekable() && file.isSizeKnown() && file.isReReadable());
+    assertEquals(content.length, file.size());
+    assertEquals(logLocation, file.location());
+
+    final LogSource url = LogSource.of(Path.of(logLocation).toUri().toString());
+    assertFalse(url.isSeekable());
+    assertTrue(url.isReReadable());
+
+    final LogSource bytes = LogSource.of("bytes", content);
+    assertTrue(bytes.isSeekable() && bytes.isSizeKnown() && bytes.isReReadable());
+    try (InputStream in = bytes.open(100)) {
+      assertEquals(content[100], (byte) in.read());
+    }
+
+    final LogSource stream = LogSource.of("stream", new ByteArrayInputStream(content));
+    assertFalse(stream.isSeekable() || stream.isSizeKnown() || stream.isReReadable());
+    assertEquals(-1, stream.size());
+    stream.open().close();
+    assertThrows(IllegalStateException.class, stream::open);
+
+    assertEquals("<stdin>", LogSource.stdin().location());
+    assertThrows(IllegalArgumentException.class, () -> LogSource.of(" "));
+  }
+
+  @Test
+  void jdbcLogTest() throws IOException {
+    final String logLocation = path("ojdbc-2.log");
+    final byte[] content = Files.readAllBytes(Path.of(logLocation));
+    final JDBCLog expected = new JDBCLog(logLocation);
+
+    final LogSource[] sources = {
+      LogSource.of(Path.of(logLocation)),
+      LogSource.of(Path.of(logLocation).toUri().toURL()),
+      LogSource.of("bytes", content),
+      LogSource.of("stream", new ByteArrayInputStream(content)),
+      LogSource.of("channel", Channels.newChannel(new ByteArrayInputStream(content))),
+      LogSource.of("gzip stream", new ByteArrayInputStream(gzip(content)))
+    };
+    for (LogSource source : sources) {
+      final JDBCLog actual = new JDBCLog(source);
+      final String name = source.location();
+
+      // The stats, queries and events come from the single pass over the source.
+      assertEquals(json(expected.getQueries()), json(actual.getQueries()), name);
+      assertEquals(json(expected.getConnectionEvents()), json(actual.getConnectionEvents()), name);
+      if (!name.equals("gzip stream"))
+        assertEquals(expected.getStats().toJSONString(), actual.getStats().toJSONString(), name);
+
+      // The lines of the errors are read again from the source.
+      final List<LogError> expectedErrors = expected.getLogErrors();
+      final List<LogError> actualErrors = actual.getLogErrors();
+      assertEquals(expectedErrors.size(), actualErrors.size(), name);
+      for (int i = 0; i < expectedErrors.size(); i++) {
+        assertEquals(expectedErrors.get(i).getLogLines(), actualErrors.get(i).getLogLines(), name);
+        assertEquals(expectedErrors.get(i).toJSONString(),
+          actualErrors.get(i).toJSONString().replace("\"logFile\":\"" + name + "\"", "\"logFile\":\"" + logLocation + "\""),
+          name);
+      }
+    }
+  }
+
+  @Test
+  void streamLogTest() throws IOException {
+    final byte[] content = Files.readAllBytes(Path.of(path("ojdbc-2.log")));
+    final List<String> expected = json(new JDBCLog(path("ojdbc-2.log")).getQueries());
+
+    // Analyzed first, the stream is kept: the lazy streams read the copy afterward.
+    final JDBCLog analyzed = new JDBCLog(LogSource.of("stream", new ByteArrayInputStream(content)));
+    assertEquals(expected, json(analyzed.getQueries()));
+    try (var queries = analyzed.streamQueries()) {
+      assertEquals(expected, json(queries.collect(Collectors.toList())));
+    }
+    assertFalse(analyzed.getLogErrors().isEmpty());
+    assertThrows(UnsupportedOperationException.class, () -> analyzed.follow(Duration.ofSeconds(1)));
+
+    // Streamed first, the stream is read directly without being kept.
+    final JDBCLog streamed = new JDBCLog(LogSource.of("stream", new ByteArrayInputStream(content)));
+    try (var queries = streamed.streamQueries()) {
+      assertEquals(expected, json(queries.collect(Collectors.toList())));
+    }
+    assertThrows(IllegalStateException.class, streamed::getQueries);
+  }
+
+  @Test
+  void replayableSourceTest() throws IOException {
+    final byte[] content = new byte[3 * LogSources.ReplayableSource.MEMORY_SIZE + 12345];
+    new Random(3).nextBytes(content);
+    final LogSource source = LogSources.reReadable(LogSource.of("stream", new ByteArrayInputStream(content)));
+    assertEquals(-1, source.size());
+
+    // Two streams read the same content, in memory then in the temporary file.
+    try (InputStream first = source.open(); InputStream second = source.open()) {
+      final byte[] head = first.readNBytes(LogSources.ReplayableSource.MEMORY_SIZE + 100);
+      assertArrayEquals(content, second.readAllBytes());
+      final byte[] tail = first.readAllBytes();
+      assertEquals(content.length, head.length + tail.length);
+      assertArrayEquals(Arrays.copyOfRange(content, head.length, content.length), tail);
+    }
+    assertEquals(content.length, source.size());
+    try (InputStream in = source.open(2L * LogSources.ReplayableSource.MEMORY_SIZE)) {
+      assertArrayEquals(Arrays.copyOfRange(content, 2 * LogSources.ReplayableSource.MEMORY_SIZE, content.length),
+        in.readAllBytes());
+    }
+  }
+
+  @Test
+  void rdbmsLogTest() throws IOException {
+    final String connectionId = "BZyObJFSTCyZV9xp+bad4Q==";
+    final byte[] content = Files.readAllBytes(Path.of(path("rdbms.log")));
+    final RDBMSLog expected = new RDBMSLog(path("rdbms.log"));
+
+    final RDBMSLog actual = new RDBMSLog(LogSource.of("stream", new ByteArrayInputStream(content)));
+    assertEquals(json(expected.getErrors()), json(actual.getErrors()));
+    assertEquals(json(expected.getPacketDumps(connectionId)), json(actual.getPacketDumps(connectionId)));
+    assertThrows(UnsupportedOperationException.class, () -> actual.follow(Duration.ofSeconds(1)));
+  }
+
+  private static byte[] gzip(final byte[] content) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(content);
+    }
+    return bytes.toByteArray();
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JDBCExecutedQuery;
+import com.oracle.database.jdbc.logs.model.LogError;
+import com.oracle.database.jdbc.logs.model.RDBMSError;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogStreamTest {
+
+  @Test
+  void streamJDBCLogTest() throws IOException {
+    for (String log : new String[]{"ojdbc.log", "ojdbc-2.log", "ojdbc-test.log"}) {
+      final JDBCLog jdbcLog = new JDBCLog(path(log));
+
+      try (Stream<JDBCExecutedQuery> queries = jdbcLog.streamQueries()) {
+        assertEquals(jdbcLog.getQueries(), queries.collect(Collectors.toList()), log + " should stream the same queries");
+      }
+      try (var connectionEvents = jdbcLog.streamConnectionEvents()) {
+        assertEquals(jdbcLog.getConnectionEvents(), connectionEvents.collect(Collectors.toList()),
+          log + " should stream the same connection events");
+      }
+      try (Stream<LogError> errors = jdbcLog.streamLogErrors()) {
+        assertEquals(jdbcLog.getLogErrors().stream().map(LogError::toJSONString).collect(Collectors.toList()),
+          errors.map(LogError::toJSONString).collect(Collectors.toList()), log + " should stream the same errors");
+      }
+    }
+  }
+
+  @Test
+  void streamRDBMSLogTest() throws IOException {
+    final RDBMSLog rdbmsLog = new RDBMSLog(path("rdbms.log"));
+    final String connectionId = "BZyObJFSTCyZV9xp+bad4Q==";
+
+    try (Stream<RDBMSError> errors = rdbmsLog.streamErrors()) {
+      assertEquals(rdbmsLog.getErrors(), errors.collect(Collectors.toList()));
+    }
+    try (var packetDumps = rdbmsLog.streamPacketDumps(connectionId)) {
+      assertEquals(rdbmsLog.getPacketDumps(connectionId), packetDumps.collect(Collectors.toList()));
+    }
+    try (var packetDumps = rdbmsLog.streamPacketDumps(connectionId)) {
+      assertEquals(rdbmsLog.getPacketDumps(connectionId).get(0), packetDumps.findFirst().orElseThrow());
+    }
+  }
+
+  @Test
+  void shortCircuitTest() throws IOException {
+    final JDBCLog jdbcLog = new JDBCLog(path("ojdbc-2.log"));
+    final List<JDBCExecutedQuery> queries = jdbcLog.getQueries();
+    try (Stream<JDBCExecutedQuery> stream = jdbcLog.streamQueries()) {
+      assertEquals(queries.subList(0, 2), stream.limit(2).collect(Collectors.toList()));
+    }
+    try (Stream<JDBCExecutedQuery> stream = jdbcLog.streamQueries()) {
+      assertTrue(stream.anyMatch(queries.get(queries.size() - 1)::equals));
+    }
+  }
+
+  @Test
+  void lazinessTest() {
+    final AtomicInteger steps = new AtomicInteger();
+    final AtomicBoolean isClosed = new AtomicBoolean();
+
+    // Every other step produces a record, there are 100 steps.
+    try (Stream<Integer> stream = LogSpliterator.stream(sink -> {
+      final int step = steps.getAndIncrement();
+      if (step == 100)
+        return false;
+      if (step % 2 == 1)
+        sink.accept(step);
+      return true;
+    }, () -> isClosed.set(true))) {
+      assertEquals(0, steps.get(), "Nothing should be read before the stream is consumed");
+      assertEquals(Integer.valueOf(3), stream.filter(step -> step > 1).findFirst().orElseThrow());
+      assertEquals(4, steps.get(), "The first match should stop reading");
+      assertFalse(isClosed.get());
+    }
+
+    assertTrue(isClosed.get(), "Closing the stream should close the log file");
+  }
+
+}
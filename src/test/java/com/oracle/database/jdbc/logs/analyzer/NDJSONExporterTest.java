@@ -0,0 +1,78 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.json;
+import static com.oracle.database.jdbc.logs.analyzer.TestLogs.path;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NDJSONExporterTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void exportJDBCLogTest() throws IOException {
+    for (boolean isCompressed : new boolean[]{false, true}) {
+      final NDJSONExporter exporter = new NDJSONExporter(isCompressed);
+      for (String log : new String[]{"ojdbc.log", "ojdbc-2.log"}) {
+        final JDBCLog jdbcLog = new JDBCLog(path(log));
+
+        final Path queries = tempDir.resolve("queries.ndjson");
+        assertEquals(jdbcLog.getQueries().size(), exporter.exportQueries(jdbcLog, queries));
+        assertEquals(json(jdbcLog.getQueries()), read(queries, isCompressed), log + " queries");
+
+        final Path errors = tempDir.resolve("errors.ndjson");
+        assertEquals(jdbcLog.getLogErrors().size(), exporter.exportLogErrors(jdbcLog, errors));
+        assertEquals(json(jdbcLog.getLogErrors()), read(errors, isCompressed), log + " errors");
+
+        final Path events = tempDir.resolve("events.ndjson");
+        assertEquals(jdbcLog.getConnectionEvents().size(), exporter.exportConnectionEvents(jdbcLog, events));
+        assertEquals(json(jdbcLog.getConnectionEvents()), read(events, isCompressed), log + " connection events");
+      }
+    }
+  }
+
+  @Test
+  void exportRDBMSLogTest() throws IOException {
+    final RDBMSLog rdbmsLog = new RDBMSLog(path("rdbms.log"));
+    final String connectionId = "BZyObJFSTCyZV9xp+bad4Q==";
+    final NDJSONExporter exporter = new NDJSONExporter(true);
+
+    final Path errors = tempDir.resolve("errors.ndjson.gz");
+    exporter.exportErrors(rdbmsLog, errors);
+    assertEquals(json(rdbmsLog.getErrors()), read(errors, true));
+
+    final Path packetDumps = tempDir.resolve("packet-dumps.ndjson.gz");
+    assertEquals(rdbmsLog.getPacketDumps(connectionId).size(), exporter.exportPacketDumps(rdbmsLog, connectionId, packetDumps));
+    assertEquals(json(rdbmsLog.getPacketDumps(connectionId)), read(packetDumps, true));
+  }
+
+  @Test
+  void unreadableLogTest() throws IOException {
+    final Path logFile = Files.copy(Path.of(path("ojdbc-2.log")), tempDir.resolve("ojdbc-2.log"));
+    final JDBCLog jdbcLog = new JDBCLog(logFile.toString());
+    Files.delete(logFile);
+
+    assertThrows(IOException.class, () -> new NDJSONExporter(false).exportQueries(jdbcLog, tempDir.resolve("queries.ndjson")));
+  }
+
+  private static List<String> read(final Path file, final boolean isCompressed) throws IOException {
+    try (InputStream in = isCompressed ? new GZIPInputStream(Files.newInputStream(file)) : Files.newInputStream(file)) {
+      final String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      assertTrue(content.isEmpty() || content.endsWith("\n"), "Every line should be terminated");
+      return content.isEmpty() ? List.of() : Arrays.asList(content.split("\n"));
+    }
+  }
+
+}
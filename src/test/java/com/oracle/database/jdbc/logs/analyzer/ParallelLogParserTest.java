@@ -0,0 +1,135 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JDBCConnectionEvent;
+import com.oracle.database.jdbc.logs.model.JDBCStats;
+import com.oracle.database.jdbc.logs.model.JDBCStatsAccumulator;
+import com.oracle.database.jdbc.logs.model.LineIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelLogParserTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void parseTest() throws IOException {
+    for (String log : new String[]{"ojdbc.log", "ojdbc-2.log", "ojdbc-test.log"}) {
+      final Path path = Path.of(ParallelLogParserTest.class.getClassLoader().getResource(log).getPath());
+      final List<String> expected = describe(parseSequentially(path));
+
+      // Small chunks so that the files are split in many chunks.
+      for (long minChunkSize : new long[]{1, 4096, 65536}) {
+        assertEquals(expected, describe(ParallelLogParser.parse(path, 4, minChunkSize)),
+          log + " split in chunks of " + minChunkSize + " bytes should give the same result");
+      }
+    }
+  }
+
+  @Test
+  void parseRecordsAcrossChunksTest() throws IOException {
+    // The SQL and the connection details go on after the next trace line,
+    // every trace line starts a chunk.
+    final Path path = Files.writeString(tempDir.resolve("ojdbc.log"), """
+      Jun 20, 2024 10:27:12 PM oracle.jdbc.driver.ConnectionDiagnosable endCurrentSql
+      FINE: CONNECTION_ID=a1==,TENANT=T1,SQL=select *,sql=select *
+      Jun 20, 2024 10:27:13 PM oracle.jdbc.driver.OracleStatement execute
+      from dual, time=12ms
+      Jun 20, 2024 10:27:14 PM oracle.jdbc.driver.T4CConnection logon
+      FINE: CONNECTION_ID=a2==,TENANT=T1 Session Attributes:
+      Jun 20, 2024 10:27:15 PM oracle.jdbc.driver.OracleStatement execute
+      sdu=8192, tdu=2097152
+
+      Jun 20, 2024 10:27:16 PM oracle.jdbc.driver.OracleStatement execute
+      Jun 20, 2024 10:27:17 PM oracle.jdbc.driver.T4CConnection logoff
+      Jun 20, 2024 10:27:18 PM oracle.jdbc.driver.OracleStatement close
+      FINE: closed
+      """);
+
+    final JDBCLogParser sequential = parseSequentially(path);
+    assertEquals(1, sequential.getQueries().size(), "Should report the query");
+    assertEquals(2, sequential.getConnectionEvents().size(), "Should report the opened and closed connections");
+
+    assertEquals(describe(sequential), describe(ParallelLogParser.parse(path, 8, 1)),
+      "Records that cross chunks should give the same result");
+  }
+
+  @Test
+  void statsMergeTest() {
+    final JDBCStatsAccumulator first = new JDBCStatsAccumulator();
+    first.addLine();
+    first.addQuery(10);
+    first.addTimestamp(epochMillis("2024-06-20T22:27:13"), null);
+    first.addConnectionEvent(JDBCConnectionEvent.Event.CONNECTION_OPENED);
+
+    final JDBCStatsAccumulator second = new JDBCStatsAccumulator();
+    second.addLine();
+    second.addError();
+    second.addSentPacket(64);
+    second.addTimestamp(epochMillis("2024-06-20T22:27:12"), null);
+
+    final JDBCStatsAccumulator third = new JDBCStatsAccumulator();
+    third.addQuery(20);
+    third.addReceivedPacket(128);
+    third.addTimestamp(epochMillis("2024-06-20T22:27:15"), null);
+
+    final JDBCStats leftFirst = new JDBCStatsAccumulator().merge(first).merge(second).merge(third).toJDBCStats();
+    final JDBCStats rightFirst = new JDBCStatsAccumulator().merge(first)
+      .merge(new JDBCStatsAccumulator().merge(second).merge(third)).toJDBCStats();
+
+    assertEquals(leftFirst, rightFirst, "The grouping of the merges shouldn't change the result");
+    assertEquals(2, leftFirst.lineCount());
+    assertEquals(2, leftFirst.queryCount());
+    assertEquals(1, leftFirst.errorCount());
+    assertEquals(1, leftFirst.openedConnectionCount());
+    assertEquals("2024-06-20T22:27:12", leftFirst.startTime());
+    assertEquals("2024-06-20T22:27:15", leftFirst.endTime());
+    assertEquals(Duration.ofSeconds(3), leftFirst.duration());
+  }
+
+  private static long epochMillis(final String localDateTime) {
+    return LocalDateTime.parse(localDateTime).toEpochSecond(ZoneOffset.UTC) * 1000;
+  }
+
+  private static JDBCLogParser parseSequentially(final Path path) throws IOException {
+    final JDBCLogParser parser = new JDBCLogParser();
+    try (LineReader reader = new MappedLineReader(path)) {
+      parser.parse(reader);
+    }
+    return parser;
+  }
+
+  private static List<String> describe(final JDBCLogParser parser) {
+    final List<String> description = new ArrayList<>();
+    description.add("traces=" + describe(parser.getTraceLines()));
+    for (int i = 0; i < parser.getTraces().size(); i++) {
+      description.add("trace=" + parser.getTraces().getTrace(i));
+    }
+    description.add("logs=" + describe(parser.getLogLines()));
+    description.add("errors=" + describe(parser.getErrorLines()));
+    description.add("queries=" + parser.getQueries());
+    description.add("events=" + parser.getConnectionEvents());
+    description.add("stats=" + parser.getStats().toJDBCStats());
+    return description;
+  }
+
+  private static String describe(final LineIndex lineIndex) {
+    final StringBuilder description = new StringBuilder();
+    for (int i = 0; i < lineIndex.size(); i++) {
+      description.append(lineIndex.getLineNumber(i)).append(':').append(lineIndex.getPositionInFile(i)).append(' ');
+    }
+    return description.toString();
+  }
+
+}
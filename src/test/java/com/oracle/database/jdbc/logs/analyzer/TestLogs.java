@@ -0,0 +1,30 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.JSONWritable;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fixtures shared by the tests: the log files of the test resources.
+ */
+final class TestLogs {
+
+  private TestLogs() {
+  }
+
+  /**
+   * @return the path of a log file of the test resources.
+   */
+  static String path(final String log) {
+    return TestLogs.class.getClassLoader().getResource(log).getPath();
+  }
+
+  /**
+   * @return the JSON of each record, to compare lists of records.
+   */
+  static List<String> json(final List<? extends JSONWritable> records) {
+    return records.stream().map(JSONWritable::toJSONString).collect(Collectors.toList());
+  }
+
+}
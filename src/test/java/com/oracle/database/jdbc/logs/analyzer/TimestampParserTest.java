@@ -0,0 +1,77 @@
+package com.oracle.database.jdbc.logs.analyzer;
+
+import com.oracle.database.jdbc.logs.model.LogError;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimestampParserTest {
+
+  @Test
+  void parseLocalTest() {
+    final TimestampParser parser = new TimestampParser();
+    for (String timestamp : new String[]{"Jun 20, 2024 10:27:12 PM", "Jun 20, 2024 10:27:12 PM",
+      "Jun 20, 2024 12:05:00 AM", "Feb 29, 2024 1:00:59 PM", "Apr 31, 2023 9:15:30 AM"}) {
+      final LocalDateTime expected = LocalDateTime.parse(timestamp, LogError.DEFAULT_TIMESTAMP_FORMATTER);
+      assertEquals(expected.toEpochSecond(ZoneOffset.UTC) * 1000, parser.parseLocal(timestamp + " FINE", 0),
+        timestamp + " should be parsed as the formatter does");
+      assertEquals(timestamp.length(), parser.getEnd());
+      assertNull(parser.getOffset());
+    }
+  }
+
+  @Test
+  void parseUCPTest() {
+    final TimestampParser parser = new TimestampParser();
+    for (String timestamp : new String[]{"2024-10-21T01:05:12.123 PM +0200", "2024-10-21T01:05:12.999 PM +0200",
+      "2024-10-21T12:00:00.000 AM +0000", "2024-10-21T11:59:59.001 PM -0930"}) {
+      final ZonedDateTime expected = ZonedDateTime.parse(timestamp, LogError.UCP_TIMESTAMP_FORMATTER);
+      assertEquals(expected.toInstant().toEpochMilli(), parser.parseUCP(timestamp + " UCP FINE", 0),
+        timestamp + " should be parsed as the formatter does");
+      assertEquals(timestamp.length(), parser.getEnd());
+      assertEquals(expected.getOffset(), parser.getOffset());
+    }
+  }
+
+  @Test
+  void localeTest() {
+    for (Locale locale : new Locale[]{Locale.ENGLISH, Locale.FRENCH, Locale.GERMAN, Locale.forLanguageTag("es")}) {
+      final TimestampParser parser = new TimestampParser(locale);
+      final DateTimeFormatter local = LogError.DEFAULT_TIMESTAMP_FORMATTER.withLocale(locale);
+      final DateTimeFormatter ucp = LogError.UCP_TIMESTAMP_FORMATTER.withLocale(locale);
+      for (int month = 1; month <= 12; month++) {
+        final LocalDateTime dateTime = LocalDateTime.of(2024, month, 20, month * 2 - 1, 27, 12, 123_000_000);
+        final String timestamp = local.format(dateTime);
+        assertEquals(LocalDateTime.parse(timestamp, local).toEpochSecond(ZoneOffset.UTC) * 1000,
+          parser.parseLocal(timestamp + " FINE", 0), timestamp + " should be parsed as the formatter does");
+        assertEquals(timestamp.length(), parser.getEnd());
+
+        final String ucpTimestamp = ucp.format(dateTime.atOffset(ZoneOffset.ofHours(2)));
+        assertEquals(ZonedDateTime.parse(ucpTimestamp, ucp).toInstant().toEpochMilli(),
+          parser.parseUCP(ucpTimestamp + " UCP FINE", 0), ucpTimestamp + " should be parsed as the formatter does");
+        assertEquals(ucpTimestamp.length(), parser.getEnd());
+      }
+    }
+  }
+
+  @Test
+  void notATimestampTest() {
+    final TimestampParser parser = new TimestampParser();
+    for (String text : new String[]{"", "FINE: CONNECTION_ID=a1==", "Jun 20, 2024", "Jun 2, 2024 10:27:12 PM",
+      "Jun 20, 2024 13:27:12 PM", "Jun 20, 2024 10:60:12 PM", "Foo 20, 2024 10:27:12 PM"}) {
+      assertEquals(TimestampParser.NOT_A_TIMESTAMP, parser.parseLocal(text, 0), "[" + text + "] isn't a timestamp");
+    }
+
+    for (String text : new String[]{"", "2024-10-21", "2024-13-21T01:05:12.123 PM +0200",
+      "2024-10-21T01:05:12 PM +0200", "2024-10-21T01:05:12.123 PM +1900"}) {
+      assertEquals(TimestampParser.NOT_A_TIMESTAMP, parser.parseUCP(text, 0), "[" + text + "] isn't a timestamp");
+    }
+  }
+
+}
@@ -0,0 +1,54 @@
+package com.oracle.database.jdbc.logs.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryIOTest {
+
+  @Test
+  void stringTest() throws IOException {
+    final String sql = "SELECT 1 FROM DUAL ".repeat(10_000);
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      BinaryIO.writeString(out, sql);
+      BinaryIO.writeString(out, null);
+    }
+
+    final DataInputStream in = input(bytes.toByteArray());
+    assertEquals(sql, BinaryIO.readString(in));
+    assertNull(BinaryIO.readString(in));
+  }
+
+  @Test
+  void corruptedTest() throws IOException {
+    // Lengths and counts of a corrupted file fail without allocating them.
+    assertThrows(StreamCorruptedException.class, () -> BinaryIO.readString(input(ints(Integer.MAX_VALUE))));
+    assertThrows(StreamCorruptedException.class, () -> BinaryIO.readString(input(ints(-2))));
+    assertThrows(EOFException.class, () -> BinaryIO.readString(input(ints(BinaryIO.MAX_STRING_LENGTH, 0))));
+    assertThrows(StreamCorruptedException.class, () -> BinaryIO.readCount(input(ints(-1))));
+    assertThrows(EOFException.class, () -> LineIndex.readFrom(input(ints(Integer.MAX_VALUE, 1, 0, 0))));
+  }
+
+  private static DataInputStream input(final byte[] bytes) {
+    return new DataInputStream(new ByteArrayInputStream(bytes));
+  }
+
+  private static byte[] ints(final int... values) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      for (int value : values)
+        out.writeInt(value);
+    }
+    return bytes.toByteArray();
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.oracle.database.jdbc.logs.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JSONWriterTest {
+
+  @Test
+  void escapeTest() throws IOException {
+    final StringWriter writer = new StringWriter();
+    final JSONWriter jsonWriter = new JSONWriter(writer);
+    jsonWriter.beginArray()
+      .value("quote \" backslash \\ slash /")
+      .value("\b\f\n\r\t\u0000\u001f\u007f")
+      .value("caf\u00E9 \u2028 \uD83D\uDE00")
+      .endArray()
+      .flush();
+
+    assertEquals("[\"quote \\\" backslash \\\\ slash /\","
+      + "\"\\b\\f\\n\\r\\t\\u0000\\u001f\u007f\","
+      + "\"caf\u00E9 \u2028 \uD83D\uDE00\"]", writer.toString());
+  }
+
+  @Test
+  void structureTest() throws IOException {
+    final StringWriter writer = new StringWriter();
+    final JSONWriter jsonWriter = new JSONWriter(writer);
+    jsonWriter.beginObject()
+      .name("a").value(1)
+      .name("b").value((String) null)
+      .name("c").beginArray().endArray()
+      .name("d").beginArray().value("x").beginObject().endObject().value(-2).endArray()
+      .name("e").value(new JDBCTrace("t", "m"))
+      .name("f").value((JSONWritable) null)
+      .endObject()
+      .flush();
+
+    assertEquals("{\"a\":1,\"b\":null,\"c\":[],\"d\":[\"x\",{},-2],"
+      + "\"e\":{\"timestamp\":\"t\",\"executedMethod\":\"m\"},\"f\":null}", writer.toString());
+  }
+
+  @Test
+  void modelTest() {
+    final JDBCExecutedQuery query = new JDBCExecutedQuery("2024-06-20T22:27:11", "select \"A\"\n\tfrom dual", 12, null, "T\\1");
+    assertEquals("{\"timestamp\":\"2024-06-20T22:27:11\",\"sql\":\"select \\\"A\\\"\\n\\tfrom dual\","
+      + "\"executionTime\":\"12ms\",\"connectionId\":null,\"tenant\":\"T\\\\1\"}", query.toJSONString());
+
+    final JDBCConnectionEvent event = new JDBCConnectionEvent("t", JDBCConnectionEvent.Event.CONNECTION_CLOSED);
+    assertEquals("{\"timestamp\":\"t\",\"event\":\"CONNECTION_CLOSED\",\"details\":null}", event.toJSONString());
+
+    final RDBMSPacketDump packetDump = new RDBMSPacketDump("t", "00 01  |..|\n02 03  |\"\\|");
+    assertEquals("{\"timestamp\":\"t\",\"formattedPacket\":\"00 01  |..|\\n02 03  |\\\"\\\\|\"}", packetDump.toJSONString());
+  }
+
+  @Test
+  void linesTest() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final JSONWriter jsonWriter = new JSONWriter(out);
+    jsonWriter.lines(List.of(new RDBMSError("ORA-00001: \u00E9", "l1"), new RDBMSError("e2", "l2")));
+    jsonWriter.flush();
+
+    assertEquals("{\"errorMessage\":\"ORA-00001: \u00E9\",\"documentationLink\":\"l1\"}\n"
+      + "{\"errorMessage\":\"e2\",\"documentationLink\":\"l2\"}\n", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void largeStringTest() throws IOException {
+    // Longer than the buffer, with escapes across its boundaries.
+    final String value = "a\"b\n".repeat(5000);
+    final StringWriter writer = new StringWriter();
+    new RDBMSError(value, null).writeJSON(writer);
+
+    assertEquals("{\"errorMessage\":\"" + "a\\\"b\\n".repeat(5000) + "\",\"documentationLink\":null}", writer.toString());
+  }
+
+}